@@ -1,14 +1,18 @@
 package net.mirai.dimtr;
 
 import net.mirai.dimtr.config.DimTrConfig;
+import net.mirai.dimtr.data.PhaseRequirementPlan;
+import net.mirai.dimtr.data.PlayerProgressionData;
 // import net.mirai.dimtr.config.ConfigurationManager; // TODO: Integrar quando estiver compilando
 import net.mirai.dimtr.network.ModNetworking;
+import net.mirai.dimtr.util.ConfigCache;
 import net.mirai.dimtr.util.Constants;
 import net.mirai.dimtr.integration.ExternalModIntegration;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -36,6 +40,10 @@ public class DimTrMod {
         modContainer.registerConfig(ModConfig.Type.SERVER, DimTrConfig.SERVER_SPEC, Constants.MOD_ID + Constants.CONFIG_SERVER_FILE_SUFFIX);
         modContainer.registerConfig(ModConfig.Type.CLIENT, DimTrConfig.CLIENT_SPEC, Constants.MOD_ID + Constants.CONFIG_CLIENT_FILE_SUFFIX);
 
+        // 🎯 PERFORMANCE: Atualizar caches derivados da configuração quando ela muda
+        modEventBus.addListener((ModConfigEvent.Loading event) -> onConfigChanged(event));
+        modEventBus.addListener((ModConfigEvent.Reloading event) -> onConfigChanged(event));
+
         LOGGER.info(Constants.LOG_CONFIG_REGISTERED);
 
         // ============================================================================
@@ -78,4 +86,14 @@ public class DimTrMod {
         LOGGER.info(Constants.LOG_FEATURE_PROXIMITY_MULTIPLIERS);
         LOGGER.info(Constants.LOG_FEATURE_CUSTOM_REQUIREMENTS);
     }
+
+    private static void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() != DimTrConfig.SERVER_SPEC) {
+            return;
+        }
+
+        ConfigCache.refreshCache();
+        PhaseRequirementPlan.rebuild();
+        PlayerProgressionData.invalidateAllMultiplierCaches();
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package net.mirai.dimtr.client;
 
 import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.network.DeltaUpdateSystem;
 import net.mirai.dimtr.network.UpdateProgressionToClientPayload;
+import net.mirai.dimtr.util.MobRegistry;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,8 +16,6 @@ public class ClientProgressionData {
     // Objetivos originais
     private boolean elderGuardianKilled = false;
     private boolean raidWon = false;
-    private boolean ravagerKilled = false; // Manter para compatibilidade
-    private boolean evokerKilled = false; // Manter para compatibilidade
     private boolean trialVaultAdvancementEarned = false;
     // NOVO: Conquista Voluntaire Exile
     private boolean voluntaireExileAdvancementEarned = false;
@@ -88,13 +88,14 @@ public class ClientProgressionData {
     // NOVO: Configuração para Voluntary Exile
     private boolean serverReqVoluntaryExile = true;
 
+    // 🎯 Sequência do último delta aplicado (0 após um snapshot completo, -1 = aguardando snapshot)
+    private int lastDeltaSequence = -1;
+
     // MÉTODO PRINCIPAL: Atualizar dados com payload do servidor
     public void updateData(UpdateProgressionToClientPayload payload) {
         // Objetivos originais
         this.elderGuardianKilled = payload.elderGuardianKilled();
         this.raidWon = payload.raidWon();
-        this.ravagerKilled = payload.ravagerKilled(); // Manter para compatibilidade
-        this.evokerKilled = payload.evokerKilled(); // Manter para compatibilidade
         this.trialVaultAdvancementEarned = payload.trialVaultAdvancementEarned();
         // NOVO: Conquista Voluntaire Exile
         this.voluntaireExileAdvancementEarned = payload.voluntaireExileAdvancementEarned();
@@ -167,11 +168,130 @@ public class ClientProgressionData {
         this.customPhaseCompletion.clear();
         this.customPhaseCompletion.putAll(payload.customPhaseCompletion());
         
+        // Cópia dos mapas internos: os deltas alteram estes mapas no lugar (e no singleplayer
+        // o payload pode chegar sem serialização, com os mapas do próprio servidor)
         this.customMobKills.clear();
-        this.customMobKills.putAll(payload.customMobKills());
+        payload.customMobKills().forEach((phaseId, kills) -> this.customMobKills.put(phaseId, new HashMap<>(kills)));
         
         this.customObjectiveCompletion.clear();
-        this.customObjectiveCompletion.putAll(payload.customObjectiveCompletion());
+        payload.customObjectiveCompletion().forEach((phaseId, objectives) -> this.customObjectiveCompletion.put(phaseId, new HashMap<>(objectives)));
+
+        // Snapshot completo zera a sequência de deltas
+        this.lastDeltaSequence = 0;
+    }
+
+    // ============================================================================
+    // 🎯 PERFORMANCE: Deltas de progressão
+    // ============================================================================
+
+    /**
+     * Aplicar um pacote de deltas do servidor
+     * @return true se houve lacuna na sequência e um resync deve ser pedido
+     */
+    public boolean applyDeltas(int sequence, List<DeltaUpdateSystem.ProgressionDelta> deltas) {
+        if (lastDeltaSequence < 0) {
+            // Aguardando snapshot completo (login ou resync já pedido)
+            return false;
+        }
+        if (sequence != lastDeltaSequence + 1) {
+            DimTrMod.LOGGER.warn("⚠️ Delta de progressão fora de sequência: esperado {}, recebido {}",
+                lastDeltaSequence + 1, sequence);
+            lastDeltaSequence = -1;
+            return true;
+        }
+
+        lastDeltaSequence = sequence;
+        for (DeltaUpdateSystem.ProgressionDelta delta : deltas) {
+            applyDelta(delta);
+        }
+        return false;
+    }
+
+    private void applyDelta(DeltaUpdateSystem.ProgressionDelta delta) {
+        switch (delta.type) {
+            case MOB_KILL -> {
+                if (delta.newValue instanceof Integer count) {
+                    setMobKills(MobRegistry.getIdByNbtKey(delta.fieldName), count);
+                }
+            }
+            case BOSS_KILL, ADVANCEMENT, PHASE_COMPLETION -> {
+                if (delta.newValue instanceof Boolean value) {
+                    setObjective(delta.fieldName, value);
+                }
+            }
+            case CUSTOM_PHASE -> applyCustom(customPhaseCompletion, delta.fieldName, (Boolean) delta.newValue);
+            case CUSTOM_MOB_KILL -> applyCustomNested(customMobKills, delta.fieldName, (Integer) delta.newValue);
+            case CUSTOM_OBJECTIVE -> applyCustomNested(customObjectiveCompletion, delta.fieldName, (Boolean) delta.newValue);
+            default -> {
+                // Notificações sem campo correspondente no cliente (ex: validação de boss)
+            }
+        }
+    }
+
+    private void setObjective(String fieldName, boolean value) {
+        switch (fieldName) {
+            case "elderGuardianKilled" -> elderGuardianKilled = value;
+            case "raidWon" -> raidWon = value;
+            case "trialVaultAdvancementEarned" -> trialVaultAdvancementEarned = value;
+            case "voluntaireExileAdvancementEarned" -> voluntaireExileAdvancementEarned = value;
+            case "phase1Completed" -> phase1Completed = value;
+            case "witherKilled" -> witherKilled = value;
+            case "wardenKilled" -> wardenKilled = value;
+            case "phase2Completed" -> phase2Completed = value;
+            default -> { }
+        }
+    }
+
+    private void setMobKills(int mobId, int count) {
+        switch (mobId) {
+            case MobRegistry.ZOMBIE -> zombieKills = count;
+            case MobRegistry.SKELETON -> skeletonKills = count;
+            case MobRegistry.STRAY -> strayKills = count;
+            case MobRegistry.HUSK -> huskKills = count;
+            case MobRegistry.SPIDER -> spiderKills = count;
+            case MobRegistry.CREEPER -> creeperKills = count;
+            case MobRegistry.DROWNED -> drownedKills = count;
+            case MobRegistry.ENDERMAN -> endermanKills = count;
+            case MobRegistry.WITCH -> witchKills = count;
+            case MobRegistry.PILLAGER -> pillagerKills = count;
+            case MobRegistry.CAPTAIN -> captainKills = count;
+            case MobRegistry.VINDICATOR -> vindicatorKills = count;
+            case MobRegistry.BOGGED -> boggedKills = count;
+            case MobRegistry.BREEZE -> breezeKills = count;
+            case MobRegistry.RAVAGER -> ravagerKills = count;
+            case MobRegistry.EVOKER -> evokerKills = count;
+            case MobRegistry.BLAZE -> blazeKills = count;
+            case MobRegistry.WITHER_SKELETON -> witherSkeletonKills = count;
+            case MobRegistry.PIGLIN_BRUTE -> piglinBruteKills = count;
+            case MobRegistry.HOGLIN -> hoglinKills = count;
+            case MobRegistry.ZOGLIN -> zoglinKills = count;
+            case MobRegistry.GHAST -> ghastKills = count;
+            case MobRegistry.PIGLIN -> piglinKills = count;
+            default -> { }
+        }
+    }
+
+    // Valor null remove a entrada
+    private static <V> void applyCustom(Map<String, V> map, String key, V value) {
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    // fieldName = "fase/chave"
+    private static <V> void applyCustomNested(Map<String, Map<String, V>> map, String fieldName, V value) {
+        int separator = fieldName.indexOf(DeltaUpdateSystem.CUSTOM_KEY_SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        String phaseId = fieldName.substring(0, separator);
+        Map<String, V> phase = map.computeIfAbsent(phaseId, k -> new HashMap<>());
+        applyCustom(phase, fieldName.substring(separator + 1), value);
+        if (phase.isEmpty()) {
+            map.remove(phaseId);
+        }
     }
 
     // Método getInstance para compatibilidade
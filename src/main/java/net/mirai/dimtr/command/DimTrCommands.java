@@ -8,13 +8,20 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.config.DimTrConfig;
+import net.mirai.dimtr.data.PartyManager;
+import net.mirai.dimtr.data.ProgressionCoordinator;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.PlayerProgressionData;
+import net.mirai.dimtr.system.BackupManager;
 import net.mirai.dimtr.system.CustomPhaseSystem;
 import net.mirai.dimtr.system.BossKillValidator;
 import net.mirai.dimtr.system.ProgressTransferService;
 import net.mirai.dimtr.network.UpdateProgressionToClientPayload;
 import net.mirai.dimtr.util.Constants;
+import net.mirai.dimtr.util.MobRegistry;
+import net.mirai.dimtr.util.PersistenceWriter;
+import net.mirai.dimtr.util.PlayerSpatialIndex;
+import net.mirai.dimtr.util.StripedLock;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -23,7 +30,9 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.ChatFormatting;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Sistema de comandos para Dimension Trials - VERSÃO INDIVIDUAL COMPLETA
@@ -37,6 +46,8 @@ import java.util.UUID;
  */
 public class DimTrCommands {
 
+    private static final int MAX_DIFF_LINES = 20;
+
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("dimtr")
                 .requires(source -> source.hasPermission(2)) // OP level 2
@@ -118,7 +129,13 @@ public class DimTrCommands {
                         .then(Commands.literal("list_players")
                                 .executes(DimTrCommands::executeDebugListPlayers))
                         .then(Commands.literal("multipliers")
-                                .executes(DimTrCommands::executeDebugMultipliers)))
+                                .executes(DimTrCommands::executeDebugMultipliers))
+                        .then(Commands.literal("spatial_index")
+                                .executes(DimTrCommands::executeDebugSpatialIndex))
+                        .then(Commands.literal("locks")
+                                .executes(DimTrCommands::executeDebugLocks))
+                        .then(Commands.literal("persistence")
+                                .executes(DimTrCommands::executeDebugPersistence)))
 
                 // ============================================================================
                 // 🆕 COMANDOS DOS NOVOS SISTEMAS FUNCIONAIS
@@ -142,7 +159,29 @@ public class DimTrCommands {
                                         .executes(DimTrCommands::executeReloadBossValidation))
                                 .then(Commands.literal("reputation")
                                         .then(Commands.argument("target", EntityArgument.player())
-                                                .executes(DimTrCommands::executeBossValidationReputation))))));
+                                                .executes(DimTrCommands::executeBossValidationReputation))))
+                        .then(Commands.literal("backup")
+                                .then(Commands.literal("list")
+                                        .executes(DimTrCommands::executeBackupList))
+                                .then(Commands.literal("find")
+                                        .then(Commands.argument("target", EntityArgument.player())
+                                                .executes(DimTrCommands::executeBackupFind)))
+                                .then(Commands.literal("player")
+                                        .then(Commands.argument("target", EntityArgument.player())
+                                                .then(Commands.literal("preview")
+                                                        .then(Commands.argument("backup_id", StringArgumentType.string())
+                                                                .executes(context -> executeBackupRestorePlayer(context, true))))
+                                                .then(Commands.literal("restore")
+                                                        .then(Commands.argument("backup_id", StringArgumentType.string())
+                                                                .executes(context -> executeBackupRestorePlayer(context, false))))))
+                                .then(Commands.literal("party")
+                                        .then(Commands.argument("target", EntityArgument.player())
+                                                .then(Commands.literal("preview")
+                                                        .then(Commands.argument("backup_id", StringArgumentType.string())
+                                                                .executes(context -> executeBackupRestoreParty(context, true))))
+                                                .then(Commands.literal("restore")
+                                                        .then(Commands.argument("backup_id", StringArgumentType.string())
+                                                                .executes(context -> executeBackupRestoreParty(context, false))))))));
     }
 
     // ============================================================================
@@ -287,22 +326,22 @@ public class DimTrCommands {
         playerData.voluntaireExileAdvancementEarned = true;
 
         // Completar mobs da Fase 1
-        playerData.zombieKills = DimTrConfig.SERVER.reqZombieKills.get();
-        playerData.skeletonKills = DimTrConfig.SERVER.reqSkeletonKills.get();
-        playerData.strayKills = DimTrConfig.SERVER.reqStrayKills.get();
-        playerData.huskKills = DimTrConfig.SERVER.reqHuskKills.get();
-        playerData.spiderKills = DimTrConfig.SERVER.reqSpiderKills.get();
-        playerData.creeperKills = DimTrConfig.SERVER.reqCreeperKills.get();
-        playerData.drownedKills = DimTrConfig.SERVER.reqDrownedKills.get();
-        playerData.endermanKills = DimTrConfig.SERVER.reqEndermanKills.get();
-        playerData.witchKills = DimTrConfig.SERVER.reqWitchKills.get();
-        playerData.pillagerKills = DimTrConfig.SERVER.reqPillagerKills.get();
-        playerData.captainKills = DimTrConfig.SERVER.reqCaptainKills.get();
-        playerData.vindicatorKills = DimTrConfig.SERVER.reqVindicatorKills.get();
-        playerData.boggedKills = DimTrConfig.SERVER.reqBoggedKills.get();
-        playerData.breezeKills = DimTrConfig.SERVER.reqBreezeKills.get();
-        playerData.ravagerKills = DimTrConfig.SERVER.reqRavagerKills.get();
-        playerData.evokerKills = DimTrConfig.SERVER.reqEvokerKills.get();
+        playerData.setMobKillCount(MobRegistry.ZOMBIE, DimTrConfig.SERVER.reqZombieKills.get());
+        playerData.setMobKillCount(MobRegistry.SKELETON, DimTrConfig.SERVER.reqSkeletonKills.get());
+        playerData.setMobKillCount(MobRegistry.STRAY, DimTrConfig.SERVER.reqStrayKills.get());
+        playerData.setMobKillCount(MobRegistry.HUSK, DimTrConfig.SERVER.reqHuskKills.get());
+        playerData.setMobKillCount(MobRegistry.SPIDER, DimTrConfig.SERVER.reqSpiderKills.get());
+        playerData.setMobKillCount(MobRegistry.CREEPER, DimTrConfig.SERVER.reqCreeperKills.get());
+        playerData.setMobKillCount(MobRegistry.DROWNED, DimTrConfig.SERVER.reqDrownedKills.get());
+        playerData.setMobKillCount(MobRegistry.ENDERMAN, DimTrConfig.SERVER.reqEndermanKills.get());
+        playerData.setMobKillCount(MobRegistry.WITCH, DimTrConfig.SERVER.reqWitchKills.get());
+        playerData.setMobKillCount(MobRegistry.PILLAGER, DimTrConfig.SERVER.reqPillagerKills.get());
+        playerData.setMobKillCount(MobRegistry.CAPTAIN, DimTrConfig.SERVER.reqCaptainKills.get());
+        playerData.setMobKillCount(MobRegistry.VINDICATOR, DimTrConfig.SERVER.reqVindicatorKills.get());
+        playerData.setMobKillCount(MobRegistry.BOGGED, DimTrConfig.SERVER.reqBoggedKills.get());
+        playerData.setMobKillCount(MobRegistry.BREEZE, DimTrConfig.SERVER.reqBreezeKills.get());
+        playerData.setMobKillCount(MobRegistry.RAVAGER, DimTrConfig.SERVER.reqRavagerKills.get());
+        playerData.setMobKillCount(MobRegistry.EVOKER, DimTrConfig.SERVER.reqEvokerKills.get());
         
         // NOVO: Completar objetivos de mods externos da Fase 1
         if (DimTrConfig.SERVER.enableExternalModIntegration.get()) {
@@ -321,9 +360,15 @@ public class DimTrCommands {
 
         // Forçar completude da Fase 1
         playerData.phase1Completed = true;
+        playerData.invalidateMultiplierCache();
 
         // Salvar e sincronizar
-        progressionManager.setDirty();
+        // 🔧 CORREÇÃO: Alteração administrativa fora do journal - gravar o shard agora
+        progressionManager.persistPlayerNow(playerId).exceptionally(error -> {
+            DimTrMod.LOGGER.error("❌ Falha ao gravar a Fase 1 completada por comando para {}: {}",
+                    playerName, error.getMessage());
+            return null;
+        });
         if (context.getSource().getLevel().getServer() != null) {
             ServerPlayer player = context.getSource().getLevel().getServer().getPlayerList().getPlayer(playerId);
             if (player != null) {
@@ -359,37 +404,37 @@ public class DimTrCommands {
         int reqWitherSkeletons = DimTrConfig.SERVER.reqWitherSkeletonKills.get();
         int reqPiglinBrutes = DimTrConfig.SERVER.reqPiglinBruteKills.get();
         
-        playerData.blazeKills = Math.max(playerData.blazeKills, DimTrConfig.SERVER.reqBlazeKills.get());
-        playerData.witherSkeletonKills = Math.max(playerData.witherSkeletonKills, reqWitherSkeletons);
-        playerData.piglinBruteKills = Math.max(playerData.piglinBruteKills, reqPiglinBrutes);
-        playerData.hoglinKills = Math.max(playerData.hoglinKills, DimTrConfig.SERVER.reqHoglinKills.get());
-        playerData.zoglinKills = Math.max(playerData.zoglinKills, DimTrConfig.SERVER.reqZoglinKills.get());
-        playerData.ghastKills = Math.max(playerData.ghastKills, DimTrConfig.SERVER.reqGhastKills.get());
-        playerData.piglinKills = Math.max(playerData.piglinKills, DimTrConfig.SERVER.reqPiglinKills.get());
+        playerData.setMobKillCount(MobRegistry.BLAZE, Math.max(playerData.getMobKillCount(MobRegistry.BLAZE), DimTrConfig.SERVER.reqBlazeKills.get()));
+        playerData.setMobKillCount(MobRegistry.WITHER_SKELETON, Math.max(playerData.getMobKillCount(MobRegistry.WITHER_SKELETON), reqWitherSkeletons));
+        playerData.setMobKillCount(MobRegistry.PIGLIN_BRUTE, Math.max(playerData.getMobKillCount(MobRegistry.PIGLIN_BRUTE), reqPiglinBrutes));
+        playerData.setMobKillCount(MobRegistry.HOGLIN, Math.max(playerData.getMobKillCount(MobRegistry.HOGLIN), DimTrConfig.SERVER.reqHoglinKills.get()));
+        playerData.setMobKillCount(MobRegistry.ZOGLIN, Math.max(playerData.getMobKillCount(MobRegistry.ZOGLIN), DimTrConfig.SERVER.reqZoglinKills.get()));
+        playerData.setMobKillCount(MobRegistry.GHAST, Math.max(playerData.getMobKillCount(MobRegistry.GHAST), DimTrConfig.SERVER.reqGhastKills.get()));
+        playerData.setMobKillCount(MobRegistry.PIGLIN, Math.max(playerData.getMobKillCount(MobRegistry.PIGLIN), DimTrConfig.SERVER.reqPiglinKills.get()));
         
         // Utilizar constantes para mensagens de log
         DimTrMod.LOGGER.info(Constants.DEBUG_ADMIN_SETTING_MOB_COUNT, 
-            Constants.MOB_WITHER_SKELETON, playerData.witherSkeletonKills, reqWitherSkeletons, playerName);
+            Constants.MOB_WITHER_SKELETON, playerData.getMobKillCount(MobRegistry.WITHER_SKELETON), reqWitherSkeletons, playerName);
         DimTrMod.LOGGER.info(Constants.DEBUG_ADMIN_SETTING_MOB_COUNT, 
-            Constants.MOB_PIGLIN_BRUTE, playerData.piglinBruteKills, reqPiglinBrutes, playerName);
+            Constants.MOB_PIGLIN_BRUTE, playerData.getMobKillCount(MobRegistry.PIGLIN_BRUTE), reqPiglinBrutes, playerName);
 
         // Completar requisitos aumentados do Overworld (125%)
-        playerData.zombieKills = Math.max(playerData.zombieKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqZombieKills.get()));
-        playerData.skeletonKills = Math.max(playerData.skeletonKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSkeletonKills.get()));
-        playerData.strayKills = Math.max(playerData.strayKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqStrayKills.get()));
-        playerData.huskKills = Math.max(playerData.huskKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqHuskKills.get()));
-        playerData.spiderKills = Math.max(playerData.spiderKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSpiderKills.get()));
-        playerData.creeperKills = Math.max(playerData.creeperKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqCreeperKills.get()));
-        playerData.drownedKills = Math.max(playerData.drownedKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqDrownedKills.get()));
-        playerData.endermanKills = Math.max(playerData.endermanKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqEndermanKills.get()));
-        playerData.witchKills = Math.max(playerData.witchKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqWitchKills.get()));
-        playerData.pillagerKills = Math.max(playerData.pillagerKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqPillagerKills.get()));
-        playerData.captainKills = Math.max(playerData.captainKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqCaptainKills.get()));
-        playerData.vindicatorKills = Math.max(playerData.vindicatorKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqVindicatorKills.get()));
-        playerData.boggedKills = Math.max(playerData.boggedKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqBoggedKills.get()));
-        playerData.breezeKills = Math.max(playerData.breezeKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqBreezeKills.get()));
-        playerData.ravagerKills = Math.max(playerData.ravagerKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqRavagerKills.get()));
-        playerData.evokerKills = Math.max(playerData.evokerKills, getPhase2OverworldRequirement(DimTrConfig.SERVER.reqEvokerKills.get()));
+        playerData.setMobKillCount(MobRegistry.ZOMBIE, Math.max(playerData.getMobKillCount(MobRegistry.ZOMBIE), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqZombieKills.get())));
+        playerData.setMobKillCount(MobRegistry.SKELETON, Math.max(playerData.getMobKillCount(MobRegistry.SKELETON), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSkeletonKills.get())));
+        playerData.setMobKillCount(MobRegistry.STRAY, Math.max(playerData.getMobKillCount(MobRegistry.STRAY), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqStrayKills.get())));
+        playerData.setMobKillCount(MobRegistry.HUSK, Math.max(playerData.getMobKillCount(MobRegistry.HUSK), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqHuskKills.get())));
+        playerData.setMobKillCount(MobRegistry.SPIDER, Math.max(playerData.getMobKillCount(MobRegistry.SPIDER), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSpiderKills.get())));
+        playerData.setMobKillCount(MobRegistry.CREEPER, Math.max(playerData.getMobKillCount(MobRegistry.CREEPER), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqCreeperKills.get())));
+        playerData.setMobKillCount(MobRegistry.DROWNED, Math.max(playerData.getMobKillCount(MobRegistry.DROWNED), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqDrownedKills.get())));
+        playerData.setMobKillCount(MobRegistry.ENDERMAN, Math.max(playerData.getMobKillCount(MobRegistry.ENDERMAN), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqEndermanKills.get())));
+        playerData.setMobKillCount(MobRegistry.WITCH, Math.max(playerData.getMobKillCount(MobRegistry.WITCH), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqWitchKills.get())));
+        playerData.setMobKillCount(MobRegistry.PILLAGER, Math.max(playerData.getMobKillCount(MobRegistry.PILLAGER), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqPillagerKills.get())));
+        playerData.setMobKillCount(MobRegistry.CAPTAIN, Math.max(playerData.getMobKillCount(MobRegistry.CAPTAIN), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqCaptainKills.get())));
+        playerData.setMobKillCount(MobRegistry.VINDICATOR, Math.max(playerData.getMobKillCount(MobRegistry.VINDICATOR), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqVindicatorKills.get())));
+        playerData.setMobKillCount(MobRegistry.BOGGED, Math.max(playerData.getMobKillCount(MobRegistry.BOGGED), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqBoggedKills.get())));
+        playerData.setMobKillCount(MobRegistry.BREEZE, Math.max(playerData.getMobKillCount(MobRegistry.BREEZE), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqBreezeKills.get())));
+        playerData.setMobKillCount(MobRegistry.RAVAGER, Math.max(playerData.getMobKillCount(MobRegistry.RAVAGER), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqRavagerKills.get())));
+        playerData.setMobKillCount(MobRegistry.EVOKER, Math.max(playerData.getMobKillCount(MobRegistry.EVOKER), getPhase2OverworldRequirement(DimTrConfig.SERVER.reqEvokerKills.get())));
 
         // NOVO: Completar objetivos de mods externos da Fase 2
         if (DimTrConfig.SERVER.enableExternalModIntegration.get()) {
@@ -409,9 +454,15 @@ public class DimTrCommands {
 
         // Forçar completude da Fase 2
         playerData.phase2Completed = true;
+        playerData.invalidateMultiplierCache();
 
         // Salvar e sincronizar
-        progressionManager.setDirty();
+        // 🔧 CORREÇÃO: Alteração administrativa fora do journal - gravar o shard agora
+        progressionManager.persistPlayerNow(playerId).exceptionally(error -> {
+            DimTrMod.LOGGER.error("❌ Falha ao gravar a Fase 2 completada por comando para {}: {}",
+                    playerName, error.getMessage());
+            return null;
+        });
         if (context.getSource().getLevel().getServer() != null) {
             ServerPlayer player = context.getSource().getLevel().getServer().getPlayerList().getPlayer(playerId);
             if (player != null) {
@@ -445,6 +496,7 @@ public class DimTrCommands {
                 playerData.witherKilled = false;
                 playerData.wardenKilled = false;
                 playerData.phase2Completed = false;
+                playerData.invalidateMultiplierCache();
                 resetAllMobKills(playerData);
             }
             case "phase1" -> {
@@ -454,6 +506,7 @@ public class DimTrCommands {
                 playerData.trialVaultAdvancementEarned = false;
                 playerData.voluntaireExileAdvancementEarned = false;
                 playerData.phase1Completed = false;
+                playerData.invalidateMultiplierCache();
                 resetPhase1MobKills(playerData);
             }
             case "phase2" -> {
@@ -461,6 +514,7 @@ public class DimTrCommands {
                 playerData.witherKilled = false;
                 playerData.wardenKilled = false;
                 playerData.phase2Completed = false;
+                playerData.invalidateMultiplierCache();
                 resetPhase2MobKills(playerData);
             }
             case "mob_kills" -> {
@@ -470,7 +524,7 @@ public class DimTrCommands {
         }
 
         // Salvar e sincronizar
-        progressionManager.setDirty();
+        progressionManager.markPlayerDirty(playerId);
         if (context.getSource().getLevel().getServer() != null) {
             ServerPlayer player = context.getSource().getLevel().getServer().getPlayerList().getPlayer(playerId);
             if (player != null) {
@@ -513,7 +567,7 @@ public class DimTrCommands {
 
         if (success) {
             // Salvar e sincronizar
-            progressionManager.setDirty();
+            progressionManager.markPlayerDirty(playerId);
             if (context.getSource().getLevel().getServer() != null) {
                 ServerPlayer player = context.getSource().getLevel().getServer().getPlayerList().getPlayer(playerId);
                 if (player != null) {
@@ -535,39 +589,17 @@ public class DimTrCommands {
         ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
         PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
 
-        boolean success = switch (mobType.toLowerCase()) {
-            case "zombie" -> { playerData.zombieKills = count; yield true; }
-            case "skeleton" -> { playerData.skeletonKills = count; yield true; }
-            case "stray" -> { playerData.strayKills = count; yield true; }
-            case "husk" -> { playerData.huskKills = count; yield true; }
-            case "spider" -> { playerData.spiderKills = count; yield true; }
-            case "creeper" -> { playerData.creeperKills = count; yield true; }
-            case "drowned" -> { playerData.drownedKills = count; yield true; }
-            case "enderman" -> { playerData.endermanKills = count; yield true; }
-            case "witch" -> { playerData.witchKills = count; yield true; }
-            case "pillager" -> { playerData.pillagerKills = count; yield true; }
-            case "captain" -> { playerData.captainKills = count; yield true; }
-            case "vindicator" -> { playerData.vindicatorKills = count; yield true; }
-            case "bogged" -> { playerData.boggedKills = count; yield true; }
-            case "breeze" -> { playerData.breezeKills = count; yield true; }
-            case "ravager" -> { playerData.ravagerKills = count; yield true; }
-            case "evoker" -> { playerData.evokerKills = count; yield true; }
-            case "blaze" -> { playerData.blazeKills = count; yield true; }
-            case "wither_skeleton" -> { playerData.witherSkeletonKills = count; yield true; }
-            case "piglin_brute" -> { playerData.piglinBruteKills = count; yield true; }
-            case "hoglin" -> { playerData.hoglinKills = count; yield true; }
-            case "zoglin" -> { playerData.zoglinKills = count; yield true; }
-            case "ghast" -> { playerData.ghastKills = count; yield true; }
-            case "piglin" -> { playerData.piglinKills = count; yield true; }
-            default -> {
-                context.getSource().sendFailure(Component.translatable(Constants.CMD_INVALID_MOB_FORMAT, mobType));
-                yield false;
-            }
-        };
+        int mobId = MobRegistry.getId(mobType.toLowerCase());
+        boolean success = MobRegistry.isCountable(mobId);
+        if (success) {
+            playerData.setMobKillCount(mobId, count);
+        } else {
+            context.getSource().sendFailure(Component.translatable(Constants.CMD_INVALID_MOB_FORMAT, mobType));
+        }
 
         if (success) {
             // Salvar e sincronizar
-            progressionManager.setDirty();
+            progressionManager.markPlayerDirty(playerId);
             if (context.getSource().getLevel().getServer() != null) {
                 ServerPlayer player = context.getSource().getLevel().getServer().getPlayerList().getPlayer(playerId);
                 if (player != null) {
@@ -829,6 +861,120 @@ public class DimTrCommands {
         return 1;
     }
 
+    /**
+     * Comparar índice espacial com a varredura linear de jogadores
+     */
+    private static int executeDebugSpatialIndex(CommandContext<CommandSourceStack> context) {
+        ServerLevel serverLevel = context.getSource().getLevel();
+        var players = serverLevel.players();
+
+        if (players.isEmpty()) {
+            context.getSource().sendSuccess(() ->
+                    Component.translatable(Constants.CMD_DEBUG_NO_ONLINE_PLAYERS)
+                            .withStyle(ChatFormatting.RED), false);
+            return 1;
+        }
+
+        // Consultas ao redor de cada jogador, simulando spawns próximos
+        final int rounds = 1000;
+        double radius = ProgressionManager.PROXIMITY_RADIUS;
+        int mismatches = 0;
+
+        long linearStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (ServerPlayer player : players) {
+                PlayerSpatialIndex.scanLinear(serverLevel, player.getX() + 8, player.getY(), player.getZ() + 8, radius);
+            }
+        }
+        long linearNanos = System.nanoTime() - linearStart;
+
+        long indexStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (ServerPlayer player : players) {
+                PlayerSpatialIndex.getPlayersInRadius(serverLevel, player.getX() + 8, player.getY(), player.getZ() + 8, radius);
+            }
+        }
+        long indexNanos = System.nanoTime() - indexStart;
+
+        for (ServerPlayer player : players) {
+            int linear = PlayerSpatialIndex.scanLinear(serverLevel, player.getX() + 8, player.getY(), player.getZ() + 8, radius).size();
+            int indexed = PlayerSpatialIndex.getPlayersInRadius(serverLevel, player.getX() + 8, player.getY(), player.getZ() + 8, radius).size();
+            if (linear != indexed) mismatches++;
+        }
+
+        int queries = rounds * players.size();
+        int finalMismatches = mismatches;
+        context.getSource().sendSuccess(() ->
+                Component.literal("📊 Índice espacial - " + players.size() + " jogadores, " +
+                        PlayerSpatialIndex.getBucketCount(serverLevel) + " buckets")
+                        .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  Linear: %.1f ns/consulta", (double) linearNanos / queries))
+                        .withStyle(ChatFormatting.GRAY), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  Índice: %.1f ns/consulta", (double) indexNanos / queries))
+                        .withStyle(ChatFormatting.GRAY), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal("  Divergências: " + finalMismatches)
+                        .withStyle(finalMismatches == 0 ? ChatFormatting.GREEN : ChatFormatting.RED), false);
+
+        return 1;
+    }
+
+    /**
+     * Mostrar contenção dos locks de processamento de kills
+     */
+    private static int executeDebugLocks(CommandContext<CommandSourceStack> context) {
+        context.getSource().sendSuccess(() ->
+                Component.literal("📊 Contenção de locks")
+                        .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD), false);
+
+        sendLockStats(context, "Progressão", ProgressionCoordinator.getProgressLocks());
+        sendLockStats(context, "Custom Phases", CustomPhaseSystem.getPlayerLocks());
+
+        ProgressionCoordinator.getProgressLocks().resetStats();
+        CustomPhaseSystem.getPlayerLocks().resetStats();
+
+        return 1;
+    }
+
+    /**
+     * Mostrar métricas do gravador assíncrono de persistência
+     */
+    private static int executeDebugPersistence(CommandContext<CommandSourceStack> context) {
+        PersistenceWriter.Stats stats = PersistenceWriter.getStats();
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("📊 Gravador de persistência")
+                        .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  Gravações: %d enviadas, %d concluídas, %d falhas",
+                        stats.submitted(), stats.completed(), stats.failed()))
+                        .withStyle(stats.failed() == 0 ? ChatFormatting.GREEN : ChatFormatting.RED), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  Fila: %d atual, %d máximo (capacidade %d)",
+                        stats.queueDepth(), stats.maxQueueDepth(), Constants.PERSISTENCE_QUEUE_CAPACITY))
+                        .withStyle(ChatFormatting.WHITE), false);
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  Back-pressure: %d esperas, %d ms bloqueado",
+                        stats.backPressureEvents(), stats.backPressureMillis()))
+                        .withStyle(stats.backPressureEvents() == 0 ? ChatFormatting.GREEN : ChatFormatting.YELLOW), false);
+
+        PersistenceWriter.resetStats();
+        return 1;
+    }
+
+    private static void sendLockStats(CommandContext<CommandSourceStack> context, String name, StripedLock locks) {
+        long acquisitions = locks.getAcquisitions();
+        long contended = locks.getContendedAcquisitions();
+        double ratio = acquisitions > 0 ? (double) contended / acquisitions * 100.0 : 0.0;
+
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("  %s: %d aquisições, %d com contenção (%.2f%%), %d partições",
+                        name, acquisitions, contended, ratio, locks.getStripeCount()))
+                        .withStyle(contended == 0 ? ChatFormatting.GREEN : ChatFormatting.YELLOW), false);
+    }
+
     // ============================================================================
     // 🎯 MÉTODOS AUXILIARES
     // ============================================================================
@@ -847,32 +993,15 @@ public class DimTrCommands {
     }
 
     private static void resetPhase1MobKills(PlayerProgressionData playerData) {
-        playerData.zombieKills = 0;
-        playerData.skeletonKills = 0;
-        playerData.strayKills = 0;
-        playerData.huskKills = 0;
-        playerData.spiderKills = 0;
-        playerData.creeperKills = 0;
-        playerData.drownedKills = 0;
-        playerData.endermanKills = 0;
-        playerData.witchKills = 0;
-        playerData.pillagerKills = 0;
-        playerData.captainKills = 0;
-        playerData.vindicatorKills = 0;
-        playerData.boggedKills = 0;
-        playerData.breezeKills = 0;
-        playerData.ravagerKills = 0;
-        playerData.evokerKills = 0;
+        for (int id = MobRegistry.ZOMBIE; id <= MobRegistry.EVOKER; id++) {
+            playerData.setMobKillCount(id, 0);
+        }
     }
 
     private static void resetPhase2MobKills(PlayerProgressionData playerData) {
-        playerData.blazeKills = 0;
-        playerData.witherSkeletonKills = 0;
-        playerData.piglinBruteKills = 0;
-        playerData.hoglinKills = 0;
-        playerData.zoglinKills = 0;
-        playerData.ghastKills = 0;
-        playerData.piglinKills = 0;
+        for (int id = MobRegistry.BLAZE; id <= MobRegistry.PIGLIN; id++) {
+            playerData.setMobKillCount(id, 0);
+        }
     }
 
     private static int getPhase2OverworldRequirement(int originalRequirement) {
@@ -1074,4 +1203,122 @@ public class DimTrCommands {
             return 0;
         }
     }
+
+    private static int executeBackupList(CommandContext<CommandSourceStack> context) {
+        // Apenas cabeçalhos: não descomprime nenhum backup
+        List<BackupManager.BackupInfo> backups = BackupManager.listBackups();
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("💾 Backups (" + backups.size() + ")")
+                        .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD), false);
+        if (backups.isEmpty()) {
+            context.getSource().sendSuccess(() ->
+                    Component.literal("  Nenhum backup encontrado")
+                            .withStyle(ChatFormatting.GRAY), false);
+        }
+        for (BackupManager.BackupInfo backup : backups) {
+            context.getSource().sendSuccess(() ->
+                    Component.literal("  " + backup)
+                            .withStyle(backup.incremental ? ChatFormatting.WHITE : ChatFormatting.GREEN), false);
+        }
+        return backups.size();
+    }
+
+    private static int executeBackupFind(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer target = EntityArgument.getPlayer(context, "target");
+
+        // Consulta ao catálogo em memória: nenhum arquivo é lido
+        return BackupManager.findLatestBackupContaining(target.getUUID())
+                .map(backup -> {
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("💾 Último backup com " + target.getName().getString() + ": " + backup)
+                                    .withStyle(ChatFormatting.GREEN), false);
+                    return 1;
+                })
+                .orElseGet(() -> {
+                    context.getSource().sendFailure(
+                            Component.literal("❌ Nenhum backup contém " + target.getName().getString())
+                                    .withStyle(ChatFormatting.RED));
+                    return 0;
+                });
+    }
+
+    private static int executeBackupRestorePlayer(CommandContext<CommandSourceStack> context, boolean dryRun) throws CommandSyntaxException {
+        ServerPlayer target = EntityArgument.getPlayer(context, "target");
+        String backupId = StringArgumentType.getString(context, "backup_id");
+
+        // "latest": último backup em que o jogador aparece
+        if ("latest".equals(backupId)) {
+            var latest = BackupManager.findLatestBackupContaining(target.getUUID());
+            if (latest.isEmpty()) {
+                context.getSource().sendFailure(
+                        Component.literal("❌ Nenhum backup contém " + target.getName().getString())
+                                .withStyle(ChatFormatting.RED));
+                return 0;
+            }
+            backupId = latest.get().id;
+        }
+
+        return sendSelectiveRestore(context, BackupManager.restorePlayers(backupId, List.of(target.getUUID()), dryRun), dryRun);
+    }
+
+    private static int executeBackupRestoreParty(CommandContext<CommandSourceStack> context, boolean dryRun) throws CommandSyntaxException {
+        ServerPlayer target = EntityArgument.getPlayer(context, "target");
+        String backupId = StringArgumentType.getString(context, "backup_id");
+
+        UUID partyId = PartyManager.get(context.getSource().getLevel()).getPartyIdForPlayer(target.getUUID());
+        if (partyId == null) {
+            context.getSource().sendFailure(
+                    Component.literal("❌ " + target.getName().getString() + " não está em uma party")
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        return sendSelectiveRestore(context, BackupManager.restoreParty(backupId, partyId, dryRun), dryRun);
+    }
+
+    /**
+     * A leitura do backup roda fora da thread do servidor: o resultado chega depois
+     */
+    private static int sendSelectiveRestore(CommandContext<CommandSourceStack> context,
+                                            CompletableFuture<BackupManager.SelectiveRestoreResult> future, boolean dryRun) {
+        CommandSourceStack source = context.getSource();
+        source.sendSuccess(() ->
+                Component.literal("⏳ Lendo backup...")
+                        .withStyle(ChatFormatting.GRAY), false);
+
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                source.sendFailure(
+                        Component.literal("❌ Erro na restauração seletiva: " + cause.getMessage())
+                                .withStyle(ChatFormatting.RED));
+                return;
+            }
+
+            source.sendSuccess(() ->
+                    Component.literal((dryRun ? "🔍 Simulação do backup " : "✅ Restaurado do backup ") + result.backupId())
+                            .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD), true);
+            result.changes().forEach((target, changes) -> {
+                source.sendSuccess(() ->
+                        Component.literal("  " + target + ": " + (changes.isEmpty() ? "sem diferenças" : changes.size() + " alteração(ões)"))
+                                .withStyle(changes.isEmpty() ? ChatFormatting.GREEN : ChatFormatting.YELLOW), false);
+                changes.stream().limit(MAX_DIFF_LINES).forEach(change ->
+                        source.sendSuccess(() ->
+                                Component.literal("    " + change)
+                                        .withStyle(ChatFormatting.WHITE), false));
+                if (changes.size() > MAX_DIFF_LINES) {
+                    source.sendSuccess(() ->
+                            Component.literal("    ... e mais " + (changes.size() - MAX_DIFF_LINES))
+                                    .withStyle(ChatFormatting.GRAY), false);
+                }
+            });
+            for (String missing : result.missing()) {
+                source.sendSuccess(() ->
+                        Component.literal("  ⚠️ Sem registro no backup: " + missing)
+                                .withStyle(ChatFormatting.RED), false);
+            }
+        }, source.getServer());
+        return 1;
+    }
 }
\ No newline at end of file
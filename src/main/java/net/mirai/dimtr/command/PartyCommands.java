@@ -643,7 +643,7 @@ public class PartyCommands {
 
         // Transferir liderança
         party.setLeaderId(targetPlayer.getUUID());
-        partyManager.setDirty();
+        partyManager.markPartyDirty(party.getPartyId());
 
         // Notificar todos os membros
         for (UUID memberId : party.getMembers()) {
@@ -6,6 +6,7 @@ import com.google.gson.JsonSyntaxException;
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.data.PartyManager;
 import net.mirai.dimtr.data.PartyData;
+import net.mirai.dimtr.data.PlayerProgressionData;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.util.Constants;
 import net.minecraft.resources.ResourceLocation;
@@ -27,13 +28,15 @@ public class CustomRequirements {
     private static final String CONFIG_DIR = "config/dimtr/custom_requirements/";
     private static final String EXAMPLE_FILE = "example_requirements.json";
     
-    private static Map<String, CustomRequirementSet> loadedRequirements = new HashMap<>();
-    private static boolean isLoaded = false;
+    // 🎯 PERFORMANCE: Snapshot imutável pré-computado, trocado atomicamente a cada carga.
+    // Leitores (kills, viagens entre dimensões, sync do HUD) nunca alocam nem travam.
+    private static volatile RequirementsSnapshot snapshot = RequirementsSnapshot.EMPTY;
+    private static volatile boolean isLoaded = false;
     
     /**
      * Carregar todos os requisitos customizados
      */
-    public static void loadCustomRequirements() {
+    public static synchronized void loadCustomRequirements() {
         if (isLoaded) return;
         
         File configDir = new File(CONFIG_DIR);
@@ -42,13 +45,13 @@ public class CustomRequirements {
             createExampleFile();
         }
         
-        loadedRequirements.clear();
+        Map<String, CustomRequirementSet> loadedRequirements = new HashMap<>();
         
         File[] files = configDir.listFiles((dir, name) -> name.endsWith(".json"));
         if (files != null) {
             for (File file : files) {
                 try {
-                    loadRequirementFile(file);
+                    loadRequirementFile(file, loadedRequirements);
                 } catch (Exception e) {
                     DimTrMod.LOGGER.error("Failed to load custom requirements from {}: {}", 
                             file.getName(), e.getMessage());
@@ -56,7 +59,13 @@ public class CustomRequirements {
             }
         }
         
+        // Publicar snapshot antes de marcar como carregado
+        snapshot = RequirementsSnapshot.build(loadedRequirements);
         isLoaded = true;
+        
+        // Multiplicadores de custom phases podem ter mudado
+        PlayerProgressionData.invalidateAllMultiplierCaches();
+        
         DimTrMod.LOGGER.info(Constants.LOG_CUSTOM_REQUIREMENTS_LOADED, loadedRequirements.size());
     }
     
@@ -133,7 +142,8 @@ public class CustomRequirements {
     /**
      * Carregar arquivo de requisitos
      */
-    private static void loadRequirementFile(File file) throws IOException, JsonSyntaxException {
+    private static void loadRequirementFile(File file, Map<String, CustomRequirementSet> loadedRequirements)
+            throws IOException, JsonSyntaxException {
         try (FileReader reader = new FileReader(file)) {
             CustomRequirementSet requirements = GSON.fromJson(reader, CustomRequirementSet.class);
             
@@ -148,32 +158,32 @@ public class CustomRequirements {
     }
     
     /**
-     * Obter todas as fases customizadas carregadas
+     * Obter todas as fases customizadas carregadas (visão imutável do snapshot atual)
      */
     public static Map<String, CustomPhase> getAllCustomPhases() {
-        Map<String, CustomPhase> allPhases = new HashMap<>();
-        
-        for (CustomRequirementSet reqSet : loadedRequirements.values()) {
-            if (reqSet.customPhases != null) {
-                allPhases.putAll(reqSet.customPhases);
-            }
-        }
-        
-        return allPhases;
+        return snapshot.phases();
+    }
+    
+    /**
+     * 🎯 PERFORMANCE: Obter fases que exigem um mob (lista vazia se nenhuma)
+     * Um kill só visita as fases que realmente pedem aquele mob.
+     */
+    public static List<MobRequirementRef> getPhasesRequiringMob(String mobEntityId) {
+        return snapshot.phasesByMob().getOrDefault(mobEntityId, List.of());
     }
     
     /**
      * Verificar se uma fase customizada existe
      */
     public static boolean hasCustomPhase(String phaseId) {
-        return getAllCustomPhases().containsKey(phaseId);
+        return snapshot.phases().containsKey(phaseId);
     }
     
     /**
      * Obter uma fase customizada
      */
     public static CustomPhase getCustomPhase(String phaseId) {
-        return getAllCustomPhases().get(phaseId);
+        return snapshot.phases().get(phaseId);
     }
 
     /**
@@ -208,21 +218,14 @@ public class CustomRequirements {
      * 🎯 NOVO: Encontrar qual fase bloqueia uma dimensão específica
      */
     public static String findBlockingPhaseForDimension(String dimensionString) {
-        for (var entry : loadedRequirements.entrySet()) {
-            for (var phaseEntry : entry.getValue().customPhases.entrySet()) {
-                var phase = phaseEntry.getValue();
-                if (phase.dimensionAccess != null && phase.dimensionAccess.contains(dimensionString)) {
-                    return phaseEntry.getKey();
-                }
-            }
-        }
-        return null;
+        // 🎯 PERFORMANCE: Lookup direto no índice dimensão -> fase do snapshot
+        return snapshot.blockingPhaseByDimension().get(dimensionString);
     }
     
     /**
      * Recarregar requisitos customizados
      */
-    public static void reload() {
+    public static synchronized void reload() {
         isLoaded = false;
         loadCustomRequirements();
     }
@@ -269,7 +272,7 @@ public class CustomRequirements {
     /**
      * 🎯 NOVO: Salvar um conjunto de requisitos customizados em arquivo
      */
-    public static void saveCustomRequirement(String fileName, CustomRequirementSet requirementSet) throws IOException {
+    public static synchronized void saveCustomRequirement(String fileName, CustomRequirementSet requirementSet) throws IOException {
         File configDir = new File(CONFIG_DIR);
         if (!configDir.exists()) {
             configDir.mkdirs();
@@ -284,9 +287,12 @@ public class CustomRequirements {
             GSON.toJson(requirementSet, writer);
         }
         
-        // Recarregar requisitos após salvar
+        // Recarregar requisitos após salvar (novo snapshot com o conjunto atualizado)
         if (requirementSet.enabled) {
-            loadedRequirements.put(fileName.replace(".json", ""), requirementSet);
+            Map<String, CustomRequirementSet> updated = new HashMap<>(snapshot.requirementSets());
+            updated.put(fileName.replace(".json", ""), requirementSet);
+            snapshot = RequirementsSnapshot.build(updated);
+            PlayerProgressionData.invalidateAllMultiplierCaches();
         }
         
         DimTrMod.LOGGER.info("💾 Configuração customizada salva: {}", fileName);
@@ -316,6 +322,67 @@ public class CustomRequirements {
         public boolean enabled = true;
     }
     
+    /**
+     * Entrada do índice invertido: fase que exige o mob e quantidade base exigida
+     */
+    public record MobRequirementRef(String phaseId, int requirement) {}
+    
+    /**
+     * Estado carregado e seus índices, montados juntos e publicados de uma vez.
+     * Os mapas são imutáveis; os objetos CustomPhase são tratados como somente leitura.
+     */
+    private record RequirementsSnapshot(Map<String, CustomRequirementSet> requirementSets,
+                                        Map<String, CustomPhase> phases,
+                                        Map<String, String> blockingPhaseByDimension,
+                                        Map<String, List<MobRequirementRef>> phasesByMob) {
+        
+        static final RequirementsSnapshot EMPTY = new RequirementsSnapshot(Map.of(), Map.of(), Map.of(), Map.of());
+        
+        static RequirementsSnapshot build(Map<String, CustomRequirementSet> requirementSets) {
+            // Mesma fase em dois arquivos: a última definição vence (ordem de inserção preservada)
+            Map<String, CustomPhase> phases = new LinkedHashMap<>();
+            for (CustomRequirementSet reqSet : requirementSets.values()) {
+                if (reqSet.customPhases != null) {
+                    phases.putAll(reqSet.customPhases);
+                }
+            }
+            
+            // 🔧 CORREÇÃO: Índices montados a partir das fases finais, sem entradas de definições sobrescritas
+            Map<String, String> blockingPhaseByDimension = new HashMap<>();
+            Map<String, List<MobRequirementRef>> phasesByMob = new HashMap<>();
+            for (Map.Entry<String, CustomPhase> phaseEntry : phases.entrySet()) {
+                String phaseId = phaseEntry.getKey();
+                CustomPhase phase = phaseEntry.getValue();
+                
+                // Primeira fase encontrada para a dimensão é a que bloqueia
+                if (phase.dimensionAccess != null) {
+                    for (String dimension : phase.dimensionAccess) {
+                        blockingPhaseByDimension.putIfAbsent(dimension, phaseId);
+                    }
+                }
+                
+                // Indexar mobs das fases customizadas (contados por fase, fora do MobRegistry)
+                if (phase.mobRequirements != null) {
+                    for (Map.Entry<String, Integer> mobEntry : phase.mobRequirements.entrySet()) {
+                        phasesByMob.computeIfAbsent(mobEntry.getKey(), k -> new ArrayList<>())
+                                .add(new MobRequirementRef(phaseId, mobEntry.getValue()));
+                    }
+                }
+            }
+            
+            Map<String, List<MobRequirementRef>> frozenMobIndex = new HashMap<>();
+            for (Map.Entry<String, List<MobRequirementRef>> entry : phasesByMob.entrySet()) {
+                frozenMobIndex.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+            
+            return new RequirementsSnapshot(
+                    Collections.unmodifiableMap(new HashMap<>(requirementSets)),
+                    Collections.unmodifiableMap(phases),
+                    Collections.unmodifiableMap(blockingPhaseByDimension),
+                    Collections.unmodifiableMap(frozenMobIndex));
+        }
+    }
+    
     public static class CustomObjective {
         public String displayName;
         public String description;
@@ -83,6 +83,7 @@ public class DimTrConfig {
         // Multiplicadores de dificuldade
         public final ModConfigSpec.DoubleValue phase1Multiplier;
         public final ModConfigSpec.DoubleValue phase2Multiplier;
+        public final ModConfigSpec.IntValue multiplierCacheTicks;
 
         // 🎯 NOVO: Configurações do sistema de parties
         public final ModConfigSpec.BooleanValue enablePartySystem;
@@ -94,6 +95,9 @@ public class DimTrConfig {
         public final ModConfigSpec.BooleanValue enableDebugLogging;
         public final ModConfigSpec.BooleanValue enableProgressionSync;
         public final ModConfigSpec.IntValue syncInterval;
+        public final ModConfigSpec.IntValue offlineEvictionMinutes;
+        public final ModConfigSpec.IntValue syncCoalesceTicks;
+        public final ModConfigSpec.IntValue syncHighPriorityMaxTicks;
 
         // 🎯 NOVO: Configurações para integração com mods externos
         public final ModConfigSpec.BooleanValue enableExternalModIntegration;
@@ -293,6 +297,10 @@ public class DimTrConfig {
                     .comment("Mob health/damage multiplier when Phase 2 is completed (minimum 1.0)")
                     .defineInRange("phase2Multiplier", 2.0, 1.0, 10.0);
 
+            multiplierCacheTicks = builder
+                    .comment("Ticks a computed spawn multiplier is reused for the same chunk section (0 = disabled)")
+                    .defineInRange("multiplierCacheTicks", 20, 0, 1200);
+
             builder.pop();
 
             // ========================================================================
@@ -335,6 +343,18 @@ public class DimTrConfig {
                     .comment("Progression sync interval in ticks (20 ticks = 1 second)")
                     .defineInRange("syncInterval", 100, 20, 1200);
 
+            offlineEvictionMinutes = builder
+                    .comment("Minutes an offline player's progression stays in memory after being saved (0 = never evict)")
+                    .defineInRange("offlineEvictionMinutes", 15, 0, 1440);
+
+            syncCoalesceTicks = builder
+                    .comment("Ticks that ordinary progression updates (e.g. mob kills) are merged before being sent to clients (0 = end of the same tick)")
+                    .defineInRange("syncCoalesceTicks", 5, 0, 40);
+
+            syncHighPriorityMaxTicks = builder
+                    .comment("Maximum ticks a high-priority update (phase completion, boss kill) may wait before being sent (0 = end of the same tick)")
+                    .defineInRange("syncHighPriorityMaxTicks", 0, 0, 20);
+
             builder.pop();
 
             // ========================================================================
@@ -7,7 +7,6 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Coordenador especializado para processamento de fases customizadas
@@ -27,8 +26,8 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class CustomPhaseCoordinator {
     
-    // ✅ THREAD-SAFETY: Lock para operações críticas
-    private static final ReentrantLock PROCESSING_LOCK = new ReentrantLock();
+    // 🔒 THREAD-SAFETY: Alterações chegam pelo ProgressionCoordinator, já com o lock do
+    // dono do progresso (party ou jogador). Consultas são só leitura de flags, sem lock.
     
     /**
      * Processar objetivo customizado com coordenação entre party e individual
@@ -40,30 +39,24 @@ public class CustomPhaseCoordinator {
      * @return true se foi processado com sucesso
      */
     public static boolean processCustomObjective(UUID playerId, String phaseId, String objectiveId, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            if (DimTrConfig.SERVER.enableDebugLogging.get()) {
-                DimTrMod.LOGGER.debug("🎯 [CustomPhaseCoordinator] Processando objetivo customizado - Fase: {}, Objetivo: {}, Jogador: {}", 
-                    phaseId, objectiveId, playerId);
-            }
-            
-            // 🎯 PRIMEIRO: Tentar processar para party
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null) {
-                    return processPartyCustomObjective(party, playerId, phaseId, objectiveId, serverLevel, progressionManager);
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        if (DimTrConfig.SERVER.enableDebugLogging.get()) {
+            DimTrMod.LOGGER.debug("🎯 [CustomPhaseCoordinator] Processando objetivo customizado - Fase: {}, Objetivo: {}, Jogador: {}", 
+                phaseId, objectiveId, playerId);
+        }
+        
+        // 🎯 PRIMEIRO: Tentar processar para party
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null) {
+                return processPartyCustomObjective(party, playerId, phaseId, objectiveId, serverLevel, progressionManager);
             }
-            
-            // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
-            return processIndividualCustomObjective(playerId, phaseId, objectiveId, progressionManager, serverLevel);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
+        return processIndividualCustomObjective(playerId, phaseId, objectiveId, progressionManager, serverLevel);
     }
     
     /**
@@ -76,30 +69,24 @@ public class CustomPhaseCoordinator {
      * @return true se foi processado com sucesso
      */
     public static boolean processCustomMobKill(UUID playerId, String phaseId, String mobType, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            if (DimTrConfig.SERVER.enableDebugLogging.get()) {
-                DimTrMod.LOGGER.debug("🎯 [CustomPhaseCoordinator] Processando kill customizado - Fase: {}, Mob: {}, Jogador: {}", 
-                    phaseId, mobType, playerId);
-            }
-            
-            // 🎯 PRIMEIRO: Tentar processar para party
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null) {
-                    return processPartyCustomMobKill(party, playerId, phaseId, mobType, serverLevel, progressionManager);
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        if (DimTrConfig.SERVER.enableDebugLogging.get()) {
+            DimTrMod.LOGGER.debug("🎯 [CustomPhaseCoordinator] Processando kill customizado - Fase: {}, Mob: {}, Jogador: {}", 
+                phaseId, mobType, playerId);
+        }
+        
+        // 🎯 PRIMEIRO: Tentar processar para party
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null) {
+                return processPartyCustomMobKill(party, playerId, phaseId, mobType, serverLevel, progressionManager);
             }
-            
-            // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
-            return processIndividualCustomMobKill(playerId, phaseId, mobType, progressionManager, serverLevel);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
+        return processIndividualCustomMobKill(playerId, phaseId, mobType, progressionManager, serverLevel);
     }
     
     /**
@@ -117,26 +104,20 @@ public class CustomPhaseCoordinator {
             return true; // Dimensão não é controlada por nenhuma fase customizada
         }
         
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            // Verificar se jogador está em party
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null && party.isCustomPhaseComplete(blockingPhase)) {
-                    return true; // Party já completou a fase
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        // Verificar se jogador está em party
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null && party.isCustomPhaseComplete(blockingPhase)) {
+                return true; // Party já completou a fase
             }
-            
-            // Verificar progresso individual
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            return playerData.isCustomPhaseComplete(blockingPhase);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // Verificar progresso individual
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        return playerData.isCustomPhaseComplete(blockingPhase);
     }
     
     /**
@@ -158,6 +139,7 @@ public class CustomPhaseCoordinator {
         // Também marcar no progresso individual (para restauração futura)
         PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
         playerData.setCustomObjectiveComplete(phaseId, objectiveId, true);
+        progressionManager.markPlayerDirty(playerId);
         
         if (DimTrConfig.SERVER.enableDebugLogging.get()) {
             DimTrMod.LOGGER.info("✅ [PARTY] Objetivo customizado {}/{} completo para party do jogador {}", 
@@ -167,10 +149,8 @@ public class CustomPhaseCoordinator {
         // Verificar se a fase está completa agora
         checkAndCompleteCustomPhase(party, phaseId, serverLevel);
         
-        // Sincronizar com todos os membros da party
-        for (UUID memberId : party.getMembers()) {
-            SyncManager.scheduleFullSync(memberId);
-        }
+        // Sincronizar com todos os membros da party (objetivo concluído: alta prioridade)
+        SyncManager.schedulePartyMembersSync(party.getPartyId(), true);
         
         return true;
     }
@@ -192,6 +172,7 @@ public class CustomPhaseCoordinator {
         }
         
         playerData.setCustomObjectiveComplete(phaseId, objectiveId, true);
+        progressionManager.markPlayerDirty(playerId);
         
         if (DimTrConfig.SERVER.enableDebugLogging.get()) {
             DimTrMod.LOGGER.info("✅ [INDIVIDUAL] Objetivo customizado {}/{} completo para jogador {}", 
@@ -218,6 +199,7 @@ public class CustomPhaseCoordinator {
         // Também incrementar no progresso individual (para restauração futura)
         PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
         playerData.incrementCustomMobKill(phaseId, mobType);
+        progressionManager.recordCustomMobKill(playerId, phaseId, mobType);
         
         if (DimTrConfig.SERVER.enableDebugLogging.get()) {
             int currentCount = party.getSharedCustomMobKills(phaseId, mobType);
@@ -228,10 +210,8 @@ public class CustomPhaseCoordinator {
         // Verificar se a fase está completa agora
         checkAndCompleteCustomPhase(party, phaseId, serverLevel);
         
-        // Sincronizar com todos os membros da party
-        for (UUID memberId : party.getMembers()) {
-            SyncManager.scheduleProgressionSync(memberId);
-        }
+        // 🎯 PERFORMANCE: Um único fan-out da party no flush, mesclado com outras kills do intervalo
+        SyncManager.schedulePartyMembersSync(party.getPartyId(), false);
         
         return true;
     }
@@ -244,6 +224,7 @@ public class CustomPhaseCoordinator {
         
         PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
         playerData.incrementCustomMobKill(phaseId, mobType);
+        progressionManager.recordCustomMobKill(playerId, phaseId, mobType);
         
         if (DimTrConfig.SERVER.enableDebugLogging.get()) {
             int currentCount = playerData.getCustomMobKills(phaseId, mobType);
@@ -435,25 +416,19 @@ public class CustomPhaseCoordinator {
      * @return true se a fase está completa
      */
     public static boolean isCustomPhaseComplete(UUID playerId, String phaseId, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            // Verificar primeiro no sistema de party se o jogador estiver em uma
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null && party.isCustomPhaseComplete(phaseId)) {
-                    return true;
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        // Verificar primeiro no sistema de party se o jogador estiver em uma
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null && party.isCustomPhaseComplete(phaseId)) {
+                return true;
             }
-            
-            // Verificar no progresso individual
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            return playerData.isCustomPhaseComplete(phaseId);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // Verificar no progresso individual
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        return playerData.isCustomPhaseComplete(phaseId);
     }
 }
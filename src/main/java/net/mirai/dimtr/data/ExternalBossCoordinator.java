@@ -3,11 +3,11 @@ package net.mirai.dimtr.data;
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.config.DimTrConfig;
 import net.mirai.dimtr.integration.ExternalModIntegration;
+import net.mirai.dimtr.sync.SyncManager;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Coordenador especializado para processamento de bosses de mods externos
@@ -26,8 +26,8 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class ExternalBossCoordinator {
     
-    // ✅ THREAD-SAFETY: Lock para operações críticas
-    private static final ReentrantLock PROCESSING_LOCK = new ReentrantLock();
+    // 🔒 THREAD-SAFETY: Kills chegam pelo ProgressionCoordinator, já com o lock do dono
+    // do progresso (party ou jogador). Consultas são só leitura de flags, sem lock.
     
     /**
      * Processar morte de boss externo com coordenação entre party e individual
@@ -46,52 +46,36 @@ public class ExternalBossCoordinator {
             return false;
         }
         
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            String objectiveKey = bossEntityId.replace(":", "_");
-            
-            if (DimTrConfig.SERVER.enableDebugLogging.get()) {
-                DimTrMod.LOGGER.debug("🔍 [ExternalBossCoordinator] Processando boss externo - ID: {}, Key: {}, Fase: {}, Jogador: {}", 
-                    bossEntityId, objectiveKey, phase, playerId);
-            }
-            
-            // 🎯 PRIMEIRO: Tentar processar para party
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null) {
-                    return processPartyExternalBoss(party, playerId, bossEntityId, objectiveKey, phase, serverLevel, progressionManager);
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        String objectiveKey = bossEntityId.replace(":", "_");
+        
+        if (DimTrConfig.SERVER.enableDebugLogging.get()) {
+            DimTrMod.LOGGER.debug("🔍 [ExternalBossCoordinator] Processando boss externo - ID: {}, Key: {}, Fase: {}, Jogador: {}", 
+                bossEntityId, objectiveKey, phase, playerId);
+        }
+        
+        // 🎯 PRIMEIRO: Tentar processar para party
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null) {
+                return processPartyExternalBoss(party, playerId, bossEntityId, objectiveKey, phase, serverLevel, progressionManager);
             }
-            
-            // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
-            return processIndividualExternalBoss(playerId, bossEntityId, objectiveKey, phase, progressionManager, serverLevel);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // 🎯 SEGUNDO: Processar individualmente se não foi processado por party
+        return processIndividualExternalBoss(playerId, bossEntityId, objectiveKey, phase, progressionManager, serverLevel);
     }
     
     /**
      * Sincronizar todos os membros da party após alteração de boss externo
-     * Garante que todos recebam dados atualizados instantaneamente
+     * Boss derrotado é evento de alta prioridade: sai no flush do tick atual
      * 
      * ✅ CORREÇÃO: Envia dados de progressão DA PARTY, não individuais
      */
-    private static void syncAllPartyMembers(PartyData party, ServerLevel serverLevel, ProgressionManager progressionManager) {
-        PartyManager partyManager = PartyManager.get(serverLevel);
-        
-        for (UUID memberId : party.getMembers()) {
-            ServerPlayer member = serverLevel.getServer().getPlayerList().getPlayer(memberId);
-            if (member != null) {
-                // ✅ CORREÇÃO CRÍTICA: Enviar dados de progressão DA PARTY
-                partyManager.sendPartyProgressionToClient(member);
-                // Sincronizar dados da party (membros, etc.)
-                partyManager.sendPartyToClient(member);
-            }
-        }
+    private static void syncAllPartyMembers(PartyData party) {
+        SyncManager.schedulePartyMembersSync(party.getPartyId(), true);
     }
 
     /**
@@ -109,14 +93,14 @@ public class ExternalBossCoordinator {
         playerData.setCustomObjectiveComplete("external_bosses", objectiveKey, true);
         
         // Marcar como modificado para garantir persistência
-        progressionManager.setDirty();
+        progressionManager.markPlayerDirty(playerId);
         
         // Enviar notificação e verificar conclusão da fase
         notifyPartyMembersOfBossKill(party, bossEntityId, serverLevel);
         checkPhaseCompletionWithExternalBosses(party, phase, serverLevel);
         
         // ✅ CORREÇÃO: Usar método centralizado de sincronização
-        syncAllPartyMembers(party, serverLevel, progressionManager);
+        syncAllPartyMembers(party);
         
         // Log para depuração
         DimTrMod.LOGGER.info("🎯 Boss externo {} derrotado por party {} - Fase {} - Marcado em objetivos externos",
@@ -139,13 +123,10 @@ public class ExternalBossCoordinator {
         checkPhaseCompletionWithExternalBossesIndividual(playerData, phase);
         
         // Forçar salvamento dos dados
-        progressionManager.setDirty();
+        progressionManager.markPlayerDirty(playerId);
         
-        // ✅ CORREÇÃO: Enviar sincronização imediata ao cliente
-        ServerPlayer serverPlayer = serverLevel.getServer().getPlayerList().getPlayer(playerId);
-        if (serverPlayer != null) {
-            progressionManager.sendToClient(serverPlayer);
-        }
+        // ✅ CORREÇÃO: Sincronizar com o cliente no fim do tick (alta prioridade)
+        SyncManager.schedulePhaseSync(playerId);
         
         DimTrMod.LOGGER.info("🎉 Boss externo {} derrotado por jogador individual {} - Fase {} atualizada", 
                 bossEntityId, playerId, phase);
@@ -189,12 +170,14 @@ public class ExternalBossCoordinator {
             case 1:
                 if (isPhase1CompleteWithExternalBossesIndividual(playerData)) {
                     playerData.phase1Completed = true;
+                    playerData.invalidateMultiplierCache();
                     DimTrMod.LOGGER.info("🎯 Fase 1 completa para jogador {} (incluindo bosses externos)", playerData.getPlayerId());
                 }
                 break;
             case 2:
                 if (isPhase2CompleteWithExternalBossesIndividual(playerData)) {
                     playerData.phase2Completed = true;
+                    playerData.invalidateMultiplierCache();
                     DimTrMod.LOGGER.info("🎯 Fase 2 completa para jogador {} (incluindo bosses externos)", playerData.getPlayerId());
                 }
                 break;
@@ -387,27 +370,21 @@ public class ExternalBossCoordinator {
      * @return true se o boss foi derrotado
      */
     public static boolean isExternalBossComplete(UUID playerId, String bossEntityId, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            String objectiveKey = bossEntityId.replace(":", "_");
-            
-            // Verificar primeiro no sistema de party se o jogador estiver em uma
-            if (partyManager.isPlayerInParty(playerId)) {
-                PartyData party = partyManager.getPlayerParty(playerId);
-                if (party != null && party.isSharedCustomObjectiveComplete("external_bosses", objectiveKey)) {
-                    return true;
-                }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        String objectiveKey = bossEntityId.replace(":", "_");
+        
+        // Verificar primeiro no sistema de party se o jogador estiver em uma
+        if (partyManager.isPlayerInParty(playerId)) {
+            PartyData party = partyManager.getPlayerParty(playerId);
+            if (party != null && party.isSharedCustomObjectiveComplete("external_bosses", objectiveKey)) {
+                return true;
             }
-            
-            // Verificar no progresso individual
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            return playerData.isCustomObjectiveComplete("external_bosses", objectiveKey);
-            
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
+        
+        // Verificar no progresso individual
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        return playerData.isCustomObjectiveComplete("external_bosses", objectiveKey);
     }
 }
@@ -1,9 +1,9 @@
 package net.mirai.dimtr.data;
 
 import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.util.ConfigCache;
 import net.mirai.dimtr.util.Constants;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
 
 import java.util.UUID;
 
@@ -13,115 +13,102 @@ import java.util.UUID;
  */
 public class IndividualProgressionCoordinator {
     
-    private static final Object PROCESSING_LOCK = new Object();
+    // 🔒 THREAD-SAFETY: Sem lock próprio; o ProgressionCoordinator chama com o lock do jogador
     
     /**
      * Processar mob kill individual
      */
     public static boolean processIndividualMobKill(UUID playerId, String mobType, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            
-            // Incrementar kill individual
-            boolean wasIncremented = playerData.incrementMobKill(mobType);
-            if (!wasIncremented) {
-                return false; // Mob type não é válido ou já no máximo
-            }
-            
-            // 🔧 CORREÇÃO CRÍTICA: Marcar como dirty E enviar atualizações para o cliente
-            progressionManager.setDirty();
-            
-            // 🔧 CORREÇÃO CRÍTICA: Enviar atualização imediata para o cliente
-            ServerPlayer player = serverLevel.getServer().getPlayerList().getPlayer(playerId);
-            if (player != null) {
-                progressionManager.sendToClient(player);
-            }
-            
-            DimTrMod.LOGGER.debug("✅ Individual mob kill processed and synced: {} killed {} ({})", 
-                playerId, mobType, playerData.getMobKillCount(mobType));
-            
-            // Verificar se alguma fase foi completada
-            checkPhaseCompletionForPlayer(playerData, progressionManager, serverLevel);
-            
-            return true;
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        
+        // Incrementar kill individual
+        boolean wasIncremented = playerData.incrementMobKill(mobType);
+        if (!wasIncremented) {
+            return false; // Mob type não é válido ou já no máximo
         }
+        
+        // 🔧 CORREÇÃO CRÍTICA: Registrar no journal, marcar como dirty e agendar o delta para o cliente
+        progressionManager.recordMobKill(playerId, mobType);
+        
+        DimTrMod.LOGGER.debug("✅ Individual mob kill processed: {} killed {} ({})", 
+            playerId, mobType, playerData.getMobKillCount(mobType));
+        
+        // Verificar se alguma fase foi completada
+        if (checkPhaseCompletionForPlayer(playerData, progressionManager, serverLevel)) {
+            // Fase completada não espera a janela de agrupamento
+            progressionManager.markDirtyAndSendUpdates(playerId, true);
+        }
+        
+        return true;
     }
     
     /**
      * Processar objetivo especial individual
      */
     public static boolean processIndividualSpecialObjective(UUID playerId, String objectiveType, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            
-            boolean wasNewlyCompleted = false;
-            
-            switch (objectiveType) {
-                case Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN -> {
-                    if (!playerData.elderGuardianKilled) {
-                        playerData.elderGuardianKilled = true;
-                        wasNewlyCompleted = true;
-                    }
-                }
-                case Constants.OBJECTIVE_TYPE_RAID -> {
-                    if (!playerData.raidWon) {
-                        playerData.raidWon = true;
-                        wasNewlyCompleted = true;
-                    }
-                }
-                case Constants.OBJECTIVE_TYPE_TRIAL_VAULT -> {
-                    if (!playerData.trialVaultAdvancementEarned) {
-                        playerData.trialVaultAdvancementEarned = true;
-                        wasNewlyCompleted = true;
-                    }
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        
+        boolean wasNewlyCompleted = false;
+        
+        switch (objectiveType) {
+            case Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN -> {
+                if (!playerData.elderGuardianKilled) {
+                    playerData.elderGuardianKilled = true;
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE -> {
-                    if (!playerData.voluntaireExileAdvancementEarned) {
-                        playerData.voluntaireExileAdvancementEarned = true;
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_RAID -> {
+                if (!playerData.raidWon) {
+                    playerData.raidWon = true;
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_WITHER -> {
-                    if (!playerData.witherKilled) {
-                        playerData.witherKilled = true;
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_TRIAL_VAULT -> {
+                if (!playerData.trialVaultAdvancementEarned) {
+                    playerData.trialVaultAdvancementEarned = true;
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_WARDEN -> {
-                    if (!playerData.wardenKilled) {
-                        playerData.wardenKilled = true;
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE -> {
+                if (!playerData.voluntaireExileAdvancementEarned) {
+                    playerData.voluntaireExileAdvancementEarned = true;
+                    wasNewlyCompleted = true;
                 }
-                default -> {
-                    DimTrMod.LOGGER.warn("Unknown objective type for individual: {}", objectiveType);
-                    return false;
+            }
+            case Constants.OBJECTIVE_TYPE_WITHER -> {
+                if (!playerData.witherKilled) {
+                    playerData.witherKilled = true;
+                    wasNewlyCompleted = true;
                 }
             }
-            
-            if (wasNewlyCompleted) {
-                // 🔧 CORREÇÃO CRÍTICA: Marcar como dirty E enviar atualizações para o cliente
-                progressionManager.setDirty();
-                
-                // 🔧 CORREÇÃO CRÍTICA: Enviar atualização imediata para o cliente
-                ServerPlayer player = serverLevel.getServer().getPlayerList().getPlayer(playerId);
-                if (player != null) {
-                    progressionManager.sendToClient(player);
+            case Constants.OBJECTIVE_TYPE_WARDEN -> {
+                if (!playerData.wardenKilled) {
+                    playerData.wardenKilled = true;
+                    wasNewlyCompleted = true;
                 }
-                
-                DimTrMod.LOGGER.info("✅ Individual objective completed and synced: {} for player {}", 
-                    objectiveType, playerId);
-                
-                // Verificar se alguma fase foi completada
-                checkPhaseCompletionForPlayer(playerData, progressionManager, serverLevel);
-                
-                return true;
             }
+            default -> {
+                DimTrMod.LOGGER.warn("Unknown objective type for individual: {}", objectiveType);
+                return false;
+            }
+        }
+        
+        if (wasNewlyCompleted) {
+            // 🔧 CORREÇÃO CRÍTICA: Registrar no journal, marcar como dirty e agendar o delta (alta prioridade)
+            progressionManager.recordObjective(playerId, objectiveType);
+            
+            DimTrMod.LOGGER.info("✅ Individual objective completed: {} for player {}", 
+                objectiveType, playerId);
             
-            return false; // Já estava completo
+            // Verificar se alguma fase foi completada
+            checkPhaseCompletionForPlayer(playerData, progressionManager, serverLevel);
+            
+            return true;
         }
+        
+        return false; // Já estava completo
     }
     
     /**
@@ -152,14 +139,19 @@ public class IndividualProgressionCoordinator {
     
     /**
      * Verificar e completar fases para jogador individual
+     * @return true se alguma fase foi completada agora
      */
-    private static void checkPhaseCompletionForPlayer(PlayerProgressionData playerData, 
+    private static boolean checkPhaseCompletionForPlayer(PlayerProgressionData playerData, 
                                                      ProgressionManager progressionManager, 
                                                      ServerLevel serverLevel) {
+        boolean phaseCompleted = false;
+        
         // Verificar Phase 1
         if (!playerData.phase1Completed && isPhase1CompleteForPlayer(playerData)) {
+            phaseCompleted = true;
             playerData.phase1Completed = true;
-            progressionManager.setDirty();
+            playerData.invalidateMultiplierCache();
+            progressionManager.markPlayerDirty(playerData.getPlayerId());
             
             DimTrMod.LOGGER.info("Phase 1 completed for individual player {}", playerData.getPlayerId());
             
@@ -172,8 +164,10 @@ public class IndividualProgressionCoordinator {
         
         // Verificar Phase 2
         if (!playerData.phase2Completed && isPhase2CompleteForPlayer(playerData)) {
+            phaseCompleted = true;
             playerData.phase2Completed = true;
-            progressionManager.setDirty();
+            playerData.invalidateMultiplierCache();
+            progressionManager.markPlayerDirty(playerData.getPlayerId());
             
             DimTrMod.LOGGER.info("Phase 2 completed for individual player {}", playerData.getPlayerId());
             
@@ -183,6 +177,8 @@ public class IndividualProgressionCoordinator {
                 net.mirai.dimtr.util.I18nHelper.sendMessage(player, "progression.phase2.complete");
             }
         }
+        
+        return phaseCompleted;
     }
     
     /**
@@ -220,7 +216,7 @@ public class IndividualProgressionCoordinator {
         }
         
         // Verificar mob kills se habilitado
-        if (net.mirai.dimtr.config.DimTrConfig.SERVER.enableMobKillsPhase1.get()) {
+        if (ConfigCache.isMobKillsPhase1Enabled()) {
             boolean mobKillsComplete = checkPhase1MobKills(playerData);
             return specialObjectivesComplete && mobKillsComplete;
         }
@@ -256,7 +252,7 @@ public class IndividualProgressionCoordinator {
         }
         
         // Verificar mob kills se habilitado
-        if (net.mirai.dimtr.config.DimTrConfig.SERVER.enableMobKillsPhase2.get()) {
+        if (ConfigCache.isMobKillsPhase2Enabled()) {
             boolean mobKillsComplete = checkPhase2MobKills(playerData);
             return specialObjectivesComplete && mobKillsComplete;
         }
@@ -266,113 +262,16 @@ public class IndividualProgressionCoordinator {
     
     /**
      * Verificar mob kills da Phase 1 para jogador individual
+     * 🎯 PERFORMANCE: Usa o plano pré-compilado e o contador de requisitos restantes
      */
     private static boolean checkPhase1MobKills(PlayerProgressionData playerData) {
-        // Verificar kills necessários para Phase 1
-        String[] phase1Mobs = {
-            "zombie", "skeleton", "stray", "husk", "spider", "creeper", "drowned",
-            "enderman", "witch", "pillager", "captain", "vindicator", "bogged", "breeze",
-            "ravager", "evoker"
-        };
-        
-        for (String mobType : phase1Mobs) {
-            int required = getRequiredKills(mobType, 1);
-            if (required > 0) {
-                int current = playerData.getMobKillCount(mobType);
-                if (current < required) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
+        return PhaseRequirementPlan.get().isMobRequirementsMet(PhaseRequirementPlan.PHASE_1, playerData);
     }
     
     /**
      * Verificar mob kills da Phase 2 para jogador individual
      */
     private static boolean checkPhase2MobKills(PlayerProgressionData playerData) {
-        // Verificar kills necessários para Phase 2
-        String[] phase2Mobs = {
-            "blaze", "wither_skeleton", "piglin_brute", "hoglin", "zoglin", "ghast", "piglin",
-            // Também mobs do Overworld com requisitos aumentados
-            "zombie", "skeleton", "creeper", "spider", "enderman", "witch", "pillager",
-            "ravager", "evoker"
-        };
-        
-        for (String mobType : phase2Mobs) {
-            int required = getRequiredKills(mobType, 2);
-            if (required > 0) {
-                int current = playerData.getMobKillCount(mobType);
-                if (current < required) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
-    }
-    
-    /**
-     * Obter kills necessários para um mob específico e fase
-     */
-    private static int getRequiredKills(String mobType, int phase) {
-        var config = net.mirai.dimtr.config.DimTrConfig.SERVER;
-        
-        if (phase == 1) {
-            return switch (mobType) {
-                case "zombie" -> config.reqZombieKills.get();
-                case "skeleton" -> config.reqSkeletonKills.get();
-                case "stray" -> config.reqStrayKills.get();
-                case "husk" -> config.reqHuskKills.get();
-                case "spider" -> config.reqSpiderKills.get();
-                case "creeper" -> config.reqCreeperKills.get();
-                case "drowned" -> config.reqDrownedKills.get();
-                case "enderman" -> config.reqEndermanKills.get();
-                case "witch" -> config.reqWitchKills.get();
-                case "pillager" -> config.reqPillagerKills.get();
-                case "captain" -> config.reqCaptainKills.get();
-                case "vindicator" -> config.reqVindicatorKills.get();
-                case "bogged" -> config.reqBoggedKills.get();
-                case "breeze" -> config.reqBreezeKills.get();
-                case "ravager" -> config.reqRavagerKills.get();
-                case "evoker" -> config.reqEvokerKills.get();
-                default -> 0;
-            };
-        } else if (phase == 2) {
-            // Phase 2 - Nether mobs
-            int netherRequirement = switch (mobType) {
-                case "blaze" -> config.reqBlazeKills.get();
-                case "wither_skeleton" -> config.reqWitherSkeletonKills.get();
-                case "piglin_brute" -> config.reqPiglinBruteKills.get();
-                case "hoglin" -> config.reqHoglinKills.get();
-                case "zoglin" -> config.reqZoglinKills.get();
-                case "ghast" -> config.reqGhastKills.get();
-                case "piglin" -> config.reqPiglinKills.get();
-                default -> 0;
-            };
-            
-            if (netherRequirement > 0) {
-                return netherRequirement;
-            }
-            
-            // Phase 2 - Overworld mobs com 125% dos requisitos
-            int overworldBase = switch (mobType) {
-                case "zombie" -> config.reqZombieKills.get();
-                case "skeleton" -> config.reqSkeletonKills.get();
-                case "creeper" -> config.reqCreeperKills.get();
-                case "spider" -> config.reqSpiderKills.get();
-                case "enderman" -> config.reqEndermanKills.get();
-                case "witch" -> config.reqWitchKills.get();
-                case "pillager" -> config.reqPillagerKills.get();
-                case "ravager" -> config.reqRavagerKills.get();
-                case "evoker" -> config.reqEvokerKills.get();
-                default -> 0;
-            };
-            
-            return (int) Math.ceil(overworldBase * 1.25);
-        }
-        
-        return 0;
+        return PhaseRequirementPlan.get().isMobRequirementsMet(PhaseRequirementPlan.PHASE_2, playerData);
     }
 }
@@ -4,8 +4,10 @@ import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
+import net.mirai.dimtr.util.ProgressDiff;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Dados de uma party/grupo - VERSÃO EXPANDIDA
@@ -38,6 +40,9 @@ public class PartyData {
     private final Map<String, Map<String, Integer>> sharedCustomMobKills; // phaseId -> mobType -> kills
     private final Map<String, Map<String, Boolean>> sharedCustomObjectiveCompletion; // phaseId -> objectiveId -> complete
 
+    // 🎯 PERFORMANCE: Notificação de alteração para o rastreamento de parties sujas (não persistido)
+    private Consumer<UUID> changeListener;
+
     public PartyData(UUID partyId, String name, String password, UUID leaderId) {
         this.partyId = partyId;
         this.name = name;
@@ -88,6 +93,7 @@ public class PartyData {
         if (added) {
             // Inicializar contribuições individuais para o novo membro
             individualContributions.put(playerId, new HashMap<>());
+            markChanged();
         }
         return added;
     }
@@ -107,6 +113,7 @@ public class PartyData {
         if (removed) {
             // Remover contribuições individuais do membro que saiu
             individualContributions.remove(playerId);
+            markChanged();
         }
         return removed;
     }
@@ -136,6 +143,7 @@ public class PartyData {
         if (isPublic) {
             this.password = null; // Remove senha se tornar pública
         }
+        markChanged();
     }
 
     /**
@@ -151,6 +159,7 @@ public class PartyData {
     public boolean incrementSharedMobKill(String mobType) {
         if (sharedMobKills.containsKey(mobType)) {
             sharedMobKills.put(mobType, sharedMobKills.get(mobType) + 1);
+            markChanged();
             return true;
         }
         return false;
@@ -177,6 +186,7 @@ public class PartyData {
                 contributions.put(mobType, contributions.getOrDefault(mobType, 0) + playerKills);
             }
         }
+        markChanged();
     }
     
     /**
@@ -199,6 +209,8 @@ public class PartyData {
             }
         }
         
+        markChanged();
+        
         // Retornar contribuições para preservar progresso individual
         return new HashMap<>(contributions);
     }
@@ -217,6 +229,7 @@ public class PartyData {
             Map<String, Integer> contributions = individualContributions.get(contributorId);
             contributions.put(mobType, contributions.getOrDefault(mobType, 0) + 1);
             
+            markChanged();
             return true;
         }
         return false;
@@ -436,18 +449,73 @@ public class PartyData {
     public boolean isSharedWardenKilled() { return sharedWardenKilled; }
 
     // Setters para objetivos especiais
-    public void setSharedElderGuardianKilled(boolean value) { this.sharedElderGuardianKilled = value; }
-    public void setSharedRaidWon(boolean value) { this.sharedRaidWon = value; }
-    public void setSharedTrialVaultAdvancementEarned(boolean value) { this.sharedTrialVaultAdvancementEarned = value; }
-    public void setSharedVoluntaireExileAdvancementEarned(boolean value) { this.sharedVoluntaireExileAdvancementEarned = value; }
-    public void setSharedWitherKilled(boolean value) { this.sharedWitherKilled = value; }
-    public void setSharedWardenKilled(boolean value) { this.sharedWardenKilled = value; }
-    public void setPhase1SharedCompleted(boolean value) { this.phase1SharedCompleted = value; }
-    public void setPhase2SharedCompleted(boolean value) { this.phase2SharedCompleted = value; }
-
-    public void setName(String name) { this.name = name; }
-    public void setPassword(String password) { this.password = password; }
-    public void setLeaderId(UUID leaderId) { this.leaderId = leaderId; }
+    public void setSharedElderGuardianKilled(boolean value) { this.sharedElderGuardianKilled = value; markChanged(); }
+    public void setSharedRaidWon(boolean value) { this.sharedRaidWon = value; markChanged(); }
+    public void setSharedTrialVaultAdvancementEarned(boolean value) { this.sharedTrialVaultAdvancementEarned = value; markChanged(); }
+    public void setSharedVoluntaireExileAdvancementEarned(boolean value) { this.sharedVoluntaireExileAdvancementEarned = value; markChanged(); }
+    public void setSharedWitherKilled(boolean value) { this.sharedWitherKilled = value; markChanged(); }
+    public void setSharedWardenKilled(boolean value) { this.sharedWardenKilled = value; markChanged(); }
+    public void setPhase1SharedCompleted(boolean value) { this.phase1SharedCompleted = value; markChanged(); }
+    public void setPhase2SharedCompleted(boolean value) { this.phase2SharedCompleted = value; markChanged(); }
+
+    public void setName(String name) { this.name = name; markChanged(); }
+    public void setPassword(String password) { this.password = password; markChanged(); }
+    public void setLeaderId(UUID leaderId) { this.leaderId = leaderId; markChanged(); }
+
+    /**
+     * Registrar quem deve ser avisado quando a party muda (PartyManager)
+     */
+    void setChangeListener(Consumer<UUID> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void markChanged() {
+        Consumer<UUID> listener = changeListener;
+        if (listener != null) {
+            listener.accept(partyId);
+        }
+    }
+
+    /**
+     * Manter nome, senha, membros e liderança de outra instância (restauração apenas do progresso)
+     */
+    void adoptMembershipFrom(PartyData current) {
+        name = current.name;
+        password = current.password;
+        isPublic = current.isPublic;
+        leaderId = current.leaderId;
+        members.clear();
+        members.addAll(current.members);
+
+        // Contribuições do backup valem só para quem ainda é membro
+        individualContributions.keySet().retainAll(members);
+        for (UUID memberId : members) {
+            individualContributions.putIfAbsent(memberId, new HashMap<>());
+        }
+        markChanged();
+    }
+
+    /**
+     * Diferenças legíveis no progresso compartilhado (ex: simulação de restauração de backup)
+     */
+    public List<String> describeDifferences(PartyData target) {
+        List<String> changes = new ArrayList<>();
+
+        ProgressDiff.value(changes, "sharedElderGuardianKilled", sharedElderGuardianKilled, target.sharedElderGuardianKilled);
+        ProgressDiff.value(changes, "sharedRaidWon", sharedRaidWon, target.sharedRaidWon);
+        ProgressDiff.value(changes, "sharedTrialVaultAdvancementEarned", sharedTrialVaultAdvancementEarned, target.sharedTrialVaultAdvancementEarned);
+        ProgressDiff.value(changes, "sharedVoluntaireExileAdvancementEarned", sharedVoluntaireExileAdvancementEarned, target.sharedVoluntaireExileAdvancementEarned);
+        ProgressDiff.value(changes, "sharedWitherKilled", sharedWitherKilled, target.sharedWitherKilled);
+        ProgressDiff.value(changes, "sharedWardenKilled", sharedWardenKilled, target.sharedWardenKilled);
+        ProgressDiff.value(changes, "phase1SharedCompleted", phase1SharedCompleted, target.phase1SharedCompleted);
+        ProgressDiff.value(changes, "phase2SharedCompleted", phase2SharedCompleted, target.phase2SharedCompleted);
+
+        ProgressDiff.map(changes, "", sharedMobKills, target.sharedMobKills);
+        ProgressDiff.map(changes, "customPhase", sharedCustomPhaseCompletion, target.sharedCustomPhaseCompletion);
+        ProgressDiff.map(changes, "customObjective", sharedCustomObjectiveCompletion, target.sharedCustomObjectiveCompletion);
+        ProgressDiff.map(changes, "customMobKills", sharedCustomMobKills, target.sharedCustomMobKills);
+        return changes;
+    }
 
     // ============================================================================
     // 🎯 MÉTODOS DE VERIFICAÇÃO DE ACESSO A DIMENSÕES
@@ -602,6 +670,7 @@ public class PartyData {
      */
     public void setCustomPhaseComplete(String phaseId, boolean complete) {
         sharedCustomPhaseCompletion.put(phaseId, complete);
+        markChanged();
     }
     
     /**
@@ -619,6 +688,7 @@ public class PartyData {
     public void incrementSharedCustomMobKill(String phaseId, String mobType) {
         sharedCustomMobKills.computeIfAbsent(phaseId, k -> new HashMap<>())
                 .merge(mobType, 1, Integer::sum);
+        markChanged();
     }
     
     /**
@@ -628,6 +698,7 @@ public class PartyData {
         if (kills > 0) {
             sharedCustomMobKills.computeIfAbsent(phaseId, k -> new HashMap<>())
                     .merge(mobType, kills, Integer::sum);
+            markChanged();
         }
     }
     
@@ -646,6 +717,7 @@ public class PartyData {
     public void setSharedCustomObjectiveComplete(String phaseId, String objectiveId, boolean complete) {
         sharedCustomObjectiveCompletion.computeIfAbsent(phaseId, k -> new HashMap<>())
                 .put(objectiveId, complete);
+        markChanged();
     }
     
     /**
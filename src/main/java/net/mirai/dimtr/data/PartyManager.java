@@ -2,10 +2,16 @@ package net.mirai.dimtr.data;
 
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.network.UpdatePartyToClientPayload;
+import net.mirai.dimtr.network.DeltaUpdateSystem;
+import net.mirai.dimtr.network.KeyDictionary;
 import net.mirai.dimtr.network.UpdateProgressionToClientPayload;
+import net.mirai.dimtr.util.DirtyTracker;
+import net.mirai.dimtr.util.MobRegistry;
+import net.mirai.dimtr.util.ServerThreadSnapshot;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
@@ -32,6 +38,10 @@ public class PartyManager extends SavedData {
     // Contexto do servidor
     private MinecraftServer serverForContext;
 
+    // 🎯 PERFORMANCE: Parties alteradas desde o último checkpoint de cada consumidor
+    private final DirtyTracker<UUID> dirtyParties = new DirtyTracker<>(
+            DirtyTracker.Channel.BACKUP, DirtyTracker.Channel.VALIDATION);
+
     public PartyManager() {
     }
 
@@ -85,6 +95,7 @@ public class PartyManager extends SavedData {
             for (Tag partyTag : partiesList) {
                 if (partyTag instanceof CompoundTag partyCompound) {
                     PartyData partyData = PartyData.load(partyCompound, registries);
+                    partyData.setChangeListener(this::markPartyDirty);
                     parties.put(partyData.getPartyId(), partyData);
                 }
             }
@@ -101,6 +112,64 @@ public class PartyManager extends SavedData {
         }
     }
 
+    // ============================================================================
+    // 🎯 RASTREAMENTO DE ALTERAÇÕES
+    // ============================================================================
+
+    /**
+     * 🎯 PERFORMANCE: Marcar apenas uma party como alterada
+     * Chamado automaticamente pelos mutadores de {@link PartyData}.
+     */
+    public void markPartyDirty(UUID partyId) {
+        dirtyParties.mark(partyId);
+        super.setDirty();
+    }
+
+    /**
+     * Marcação global (sem party conhecida): todos os consumidores processam tudo
+     */
+    @Override
+    public void setDirty() {
+        dirtyParties.markAll();
+        super.setDirty();
+    }
+
+    /**
+     * Drenar parties alteradas desde o último checkpoint do consumidor
+     * (parties removidas aparecem no conjunto e não existem mais em {@link #getParty})
+     */
+    public DirtyTracker.Changes<UUID> drainChangedParties(DirtyTracker.Channel channel) {
+        return dirtyParties.drain(channel);
+    }
+
+    /**
+     * Reagendar uma party em um canal (ex: validação que encontrou problemas)
+     */
+    public void requeueChangedParty(DirtyTracker.Channel channel, UUID partyId) {
+        dirtyParties.mark(channel, partyId);
+    }
+
+    /**
+     * Obter party pelo ID (null se não existe)
+     */
+    public PartyData getParty(UUID partyId) {
+        return parties.get(partyId);
+    }
+
+    /**
+     * Obter ID da party de um jogador pelo mapeamento (null se não está em party)
+     */
+    public UUID getPartyIdForPlayer(UUID playerId) {
+        return playerToParty.get(playerId);
+    }
+
+    /**
+     * Obter todas as parties (somente leitura)
+     */
+    public Collection<PartyData> getAllParties() {
+        return Collections.unmodifiableCollection(parties.values());
+    }
+
     // ============================================================================
     // 🎯 MÉTODOS PRINCIPAIS DE GERENCIAMENTO DE PARTIES
     // ============================================================================
@@ -149,15 +218,29 @@ public class PartyManager extends SavedData {
             }
         }
 
+        newParty.setChangeListener(this::markPartyDirty);
         parties.put(partyId, newParty);
         playerToParty.put(leaderId, partyId);
+        invalidatePlayerMultiplier(leaderId);
 
-        setDirty();
+        markPartyDirty(partyId);
         syncPartyToMembers(partyId);
 
         return CreatePartyResult.SUCCESS;
     }
 
+    /**
+     * 🎯 PERFORMANCE: Invalidar multiplicador em cache após mudança de party
+     */
+    private void invalidatePlayerMultiplier(UUID playerId) {
+        if (serverForContext == null) return;
+
+        ServerLevel overworldLevel = serverForContext.getLevel(Level.OVERWORLD);
+        if (overworldLevel != null) {
+            ProgressionManager.get(overworldLevel).getPlayerData(playerId).invalidateMultiplierCache();
+        }
+    }
+
     /**
      * Entrar em party existente
      */
@@ -188,6 +271,7 @@ public class PartyManager extends SavedData {
         }
 
         playerToParty.put(playerId, targetParty.getPartyId());
+        invalidatePlayerMultiplier(playerId);
         
         // 🔧 CORREÇÃO CRÍTICA: Usar ProgressTransferService para transferência robusta
         if (serverForContext != null) {
@@ -221,7 +305,7 @@ public class PartyManager extends SavedData {
             }
         }
 
-        setDirty();
+        markPartyDirty(targetParty.getPartyId());
         syncPartyToMembers(targetParty.getPartyId());
 
         return JoinPartyResult.SUCCESS;
@@ -276,6 +360,7 @@ public class PartyManager extends SavedData {
         // Remover jogador da party
         party.removeMember(playerId);
         playerToParty.remove(playerId);
+        invalidatePlayerMultiplier(playerId);
 
         // Se a party ficou vazia, deletar
         if (party.getMemberCount() == 0) {
@@ -294,7 +379,7 @@ public class PartyManager extends SavedData {
             syncPartyToMembers(partyId);
         }
 
-        setDirty();
+        markPartyDirty(partyId);
 
         return LeavePartyResult.SUCCESS;
     }
@@ -336,7 +421,7 @@ public class PartyManager extends SavedData {
         boolean updated = party.incrementSharedMobKillWithContribution(mobType, playerId);
 
         if (updated) {
-            setDirty();
+            markPartyDirty(partyId);
             
             // 🎆 NOVO: Verificar se completou alguma fase e lançar fogos de artifício
             boolean wasPhase1Complete = party.isPhase1SharedCompleted();
@@ -444,7 +529,7 @@ public class PartyManager extends SavedData {
         }
 
         if (updated) {
-            setDirty();
+            markPartyDirty(partyId);
             syncPartyToMembers(partyId);
 
             // Atualizar progressão individual de todos os membros
@@ -498,9 +583,34 @@ public class PartyManager extends SavedData {
         for (UUID memberId : party.getMembers()) {
             ServerPlayer player = serverForContext.getPlayerList().getPlayer(memberId);
             if (player != null) {
-                PacketDistributor.sendToPlayer(player, payload);
+                PacketDistributor.sendToPlayer(player, payload.forConnection(memberId));
+            }
+        }
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Enviar progresso e dados da party para os membros online
+     * (chamado pelo flush do SyncManager). Os payloads são montados uma única vez.
+     * @return Membros que receberam a atualização
+     */
+    public Set<UUID> sendPartyStateToMembers(UUID partyId) {
+        PartyData party = parties.get(partyId);
+        if (party == null || serverForContext == null) return Set.of();
+
+        UpdateProgressionToClientPayload progressPayload = createPartyProgressionPayload(party);
+        UpdatePartyToClientPayload partyPayload = createPartyPayload(party);
+
+        Set<UUID> synced = new HashSet<>();
+        for (UUID memberId : party.getMembers()) {
+            ServerPlayer player = serverForContext.getPlayerList().getPlayer(memberId);
+            if (player != null) {
+                PacketDistributor.sendToPlayer(player, progressPayload.forConnection(memberId));
+                PacketDistributor.sendToPlayer(player, partyPayload.forConnection(memberId));
+                DeltaUpdateSystem.onFullSnapshotSent(memberId, null);
+                synced.add(memberId);
             }
         }
+        return synced;
     }
 
     /**
@@ -518,7 +628,7 @@ public class PartyManager extends SavedData {
             if (party != null) {
                 // Criar payload com dados da party
                 UpdatePartyToClientPayload payload = createPartyPayload(party);
-                PacketDistributor.sendToPlayer(player, payload);
+                PacketDistributor.sendToPlayer(player, payload.forConnection(playerId));
             }
         } else {
             // Se o jogador não está em uma party, enviar dados vazios para limpar o cliente
@@ -541,7 +651,9 @@ public class PartyManager extends SavedData {
             if (party != null) {
                 // Criar payload com dados de progressão DA PARTY
                 UpdateProgressionToClientPayload partyProgressPayload = createPartyProgressionPayload(party);
-                PacketDistributor.sendToPlayer(player, partyProgressPayload);
+                PacketDistributor.sendToPlayer(player, partyProgressPayload.forConnection(playerId));
+                // Cliente passou a exibir o progresso da party: deltas individuais exigem novo snapshot
+                DeltaUpdateSystem.onFullSnapshotSent(playerId, null);
                 
                 DimTrMod.LOGGER.debug("📡 Sent party progression data to client: {} (party: {})", 
                     player.getGameProfile().getName(), party.getName());
@@ -554,12 +666,16 @@ public class PartyManager extends SavedData {
      */
     private UpdateProgressionToClientPayload createPartyProgressionPayload(PartyData party) {
         // Usar os dados COMPARTILHADOS da party ao invés dos dados individuais
-        return new UpdateProgressionToClientPayload(
+        Map<String, Integer> sharedMobKills = party.getSharedMobKills();
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        for (int id = 0; id < kills.length; id++) {
+            kills[id] = sharedMobKills.getOrDefault(MobRegistry.getName(id), 0);
+        }
+
+        return UpdateProgressionToClientPayload.fromArrays(
             // Objetivos da party
             party.isSharedElderGuardianKilled(),
             party.isSharedRaidWon(),
-            false, // ravagerKilled - não usado
-            false, // evokerKilled - não usado
             party.isSharedTrialVaultAdvancementEarned(),
             party.isSharedVoluntaireExileAdvancementEarned(),
             party.isPhase1SharedCompleted(),
@@ -567,61 +683,11 @@ public class PartyManager extends SavedData {
             party.isSharedWardenKilled(),
             party.isPhase2SharedCompleted(),
             
-            // Contadores de mobs da party - Fase 1
-            party.getSharedMobKills().getOrDefault("zombie", 0),
-            0, // zombieVillagerKills - sempre 0
-            party.getSharedMobKills().getOrDefault("skeleton", 0),
-            party.getSharedMobKills().getOrDefault("stray", 0),
-            party.getSharedMobKills().getOrDefault("husk", 0),
-            party.getSharedMobKills().getOrDefault("spider", 0),
-            party.getSharedMobKills().getOrDefault("creeper", 0),
-            party.getSharedMobKills().getOrDefault("drowned", 0),
-            party.getSharedMobKills().getOrDefault("enderman", 0),
-            party.getSharedMobKills().getOrDefault("witch", 0),
-            party.getSharedMobKills().getOrDefault("pillager", 0),
-            party.getSharedMobKills().getOrDefault("captain", 0),
-            party.getSharedMobKills().getOrDefault("vindicator", 0),
-            party.getSharedMobKills().getOrDefault("bogged", 0),
-            party.getSharedMobKills().getOrDefault("breeze", 0),
-            party.getSharedMobKills().getOrDefault("ravager", 0),
-            party.getSharedMobKills().getOrDefault("evoker", 0),
-            
-            // Contadores de mobs da party - Fase 2
-            party.getSharedMobKills().getOrDefault("blaze", 0),
-            party.getSharedMobKills().getOrDefault("wither_skeleton", 0),
-            party.getSharedMobKills().getOrDefault("piglin_brute", 0),
-            party.getSharedMobKills().getOrDefault("hoglin", 0),
-            party.getSharedMobKills().getOrDefault("zoglin", 0),
-            party.getSharedMobKills().getOrDefault("ghast", 0),
-            0, // endermiteKills - sempre 0
-            party.getSharedMobKills().getOrDefault("piglin", 0),
+            // Contadores de mobs da party
+            kills,
             
             // Requisitos de mobs (mesmo valores para todos)
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqZombieKills.get(),
-            0, // reqZombieVillagerKills - sempre 0
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqSkeletonKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqStrayKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqHuskKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqSpiderKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqCreeperKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqDrownedKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqEndermanKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqWitchKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqPillagerKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqCaptainKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqVindicatorKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqBoggedKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqBreezeKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqRavagerKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqEvokerKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqBlazeKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqWitherSkeletonKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqPiglinBruteKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqHoglinKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqZoglinKills.get(),
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqGhastKills.get(),
-            0, // reqEndermiteKills - sempre 0
-            net.mirai.dimtr.config.DimTrConfig.SERVER.reqPiglinKills.get(),
+            UpdateProgressionToClientPayload.currentRequirements(),
             
             // Configurações
             net.mirai.dimtr.config.DimTrConfig.SERVER.reqVoluntaryExile.get(),
@@ -655,7 +721,9 @@ public class PartyManager extends SavedData {
                 // 🎯 NOVO: Custom Phases data
                 party.getSharedCustomPhaseCompletion(),
                 party.getSharedCustomMobKills(),
-                party.getSharedCustomObjectiveCompletion()
+                party.getSharedCustomObjectiveCompletion(),
+                // IDs das chaves atribuídos por conexão no envio (forConnection)
+                KeyDictionary.Table.INLINE
         );
     }
 
@@ -674,7 +742,8 @@ public class PartyManager extends SavedData {
                 // 🎯 NOVO: Custom Phases data vazios
                 new HashMap<>(), // sharedCustomPhaseCompletion (vazio)
                 new HashMap<>(), // sharedCustomMobKills (vazio)
-                new HashMap<>() // sharedCustomObjectiveCompletion (vazio)
+                new HashMap<>(), // sharedCustomObjectiveCompletion (vazio)
+                KeyDictionary.Table.INLINE // sem chaves
         );
         
         PacketDistributor.sendToPlayer(player, emptyPayload);
@@ -807,6 +876,49 @@ public class PartyManager extends SavedData {
      * @return CompoundTag contendo todos os dados serializados
      */
     public CompoundTag serializeForBackup() {
+        // 🔒 THREAD-SAFETY: parties são mutadas pela thread do servidor; copiar lá
+        return ServerThreadSnapshot.capture(serverForContext, this::snapshotForBackup);
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Checkpoint da cadeia de backups incrementais (thread do servidor)
+     *
+     * Drena o canal BACKUP e retorna apenas as parties alteradas desde o último
+     * checkpoint ("incremental" = true), com as removidas e o mapeamento dos
+     * membros das alteradas. Retorna o estado completo quando forçado ou após
+     * uma marcação global (ex: restauração).
+     */
+    public CompoundTag captureBackupCheckpoint(boolean forceFull) {
+        DirtyTracker.Changes<UUID> changes = dirtyParties.drain(DirtyTracker.Channel.BACKUP);
+        if (forceFull || changes.all()) {
+            return snapshotForBackup();
+        }
+
+        CompoundTag partiesTag = new CompoundTag();
+        CompoundTag playerMappingTag = new CompoundTag();
+        ListTag removedTag = new ListTag();
+        for (UUID partyId : changes.keys()) {
+            PartyData party = parties.get(partyId);
+            if (party == null) {
+                removedTag.add(StringTag.valueOf(partyId.toString()));
+                continue;
+            }
+            partiesTag.put(partyId.toString(), party.save(null));
+            for (UUID memberId : party.getMembers()) {
+                playerMappingTag.putUUID(memberId.toString(), partyId);
+            }
+        }
+
+        CompoundTag root = new CompoundTag();
+        root.putBoolean("incremental", true);
+        root.put("parties", partiesTag);
+        root.put("removedParties", removedTag);
+        root.put("playerToParty", playerMappingTag);
+        root.putLong("backupTimestamp", System.currentTimeMillis());
+        return root;
+    }
+
+    private CompoundTag snapshotForBackup() {
         CompoundTag root = new CompoundTag();
         
         // Serializar dados de todas as parties
@@ -835,6 +947,37 @@ public class PartyManager extends SavedData {
         return root;
     }
     
+    /**
+     * Restaurar apenas o progresso compartilhado de uma party a partir de um backup
+     * (nome, senha, membros e liderança atuais são mantidos; demais parties não são tocadas)
+     * @param partyTag Tag da party no backup
+     * @param dryRun true para apenas calcular as diferenças
+     * @return Diferenças entre o estado atual e o do backup, ou null se a party não existe mais
+     */
+    public List<String> restorePartyFromBackup(UUID partyId, CompoundTag partyTag, boolean dryRun) {
+        PartyData current = parties.get(partyId);
+        if (current == null) {
+            return null;
+        }
+
+        PartyData restored = PartyData.load(partyTag, null);
+        List<String> changes = current.describeDifferences(restored);
+        if (dryRun || changes.isEmpty()) {
+            return changes;
+        }
+
+        restored.adoptMembershipFrom(current);
+        restored.setChangeListener(this::markPartyDirty);
+        parties.put(partyId, restored);
+        for (UUID memberId : restored.getMembers()) {
+            invalidatePlayerMultiplier(memberId);
+        }
+
+        markPartyDirty(partyId);
+        syncPartyToMembers(partyId);
+        return changes;
+    }
+
     /**
      * Restaura os dados de parties a partir de um backup
      * @param backupTag Tag contendo os dados do backup
@@ -858,6 +1001,7 @@ public class PartyManager extends SavedData {
                 PartyData data = new PartyData(partyId, "", "", null);
                 // Corrigir para usar o método correto com um HolderLookup nulo
                 data = PartyData.load(partyTag, null);
+                data.setChangeListener(this::markPartyDirty);
                 
                 restoredParties.put(partyId, data);
             } catch (IllegalArgumentException e) {
@@ -1,6 +1,7 @@
 package net.mirai.dimtr.data;
 
 import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.sync.SyncManager;
 import net.mirai.dimtr.util.Constants;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -13,124 +14,125 @@ import java.util.UUID;
  */
 public class PartyProgressionCoordinator {
     
-    private static final Object PROCESSING_LOCK = new Object();
+    // 🔒 THREAD-SAFETY: Sem lock próprio; o ProgressionCoordinator chama com o lock da party
+    // (um lock global aqui voltaria a serializar kills de parties diferentes)
     
     /**
      * Processar mob kill para party
      */
     public static boolean processPartyMobKill(UUID playerId, String mobType, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            
-            if (!partyManager.isPlayerInParty(playerId)) {
-                return false; // Não está em party
-            }
-            
-            PartyData party = partyManager.getPlayerParty(playerId);
-            if (party == null) {
-                return false;
-            }
-            
-            // Incrementar kill compartilhado
-            boolean wasIncremented = party.incrementSharedMobKill(mobType);
-            if (!wasIncremented) {
-                return false; // Mob type não é válido ou já no máximo
-            }
-            
-            partyManager.setDirty();
-            
-            // 🔧 CORREÇÃO CRÍTICA: Sincronizar TODOS os membros da party imediatamente
-            syncAllPartyMembers(party, serverLevel);
-            
-            DimTrMod.LOGGER.debug("✅ Party mob kill processed and synced: {} killed {} for party {} (all {} members synced)", 
-                playerId, mobType, party.getLeaderId(), party.getMembers().size());
-            
-            // Verificar se alguma fase foi completada
-            checkPhaseCompletionForParty(party, serverLevel);
-            
-            return true;
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        
+        if (!partyManager.isPlayerInParty(playerId)) {
+            return false; // Não está em party
         }
+        
+        PartyData party = partyManager.getPlayerParty(playerId);
+        if (party == null) {
+            return false;
+        }
+        
+        // Incrementar kill compartilhado
+        boolean wasIncremented = party.incrementSharedMobKill(mobType);
+        if (!wasIncremented) {
+            return false; // Mob type não é válido ou já no máximo
+        }
+        
+        partyManager.markPartyDirty(party.getPartyId());
+        
+        // Verificar se alguma fase foi completada
+        boolean phase1Before = party.isPhase1SharedCompleted();
+        boolean phase2Before = party.isPhase2SharedCompleted();
+        checkPhaseCompletionForParty(party, serverLevel);
+        
+        // 🎯 PERFORMANCE: Kills comuns são agrupados; a kill que completa uma fase sai com alta prioridade
+        boolean phaseCompleted = party.isPhase1SharedCompleted() != phase1Before
+                || party.isPhase2SharedCompleted() != phase2Before;
+        syncAllPartyMembers(party, phaseCompleted);
+        
+        DimTrMod.LOGGER.debug("✅ Party mob kill processed: {} killed {} for party {} ({} members pending sync)", 
+            playerId, mobType, party.getLeaderId(), party.getMembers().size());
+        
+        return true;
     }
     
     /**
      * Processar objetivo especial para party
      */
     public static boolean processPartySpecialObjective(UUID playerId, String objectiveType, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            
-            if (!partyManager.isPlayerInParty(playerId)) {
-                return false; // Não está em party
-            }
-            
-            PartyData party = partyManager.getPlayerParty(playerId);
-            if (party == null) {
-                return false;
-            }
-            
-            // Marcar objetivo como completo para toda a party
-            boolean wasNewlyCompleted = false;
-            
-            switch (objectiveType) {
-                case Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN -> {
-                    if (!party.isSharedElderGuardianKilled()) {
-                        party.setSharedElderGuardianKilled(true);
-                        wasNewlyCompleted = true;
-                    }
-                }
-                case Constants.OBJECTIVE_TYPE_RAID -> {
-                    if (!party.isSharedRaidWon()) {
-                        party.setSharedRaidWon(true);
-                        wasNewlyCompleted = true;
-                    }
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        
+        if (!partyManager.isPlayerInParty(playerId)) {
+            return false; // Não está em party
+        }
+        
+        PartyData party = partyManager.getPlayerParty(playerId);
+        if (party == null) {
+            return false;
+        }
+        
+        // Marcar objetivo como completo para toda a party
+        boolean wasNewlyCompleted = false;
+        
+        switch (objectiveType) {
+            case Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN -> {
+                if (!party.isSharedElderGuardianKilled()) {
+                    party.setSharedElderGuardianKilled(true);
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_TRIAL_VAULT -> {
-                    if (!party.isSharedTrialVaultAdvancementEarned()) {
-                        party.setSharedTrialVaultAdvancementEarned(true);
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_RAID -> {
+                if (!party.isSharedRaidWon()) {
+                    party.setSharedRaidWon(true);
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE -> {
-                    if (!party.isSharedVoluntaireExileAdvancementEarned()) {
-                        party.setSharedVoluntaireExileAdvancementEarned(true);
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_TRIAL_VAULT -> {
+                if (!party.isSharedTrialVaultAdvancementEarned()) {
+                    party.setSharedTrialVaultAdvancementEarned(true);
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_WITHER -> {
-                    if (!party.isSharedWitherKilled()) {
-                        party.setSharedWitherKilled(true);
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE -> {
+                if (!party.isSharedVoluntaireExileAdvancementEarned()) {
+                    party.setSharedVoluntaireExileAdvancementEarned(true);
+                    wasNewlyCompleted = true;
                 }
-                case Constants.OBJECTIVE_TYPE_WARDEN -> {
-                    if (!party.isSharedWardenKilled()) {
-                        party.setSharedWardenKilled(true);
-                        wasNewlyCompleted = true;
-                    }
+            }
+            case Constants.OBJECTIVE_TYPE_WITHER -> {
+                if (!party.isSharedWitherKilled()) {
+                    party.setSharedWitherKilled(true);
+                    wasNewlyCompleted = true;
                 }
-                default -> {
-                    DimTrMod.LOGGER.warn("Unknown objective type for party: {}", objectiveType);
-                    return false;
+            }
+            case Constants.OBJECTIVE_TYPE_WARDEN -> {
+                if (!party.isSharedWardenKilled()) {
+                    party.setSharedWardenKilled(true);
+                    wasNewlyCompleted = true;
                 }
             }
-            
-            if (wasNewlyCompleted) {
-                partyManager.setDirty();
-                
-                // 🔧 CORREÇÃO CRÍTICA: Sincronizar TODOS os membros da party imediatamente
-                syncAllPartyMembers(party, serverLevel);
-                
-                DimTrMod.LOGGER.info("✅ Party objective completed and synced: {} for party {} (all {} members synced)", 
-                    objectiveType, party.getLeaderId(), party.getMembers().size());
-                
-                // Verificar se alguma fase foi completada
-                checkPhaseCompletionForParty(party, serverLevel);
-                
-                return true;
+            default -> {
+                DimTrMod.LOGGER.warn("Unknown objective type for party: {}", objectiveType);
+                return false;
             }
+        }
+        
+        if (wasNewlyCompleted) {
+            partyManager.markPartyDirty(party.getPartyId());
+            
+            // 🔧 CORREÇÃO CRÍTICA: Sincronizar TODOS os membros da party no fim do tick
+            syncAllPartyMembers(party, true);
+            
+            DimTrMod.LOGGER.info("✅ Party objective completed and synced: {} for party {} (all {} members synced)", 
+                objectiveType, party.getLeaderId(), party.getMembers().size());
+            
+            // Verificar se alguma fase foi completada
+            checkPhaseCompletionForParty(party, serverLevel);
             
-            return false; // Já estava completo
+            return true;
         }
+        
+        return false; // Já estava completo
     }
     
     /**
@@ -277,118 +279,118 @@ public class PartyProgressionCoordinator {
     
     /**
      * Transferir progresso individual para party quando jogador entra
+     * (chamar com o lock da party em {@link ProgressionCoordinator})
      */
     public static void transferIndividualToParty(UUID playerId, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            PartyData party = partyManager.getPlayerParty(playerId);
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            
-            if (party == null || playerData == null) {
-                return;
-            }
-            
-            // Transferir objetivos especiais
-            if (playerData.elderGuardianKilled && !party.isSharedElderGuardianKilled()) {
-                party.setSharedElderGuardianKilled(true);
-            }
-            if (playerData.raidWon && !party.isSharedRaidWon()) {
-                party.setSharedRaidWon(true);
-            }
-            if (playerData.trialVaultAdvancementEarned && !party.isSharedTrialVaultAdvancementEarned()) {
-                party.setSharedTrialVaultAdvancementEarned(true);
-            }
-            if (playerData.voluntaireExileAdvancementEarned && !party.isSharedVoluntaireExileAdvancementEarned()) {
-                party.setSharedVoluntaireExileAdvancementEarned(true);
-            }
-            if (playerData.witherKilled && !party.isSharedWitherKilled()) {
-                party.setSharedWitherKilled(true);
-            }
-            if (playerData.wardenKilled && !party.isSharedWardenKilled()) {
-                party.setSharedWardenKilled(true);
-            }
-            
-            // Transferir mob kills (usar o maior valor)
-            // TODO: Implementar transferência de mob kills quando métodos estiverem disponíveis
-            // for (var entry : playerData.getMobKills().entrySet()) {
-            //     String mobType = entry.getKey();
-            //     int playerKills = entry.getValue();
-            //     int partyKills = party.getSharedMobKills().getOrDefault(mobType, 0);
-            //     
-            //     if (playerKills > partyKills) {
-            //         party.setSharedMobKill(mobType, playerKills);
-            //     }
-            // }
-            
-            partyManager.setDirty();
-            
-            DimTrMod.LOGGER.info("Transferred individual progress to party for player {}", playerId);
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        PartyData party = partyManager.getPlayerParty(playerId);
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        
+        if (party == null || playerData == null) {
+            return;
+        }
+        
+        // Transferir objetivos especiais
+        if (playerData.elderGuardianKilled && !party.isSharedElderGuardianKilled()) {
+            party.setSharedElderGuardianKilled(true);
+        }
+        if (playerData.raidWon && !party.isSharedRaidWon()) {
+            party.setSharedRaidWon(true);
+        }
+        if (playerData.trialVaultAdvancementEarned && !party.isSharedTrialVaultAdvancementEarned()) {
+            party.setSharedTrialVaultAdvancementEarned(true);
         }
+        if (playerData.voluntaireExileAdvancementEarned && !party.isSharedVoluntaireExileAdvancementEarned()) {
+            party.setSharedVoluntaireExileAdvancementEarned(true);
+        }
+        if (playerData.witherKilled && !party.isSharedWitherKilled()) {
+            party.setSharedWitherKilled(true);
+        }
+        if (playerData.wardenKilled && !party.isSharedWardenKilled()) {
+            party.setSharedWardenKilled(true);
+        }
+        
+        // Transferir mob kills (usar o maior valor)
+        // TODO: Implementar transferência de mob kills quando métodos estiverem disponíveis
+        // for (var entry : playerData.getMobKills().entrySet()) {
+        //     String mobType = entry.getKey();
+        //     int playerKills = entry.getValue();
+        //     int partyKills = party.getSharedMobKills().getOrDefault(mobType, 0);
+        //     
+        //     if (playerKills > partyKills) {
+        //         party.setSharedMobKill(mobType, playerKills);
+        //     }
+        // }
+        
+        partyManager.markPartyDirty(party.getPartyId());
+        
+        DimTrMod.LOGGER.info("Transferred individual progress to party for player {}", playerId);
     }
     
     /**
      * Transferir progresso da party para individual quando jogador sai
+     * (chamar com o lock da party em {@link ProgressionCoordinator})
      */
     public static void transferPartyToIndividual(UUID playerId, ServerLevel serverLevel) {
-        synchronized (PROCESSING_LOCK) {
-            ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-            
-            // Buscar dados da party antes da saída (deve ser chamado antes de remover da party)
-            PartyManager partyManager = PartyManager.get(serverLevel);
-            PartyData party = partyManager.getPlayerParty(playerId);
-            
-            if (party == null) {
-                return;
-            }
-            
-            PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
-            
-            // Transferir objetivos especiais (manter progresso)
-            if (party.isSharedElderGuardianKilled()) {
-                playerData.elderGuardianKilled = true;
-            }
-            if (party.isSharedRaidWon()) {
-                playerData.raidWon = true;
-            }
-            if (party.isSharedTrialVaultAdvancementEarned()) {
-                playerData.trialVaultAdvancementEarned = true;
-            }
-            if (party.isSharedVoluntaireExileAdvancementEarned()) {
-                playerData.voluntaireExileAdvancementEarned = true;
-            }
-            if (party.isSharedWitherKilled()) {
-                playerData.witherKilled = true;
-            }
-            if (party.isSharedWardenKilled()) {
-                playerData.wardenKilled = true;
-            }
-            
-            // Transferir mob kills (usar o maior valor)
-            // TODO: Implementar transferência de mob kills quando métodos estiverem disponíveis
-            // for (var entry : party.getSharedMobKills().entrySet()) {
-            //     String mobType = entry.getKey();
-            //     int partyKills = entry.getValue();
-            //     int playerKills = playerData.getMobKills().getOrDefault(mobType, 0);
-            //     
-            //     if (partyKills > playerKills) {
-            //         playerData.setMobKills(mobType, partyKills);
-            //     }
-            // }
-            
-            // Transferir status de fases
-            if (party.isPhase1SharedCompleted()) {
-                playerData.phase1Completed = true;
-            }
-            if (party.isPhase2SharedCompleted()) {
-                playerData.phase2Completed = true;
-            }
-            
-            progressionManager.setDirty();
-            
-            DimTrMod.LOGGER.info("Transferred party progress to individual for player {}", playerId);
+        ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
+        
+        // Buscar dados da party antes da saída (deve ser chamado antes de remover da party)
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        PartyData party = partyManager.getPlayerParty(playerId);
+        
+        if (party == null) {
+            return;
+        }
+        
+        PlayerProgressionData playerData = progressionManager.getPlayerData(playerId);
+        
+        // Transferir objetivos especiais (manter progresso)
+        if (party.isSharedElderGuardianKilled()) {
+            playerData.elderGuardianKilled = true;
+        }
+        if (party.isSharedRaidWon()) {
+            playerData.raidWon = true;
+        }
+        if (party.isSharedTrialVaultAdvancementEarned()) {
+            playerData.trialVaultAdvancementEarned = true;
+        }
+        if (party.isSharedVoluntaireExileAdvancementEarned()) {
+            playerData.voluntaireExileAdvancementEarned = true;
         }
+        if (party.isSharedWitherKilled()) {
+            playerData.witherKilled = true;
+        }
+        if (party.isSharedWardenKilled()) {
+            playerData.wardenKilled = true;
+        }
+        
+        // Transferir mob kills (usar o maior valor)
+        // TODO: Implementar transferência de mob kills quando métodos estiverem disponíveis
+        // for (var entry : party.getSharedMobKills().entrySet()) {
+        //     String mobType = entry.getKey();
+        //     int partyKills = entry.getValue();
+        //     int playerKills = playerData.getMobKills().getOrDefault(mobType, 0);
+        //     
+        //     if (partyKills > playerKills) {
+        //         playerData.setMobKills(mobType, partyKills);
+        //     }
+        // }
+        
+        // Transferir status de fases
+        if (party.isPhase1SharedCompleted()) {
+            playerData.phase1Completed = true;
+            playerData.invalidateMultiplierCache();
+        }
+        if (party.isPhase2SharedCompleted()) {
+            playerData.phase2Completed = true;
+            playerData.invalidateMultiplierCache();
+        }
+        
+        progressionManager.markPlayerDirty(playerId);
+        
+        DimTrMod.LOGGER.info("Transferred party progress to individual for player {}", playerId);
     }
     
     /**
@@ -421,33 +423,18 @@ public class PartyProgressionCoordinator {
     }
     
     /**
-     * 🔧 CORREÇÃO CRÍTICA: Sincronizar TODOS os membros de uma party imediatamente
-     * Este método garante que quando qualquer membro da party mata um mob ou completa
-     * um objetivo, TODOS os membros recebem a atualização instantaneamente.
+     * 🔧 CORREÇÃO CRÍTICA: Sincronizar TODOS os membros de uma party
+     * Quando qualquer membro da party mata um mob ou completa um objetivo,
+     * TODOS os membros recebem a atualização no flush do SyncManager.
      * 
-     * ✅ CORREÇÃO: Agora envia dados DE PROGRESSÃO DA PARTY, não dados individuais
+     * ✅ CORREÇÃO: Envia dados DE PROGRESSÃO DA PARTY, não dados individuais
+     * 🎯 PERFORMANCE: Várias kills no mesmo intervalo viram um único envio por membro
      */
-    private static void syncAllPartyMembers(PartyData party, ServerLevel serverLevel) {
+    private static void syncAllPartyMembers(PartyData party, boolean highPriority) {
         if (party == null || party.getMembers().isEmpty()) {
             return;
         }
         
-        PartyManager partyManager = PartyManager.get(serverLevel);
-        
-        for (UUID memberId : party.getMembers()) {
-            ServerPlayer member = serverLevel.getServer().getPlayerList().getPlayer(memberId);
-            if (member != null) {
-                // ✅ CORREÇÃO CRÍTICA: Enviar dados de PROGRESSÃO DA PARTY
-                partyManager.sendPartyProgressionToClient(member);
-                
-                // Sincronizar dados de party (membros, etc.)
-                partyManager.sendPartyToClient(member);
-                
-                DimTrMod.LOGGER.debug("📡 Synced party member with PARTY progression: {} ({})", 
-                    memberId, member.getGameProfile().getName());
-            }
-        }
-        
-        DimTrMod.LOGGER.debug("✅ Synced all {} party members with PARTY progression data", party.getMembers().size());
+        SyncManager.schedulePartyMembersSync(party.getPartyId(), highPriority);
     }
 }
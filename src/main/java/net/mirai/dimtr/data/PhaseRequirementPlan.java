@@ -0,0 +1,201 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.config.DimTrConfig;
+import net.mirai.dimtr.util.Constants;
+import net.mirai.dimtr.util.MobRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎯 PERFORMANCE: Plano pré-compilado dos requisitos de mobs das Fases 1 e 2
+ *
+ * Montado uma vez quando a config carrega/recarrega: arrays planos de
+ * (mobId, requisito) por fase, sem nenhum ConfigValue.get() no caminho do kill.
+ * Parties usam uma cópia escalada pelo multiplicador de requisitos, cacheada
+ * por número de membros (o multiplicador só depende disso).
+ *
+ * A verificação de completude é incremental: {@link PlayerProgressionData}
+ * mantém quantos requisitos ainda faltam em cada fase, e um kill só compara
+ * o contador do mob que mudou com o requisito daquele mob.
+ */
+public final class PhaseRequirementPlan {
+
+    public static final int PHASE_1 = 1;
+    public static final int PHASE_2 = 2;
+
+    // Mobs do Overworld repetidos na Fase 2 (125% do requisito da Fase 1)
+    private static final int[] PHASE2_OVERWORLD_MOBS = {
+        MobRegistry.ZOMBIE, MobRegistry.SKELETON, MobRegistry.CREEPER, MobRegistry.SPIDER,
+        MobRegistry.ENDERMAN, MobRegistry.WITCH, MobRegistry.PILLAGER, MobRegistry.RAVAGER,
+        MobRegistry.EVOKER
+    };
+
+    private static volatile PhaseRequirementPlan basePlan;
+    private static final Map<Integer, PhaseRequirementPlan> PARTY_PLANS = new ConcurrentHashMap<>();
+
+    // Arrays planos (mobId, requisito) apenas com requisitos > 0
+    private final int[] phase1MobIds;
+    private final int[] phase1Requirements;
+    private final int[] phase2MobIds;
+    private final int[] phase2Requirements;
+
+    // Requisito indexado por mobId para o caminho incremental (0 = não exigido)
+    private final int[] phase1ById;
+    private final int[] phase2ById;
+
+    private PhaseRequirementPlan(int[] phase1ById, int[] phase2ById) {
+        this.phase1ById = phase1ById;
+        this.phase2ById = phase2ById;
+        this.phase1MobIds = nonZeroIds(phase1ById);
+        this.phase1Requirements = valuesAt(phase1ById, phase1MobIds);
+        this.phase2MobIds = nonZeroIds(phase2ById);
+        this.phase2Requirements = valuesAt(phase2ById, phase2MobIds);
+    }
+
+    // ============================================================================
+    // CONSTRUÇÃO E CACHE
+    // ============================================================================
+
+    /**
+     * Recompilar o plano base a partir da config (chamado em load/reload)
+     */
+    public static void rebuild() {
+        var config = DimTrConfig.SERVER;
+        int[] phase1 = new int[MobRegistry.VANILLA_COUNT];
+        int[] phase2 = new int[MobRegistry.VANILLA_COUNT];
+
+        // Fase 1 - Mobs do Overworld
+        phase1[MobRegistry.ZOMBIE] = config.reqZombieKills.get();
+        phase1[MobRegistry.SKELETON] = config.reqSkeletonKills.get();
+        phase1[MobRegistry.STRAY] = config.reqStrayKills.get();
+        phase1[MobRegistry.HUSK] = config.reqHuskKills.get();
+        phase1[MobRegistry.SPIDER] = config.reqSpiderKills.get();
+        phase1[MobRegistry.CREEPER] = config.reqCreeperKills.get();
+        phase1[MobRegistry.DROWNED] = config.reqDrownedKills.get();
+        phase1[MobRegistry.ENDERMAN] = config.reqEndermanKills.get();
+        phase1[MobRegistry.WITCH] = config.reqWitchKills.get();
+        phase1[MobRegistry.PILLAGER] = config.reqPillagerKills.get();
+        phase1[MobRegistry.CAPTAIN] = config.reqCaptainKills.get();
+        phase1[MobRegistry.VINDICATOR] = config.reqVindicatorKills.get();
+        phase1[MobRegistry.BOGGED] = config.reqBoggedKills.get();
+        phase1[MobRegistry.BREEZE] = config.reqBreezeKills.get();
+        phase1[MobRegistry.RAVAGER] = config.reqRavagerKills.get();
+        phase1[MobRegistry.EVOKER] = config.reqEvokerKills.get();
+
+        // Fase 2 - Mobs do Nether
+        phase2[MobRegistry.BLAZE] = config.reqBlazeKills.get();
+        phase2[MobRegistry.WITHER_SKELETON] = config.reqWitherSkeletonKills.get();
+        phase2[MobRegistry.PIGLIN_BRUTE] = config.reqPiglinBruteKills.get();
+        phase2[MobRegistry.HOGLIN] = config.reqHoglinKills.get();
+        phase2[MobRegistry.ZOGLIN] = config.reqZoglinKills.get();
+        phase2[MobRegistry.GHAST] = config.reqGhastKills.get();
+        phase2[MobRegistry.PIGLIN] = config.reqPiglinKills.get();
+
+        // Fase 2 - Mobs do Overworld com requisitos aumentados
+        for (int mobId : PHASE2_OVERWORLD_MOBS) {
+            phase2[mobId] = (int) Math.ceil(phase1[mobId] * Constants.DEFAULT_PHASE2_OVERWORLD_MULTIPLIER);
+        }
+
+        basePlan = new PhaseRequirementPlan(phase1, phase2);
+        PARTY_PLANS.clear();
+
+        DimTrMod.LOGGER.debug("Plano de requisitos compilado: {} mobs na Fase 1, {} mobs na Fase 2",
+                basePlan.phase1MobIds.length, basePlan.phase2MobIds.length);
+    }
+
+    /**
+     * Obter o plano base (jogador individual)
+     */
+    public static PhaseRequirementPlan get() {
+        PhaseRequirementPlan plan = basePlan;
+        if (plan == null) {
+            // Config ainda não disparou o evento de load
+            rebuild();
+            plan = basePlan;
+        }
+        return plan;
+    }
+
+    /**
+     * Obter o plano escalado para uma party (cacheado por número de membros)
+     */
+    public static PhaseRequirementPlan forParty(PartyData party) {
+        if (party == null || party.getMemberCount() <= 1) {
+            return get();
+        }
+
+        PhaseRequirementPlan base = get();
+        return PARTY_PLANS.computeIfAbsent(party.getMemberCount(),
+                count -> base.scaled(party.getRequirementMultiplier()));
+    }
+
+    private PhaseRequirementPlan scaled(double multiplier) {
+        return new PhaseRequirementPlan(scaleArray(phase1ById, multiplier), scaleArray(phase2ById, multiplier));
+    }
+
+    private static int[] scaleArray(int[] requirements, double multiplier) {
+        int[] scaled = new int[requirements.length];
+        for (int i = 0; i < requirements.length; i++) {
+            scaled[i] = (int) Math.ceil(requirements[i] * multiplier);
+        }
+        return scaled;
+    }
+
+    private static int[] nonZeroIds(int[] requirements) {
+        int count = 0;
+        for (int requirement : requirements) {
+            if (requirement > 0) count++;
+        }
+        int[] ids = new int[count];
+        int index = 0;
+        for (int mobId = 0; mobId < requirements.length; mobId++) {
+            if (requirements[mobId] > 0) ids[index++] = mobId;
+        }
+        return ids;
+    }
+
+    private static int[] valuesAt(int[] requirements, int[] ids) {
+        int[] values = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = requirements[ids[i]];
+        }
+        return values;
+    }
+
+    // ============================================================================
+    // CONSULTAS
+    // ============================================================================
+
+    /**
+     * Obter requisito de um mob em uma fase (0 se não exigido)
+     */
+    public int getRequirement(int phase, int mobId) {
+        int[] byId = phase == PHASE_1 ? phase1ById : phase2ById;
+        return mobId >= 0 && mobId < byId.length ? byId[mobId] : 0;
+    }
+
+    /**
+     * Contar requisitos ainda não atingidos em uma fase (varredura completa dos arrays)
+     */
+    public int countRemaining(int phase, PlayerProgressionData playerData) {
+        int[] ids = phase == PHASE_1 ? phase1MobIds : phase2MobIds;
+        int[] requirements = phase == PHASE_1 ? phase1Requirements : phase2Requirements;
+
+        int remaining = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (playerData.getMobKillCount(ids[i]) < requirements[i]) {
+                remaining++;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Verificar se todos os requisitos de mobs da fase foram atingidos
+     */
+    public boolean isMobRequirementsMet(int phase, PlayerProgressionData playerData) {
+        return playerData.getRemainingMobRequirements(this, phase) == 0;
+    }
+}
@@ -0,0 +1,293 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.util.MobRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 🎯 PERFORMANCE: Codec binário compacto e versionado de {@link PlayerProgressionData}
+ *
+ * Em vez de uma chave NBT por contador ("zombieKills", "skeletonKills", ...),
+ * os dados viram um único byte[]:
+ * <pre>
+ *   versão (byte) | UUID (2 longs) | flags (varint, bitset dos objetivos)
+ *   contadores vanilla: quantidade + varints na ordem dos IDs do MobRegistry
+ *   dicionário de strings (fases, objetivos e mobs customizados)
+ *   fases/objetivos customizados: (índice << 1 | concluído)
+ *   kills de fases customizadas: fase -> (índice do mob, varint)
+ * </pre>
+ * Cada string aparece uma única vez no dicionário, mesmo que se repita em
+ * várias seções. Nomes lidos do disco não entram no {@link MobRegistry}
+ * (o registro é fixo): mobs de custom phases só existem nos kills por fase.
+ *
+ * Usado pelos shards de progressão e pelos backups; versões desconhecidas
+ * são rejeitadas em vez de lidas pela metade.
+ */
+public final class PlayerProgressionCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // Bits do campo de flags
+    private static final int FLAG_ELDER_GUARDIAN = 1;
+    private static final int FLAG_RAID = 1 << 1;
+    private static final int FLAG_TRIAL_VAULT = 1 << 2;
+    private static final int FLAG_VOLUNTARY_EXILE = 1 << 3;
+    private static final int FLAG_PHASE1 = 1 << 4;
+    private static final int FLAG_WITHER = 1 << 5;
+    private static final int FLAG_WARDEN = 1 << 6;
+    private static final int FLAG_PHASE2 = 1 << 7;
+    private static final int FLAG_NETHER_VISITED = 1 << 8;
+    private static final int FLAG_END_VISITED = 1 << 9;
+
+    private static final int MAX_STRING_BYTES = 32767;
+    private static final int MAX_ENTRIES = 65536;
+
+    private PlayerProgressionCodec() {}
+
+    // ============================================================================
+    // CODIFICAÇÃO
+    // ============================================================================
+
+    public static byte[] encode(PlayerProgressionData data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            write(data, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            // ByteArrayOutputStream não lança IOException
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void write(PlayerProgressionData data, DataOutput out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(data.getPlayerId().getMostSignificantBits());
+        out.writeLong(data.getPlayerId().getLeastSignificantBits());
+        writeVarInt(out, flagsOf(data));
+
+        // Contadores vanilla: posição = ID do MobRegistry
+        int[] mobKills = data.getMobKillsArray();
+        writeVarInt(out, MobRegistry.VANILLA_COUNT);
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            writeVarInt(out, id < mobKills.length ? mobKills[id] : 0);
+        }
+
+        // Dicionário com todas as strings das seções customizadas
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        data.getCustomPhaseCompletionMap().keySet().forEach(key -> intern(dictionary, key));
+        data.getCustomObjectiveCompletionMap().forEach((phaseId, objectives) -> {
+            intern(dictionary, phaseId);
+            objectives.keySet().forEach(key -> intern(dictionary, key));
+        });
+        data.getCustomMobKillsMap().forEach((phaseId, kills) -> {
+            intern(dictionary, phaseId);
+            kills.keySet().forEach(key -> intern(dictionary, key));
+        });
+
+        writeVarInt(out, dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(out, value);
+        }
+
+        // Conclusão de fases customizadas
+        writeVarInt(out, data.getCustomPhaseCompletionMap().size());
+        for (Map.Entry<String, Boolean> entry : data.getCustomPhaseCompletionMap().entrySet()) {
+            writeFlaggedIndex(out, dictionary.get(entry.getKey()), entry.getValue());
+        }
+
+        // Objetivos customizados por fase
+        writeVarInt(out, data.getCustomObjectiveCompletionMap().size());
+        for (Map.Entry<String, Map<String, Boolean>> phase : data.getCustomObjectiveCompletionMap().entrySet()) {
+            writeVarInt(out, dictionary.get(phase.getKey()));
+            writeVarInt(out, phase.getValue().size());
+            for (Map.Entry<String, Boolean> entry : phase.getValue().entrySet()) {
+                writeFlaggedIndex(out, dictionary.get(entry.getKey()), entry.getValue());
+            }
+        }
+
+        // Kills de mobs por fase customizada
+        writeVarInt(out, data.getCustomMobKillsMap().size());
+        for (Map.Entry<String, Map<String, Integer>> phase : data.getCustomMobKillsMap().entrySet()) {
+            writeVarInt(out, dictionary.get(phase.getKey()));
+            writeVarInt(out, phase.getValue().size());
+            for (Map.Entry<String, Integer> entry : phase.getValue().entrySet()) {
+                writeVarInt(out, dictionary.get(entry.getKey()));
+                writeVarInt(out, entry.getValue());
+            }
+        }
+    }
+
+    // ============================================================================
+    // DECODIFICAÇÃO
+    // ============================================================================
+
+    public static PlayerProgressionData decode(byte[] bytes) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    public static PlayerProgressionData read(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Versão de codec de progressão desconhecida: " + version);
+        }
+
+        PlayerProgressionData data = new PlayerProgressionData(new UUID(in.readLong(), in.readLong()));
+        applyFlags(data, readVarInt(in));
+
+        // Contadores vanilla (versões futuras com mais IDs: extras são ignorados)
+        int vanillaCount = readCount(in);
+        for (int id = 0; id < vanillaCount; id++) {
+            int count = readVarInt(in);
+            if (id < MobRegistry.VANILLA_COUNT && count != 0) {
+                data.setMobKillCount(id, count);
+            }
+        }
+
+        int dictionarySize = readCount(in);
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = readString(in);
+        }
+
+        int phases = readCount(in);
+        for (int i = 0; i < phases; i++) {
+            int flagged = readVarInt(in);
+            data.getCustomPhaseCompletionMap().put(lookup(dictionary, flagged >>> 1), (flagged & 1) != 0);
+        }
+
+        int objectivePhases = readCount(in);
+        for (int i = 0; i < objectivePhases; i++) {
+            String phaseId = lookup(dictionary, readVarInt(in));
+            int count = readCount(in);
+            Map<String, Boolean> objectives = new HashMap<>();
+            for (int j = 0; j < count; j++) {
+                int flagged = readVarInt(in);
+                objectives.put(lookup(dictionary, flagged >>> 1), (flagged & 1) != 0);
+            }
+            data.getCustomObjectiveCompletionMap().put(phaseId, objectives);
+        }
+
+        int killPhases = readCount(in);
+        for (int i = 0; i < killPhases; i++) {
+            String phaseId = lookup(dictionary, readVarInt(in));
+            int count = readCount(in);
+            Map<String, Integer> kills = new HashMap<>();
+            for (int j = 0; j < count; j++) {
+                String mobType = lookup(dictionary, readVarInt(in));
+                kills.put(mobType, readVarInt(in));
+            }
+            data.getCustomMobKillsMap().put(phaseId, kills);
+        }
+
+        data.invalidateMultiplierCache();
+        return data;
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static int flagsOf(PlayerProgressionData data) {
+        int flags = 0;
+        if (data.elderGuardianKilled) flags |= FLAG_ELDER_GUARDIAN;
+        if (data.raidWon) flags |= FLAG_RAID;
+        if (data.trialVaultAdvancementEarned) flags |= FLAG_TRIAL_VAULT;
+        if (data.voluntaireExileAdvancementEarned) flags |= FLAG_VOLUNTARY_EXILE;
+        if (data.phase1Completed) flags |= FLAG_PHASE1;
+        if (data.witherKilled) flags |= FLAG_WITHER;
+        if (data.wardenKilled) flags |= FLAG_WARDEN;
+        if (data.phase2Completed) flags |= FLAG_PHASE2;
+        if (data.netherVisited) flags |= FLAG_NETHER_VISITED;
+        if (data.endVisited) flags |= FLAG_END_VISITED;
+        return flags;
+    }
+
+    private static void applyFlags(PlayerProgressionData data, int flags) {
+        data.elderGuardianKilled = (flags & FLAG_ELDER_GUARDIAN) != 0;
+        data.raidWon = (flags & FLAG_RAID) != 0;
+        data.trialVaultAdvancementEarned = (flags & FLAG_TRIAL_VAULT) != 0;
+        data.voluntaireExileAdvancementEarned = (flags & FLAG_VOLUNTARY_EXILE) != 0;
+        data.phase1Completed = (flags & FLAG_PHASE1) != 0;
+        data.witherKilled = (flags & FLAG_WITHER) != 0;
+        data.wardenKilled = (flags & FLAG_WARDEN) != 0;
+        data.phase2Completed = (flags & FLAG_PHASE2) != 0;
+        data.netherVisited = (flags & FLAG_NETHER_VISITED) != 0;
+        data.endVisited = (flags & FLAG_END_VISITED) != 0;
+    }
+
+    private static void intern(Map<String, Integer> dictionary, String value) {
+        dictionary.putIfAbsent(value, dictionary.size());
+    }
+
+    private static String lookup(String[] dictionary, int index) throws IOException {
+        if (index < 0 || index >= dictionary.length) {
+            throw new IOException("Índice de dicionário inválido: " + index);
+        }
+        return dictionary[index];
+    }
+
+    private static void writeFlaggedIndex(DataOutput out, int index, Boolean value) throws IOException {
+        writeVarInt(out, (index << 1) | (Boolean.TRUE.equals(value) ? 1 : 0));
+    }
+
+    /**
+     * VarInt sem sinal (7 bits por byte); negativos ocupam 5 bytes mas sobrevivem à ida e volta
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt muito longo");
+    }
+
+    /**
+     * Ler uma quantidade de elementos (rejeita valores absurdos de dados corrompidos)
+     */
+    private static int readCount(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > MAX_ENTRIES) {
+            throw new IOException("Quantidade inválida: " + count);
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = readCount(in);
+        if (length > MAX_STRING_BYTES) {
+            throw new IOException("String muito longa: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
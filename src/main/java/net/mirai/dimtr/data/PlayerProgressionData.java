@@ -1,11 +1,20 @@
 package net.mirai.dimtr.data;
 
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.core.HolderLookup;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.HashMap;
 import java.util.Map;
 import net.mirai.dimtr.config.DimTrConfig;
+import net.mirai.dimtr.util.MobRegistry;
+import net.mirai.dimtr.util.ProgressDiff;
 
 
 /**
@@ -24,38 +33,15 @@ public class PlayerProgressionData {
     public boolean wardenKilled = false;
     public boolean phase2Completed = false;
 
-    // Contadores de mobs - Fase 1
-    public int zombieKills = 0;
-    public int skeletonKills = 0;
-    public int strayKills = 0;
-    public int huskKills = 0;
-    public int spiderKills = 0;
-    public int creeperKills = 0;
-    public int drownedKills = 0;
-    public int endermanKills = 0;
-    public int witchKills = 0;
-    public int pillagerKills = 0;
-    public int captainKills = 0;
-    public int vindicatorKills = 0;
-    public int boggedKills = 0;
-    public int breezeKills = 0;
-    public int ravagerKills = 0;
-    public int evokerKills = 0;
-
-    // Contadores de mobs - Fase 2
-    public int blazeKills = 0;
-    public int witherSkeletonKills = 0;
-    public int piglinBruteKills = 0;
-    public int hoglinKills = 0;
-    public int zoglinKills = 0;
-    public int ghastKills = 0;
-    public int piglinKills = 0;
-    public int caveSpiderKills = 0;
-    public int silverfishKills = 0;
-    public int magmaCubeKills = 0;
-    public int zombifiedPiglinKills = 0;
-    public int shulkerKills = 0;
-    public int enderDragonKills = 0;
+    // 🎯 PERFORMANCE: Contadores de mobs indexados pelo ID denso do MobRegistry
+    // (vanilla fase 1/2 e legados; mobs de custom phases ficam em customMobKills)
+    private int[] mobKills = new int[MobRegistry.size()];
+    
+    // 🎯 PERFORMANCE: Requisitos de mobs ainda não atingidos por fase (não persistido)
+    // Válido apenas para o plano em trackedPlan; null força recontagem
+    private PhaseRequirementPlan trackedPlan;
+    private int remainingPhase1;
+    private int remainingPhase2;
     
     // Dimensões visitadas
     public boolean netherVisited = false;
@@ -66,6 +52,24 @@ public class PlayerProgressionData {
     private Map<String, Map<String, Boolean>> customObjectiveCompletion = new HashMap<>();
     private Map<String, Map<String, Integer>> customMobKills = new HashMap<>();
 
+    // 🎯 PERFORMANCE: Multiplicador efetivo em cache (não persistido)
+    // Época global incrementada quando config ou custom requirements mudam
+    private static volatile int multiplierEpoch = 0;
+    // Versão global incrementada a cada mudança de progressão que afeta multiplicadores
+    // (usada pelo cache de multiplicador por região de spawn)
+    private static volatile int multiplierVersion = 0;
+    private double cachedMultiplier = 1.0;
+    private int cachedMultiplierEpoch = -1;
+    private boolean cachedPhase1Completed;
+    private boolean cachedPhase2Completed;
+
+    // 🎯 PERFORMANCE: Último acesso, usado para descarregar jogadores offline (não persistido)
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    // 🎯 PERFORMANCE: Contadores alterados desde o último envio ao cliente (não persistido)
+    // Permite ao DeltaUpdateSystem enviar só os campos sujos em vez do estado completo
+    private final BitSet syncDirtyMobKills = new BitSet();
+
     public PlayerProgressionData(UUID playerId) {
         this.playerId = playerId;
     }
@@ -74,97 +78,70 @@ public class PlayerProgressionData {
         return playerId;
     }
 
+    // Última sequência do journal incluída no shard de onde estes dados foram lidos
+    private long journalSeq;
+
+    long getJournalSeq() {
+        return journalSeq;
+    }
+
+    // Contadores crus para o codec binário (não modificar)
+    int[] getMobKillsArray() {
+        return mobKills;
+    }
+
+    /**
+     * IDs de contadores alterados desde o último envio ao cliente (não modificar)
+     */
+    public BitSet getSyncDirtyMobKills() {
+        return syncDirtyMobKills;
+    }
+
+    /**
+     * Marcar o estado atual como enviado ao cliente
+     */
+    public void clearSyncDirty() {
+        syncDirtyMobKills.clear();
+    }
+
+    void markAccessed(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
     // Serialização NBT
     public CompoundTag save(HolderLookup.Provider registries) {
         CompoundTag tag = new CompoundTag();
 
-        // Salvar UUID
+        // UUID em texto: usado como chave ao ler shards sem decodificar os dados
         tag.putString("playerId", playerId.toString());
 
-        // Salvar objetivos
-        tag.putBoolean("elderGuardianKilled", elderGuardianKilled);
-        tag.putBoolean("raidWon", raidWon);
-        tag.putBoolean("trialVaultAdvancementEarned", trialVaultAdvancementEarned);
-        tag.putBoolean("voluntaireExileAdvancementEarned", voluntaireExileAdvancementEarned);
-        tag.putBoolean("phase1Completed", phase1Completed);
-        tag.putBoolean("witherKilled", witherKilled);
-        tag.putBoolean("wardenKilled", wardenKilled);
-        tag.putBoolean("phase2Completed", phase2Completed);
-
-        // Salvar contadores - Fase 1
-        tag.putInt("zombieKills", zombieKills);
-        tag.putInt("skeletonKills", skeletonKills);
-        tag.putInt("strayKills", strayKills);
-        tag.putInt("huskKills", huskKills);
-        tag.putInt("spiderKills", spiderKills);
-        tag.putInt("creeperKills", creeperKills);
-        tag.putInt("drownedKills", drownedKills);
-        tag.putInt("endermanKills", endermanKills);
-        tag.putInt("witchKills", witchKills);
-        tag.putInt("pillagerKills", pillagerKills);
-        tag.putInt("captainKills", captainKills);
-        tag.putInt("vindicatorKills", vindicatorKills);
-        tag.putInt("boggedKills", boggedKills);
-        tag.putInt("breezeKills", breezeKills);
-        tag.putInt("ravagerKills", ravagerKills);
-        tag.putInt("evokerKills", evokerKills);
-
-        // Salvar contadores - Fase 2
-        tag.putInt("blazeKills", blazeKills);
-        tag.putInt("witherSkeletonKills", witherSkeletonKills);
-        tag.putInt("piglinBruteKills", piglinBruteKills);
-        tag.putInt("hoglinKills", hoglinKills);
-        tag.putInt("zoglinKills", zoglinKills);
-        tag.putInt("ghastKills", ghastKills);
-        tag.putInt("piglinKills", piglinKills);
-
-        // Salvar fases customizadas
-        CompoundTag customPhasesTag = new CompoundTag();
-        for (Map.Entry<String, Boolean> entry : customPhaseCompletion.entrySet()) {
-            customPhasesTag.putBoolean(entry.getKey(), entry.getValue());
-        }
-        tag.put("customPhases", customPhasesTag);
-
-        // Salvar objetivos customizados
-        CompoundTag customObjectivesTag = new CompoundTag();
-        for (Map.Entry<String, Map<String, Boolean>> entry : customObjectiveCompletion.entrySet()) {
-            CompoundTag objectiveTag = new CompoundTag();
-            for (Map.Entry<String, Boolean> objEntry : entry.getValue().entrySet()) {
-                objectiveTag.putBoolean(objEntry.getKey(), objEntry.getValue());
-            }
-            customObjectivesTag.put(entry.getKey(), objectiveTag);
-        }
-        tag.put("customObjectives", customObjectivesTag);
-
-        // Salvar contadores de mobs customizados
-        CompoundTag customMobKillsTag = new CompoundTag();
-        for (Map.Entry<String, Map<String, Integer>> entry : customMobKills.entrySet()) {
-            CompoundTag mobKillTag = new CompoundTag();
-            for (Map.Entry<String, Integer> mobEntry : entry.getValue().entrySet()) {
-                mobKillTag.putInt(mobEntry.getKey(), mobEntry.getValue());
-            }
-            customMobKillsTag.put(entry.getKey(), mobKillTag);
-        }
-        tag.put("customMobKills", customMobKillsTag);
-
-        // NOVO: Adicionar log para depuração de persistência
-        if (customObjectiveCompletion.containsKey("external_bosses")) {
-            Map<String, Boolean> externalBosses = customObjectiveCompletion.get("external_bosses");
-            if (!externalBosses.isEmpty()) {
-                net.mirai.dimtr.DimTrMod.LOGGER.info("[PERSISTÊNCIA] Salvando {} bosses externos para jogador {}", 
-                    externalBosses.size(), playerId);
-                for (Map.Entry<String, Boolean> boss : externalBosses.entrySet()) {
-                    if (boss.getValue()) {
-                        net.mirai.dimtr.DimTrMod.LOGGER.debug("[PERSISTÊNCIA] - Boss {} = {}", boss.getKey(), boss.getValue());
-                    }
-                }
-            }
-        }
+        // 🎯 PERFORMANCE: Dados no codec binário compacto em vez de uma chave NBT por campo
+        tag.putByteArray("data", PlayerProgressionCodec.encode(this));
 
         return tag;
     }
 
     public static PlayerProgressionData load(CompoundTag tag, HolderLookup.Provider registries) {
+        PlayerProgressionData data;
+        if (tag.contains("data", Tag.TAG_BYTE_ARRAY)) {
+            try {
+                data = PlayerProgressionCodec.decode(tag.getByteArray("data"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Dados de progressão corrompidos para " + tag.getString("playerId"), e);
+            }
+        } else {
+            // 🔄 MIGRAÇÃO: Formato NBT legado (uma chave por campo)
+            data = loadLegacy(tag);
+        }
+        data.journalSeq = tag.getLong("journalSeq");
+        return data;
+    }
+
+    private static PlayerProgressionData loadLegacy(CompoundTag tag) {
         UUID playerId = UUID.fromString(tag.getString("playerId"));
         PlayerProgressionData data = new PlayerProgressionData(playerId);
 
@@ -178,32 +155,8 @@ public class PlayerProgressionData {
         data.wardenKilled = tag.getBoolean("wardenKilled");
         data.phase2Completed = tag.getBoolean("phase2Completed");
 
-        // Carregar contadores - Fase 1
-        data.zombieKills = tag.getInt("zombieKills");
-        data.skeletonKills = tag.getInt("skeletonKills");
-        data.strayKills = tag.getInt("strayKills");
-        data.huskKills = tag.getInt("huskKills");
-        data.spiderKills = tag.getInt("spiderKills");
-        data.creeperKills = tag.getInt("creeperKills");
-        data.drownedKills = tag.getInt("drownedKills");
-        data.endermanKills = tag.getInt("endermanKills");
-        data.witchKills = tag.getInt("witchKills");
-        data.pillagerKills = tag.getInt("pillagerKills");
-        data.captainKills = tag.getInt("captainKills");
-        data.vindicatorKills = tag.getInt("vindicatorKills");
-        data.boggedKills = tag.getInt("boggedKills");
-        data.breezeKills = tag.getInt("breezeKills");
-        data.ravagerKills = tag.getInt("ravagerKills");
-        data.evokerKills = tag.getInt("evokerKills");
-
-        // Carregar contadores - Fase 2
-        data.blazeKills = tag.getInt("blazeKills");
-        data.witherSkeletonKills = tag.getInt("witherSkeletonKills");
-        data.piglinBruteKills = tag.getInt("piglinBruteKills");
-        data.hoglinKills = tag.getInt("hoglinKills");
-        data.zoglinKills = tag.getInt("zoglinKills");
-        data.ghastKills = tag.getInt("ghastKills");
-        data.piglinKills = tag.getInt("piglinKills");
+        // Carregar contadores de mobs
+        data.readMobKills(tag);
 
         // Carregar fases customizadas
         if (tag.contains("customPhases", 10)) {
@@ -239,80 +192,96 @@ public class PlayerProgressionData {
             }
         }
 
-        // NOVO: Adicionar log para depuração de persistência
-        if (data.customObjectiveCompletion.containsKey("external_bosses")) {
-            Map<String, Boolean> externalBosses = data.customObjectiveCompletion.get("external_bosses");
-            if (!externalBosses.isEmpty()) {
-                net.mirai.dimtr.DimTrMod.LOGGER.info("[PERSISTÊNCIA] Carregados {} bosses externos para jogador {}", 
-                    externalBosses.size(), playerId);
-                for (Map.Entry<String, Boolean> boss : externalBosses.entrySet()) {
-                    if (boss.getValue()) {
-                        net.mirai.dimtr.DimTrMod.LOGGER.debug("[PERSISTÊNCIA] - Boss {} = {}", boss.getKey(), boss.getValue());
-                    }
-                }
-            }
-        }
-
         return data;
     }
 
     // Métodos auxiliares para progressão
     public int getMobKillCount(String mobType) {
-        return switch (mobType) {
-            case "zombie" -> zombieKills;
-            case "skeleton" -> skeletonKills;
-            case "stray" -> strayKills;
-            case "husk" -> huskKills;
-            case "spider" -> spiderKills;
-            case "creeper" -> creeperKills;
-            case "drowned" -> drownedKills;
-            case "enderman" -> endermanKills;
-            case "witch" -> witchKills;
-            case "pillager" -> pillagerKills;
-            case "captain" -> captainKills;
-            case "vindicator" -> vindicatorKills;
-            case "bogged" -> boggedKills;
-            case "breeze" -> breezeKills;
-            case "ravager" -> ravagerKills;
-            case "evoker" -> evokerKills;
-            case "blaze" -> blazeKills;
-            case "wither_skeleton" -> witherSkeletonKills;
-            case "piglin_brute" -> piglinBruteKills;
-            case "hoglin" -> hoglinKills;
-            case "zoglin" -> zoglinKills;
-            case "ghast" -> ghastKills;
-            case "piglin" -> piglinKills;
-            default -> 0;
-        };
+        return getMobKillCount(MobRegistry.getId(mobType));
+    }
+
+    /**
+     * Obter contagem de kills pelo ID do MobRegistry
+     */
+    public int getMobKillCount(int mobId) {
+        return mobId >= 0 && mobId < mobKills.length ? mobKills[mobId] : 0;
+    }
+
+    /**
+     * Definir contagem de kills pelo ID do MobRegistry
+     */
+    public void setMobKillCount(int mobId, int count) {
+        if (mobId < 0 || mobId >= mobKills.length) return;
+        mobKills[mobId] = count;
+        syncDirtyMobKills.set(mobId);
+        trackedPlan = null;
+    }
+
+    public void setMobKillCount(String mobType, int count) {
+        setMobKillCount(MobRegistry.getId(mobType), count);
     }
 
     public boolean incrementMobKill(String mobType) {
-        return switch (mobType) {
-            case "zombie" -> { zombieKills++; yield true; }
-            case "skeleton" -> { skeletonKills++; yield true; }
-            case "stray" -> { strayKills++; yield true; }
-            case "husk" -> { huskKills++; yield true; }
-            case "spider" -> { spiderKills++; yield true; }
-            case "creeper" -> { creeperKills++; yield true; }
-            case "drowned" -> { drownedKills++; yield true; }
-            case "enderman" -> { endermanKills++; yield true; }
-            case "witch" -> { witchKills++; yield true; }
-            case "pillager" -> { pillagerKills++; yield true; }
-            case "captain" -> { captainKills++; yield true; }
-            case "vindicator" -> { vindicatorKills++; yield true; }
-            case "bogged" -> { boggedKills++; yield true; }
-            case "breeze" -> { breezeKills++; yield true; }
-            case "ravager" -> { ravagerKills++; yield true; }
-            case "evoker" -> { evokerKills++; yield true; }
-            case "blaze" -> { blazeKills++; yield true; }
-            case "wither_skeleton" -> { witherSkeletonKills++; yield true; }
-            case "piglin_brute" -> { piglinBruteKills++; yield true; }
-            case "hoglin" -> { hoglinKills++; yield true; }
-            case "zoglin" -> { zoglinKills++; yield true; }
-            case "ghast" -> { ghastKills++; yield true; }
-            case "piglin" -> { piglinKills++; yield true; }
-            default -> false;
-        };
+        return incrementMobKill(MobRegistry.getId(mobType));
+    }
+
+    /**
+     * Incrementar kill pelo ID do MobRegistry (false se o tipo não conta para progresso)
+     */
+    public boolean incrementMobKill(int mobId) {
+        if (!MobRegistry.isCountable(mobId)) {
+            return false;
+        }
+        int newCount = ++mobKills[mobId];
+        syncDirtyMobKills.set(mobId);
+
+        // Só o requisito deste mob pode ter mudado: atualizar contadores restantes
+        PhaseRequirementPlan plan = trackedPlan;
+        if (plan != null) {
+            if (plan.getRequirement(PhaseRequirementPlan.PHASE_1, mobId) == newCount) remainingPhase1--;
+            if (plan.getRequirement(PhaseRequirementPlan.PHASE_2, mobId) == newCount) remainingPhase2--;
+        }
+        return true;
+    }
+
+    /**
+     * Obter quantos requisitos de mobs da fase ainda faltam segundo o plano
+     * (recontagem completa apenas quando o plano muda ou contadores foram redefinidos)
+     */
+    public int getRemainingMobRequirements(PhaseRequirementPlan plan, int phase) {
+        if (trackedPlan != plan) {
+            remainingPhase1 = plan.countRemaining(PhaseRequirementPlan.PHASE_1, this);
+            remainingPhase2 = plan.countRemaining(PhaseRequirementPlan.PHASE_2, this);
+            trackedPlan = plan;
+        }
+        return phase == PhaseRequirementPlan.PHASE_1 ? remainingPhase1 : remainingPhase2;
+    }
+
+    /**
+     * Copiar todos os contadores de mobs de outra instância
+     */
+    public void copyMobKillsFrom(PlayerProgressionData source) {
+        mobKills = source.mobKills.clone();
+        syncDirtyMobKills.set(0, mobKills.length);
+        trackedPlan = null;
+    }
+
+    /**
+     * Zerar todos os contadores de mobs
+     */
+    public void clearMobKills() {
+        Arrays.fill(mobKills, 0);
+        syncDirtyMobKills.set(0, mobKills.length);
+        trackedPlan = null;
+    }
+
+    private void readMobKills(CompoundTag tag) {
+        mobKills = new int[MobRegistry.size()];
+        trackedPlan = null;
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            mobKills[id] = tag.getInt(MobRegistry.getNbtKey(id));
+        }
+        // "extraMobKills" (versões antigas): mobs de custom phases nunca contados aqui - ignorado
     }
 
     // Métodos para verificar completude das fases
@@ -332,6 +301,48 @@ public class PlayerProgressionData {
 
     // Calcular multiplicador baseado na progressão individual
     public double getProgressionMultiplier() {
+        // 🎯 PERFORMANCE: Reutilizar valor em cache enquanto a progressão não mudar.
+        // Os flags de fase são campos públicos escritos em vários lugares, então
+        // também são comparados aqui em vez de depender só de invalidação explícita.
+        if (cachedMultiplierEpoch == multiplierEpoch
+                && cachedPhase1Completed == phase1Completed
+                && cachedPhase2Completed == phase2Completed) {
+            return cachedMultiplier;
+        }
+
+        int epoch = multiplierEpoch;
+        cachedMultiplier = computeProgressionMultiplier();
+        cachedPhase1Completed = phase1Completed;
+        cachedPhase2Completed = phase2Completed;
+        cachedMultiplierEpoch = epoch;
+        return cachedMultiplier;
+    }
+
+    /**
+     * Invalidar o multiplicador em cache deste jogador
+     */
+    public void invalidateMultiplierCache() {
+        cachedMultiplierEpoch = -1;
+        multiplierVersion++;
+    }
+
+    /**
+     * Invalidar o multiplicador em cache de todos os jogadores
+     * (mudança de config ou recarga de custom requirements)
+     */
+    public static void invalidateAllMultiplierCaches() {
+        multiplierEpoch++;
+        multiplierVersion++;
+    }
+
+    /**
+     * Obter versão global dos multiplicadores (muda quando qualquer progressão relevante muda)
+     */
+    public static int getMultiplierVersion() {
+        return multiplierVersion;
+    }
+
+    private double computeProgressionMultiplier() {
         // Verificar multiplicadores de fases customizadas primeiro
         double customMultiplier = getCustomPhaseMultiplier();
         if (customMultiplier > 1.0) {
@@ -362,6 +373,7 @@ public class PlayerProgressionData {
      */
     public void setCustomPhaseComplete(String phaseId, boolean complete) {
         customPhaseCompletion.put(phaseId, complete);
+        invalidateMultiplierCache();
     }
     
     /**
@@ -455,32 +467,8 @@ public class PlayerProgressionData {
         copy.wardenKilled = this.wardenKilled;
         copy.phase2Completed = this.phase2Completed;
         
-        // Copiar contadores de mobs - Fase 1
-        copy.zombieKills = this.zombieKills;
-        copy.skeletonKills = this.skeletonKills;
-        copy.strayKills = this.strayKills;
-        copy.huskKills = this.huskKills;
-        copy.spiderKills = this.spiderKills;
-        copy.creeperKills = this.creeperKills;
-        copy.drownedKills = this.drownedKills;
-        copy.endermanKills = this.endermanKills;
-        copy.witchKills = this.witchKills;
-        copy.pillagerKills = this.pillagerKills;
-        copy.captainKills = this.captainKills;
-        copy.vindicatorKills = this.vindicatorKills;
-        copy.boggedKills = this.boggedKills;
-        copy.breezeKills = this.breezeKills;
-        copy.ravagerKills = this.ravagerKills;
-        copy.evokerKills = this.evokerKills;
-        
-        // Copiar contadores de mobs - Fase 2
-        copy.blazeKills = this.blazeKills;
-        copy.witherSkeletonKills = this.witherSkeletonKills;
-        copy.piglinBruteKills = this.piglinBruteKills;
-        copy.hoglinKills = this.hoglinKills;
-        copy.zoglinKills = this.zoglinKills;
-        copy.ghastKills = this.ghastKills;
-        copy.piglinKills = this.piglinKills;
+        // Copiar contadores de mobs
+        copy.mobKills = this.mobKills.clone();
         
         // Copiar mapas customizados (deep copy)
         for (Map.Entry<String, Map<String, Integer>> phaseEntry : this.customMobKills.entrySet()) {
@@ -499,91 +487,36 @@ public class PlayerProgressionData {
     }
     
     /**
-     * Escreve os dados de progressão para um CompoundTag
-     * @param tag Tag onde os dados serão escritos
+     * Diferenças legíveis entre este progresso e outro (ex: simulação de restauração de backup)
      */
-    public void writeToNBT(CompoundTag tag) {
-        tag.putUUID("playerId", playerId);
-        
-        // Objetivos especiais
-        tag.putBoolean("elderGuardianKilled", elderGuardianKilled);
-        tag.putBoolean("raidWon", raidWon);
-        tag.putBoolean("trialVaultAdvancementEarned", trialVaultAdvancementEarned);
-        tag.putBoolean("voluntaireExileAdvancementEarned", voluntaireExileAdvancementEarned);
-        tag.putBoolean("phase1Completed", phase1Completed);
-        tag.putBoolean("witherKilled", witherKilled);
-        tag.putBoolean("wardenKilled", wardenKilled);
-        tag.putBoolean("phase2Completed", phase2Completed);
-        
-        // Contadores de mobs - Fase 1
-        tag.putInt("zombieKills", zombieKills);
-        tag.putInt("skeletonKills", skeletonKills);
-        tag.putInt("strayKills", strayKills);
-        tag.putInt("huskKills", huskKills);
-        tag.putInt("drownedKills", drownedKills);
-        tag.putInt("spiderKills", spiderKills);
-        tag.putInt("caveSpiderKills", caveSpiderKills);
-        tag.putInt("creeperKills", creeperKills);
-        tag.putInt("witchKills", witchKills);
-        tag.putInt("silverfishKills", silverfishKills);
-        tag.putInt("pillagerKills", pillagerKills);
-        tag.putInt("captainKills", captainKills);
-        tag.putInt("vindicatorKills", vindicatorKills);
-        tag.putInt("boggedKills", boggedKills);
-        tag.putInt("breezeKills", breezeKills);
-        tag.putInt("ravagerKills", ravagerKills);
-        tag.putInt("evokerKills", evokerKills);
-        tag.putInt("endermanKills", endermanKills);
+    public List<String> describeDifferences(PlayerProgressionData target) {
+        List<String> changes = new ArrayList<>();
         
-        // Contadores de mobs - Fase 2
-        tag.putInt("ghastKills", ghastKills);
-        tag.putInt("blazeKills", blazeKills);
-        tag.putInt("magmaCubeKills", magmaCubeKills);
-        tag.putInt("witherSkeletonKills", witherSkeletonKills);
-        tag.putInt("piglinBruteKills", piglinBruteKills);
-        tag.putInt("zombifiedPiglinKills", zombifiedPiglinKills);
-        tag.putInt("shulkerKills", shulkerKills);
-        tag.putInt("enderDragonKills", enderDragonKills);
-        tag.putInt("hoglinKills", hoglinKills);
-        tag.putInt("zoglinKills", zoglinKills);
-        tag.putInt("piglinKills", piglinKills);
+        ProgressDiff.value(changes, "elderGuardianKilled", elderGuardianKilled, target.elderGuardianKilled);
+        ProgressDiff.value(changes, "raidWon", raidWon, target.raidWon);
+        ProgressDiff.value(changes, "trialVaultAdvancementEarned", trialVaultAdvancementEarned, target.trialVaultAdvancementEarned);
+        ProgressDiff.value(changes, "voluntaireExileAdvancementEarned", voluntaireExileAdvancementEarned, target.voluntaireExileAdvancementEarned);
+        ProgressDiff.value(changes, "phase1Completed", phase1Completed, target.phase1Completed);
+        ProgressDiff.value(changes, "witherKilled", witherKilled, target.witherKilled);
+        ProgressDiff.value(changes, "wardenKilled", wardenKilled, target.wardenKilled);
+        ProgressDiff.value(changes, "phase2Completed", phase2Completed, target.phase2Completed);
+        ProgressDiff.value(changes, "netherVisited", netherVisited, target.netherVisited);
+        ProgressDiff.value(changes, "endVisited", endVisited, target.endVisited);
         
-        // Dimensões visitadas
-        tag.putBoolean("netherVisited", netherVisited);
-        tag.putBoolean("endVisited", endVisited);
-        
-        // Fases customizadas
-        CompoundTag customPhaseCompletionTag = new CompoundTag();
-        for (Map.Entry<String, Boolean> entry : customPhaseCompletion.entrySet()) {
-            customPhaseCompletionTag.putBoolean(entry.getKey(), entry.getValue());
-        }
-        tag.put("customPhaseCompletionMap", customPhaseCompletionTag);
-        
-        // Contadores de mobs de fases customizadas
-        CompoundTag customMobKillsTag = new CompoundTag();
-        for (Map.Entry<String, Map<String, Integer>> phaseEntry : customMobKills.entrySet()) {
-            CompoundTag phaseTag = new CompoundTag();
-            for (Map.Entry<String, Integer> mobEntry : phaseEntry.getValue().entrySet()) {
-                phaseTag.putInt(mobEntry.getKey(), mobEntry.getValue());
-            }
-            customMobKillsTag.put(phaseEntry.getKey(), phaseTag);
+        int mobCount = Math.max(mobKills.length, target.mobKills.length);
+        for (int id = 0; id < mobCount; id++) {
+            ProgressDiff.value(changes, MobRegistry.getName(id), getMobKillCount(id), target.getMobKillCount(id));
         }
-        tag.put("customMobKillsMap", customMobKillsTag);
         
-        // Objetivos customizados
-        CompoundTag customObjectiveCompletionTag = new CompoundTag();
-        for (Map.Entry<String, Map<String, Boolean>> phaseEntry : customObjectiveCompletion.entrySet()) {
-            CompoundTag phaseTag = new CompoundTag();
-            for (Map.Entry<String, Boolean> objectiveEntry : phaseEntry.getValue().entrySet()) {
-                phaseTag.putBoolean(objectiveEntry.getKey(), objectiveEntry.getValue());
-            }
-            customObjectiveCompletionTag.put(phaseEntry.getKey(), phaseTag);
-        }
-        tag.put("customObjectiveCompletionMap", customObjectiveCompletionTag);
+        ProgressDiff.map(changes, "customPhase", customPhaseCompletion, target.customPhaseCompletion);
+        ProgressDiff.map(changes, "customObjective", customObjectiveCompletion, target.customObjectiveCompletion);
+        ProgressDiff.map(changes, "customMobKills", customMobKills, target.customMobKills);
+        return changes;
     }
     
     /**
-     * Lê os dados de progressão de um CompoundTag
+     * Lê os dados de progressão de um CompoundTag no formato legado de backup
+     * (backups novos usam {@link PlayerProgressionCodec})
      * @param tag Tag contendo os dados
      */
     public void readFromNBT(CompoundTag tag) {
@@ -597,38 +530,8 @@ public class PlayerProgressionData {
         wardenKilled = tag.getBoolean("wardenKilled");
         phase2Completed = tag.getBoolean("phase2Completed");
         
-        // Contadores de mobs - Fase 1
-        zombieKills = tag.getInt("zombieKills");
-        skeletonKills = tag.getInt("skeletonKills");
-        strayKills = tag.getInt("strayKills");
-        huskKills = tag.getInt("huskKills");
-        drownedKills = tag.getInt("drownedKills");
-        spiderKills = tag.getInt("spiderKills");
-        caveSpiderKills = tag.getInt("caveSpiderKills");
-        creeperKills = tag.getInt("creeperKills");
-        witchKills = tag.getInt("witchKills");
-        silverfishKills = tag.getInt("silverfishKills");
-        pillagerKills = tag.getInt("pillagerKills");
-        captainKills = tag.getInt("captainKills");
-        vindicatorKills = tag.getInt("vindicatorKills");
-        boggedKills = tag.getInt("boggedKills");
-        breezeKills = tag.getInt("breezeKills");
-        ravagerKills = tag.getInt("ravagerKills");
-        evokerKills = tag.getInt("evokerKills");
-        endermanKills = tag.getInt("endermanKills");
-        
-        // Contadores de mobs - Fase 2
-        ghastKills = tag.getInt("ghastKills");
-        blazeKills = tag.getInt("blazeKills");
-        magmaCubeKills = tag.getInt("magmaCubeKills");
-        witherSkeletonKills = tag.getInt("witherSkeletonKills");
-        piglinBruteKills = tag.getInt("piglinBruteKills");
-        zombifiedPiglinKills = tag.getInt("zombifiedPiglinKills");
-        shulkerKills = tag.getInt("shulkerKills");
-        enderDragonKills = tag.getInt("enderDragonKills");
-        hoglinKills = tag.getInt("hoglinKills");
-        zoglinKills = tag.getInt("zoglinKills");
-        piglinKills = tag.getInt("piglinKills");
+        // Contadores de mobs
+        readMobKills(tag);
         
         // Dimensões visitadas
         netherVisited = tag.getBoolean("netherVisited");
@@ -642,6 +545,7 @@ public class PlayerProgressionData {
                 customPhaseCompletion.put(key, customPhaseCompletionTag.getBoolean(key));
             }
         }
+        invalidateMultiplierCache();
         
         // Contadores de mobs de fases customizadas
         customMobKills.clear();
@@ -4,10 +4,12 @@ import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.config.DimTrConfig;
 import net.mirai.dimtr.sync.SyncManager;
 import net.mirai.dimtr.util.ConfigCache;
+import net.mirai.dimtr.util.StripedLock;
 import net.minecraft.server.level.ServerLevel;
 
 import java.util.UUID;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * Coordenador central REFATORADO para sincronização entre sistemas de Party e Individual
@@ -26,34 +28,49 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class ProgressionCoordinator {
     
-    // ✅ THREAD-SAFETY: Lock para operações críticas
-    private static final ReentrantLock PROCESSING_LOCK = new ReentrantLock();
+    // ✅ THREAD-SAFETY: Locks particionados por dono do progresso (party ou jogador).
+    // Kills de parties/jogadores diferentes não disputam mais um único lock global.
+    private static final StripedLock PROGRESS_LOCKS = new StripedLock(64);
     
     /**
      * Processar morte de mob com coordenação entre sistemas
      * REFATORADO: Agora delega para coordenadores especializados
      */
     public static boolean processMobKill(UUID playerId, String mobType, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            if (!ConfigCache.isPartySystemEnabled()) {
-                // Sistema de party desabilitado - usar coordenador individual
+        if (!ConfigCache.isPartySystemEnabled()) {
+            // Sistema de party desabilitado - usar coordenador individual
+            ReentrantLock lock = PROGRESS_LOCKS.lock(playerId);
+            try {
                 return IndividualProgressionCoordinator.processMobKill(playerId, mobType, serverLevel);
+            } finally {
+                lock.unlock();
             }
-            
-            // Sistema de party habilitado - verificar se jogador está em party
-            PartyManager partyManager = PartyManager.get(serverLevel);
+        }
+        
+        // Sistema de party habilitado - verificar se jogador está em party
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        
+        while (true) {
             PartyData playerParty = partyManager.getPlayerParty(playerId);
+            UUID ownerId = playerParty != null ? playerParty.getPartyId() : playerId;
             
-            if (playerParty != null) {
-                // Jogador está em party - usar coordenador de party
-                return PartyProgressionCoordinator.processMobKill(playerId, mobType, playerParty, serverLevel);
-            } else {
-                // Jogador não está em party - usar coordenador individual
-                return IndividualProgressionCoordinator.processMobKill(playerId, mobType, serverLevel);
+            ReentrantLock lock = PROGRESS_LOCKS.lock(ownerId);
+            try {
+                // Jogador pode ter entrado/saído de party antes de obter o lock
+                if (partyManager.getPlayerParty(playerId) != playerParty) {
+                    continue;
+                }
+                
+                if (playerParty != null) {
+                    // Jogador está em party - usar coordenador de party
+                    return PartyProgressionCoordinator.processMobKill(playerId, mobType, playerParty, serverLevel);
+                } else {
+                    // Jogador não está em party - usar coordenador individual
+                    return IndividualProgressionCoordinator.processMobKill(playerId, mobType, serverLevel);
+                }
+            } finally {
+                lock.unlock();
             }
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
     }
     
@@ -62,54 +79,100 @@ public class ProgressionCoordinator {
      * REFATORADO: Agora delega para coordenadores especializados
      */
     public static boolean processSpecialObjective(UUID playerId, String objectiveType, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            if (!DimTrConfig.SERVER.enablePartySystem.get()) {
-                // Sistema de party desabilitado - usar coordenador individual
+        if (!DimTrConfig.SERVER.enablePartySystem.get()) {
+            // Sistema de party desabilitado - usar coordenador individual
+            ReentrantLock lock = PROGRESS_LOCKS.lock(playerId);
+            try {
                 return IndividualProgressionCoordinator.processSpecialObjective(playerId, objectiveType, serverLevel);
+            } finally {
+                lock.unlock();
             }
-            
-            // Sistema de party habilitado - verificar se jogador está em party
-            PartyManager partyManager = PartyManager.get(serverLevel);
+        }
+        
+        // Sistema de party habilitado - verificar se jogador está em party
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        
+        while (true) {
             PartyData playerParty = partyManager.getPlayerParty(playerId);
+            boolean useParty = playerParty != null && playerParty.getMemberCount() > 1;
+            UUID ownerId = useParty ? playerParty.getPartyId() : playerId;
             
-            if (playerParty != null && playerParty.getMembers().size() > 1) {
-                // Jogador está em party com outros membros - usar coordenador de party
-                return PartyProgressionCoordinator.processSpecialObjective(playerId, objectiveType, playerParty, serverLevel);
-            } else {
-                // Jogador sozinho ou não está em party - usar coordenador individual
-                return IndividualProgressionCoordinator.processSpecialObjective(playerId, objectiveType, serverLevel);
+            ReentrantLock lock = PROGRESS_LOCKS.lock(ownerId);
+            try {
+                // Jogador pode ter entrado/saído de party antes de obter o lock
+                if (partyManager.getPlayerParty(playerId) != playerParty) {
+                    continue;
+                }
+                
+                if (useParty) {
+                    // Jogador está em party com outros membros - usar coordenador de party
+                    return PartyProgressionCoordinator.processSpecialObjective(playerId, objectiveType, playerParty, serverLevel);
+                } else {
+                    // Jogador sozinho ou não está em party - usar coordenador individual
+                    return IndividualProgressionCoordinator.processSpecialObjective(playerId, objectiveType, serverLevel);
+                }
+            } finally {
+                lock.unlock();
             }
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
     }
     
     /**
      * Verificar se um jogador pode acessar uma dimensão
      * REFATORADO: Agora delega para coordenadores especializados
+     * 
+     * 🎯 PERFORMANCE: Somente leitura de flags de fase, sem lock. Chamado a cada
+     * tick para jogadores perto de portais do End, não deve disputar com kills.
      */
     public static boolean canPlayerAccessDimension(UUID playerId, String dimension, ServerLevel serverLevel) {
-        PROCESSING_LOCK.lock();
-        try {
-            if (!ConfigCache.isPartySystemEnabled()) {
-                // Sistema de party desabilitado - verificar apenas individual
-                return IndividualProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, serverLevel);
-            }
-            
-            // Sistema de party habilitado - verificar qual usar
-            PartyManager partyManager = PartyManager.get(serverLevel);
+        if (!ConfigCache.isPartySystemEnabled()) {
+            // Sistema de party desabilitado - verificar apenas individual
+            return IndividualProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, serverLevel);
+        }
+        
+        // Sistema de party habilitado - verificar qual usar
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        PartyData playerParty = partyManager.getPlayerParty(playerId);
+        
+        if (playerParty != null && playerParty.getMemberCount() > 1) {
+            // Jogador está em party com outros membros - usar coordenador de party
+            return PartyProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, playerParty, serverLevel);
+        } else {
+            // Jogador sozinho ou não está em party - usar coordenador individual
+            return IndividualProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, serverLevel);
+        }
+    }
+    
+    /**
+     * Obter locks de progresso (estatísticas de contenção para debug)
+     */
+    public static StripedLock getProgressLocks() {
+        return PROGRESS_LOCKS;
+    }
+    
+    /**
+     * Executar uma alteração de progresso sob o lock do dono (party do jogador ou o próprio jogador)
+     * 
+     * ✅ THREAD-SAFETY: Mesmo critério dos coordenadores de custom phases e bosses
+     * externos (party sempre que existir), com a mesma verificação de troca de party.
+     */
+    private static boolean processWithOwnerLock(UUID playerId, ServerLevel serverLevel, BooleanSupplier action) {
+        PartyManager partyManager = PartyManager.get(serverLevel);
+        
+        while (true) {
             PartyData playerParty = partyManager.getPlayerParty(playerId);
+            UUID ownerId = playerParty != null ? playerParty.getPartyId() : playerId;
             
-            if (playerParty != null && playerParty.getMembers().size() > 1) {
-                // Jogador está em party com outros membros - usar coordenador de party
-                return PartyProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, playerParty, serverLevel);
-            } else {
-                // Jogador sozinho ou não está em party - usar coordenador individual
-                return IndividualProgressionCoordinator.canPlayerAccessDimension(playerId, dimension, serverLevel);
+            ReentrantLock lock = PROGRESS_LOCKS.lock(ownerId);
+            try {
+                // Jogador pode ter entrado/saído de party antes de obter o lock
+                if (partyManager.getPlayerParty(playerId) != playerParty) {
+                    continue;
+                }
+                return action.getAsBoolean();
+            } finally {
+                lock.unlock();
             }
-        } finally {
-            PROCESSING_LOCK.unlock();
         }
     }
     
@@ -117,14 +180,16 @@ public class ProgressionCoordinator {
      * Processar objetivo customizado - DELEGADO para CustomPhaseCoordinator
      */
     public static boolean processCustomObjective(UUID playerId, String phaseId, String objectiveId, ServerLevel serverLevel) {
-        return CustomPhaseCoordinator.processCustomObjective(playerId, phaseId, objectiveId, serverLevel);
+        return processWithOwnerLock(playerId, serverLevel,
+            () -> CustomPhaseCoordinator.processCustomObjective(playerId, phaseId, objectiveId, serverLevel));
     }
     
     /**
      * Processar kill de mob customizado - DELEGADO para CustomPhaseCoordinator
      */
     public static boolean processCustomMobKill(UUID playerId, String phaseId, String mobType, ServerLevel serverLevel) {
-        return CustomPhaseCoordinator.processCustomMobKill(playerId, phaseId, mobType, serverLevel);
+        return processWithOwnerLock(playerId, serverLevel,
+            () -> CustomPhaseCoordinator.processCustomMobKill(playerId, phaseId, mobType, serverLevel));
     }
     
     /**
@@ -138,7 +203,8 @@ public class ProgressionCoordinator {
      * Processar objetivo de boss externo - DELEGADO para ExternalBossCoordinator
      */
     public static boolean processExternalBossObjective(UUID playerId, String bossEntityId, int phase, ServerLevel serverLevel) {
-        return ExternalBossCoordinator.processExternalBossKill(playerId, bossEntityId, phase, serverLevel);
+        return processWithOwnerLock(playerId, serverLevel,
+            () -> ExternalBossCoordinator.processExternalBossKill(playerId, bossEntityId, phase, serverLevel));
     }
     
     /**
@@ -0,0 +1,268 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.util.PersistenceWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+/**
+ * 🎯 PERFORMANCE: Journal append-only de eventos de progressão individual
+ *
+ * Cada kill ou objetivo vira um registro pequeno (jogador, tipo, chave, delta,
+ * timestamp) acumulado em buffer na thread do servidor e anexado ao arquivo
+ * pelo {@link PersistenceWriter} a cada segundo. Assim a durabilidade de um
+ * kill custa alguns bytes, não a regravação do shard inteiro.
+ *
+ * Compactação: quando o save grava os shards com sucesso, tudo que está no
+ * journal já faz parte deles e o arquivo é truncado (a fila única do
+ * PersistenceWriter garante que os shards terminam antes da truncagem).
+ *
+ * Recuperação: cada jogador gravado no shard guarda o último número de
+ * sequência já incluído ({@code journalSeq}); no startup apenas registros
+ * mais novos são reaplicados, então a repetição é idempotente mesmo se a
+ * queda ocorrer entre a gravação dos shards e a truncagem.
+ *
+ * Formato: cabeçalho (magic, versão, sequência base) seguido de registros
+ * {@code [tamanho][payload][crc32]}. Um registro incompleto no fim (queda
+ * durante o append) é descartado e o arquivo é truncado nesse ponto.
+ */
+public final class ProgressionJournal {
+
+    public static final byte MOB_KILL = 1;
+    public static final byte CUSTOM_MOB_KILL = 2;
+    public static final byte OBJECTIVE = 3;
+    public static final byte RESET = 4;
+
+    private static final int MAGIC = 0x444A524E; // "DJRN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    /**
+     * Registro do journal (subKey vazio quando não se aplica)
+     */
+    public record Entry(long seq, UUID playerId, byte type, String key, String subKey, int delta, long timestamp) {
+    }
+
+    private final Path file;
+    private long lastSeq;
+
+    // Registros ainda não enviados ao PersistenceWriter
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private int pendingCount;
+
+    public ProgressionJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Ler os registros existentes (startup) e posicionar a sequência
+     * @param minimumSeq Última sequência conhecida pelo SavedData (caso o arquivo tenha sido perdido)
+     */
+    public synchronized List<Entry> open(long minimumSeq) {
+        List<Entry> entries = new ArrayList<>();
+        lastSeq = minimumSeq;
+
+        if (!Files.exists(file)) {
+            return entries;
+        }
+
+        boolean unknownFormat = false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header) < HEADER_SIZE) {
+                channel.truncate(0);
+                return entries;
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                unknownFormat = true;
+            } else {
+                lastSeq = Math.max(lastSeq, header.getLong());
+                readRecords(channel, entries);
+            }
+        } catch (IOException e) {
+            DimTrMod.LOGGER.error("❌ Falha ao ler journal de progressão: {}", e.getMessage());
+        }
+
+        if (unknownFormat) {
+            // Não anexar a um arquivo ilegível: mover para o lado e começar um novo
+            DimTrMod.LOGGER.error("❌ Journal de progressão com formato desconhecido, movido para .corrupt: {}", file);
+            try {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                DimTrMod.LOGGER.error("❌ Falha ao mover journal ilegível: {}", e.getMessage());
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Ler registros válidos após o cabeçalho, truncando um final incompleto
+     */
+    private void readRecords(FileChannel channel, List<Entry> entries) throws IOException {
+        long validEnd = HEADER_SIZE;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        while (true) {
+            lengthBuffer.clear();
+            if (channel.read(lengthBuffer, validEnd) < 4) break;
+            int length = lengthBuffer.flip().getInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) break;
+
+            ByteBuffer record = ByteBuffer.allocate(length + 4);
+            if (channel.read(record, validEnd + 4) < length + 4) break;
+            record.flip();
+
+            byte[] payload = new byte[length];
+            record.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != record.getInt()) break;
+
+            Entry entry = decode(payload);
+            entries.add(entry);
+            lastSeq = Math.max(lastSeq, entry.seq());
+            validEnd += 4 + length + 4;
+        }
+
+        if (validEnd < channel.size()) {
+            DimTrMod.LOGGER.warn("⚠️ Journal de progressão com registro incompleto no fim, descartando {} bytes",
+                    channel.size() - validEnd);
+            channel.truncate(validEnd);
+        }
+    }
+
+    /**
+     * Anexar um evento ao buffer (thread do servidor, sem I/O)
+     * @return Número de sequência do registro
+     */
+    public synchronized long append(UUID playerId, byte type, String key, String subKey, int delta) {
+        long seq = ++lastSeq;
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeLong(seq);
+            payload.writeLong(playerId.getMostSignificantBits());
+            payload.writeLong(playerId.getLeastSignificantBits());
+            payload.writeByte(type);
+            payload.writeUTF(key != null ? key : "");
+            payload.writeUTF(subKey != null ? subKey : "");
+            payload.writeInt(delta);
+            payload.writeLong(System.currentTimeMillis());
+
+            byte[] bytes = payloadBytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+
+            DataOutputStream out = new DataOutputStream(pending);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeInt((int) crc.getValue());
+            pendingCount++;
+        } catch (IOException e) {
+            // ByteArrayOutputStream não lança IOException
+            throw new IllegalStateException(e);
+        }
+        return seq;
+    }
+
+    /**
+     * Última sequência atribuída (tudo até ela está refletido na memória)
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Enviar os registros em buffer para o arquivo (gravação no PersistenceWriter)
+     */
+    public synchronized void flush() {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        byte[] bytes = pending.toByteArray();
+        int count = pendingCount;
+        pending = new ByteArrayOutputStream();
+        pendingCount = 0;
+
+        PersistenceWriter.submit("journal de progressão (" + count + " registros)", () -> appendToFile(bytes));
+    }
+
+    /**
+     * Compactar o journal após um save: truncar se todas as gravações de shards tiveram sucesso
+     * @param checkpointSeq Sequência incluída no snapshot dos shards
+     * @param shardWrites Gravações enfileiradas pelo save (terminam antes da compactação)
+     */
+    public synchronized void checkpoint(long checkpointSeq, CompletableFuture<Void> shardWrites) {
+        flush();
+
+        PersistenceWriter.submit("compactação do journal", () -> {
+            if (!shardWrites.isDone() || shardWrites.isCompletedExceptionally()) {
+                // Algum shard falhou: manter os registros para reaplicação
+                return;
+            }
+            writeHeaderOnly(checkpointSeq);
+        });
+    }
+
+    private void appendToFile(byte[] bytes) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            if (channel.size() == 0) {
+                // Arquivo novo: registros carregam a própria sequência, a base não importa
+                channel.write(header(0L));
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private void writeHeaderOnly(long baseSeq) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header(baseSeq));
+            channel.force(true);
+        }
+    }
+
+    private static ByteBuffer header(long baseSeq) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(baseSeq);
+        return header.flip();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        UUID playerId = new UUID(in.readLong(), in.readLong());
+        byte type = in.readByte();
+        String key = in.readUTF();
+        String subKey = in.readUTF();
+        int delta = in.readInt();
+        long timestamp = in.readLong();
+        return new Entry(seq, playerId, type, key, subKey, delta, timestamp);
+    }
+}
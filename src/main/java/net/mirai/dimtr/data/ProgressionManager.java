@@ -1,11 +1,18 @@
 package net.mirai.dimtr.data;
 
 import net.mirai.dimtr.DimTrMod;
-import net.mirai.dimtr.config.CustomRequirements;
 import net.mirai.dimtr.config.DimTrConfig;
+import net.mirai.dimtr.network.DeltaUpdateSystem;
 import net.mirai.dimtr.network.UpdateProgressionToClientPayload;
+import net.mirai.dimtr.sync.SyncManager;
 import net.mirai.dimtr.util.Constants;
 import net.mirai.dimtr.util.ConfigCache;
+import net.mirai.dimtr.util.DirtyTracker;
+import net.mirai.dimtr.util.MobRegistry;
+import net.mirai.dimtr.util.MultiplierRegionCache;
+import net.mirai.dimtr.util.PersistenceWriter;
+import net.mirai.dimtr.util.PlayerSpatialIndex;
+import net.mirai.dimtr.util.ServerThreadSnapshot;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -20,17 +27,50 @@ import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.ChatFormatting;
 import net.neoforged.neoforge.network.PacketDistributor;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import javax.annotation.Nonnull;
 
 /**
  * Gerenciador centralizado para progressão individual de jogadores
+ *
+ * 🎯 PERFORMANCE: Apenas jogadores em uso ficam em memória. Jogadores offline são
+ * carregados sob demanda do shard correspondente (login, comando, consulta de party)
+ * e descarregados após ficarem ociosos e já persistidos.
  */
 public class ProgressionManager extends SavedData {
+    // Jogadores carregados (não todos os jogadores do mundo)
     private final Map<UUID, PlayerProgressionData> playerProgressions = new ConcurrentHashMap<>();
     private MinecraftServer serverForContext;
 
+    // 🎯 PERFORMANCE: Armazenamento particionado; apenas shards alterados são reescritos no save
+    private ProgressionShardStorage shardStorage;
+    private final BitSet failedShards = new BitSet(Constants.PROGRESSION_SHARD_COUNT);
+    // Gravações enfileiradas no PersistenceWriter ainda não concluídas, por shard
+    private final AtomicIntegerArray pendingShardWrites = new AtomicIntegerArray(Constants.PROGRESSION_SHARD_COUNT);
+    // Jogadores resetados ainda presentes no disco (removidos no próximo save do shard)
+    private final Set<UUID> removedPlayers = ConcurrentHashMap.newKeySet();
+    // Restauração de backup: próximo flush completo substitui os shards em vez de mesclar
+    private volatile boolean replaceOnNextFlush = false;
+
+    // 🎯 PERFORMANCE: Journal de eventos entre saves (durabilidade barata por kill)
+    private ProgressionJournal journal;
+    private long savedJournalSeq = 0;
+
+    // 🎯 PERFORMANCE: Jogadores alterados desde o último checkpoint de cada consumidor
+    private final DirtyTracker<UUID> dirtyPlayers = new DirtyTracker<>(
+            DirtyTracker.Channel.PERSISTENCE, DirtyTracker.Channel.BACKUP, DirtyTracker.Channel.VALIDATION);
+    private boolean shardedOnDisk = false;
+
+    // 🔄 MIGRAÇÃO: Shards ainda não gravados com sucesso desde a leitura do formato legado.
+    // Enquanto houver algum, o arquivo principal continua com a lista "players" completa
+    // (as gravações dos shards só estão na fila do PersistenceWriter quando o save retorna)
+    private final BitSet unmigratedShards = new BitSet(Constants.PROGRESSION_SHARD_COUNT);
+    private volatile boolean legacyMigrationPending = false;
+
     // CORREÇÃO: Usar constante ao invés de valor hardcoded
     public static final double PROXIMITY_RADIUS = Constants.DEFAULT_PROXIMITY_RADIUS;
 
@@ -52,18 +92,234 @@ public class ProgressionManager extends SavedData {
     @Override
     @Nonnull
     public CompoundTag save(@Nonnull CompoundTag compoundTag, @Nonnull HolderLookup.Provider registries) {
+        if (shardStorage == null) {
+            if (shardedOnDisk) {
+                // Shards ainda não foram lidos - preservar o formato sem tocar nos arquivos
+                compoundTag.putInt("storageFormat", ProgressionShardStorage.STORAGE_FORMAT);
+                return compoundTag;
+            }
+
+            // Sem contexto de servidor: manter formato legado de arquivo único
+            compoundTag.put("players", legacyPlayerList(registries, 0L));
+            return compoundTag;
+        }
+
+        writeDirtyShards(registries);
+
+        if (legacyMigrationPending) {
+            // 🔄 MIGRAÇÃO: shards ainda não confirmados no disco - manter a lista legada
+            // (sem marcador de formato) para que um crash agora não perca ninguém.
+            // Nada é descarregado: a lista precisa de todos os jogadores migrados.
+            long journalSeq = journal.getLastSeq();
+            compoundTag.put("players", legacyPlayerList(registries, journalSeq));
+            compoundTag.putLong("journalSeq", journalSeq);
+            return compoundTag;
+        }
+
+        evictIdleOfflinePlayers();
+
+        // O arquivo principal guarda apenas o marcador de formato e a sequência do journal
+        compoundTag.putInt("storageFormat", ProgressionShardStorage.STORAGE_FORMAT);
+        compoundTag.putInt("shardCount", Constants.PROGRESSION_SHARD_COUNT);
+        compoundTag.putLong("journalSeq", journal.getLastSeq());
+        return compoundTag;
+    }
+
+    /**
+     * Lista de todos os jogadores carregados no formato legado de arquivo único
+     *
+     * @param journalSeq Sequência do journal já refletida na memória (0 = sem journal)
+     */
+    private ListTag legacyPlayerList(HolderLookup.Provider registries, long journalSeq) {
         ListTag playerList = new ListTag();
+        for (PlayerProgressionData playerData : playerProgressions.values()) {
+            CompoundTag playerTag = playerData.save(registries);
+            if (journalSeq > 0) {
+                playerTag.putLong("journalSeq", journalSeq);
+            }
+            playerList.add(playerTag);
+        }
+        return playerList;
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Reescrever apenas os shards marcados como alterados
+     *
+     * Na thread do servidor só acontece o snapshot (tags dos jogadores carregados
+     * desses shards e lápides); leitura/mescla com o disco, compressão e fsync
+     * rodam no {@link PersistenceWriter}.
+     */
+    private void writeDirtyShards(HolderLookup.Provider registries) {
+        DirtyTracker.Changes<UUID> changes = dirtyPlayers.drain(DirtyTracker.Channel.PERSISTENCE);
+
+        BitSet shardsToWrite = new BitSet(Constants.PROGRESSION_SHARD_COUNT);
+        if (changes.all()) {
+            shardsToWrite.set(0, Constants.PROGRESSION_SHARD_COUNT);
+        } else {
+            for (UUID playerId : changes.keys()) {
+                shardsToWrite.set(ProgressionShardStorage.shardOf(playerId));
+            }
+        }
+        synchronized (failedShards) {
+            shardsToWrite.or(failedShards);
+            failedShards.clear();
+        }
+
+        if (shardsToWrite.isEmpty()) {
+            journal.flush();
+            return;
+        }
 
+        boolean replace = changes.all() && replaceOnNextFlush;
+        if (replace) {
+            replaceOnNextFlush = false;
+        }
+
+        // 📸 SNAPSHOT: serializar apenas os jogadores carregados dos shards que serão gravados
+        // (cada um marcado com a sequência do journal já refletida na memória)
+        long journalSeq = journal.getLastSeq();
+        Map<Integer, List<CompoundTag>> tagsByShard = new HashMap<>();
         for (PlayerProgressionData playerData : playerProgressions.values()) {
-            playerList.add(playerData.save(registries));
+            int shard = ProgressionShardStorage.shardOf(playerData.getPlayerId());
+            if (shardsToWrite.get(shard)) {
+                CompoundTag playerTag = playerData.save(registries);
+                playerTag.putLong("journalSeq", journalSeq);
+                tagsByShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(playerTag);
+            }
         }
 
-        compoundTag.put("players", playerList);
-        return compoundTag;
+        Map<Integer, List<UUID>> removedByShard = new HashMap<>();
+        for (UUID removedId : removedPlayers) {
+            int shard = ProgressionShardStorage.shardOf(removedId);
+            if (shardsToWrite.get(shard) && !playerProgressions.containsKey(removedId)) {
+                removedByShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(removedId);
+            }
+        }
+
+        List<CompletableFuture<Void>> shardWrites = new ArrayList<>();
+        for (int shard = shardsToWrite.nextSetBit(0); shard >= 0; shard = shardsToWrite.nextSetBit(shard + 1)) {
+            shardWrites.add(submitShardWrite(shard, tagsByShard.getOrDefault(shard, List.of()),
+                    removedByShard.getOrDefault(shard, List.of()), replace));
+        }
+
+        // Registros do journal até aqui estão nos shards: truncar se todas as gravações passarem
+        journal.checkpoint(journalSeq, CompletableFuture.allOf(shardWrites.toArray(new CompletableFuture[0])));
+
+        if (ConfigCache.isDebugLoggingEnabled()) {
+            DimTrMod.LOGGER.debug("💾 Progressão individual: {} shard(s) enfileirados para gravação",
+                    shardsToWrite.cardinality());
+        }
+    }
+
+    /**
+     * Enfileirar a gravação de um shard no {@link PersistenceWriter}
+     */
+    private CompletableFuture<Void> submitShardWrite(int shard, List<CompoundTag> playerTags, List<UUID> removedIds,
+                                                     boolean replace) {
+        ProgressionShardStorage storage = shardStorage;
+        pendingShardWrites.incrementAndGet(shard);
+        return PersistenceWriter.submit("shard de progressão " + shard,
+                        () -> writeShardSnapshot(storage, shard, playerTags, removedIds, replace))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        // Manter o shard pendente para a próxima tentativa
+                        synchronized (failedShards) {
+                            failedShards.set(shard);
+                        }
+                    } else {
+                        removedIds.forEach(removedPlayers::remove);
+                        if (legacyMigrationPending) {
+                            confirmMigratedShard(shard);
+                        }
+                    }
+                    pendingShardWrites.decrementAndGet(shard);
+                });
+    }
+
+    /**
+     * 🔄 MIGRAÇÃO: Shard gravado com sucesso; com o último, o próximo save
+     * troca a lista legada pelo marcador de formato
+     */
+    private void confirmMigratedShard(int shard) {
+        synchronized (unmigratedShards) {
+            unmigratedShards.clear(shard);
+            if (!unmigratedShards.isEmpty() || !legacyMigrationPending) {
+                return;
+            }
+            legacyMigrationPending = false;
+        }
+        DimTrMod.LOGGER.info("✅ Migração da progressão para shards concluída");
+        super.setDirty();
+    }
+
+    /**
+     * 💾 Gravar já o shard de um jogador, sem esperar o próximo save
+     *
+     * Para alterações que não passam pelo journal (restauração de backup, comandos
+     * administrativos): o jogador é gravado com a sequência atual do journal, então
+     * eventos antigos não são reaplicados sobre o novo estado após um crash.
+     * O journal não é truncado (outros shards podem ter eventos não gravados).
+     *
+     * @return Future que completa quando o shard estiver no disco
+     */
+    public CompletableFuture<Void> persistPlayerNow(UUID playerId) {
+        if (shardStorage == null || serverForContext == null) {
+            // Sem armazenamento em shards: fica para o save normal do SavedData
+            markPlayerDirty(playerId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int shard = ProgressionShardStorage.shardOf(playerId);
+        HolderLookup.Provider registries = serverForContext.registryAccess();
+        long journalSeq = journal.getLastSeq();
+
+        List<CompoundTag> playerTags = new ArrayList<>();
+        for (PlayerProgressionData playerData : playerProgressions.values()) {
+            if (ProgressionShardStorage.shardOf(playerData.getPlayerId()) == shard) {
+                CompoundTag playerTag = playerData.save(registries);
+                playerTag.putLong("journalSeq", journalSeq);
+                playerTags.add(playerTag);
+            }
+        }
+        List<UUID> removedIds = new ArrayList<>();
+        for (UUID removedId : removedPlayers) {
+            if (ProgressionShardStorage.shardOf(removedId) == shard && !playerProgressions.containsKey(removedId)) {
+                removedIds.add(removedId);
+            }
+        }
+
+        // O shard continua marcado para o próximo save normal (cobre uma falha desta gravação)
+        markPlayerDirty(playerId);
+        return submitShardWrite(shard, playerTags, removedIds, false);
+    }
+
+    /**
+     * Gravar o snapshot de um shard (thread do PersistenceWriter)
+     */
+    private static void writeShardSnapshot(ProgressionShardStorage storage, int shard, List<CompoundTag> playerTags,
+                                           List<UUID> removedIds, boolean replace) throws Exception {
+        // Mesclar com o disco: jogadores offline não carregados continuam no shard
+        Map<UUID, CompoundTag> shardTags = replace ? new LinkedHashMap<>() : storage.readShardTags(shard);
+        for (UUID removedId : removedIds) {
+            shardTags.remove(removedId);
+        }
+        for (CompoundTag playerTag : playerTags) {
+            shardTags.put(UUID.fromString(playerTag.getString("playerId")), playerTag);
+        }
+
+        storage.writeShardTags(shard, shardTags.values());
     }
 
     private void loadData(CompoundTag tag, HolderLookup.Provider registries) {
         playerProgressions.clear();
+        savedJournalSeq = tag.getLong("journalSeq");
+
+        if (tag.contains("storageFormat", Tag.TAG_INT)
+                && tag.getInt("storageFormat") >= ProgressionShardStorage.STORAGE_FORMAT) {
+            // Jogadores vivem nos shards; lidos quando o servidor for anexado
+            shardedOnDisk = true;
+            return;
+        }
 
         if (tag.contains("players", Tag.TAG_LIST)) {
             ListTag playerList = tag.getList("players", Tag.TAG_COMPOUND);
@@ -74,9 +330,249 @@ public class ProgressionManager extends SavedData {
                     playerProgressions.put(playerData.getPlayerId(), playerData);
                 }
             }
+
+            // 🔄 MIGRAÇÃO: Formato legado de arquivo único - gravar todos os shards no próximo save
+            // e manter a lista legada até todos estarem confirmados no disco
+            if (!playerProgressions.isEmpty()) {
+                DimTrMod.LOGGER.info("🔄 Migrando progressão de {} jogadores para armazenamento em shards",
+                        playerProgressions.size());
+                synchronized (unmigratedShards) {
+                    unmigratedShards.set(0, Constants.PROGRESSION_SHARD_COUNT);
+                    legacyMigrationPending = true;
+                }
+                setDirty();
+            }
         }
     }
 
+    /**
+     * Anexar o armazenamento em shards (jogadores são lidos sob demanda, não no startup)
+     */
+    private void attachShardStorage(MinecraftServer server) {
+        shardStorage = new ProgressionShardStorage(server);
+
+        if (shardedOnDisk) {
+            DimTrMod.LOGGER.info("📂 Progressão individual em shards: carregamento sob demanda de {}",
+                    shardStorage.getDirectory());
+        }
+
+        journal = new ProgressionJournal(shardStorage.getDirectory().resolve(Constants.PROGRESSION_JOURNAL_FILE));
+        replayJournal(journal.open(savedJournalSeq));
+    }
+
+    /**
+     * 🔄 RECUPERAÇÃO: Reaplicar eventos do journal mais novos que o snapshot de cada jogador
+     */
+    private void replayJournal(List<ProgressionJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> touchedPlayers = new HashSet<>();
+        int applied = 0;
+
+        for (ProgressionJournal.Entry entry : entries) {
+            UUID playerId = entry.playerId();
+            PlayerProgressionData playerData = getPlayerData(playerId);
+            if (entry.seq() <= playerData.getJournalSeq()) {
+                continue; // Já incluído no shard
+            }
+
+            switch (entry.type()) {
+                case ProgressionJournal.MOB_KILL -> {
+                    for (int i = 0; i < entry.delta(); i++) {
+                        playerData.incrementMobKill(entry.key());
+                    }
+                }
+                case ProgressionJournal.CUSTOM_MOB_KILL -> {
+                    for (int i = 0; i < entry.delta(); i++) {
+                        playerData.incrementCustomMobKill(entry.key(), entry.subKey());
+                    }
+                }
+                case ProgressionJournal.OBJECTIVE -> applyObjective(playerData, entry.key());
+                // Progresso novo substitui o do shard; eventos seguintes se aplicam sobre ele
+                case ProgressionJournal.RESET -> playerProgressions.put(playerId, new PlayerProgressionData(playerId));
+                default -> {
+                    DimTrMod.LOGGER.warn("⚠️ Tipo de registro desconhecido no journal: {}", entry.type());
+                    continue;
+                }
+            }
+
+            touchedPlayers.add(playerId);
+            applied++;
+        }
+
+        for (UUID playerId : touchedPlayers) {
+            PlayerProgressionData playerData = playerProgressions.get(playerId);
+            playerData.invalidateMultiplierCache();
+            checkAndUpdatePhaseCompletion(playerData);
+            markPlayerDirty(playerId);
+        }
+
+        DimTrMod.LOGGER.info("🔄 Journal de progressão: {} evento(s) reaplicados para {} jogador(es)",
+                applied, touchedPlayers.size());
+    }
+
+    private static void applyObjective(PlayerProgressionData playerData, String objectiveType) {
+        switch (objectiveType) {
+            case Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN -> playerData.elderGuardianKilled = true;
+            case Constants.OBJECTIVE_TYPE_RAID -> playerData.raidWon = true;
+            case Constants.OBJECTIVE_TYPE_TRIAL_VAULT -> playerData.trialVaultAdvancementEarned = true;
+            case Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE -> playerData.voluntaireExileAdvancementEarned = true;
+            case Constants.OBJECTIVE_TYPE_WITHER -> playerData.witherKilled = true;
+            case Constants.OBJECTIVE_TYPE_WARDEN -> playerData.wardenKilled = true;
+            default -> DimTrMod.LOGGER.warn("⚠️ Objetivo desconhecido no journal: {}", objectiveType);
+        }
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Registrar kill no journal, marcar o jogador como alterado
+     * e agendar a sincronização no flush do tick (janela de agrupamento)
+     */
+    public void recordMobKill(UUID playerId, String mobType) {
+        journal(playerId, ProgressionJournal.MOB_KILL, mobType, null);
+        markDirtyAndSendUpdates(playerId, false);
+    }
+
+    /**
+     * Registrar kill de mob de fase customizada no journal e marcar o jogador como alterado
+     * (a sincronização fica com o chamador: party ou individual)
+     */
+    public void recordCustomMobKill(UUID playerId, String phaseId, String mobType) {
+        journal(playerId, ProgressionJournal.CUSTOM_MOB_KILL, phaseId, mobType);
+        markPlayerDirty(playerId);
+    }
+
+    /**
+     * Registrar objetivo especial no journal, marcar o jogador como alterado
+     * e agendar a sincronização com alta prioridade
+     */
+    public void recordObjective(UUID playerId, String objectiveType) {
+        journal(playerId, ProgressionJournal.OBJECTIVE, objectiveType, null);
+        markDirtyAndSendUpdates(playerId, true);
+    }
+
+    /**
+     * Enviar eventos em buffer para o arquivo do journal (chamado periodicamente no tick)
+     */
+    public void flushJournal() {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    private void journal(UUID playerId, byte type, String key, String subKey) {
+        if (journal != null) {
+            journal.append(playerId, type, key, subKey, 1);
+        }
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Carregar jogador do shard, ou criar progresso novo se nunca foi salvo
+     */
+    private PlayerProgressionData loadOrCreatePlayer(UUID playerId) {
+        // Jogador resetado: o disco ainda tem os dados antigos até o próximo save
+        if (removedPlayers.remove(playerId) || shardStorage == null || serverForContext == null) {
+            return new PlayerProgressionData(playerId);
+        }
+
+        try {
+            PlayerProgressionData loaded = shardStorage.readPlayer(playerId, serverForContext.registryAccess());
+            if (loaded != null) {
+                return loaded;
+            }
+        } catch (Exception e) {
+            DimTrMod.LOGGER.error("❌ Falha ao carregar progressão do jogador {}: {}", playerId, e.getMessage());
+        }
+        return new PlayerProgressionData(playerId);
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Descarregar jogadores offline ociosos cujos dados já foram gravados
+     */
+    private void evictIdleOfflinePlayers() {
+        int idleMinutes = ConfigCache.getOfflineEvictionMinutes();
+        if (idleMinutes <= 0 || serverForContext == null) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - idleMinutes * 60_000L;
+        int evicted = 0;
+
+        for (PlayerProgressionData playerData : playerProgressions.values()) {
+            UUID playerId = playerData.getPlayerId();
+            if (playerData.getLastAccessMillis() >= cutoff
+                    || serverForContext.getPlayerList().getPlayer(playerId) != null
+                    || dirtyPlayers.isDirty(DirtyTracker.Channel.PERSISTENCE, playerId)) {
+                continue;
+            }
+
+            int shard = ProgressionShardStorage.shardOf(playerId);
+            if (pendingShardWrites.get(shard) > 0) {
+                continue; // Gravação ainda na fila do PersistenceWriter
+            }
+            synchronized (failedShards) {
+                if (failedShards.get(shard)) {
+                    continue; // Ainda não persistido
+                }
+            }
+
+            if (playerProgressions.remove(playerId, playerData)) {
+                evicted++;
+            }
+        }
+
+        if (evicted > 0 && ConfigCache.isDebugLoggingEnabled()) {
+            DimTrMod.LOGGER.debug("🧹 Progressão individual: {} jogador(es) offline descarregados, {} em memória",
+                    evicted, playerProgressions.size());
+        }
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Marcar apenas o jogador (e seu shard) como alterado
+     */
+    public void markPlayerDirty(UUID playerId) {
+        dirtyPlayers.mark(playerId);
+        super.setDirty();
+    }
+
+    /**
+     * Marcação global (sem jogador conhecido): todos os consumidores processam tudo
+     */
+    @Override
+    public void setDirty() {
+        dirtyPlayers.markAll();
+        super.setDirty();
+    }
+
+    /**
+     * Drenar jogadores alterados desde o último checkpoint do consumidor
+     */
+    public DirtyTracker.Changes<UUID> drainChangedPlayers(DirtyTracker.Channel channel) {
+        return dirtyPlayers.drain(channel);
+    }
+
+    /**
+     * Reagendar um jogador em um canal (ex: validação que encontrou problemas)
+     */
+    public void requeueChangedPlayer(DirtyTracker.Channel channel, UUID playerId) {
+        dirtyPlayers.mark(channel, playerId);
+    }
+
+    /**
+     * Obter todos os jogadores carregados em memória (somente leitura)
+     */
+    public Collection<PlayerProgressionData> getAllPlayerData() {
+        return Collections.unmodifiableCollection(playerProgressions.values());
+    }
+
+    /**
+     * Obter dados de um jogador já carregado, sem ler do disco nem criar entrada (null se não carregado)
+     */
+    public PlayerProgressionData getExistingPlayerData(UUID playerId) {
+        return playerProgressions.get(playerId);
+    }
+
     public static ProgressionManager get(ServerLevel level) {
         MinecraftServer server = level.getServer();
         if (server == null) {
@@ -97,12 +593,22 @@ public class ProgressionManager extends SavedData {
             manager.serverForContext = server;
         }
 
+        if (manager.shardStorage == null) {
+            manager.attachShardStorage(server);
+        }
+
         return manager;
     }
 
     // Obter dados de progressão de um jogador específico
     public PlayerProgressionData getPlayerData(UUID playerId) {
-        return playerProgressions.computeIfAbsent(playerId, PlayerProgressionData::new);
+        PlayerProgressionData playerData = playerProgressions.get(playerId);
+        if (playerData == null) {
+            // 🎯 PERFORMANCE: Carregamento sob demanda de jogadores offline
+            playerData = playerProgressions.computeIfAbsent(playerId, this::loadOrCreatePlayer);
+        }
+        playerData.markAccessed(System.currentTimeMillis());
+        return playerData;
     }
 
     public PlayerProgressionData getPlayerData(ServerPlayer player) {
@@ -114,8 +620,14 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
 
         if (playerData.incrementMobKill(mobType)) {
+            journal(playerId, ProgressionJournal.MOB_KILL, mobType, null);
+            boolean phase1Before = playerData.phase1Completed;
+            boolean phase2Before = playerData.phase2Completed;
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            // Kills comuns são agrupados; a kill que completa uma fase sai com alta prioridade
+            boolean phaseCompleted = playerData.phase1Completed != phase1Before
+                    || playerData.phase2Completed != phase2Before;
+            markDirtyAndSendUpdates(playerId, phaseCompleted);
             return true;
         }
 
@@ -144,6 +656,7 @@ public class ProgressionManager extends SavedData {
 
         if (elderGuardianMet && raidMet && trialVaultMet && voluntaryExileMet && mobKillsMet) {
             playerData.phase1Completed = true;
+            playerData.invalidateMultiplierCache();
 
             // Notificar jogador individualmente
             if (serverForContext != null) {
@@ -170,6 +683,7 @@ public class ProgressionManager extends SavedData {
 
         if (witherMet && wardenMet && mobKillsMet) {
             playerData.phase2Completed = true;
+            playerData.invalidateMultiplierCache();
 
             // Notificar jogador individualmente
             if (serverForContext != null) {
@@ -191,67 +705,43 @@ public class ProgressionManager extends SavedData {
             return true;
         }
 
-        // 🎯 NOVO: Usar requisitos ajustados por party se aplicável
-        UUID playerId = playerData.getPlayerId();
-        
-        return playerData.zombieKills >= getAdjustedRequirement(playerId, "zombie", DimTrConfig.SERVER.reqZombieKills.get()) &&
-                playerData.skeletonKills >= getAdjustedRequirement(playerId, "skeleton", DimTrConfig.SERVER.reqSkeletonKills.get()) &&
-                playerData.strayKills >= getAdjustedRequirement(playerId, "stray", DimTrConfig.SERVER.reqStrayKills.get()) &&
-                playerData.huskKills >= getAdjustedRequirement(playerId, "husk", DimTrConfig.SERVER.reqHuskKills.get()) &&
-                playerData.spiderKills >= getAdjustedRequirement(playerId, "spider", DimTrConfig.SERVER.reqSpiderKills.get()) &&
-                playerData.creeperKills >= getAdjustedRequirement(playerId, "creeper", DimTrConfig.SERVER.reqCreeperKills.get()) &&
-                playerData.drownedKills >= getAdjustedRequirement(playerId, "drowned", DimTrConfig.SERVER.reqDrownedKills.get()) &&
-                playerData.endermanKills >= getAdjustedRequirement(playerId, "enderman", DimTrConfig.SERVER.reqEndermanKills.get()) &&
-                playerData.witchKills >= getAdjustedRequirement(playerId, "witch", DimTrConfig.SERVER.reqWitchKills.get()) &&
-                playerData.pillagerKills >= getAdjustedRequirement(playerId, "pillager", DimTrConfig.SERVER.reqPillagerKills.get()) &&
-                playerData.vindicatorKills >= getAdjustedRequirement(playerId, "vindicator", DimTrConfig.SERVER.reqVindicatorKills.get()) &&
-                playerData.boggedKills >= getAdjustedRequirement(playerId, "bogged", DimTrConfig.SERVER.reqBoggedKills.get()) &&
-                playerData.breezeKills >= getAdjustedRequirement(playerId, "breeze", DimTrConfig.SERVER.reqBreezeKills.get()) &&
-                playerData.ravagerKills >= getAdjustedRequirement(playerId, "ravager", DimTrConfig.SERVER.reqRavagerKills.get()) &&
-                playerData.evokerKills >= getAdjustedRequirement(playerId, "evoker", DimTrConfig.SERVER.reqEvokerKills.get());
-    }
-
-    /**
-     * 🎯 NOVO: Obter requisito ajustado por multiplicador de party
-     */
-    private int getAdjustedRequirement(UUID playerId, String mobType, int baseRequirement) {
-        if (serverForContext == null) return baseRequirement;
+        // 🎯 PERFORMANCE: Plano pré-compilado (ajustado por party se aplicável)
+        return getRequirementPlan(playerData.getPlayerId())
+                .isMobRequirementsMet(PhaseRequirementPlan.PHASE_1, playerData);
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Obter plano de requisitos do jogador (escalado se estiver em party)
+     */
+    private PhaseRequirementPlan getRequirementPlan(UUID playerId) {
+        if (serverForContext == null) return PhaseRequirementPlan.get();
         
         PartyManager partyManager = PartyManager.get((ServerLevel) serverForContext.overworld());
-        return partyManager.getRequiredMobKills(playerId, mobType, baseRequirement);
+        return PhaseRequirementPlan.forParty(partyManager.getPlayerParty(playerId));
     }
 
     private boolean checkPhase2MobRequirements(PlayerProgressionData playerData) {
-        if (!DimTrConfig.SERVER.enableMobKillsPhase2.get()) {
+        if (!ConfigCache.isMobKillsPhase2Enabled()) {
             return true;
         }
 
-        // 🎯 NOVO: Usar requisitos ajustados por party se aplicável
-        UUID playerId = playerData.getPlayerId();
-
-        // Verificar mobs do Nether
-        boolean netherMobsMet = 
-                playerData.blazeKills >= getAdjustedRequirement(playerId, "blaze", DimTrConfig.SERVER.reqBlazeKills.get()) &&
-                playerData.witherSkeletonKills >= getAdjustedRequirement(playerId, "wither_skeleton", DimTrConfig.SERVER.reqWitherSkeletonKills.get()) &&
-                playerData.piglinBruteKills >= getAdjustedRequirement(playerId, "piglin_brute", DimTrConfig.SERVER.reqPiglinBruteKills.get()) &&
-                playerData.hoglinKills >= getAdjustedRequirement(playerId, "hoglin", DimTrConfig.SERVER.reqHoglinKills.get()) &&
-                playerData.zoglinKills >= getAdjustedRequirement(playerId, "zoglin", DimTrConfig.SERVER.reqZoglinKills.get()) &&
-                playerData.ghastKills >= getAdjustedRequirement(playerId, "ghast", DimTrConfig.SERVER.reqGhastKills.get()) &&
-                playerData.piglinKills >= getAdjustedRequirement(playerId, "piglin", DimTrConfig.SERVER.reqPiglinKills.get());
-
-        // Verificar mobs do Overworld com 125%
-        boolean overworldMobsMet = 
-                playerData.zombieKills >= getAdjustedRequirement(playerId, "zombie", getPhase2OverworldRequirement(DimTrConfig.SERVER.reqZombieKills.get())) &&
-                playerData.skeletonKills >= getAdjustedRequirement(playerId, "skeleton", getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSkeletonKills.get())) &&
-                playerData.creeperKills >= getAdjustedRequirement(playerId, "creeper", getPhase2OverworldRequirement(DimTrConfig.SERVER.reqCreeperKills.get())) &&
-                playerData.spiderKills >= getAdjustedRequirement(playerId, "spider", getPhase2OverworldRequirement(DimTrConfig.SERVER.reqSpiderKills.get())) &&
-                playerData.endermanKills >= getAdjustedRequirement(playerId, "enderman", getPhase2OverworldRequirement(DimTrConfig.SERVER.reqEndermanKills.get()));
-
-        return netherMobsMet && overworldMobsMet;
+        return getRequirementPlan(playerData.getPlayerId())
+                .isMobRequirementsMet(PhaseRequirementPlan.PHASE_2, playerData);
     }
 
-    private int getPhase2OverworldRequirement(int originalRequirement) {
-        return (int) Math.ceil(originalRequirement * Constants.DEFAULT_PHASE2_OVERWORLD_MULTIPLIER);
+    /**
+     * 🎯 PERFORMANCE: Multiplicador de spawn com cache por seção de chunk
+     * Rajadas de spawns na mesma seção reutilizam o valor calculado para o primeiro mob
+     */
+    public double getCachedMultiplierNearPosition(double x, double y, double z, ServerLevel level) {
+        double cached = MultiplierRegionCache.get(level, x, y, z);
+        if (!Double.isNaN(cached)) {
+            return cached;
+        }
+
+        double multiplier = calculateAverageMultiplierNearPosition(x, y, z, level);
+        MultiplierRegionCache.put(level, x, y, z, multiplier);
+        return multiplier;
     }
 
     // Calcular multiplicador médio para jogadores próximos
@@ -268,14 +758,31 @@ public class ProgressionManager extends SavedData {
         // 🎯 NOVO: Integração com sistema de party
         PartyManager partyManager = PartyManager.get(level);
 
-        for (ServerPlayer player : nearbyPlayers) {
+        // 🎯 PERFORMANCE: Agrupar jogadores próximos por party em uma única passada.
+        // Todo membro dentro do raio já está em nearbyPlayers, então a contagem do grupo
+        // é o número de membros próximos, sem varrer party.getMembers() para cada jogador.
+        PartyData[] playerParties = new PartyData[nearbyPlayers.size()];
+        Map<UUID, Integer> nearbyMembersByParty = null;
+        for (int i = 0; i < playerParties.length; i++) {
+            PartyData party = partyManager.getPlayerParty(nearbyPlayers.get(i).getUUID());
+            if (party != null && party.getMemberCount() > 1) {
+                playerParties[i] = party;
+                if (nearbyMembersByParty == null) {
+                    nearbyMembersByParty = new HashMap<>();
+                }
+                nearbyMembersByParty.merge(party.getPartyId(), 1, Integer::sum);
+            }
+        }
+
+        for (int i = 0; i < playerParties.length; i++) {
+            ServerPlayer player = nearbyPlayers.get(i);
             PlayerProgressionData playerData = getPlayerData(player);
             
             // 🎯 MUDANÇA CRÍTICA: Só aplicar multiplicador se o player DEVERIA ter ele
             double playerMultiplier = getValidatedProgressionMultiplier(playerData);
             
             // 🎯 NOVO: Log detalhado para debug
-            if (DimTrConfig.SERVER.enableDebugLogging.get()) {
+            if (ConfigCache.isDebugLoggingEnabled()) {
                 DimTrMod.LOGGER.info("Player {} near mob at ({}, {}, {}) - Phase1: {}, Phase2: {}, Multiplier: {}",
                     player.getName().getString(),
                     (int)x, (int)y, (int)z,
@@ -286,27 +793,15 @@ public class ProgressionManager extends SavedData {
             }
             
             // 🎯 NOVO: Verificar se jogador está em party e aplicar multiplicador adicional
-            if (partyManager.isPlayerInParty(player.getUUID())) {
-                PartyData party = partyManager.getPlayerParty(player.getUUID());
-                if (party != null && party.getMemberCount() > 1) {
-                    // Aplicar bônus de party baseado no número de membros próximos
-                    int nearbyPartyMembers = 0;
-                    for (UUID memberId : party.getMembers()) {
-                        ServerPlayer member = serverForContext != null ? 
-                            serverForContext.getPlayerList().getPlayer(memberId) : null;
-                        if (member != null) {
-                            double memberDistance = member.distanceToSqr(x, y, z);
-                            if (memberDistance <= PROXIMITY_RADIUS * PROXIMITY_RADIUS) {
-                                nearbyPartyMembers++;
-                            }
-                        }
-                    }
-                    
-                    // 🎯 MUDANÇA: Só aplicar bônus de party se o multiplicador base for > 1.0
-                    if (nearbyPartyMembers > 1 && playerMultiplier > 1.0) {
-                        double partyBonus = 1.0 + (nearbyPartyMembers - 1) * DimTrConfig.SERVER.partyProgressionMultiplier.get();
-                        playerMultiplier *= partyBonus;
-                    }
+            PartyData party = playerParties[i];
+            if (party != null) {
+                // Aplicar bônus de party baseado no número de membros próximos
+                int nearbyPartyMembers = nearbyMembersByParty.get(party.getPartyId());
+                
+                // 🎯 MUDANÇA: Só aplicar bônus de party se o multiplicador base for > 1.0
+                if (nearbyPartyMembers > 1 && playerMultiplier > 1.0) {
+                    double partyBonus = 1.0 + (nearbyPartyMembers - 1) * ConfigCache.getPartyProgressionMultiplier();
+                    playerMultiplier *= partyBonus;
                 }
             }
             
@@ -326,65 +821,14 @@ public class ProgressionManager extends SavedData {
      * Só retorna multiplicador > 1.0 se o player realmente completou as fases necessárias
      */
     private double getValidatedProgressionMultiplier(PlayerProgressionData playerData) {
-        // Verificar multiplicadores de fases customizadas primeiro (maior prioridade)
-        // Usar a mesma lógica do método original mas de forma pública
-        double customMultiplier = getCustomPhaseMultiplierForPlayer(playerData);
-        if (customMultiplier > 1.0) {
-            return customMultiplier;
-        }
-        
-        // Verificar Fase 2 (deve ter completado Fase 1 + Fase 2)
-        if (playerData.isPhase2EffectivelyComplete()) {
-            return DimTrConfig.SERVER.phase2Multiplier.get();
-        } 
-        
-        // Verificar Fase 1 (deve ter completado todos os requisitos da Fase 1)
-        if (playerData.isPhase1EffectivelyComplete()) {
-            return DimTrConfig.SERVER.phase1Multiplier.get();
-        }
-        
-        // Nenhuma fase completa = sem multiplicador
-        return 1.0;
-    }
-
-    /**
-     * 🎯 NOVO: Obter multiplicador de fase customizada para um player específico
-     */
-    private double getCustomPhaseMultiplierForPlayer(PlayerProgressionData playerData) {
-        // Usar a mesma lógica do método privado do PlayerProgressionData
-        double highestMultiplier = 1.0;
-        
-        // Verificar todas as fases customizadas completadas
-        for (String phaseId : playerData.getCustomPhaseCompletionMap().keySet()) {
-            if (playerData.isCustomPhaseComplete(phaseId)) {
-                var customPhase = CustomRequirements.getCustomPhase(phaseId);
-                if (customPhase != null) {
-                    double phaseMultiplier = Math.max(
-                        Math.max(customPhase.healthMultiplier, customPhase.damageMultiplier),
-                        customPhase.xpMultiplier
-                    );
-                    
-                    if (phaseMultiplier > highestMultiplier) {
-                        highestMultiplier = phaseMultiplier;
-                    }
-                }
-            }
-        }
-        
-        return highestMultiplier;
+        // 🎯 PERFORMANCE: Valor pré-calculado no PlayerProgressionData, recalculado
+        // apenas quando fases, custom phases ou configuração mudam
+        return playerData.getProgressionMultiplier();
     }
 
     private List<ServerPlayer> getNearbyPlayers(double x, double y, double z, ServerLevel level) {
-        List<ServerPlayer> nearbyPlayers = new ArrayList<>();
-
-        for (ServerPlayer player : level.players()) {
-            double distance = player.distanceToSqr(x, y, z);
-            if (distance <= PROXIMITY_RADIUS * PROXIMITY_RADIUS) {
-                nearbyPlayers.add(player);
-            }
-        }
-
-        return nearbyPlayers;
+        // 🎯 PERFORMANCE: Consultar apenas os chunks dentro do raio via índice espacial
+        return PlayerSpatialIndex.getPlayersInRadius(level, x, y, z, PROXIMITY_RADIUS);
     }
 
     // Verificar se um jogador pode acessar dimensões
@@ -403,8 +847,9 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.elderGuardianKilled) {
             playerData.elderGuardianKilled = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_ELDER_GUARDIAN, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
@@ -414,8 +859,9 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.raidWon) {
             playerData.raidWon = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_RAID, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
@@ -425,8 +871,9 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.trialVaultAdvancementEarned) {
             playerData.trialVaultAdvancementEarned = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_TRIAL_VAULT, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
@@ -436,8 +883,9 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.voluntaireExileAdvancementEarned) {
             playerData.voluntaireExileAdvancementEarned = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_VOLUNTARY_EXILE, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
@@ -447,8 +895,9 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.witherKilled) {
             playerData.witherKilled = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_WITHER, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
@@ -458,29 +907,43 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         if (!playerData.wardenKilled) {
             playerData.wardenKilled = true;
+            journal(playerId, ProgressionJournal.OBJECTIVE, Constants.OBJECTIVE_TYPE_WARDEN, null);
             checkAndUpdatePhaseCompletion(playerData);
-            markDirtyAndSendUpdates(playerId);
+            markDirtyAndSendUpdates(playerId, true);
             return true;
         }
         return false;
     }
 
-    private void markDirtyAndSendUpdates(UUID playerId) {
-        setDirty();
+    /**
+     * Marcar o jogador como alterado e agendar a sincronização no fim do tick
+     * @param highPriority true para eventos que não devem esperar a janela de agrupamento
+     */
+    public void markDirtyAndSendUpdates(UUID playerId, boolean highPriority) {
+        markPlayerDirty(playerId);
+        // 🎯 PERFORMANCE: Várias mudanças no mesmo intervalo viram um único pacote por jogador
+        SyncManager.schedule(playerId, SyncManager.SYNC_PROGRESSION, highPriority);
+    }
 
-        if (serverForContext != null) {
-            ServerPlayer player = serverForContext.getPlayerList().getPlayer(playerId);
-            if (player != null) {
-                sendToClient(player);
-            }
+    /**
+     * Enviar as mudanças pendentes de progressão (chamado pelo flush do {@link SyncManager})
+     */
+    public void flushClientSync(ServerPlayer player) {
+        // 🎯 PERFORMANCE: Só os campos alterados; snapshot completo apenas sem base no cliente
+        if (!DeltaUpdateSystem.sendProgressionChanges(player, getPlayerData(player.getUUID()))) {
+            sendToClient(player);
         }
     }
 
+    /**
+     * Enviar o snapshot completo de progressão (login, resync e comandos administrativos)
+     */
     public void sendToClient(ServerPlayer player) {
         try {
             PlayerProgressionData playerData = getPlayerData(player.getUUID());
             UpdateProgressionToClientPayload payload = UpdateProgressionToClientPayload.createFromPlayerData(playerData);
-            PacketDistributor.sendToPlayer(player, payload);
+            PacketDistributor.sendToPlayer(player, payload.forConnection(player.getUUID()));
+            DeltaUpdateSystem.onFullSnapshotSent(player.getUUID(), playerData);
         } catch (Exception e) {
             DimTrMod.LOGGER.error("Failed to send individual progression data to client: {}", e.getMessage());
         }
@@ -492,13 +955,19 @@ public class ProgressionManager extends SavedData {
 
     // Métodos para comandos administrativos
     public void resetPlayerProgress(UUID playerId) {
-        playerProgressions.remove(playerId);
-        markDirtyAndSendUpdates(playerId);
+        PlayerProgressionData removed = playerProgressions.remove(playerId);
+        if (removed != null) {
+            removed.invalidateMultiplierCache();
+        }
+        removedPlayers.add(playerId);
+        journal(playerId, ProgressionJournal.RESET, null, null);
+        markDirtyAndSendUpdates(playerId, true);
     }
 
     public void completePhase1ForPlayer(UUID playerId) {
         PlayerProgressionData playerData = getPlayerData(playerId);
         playerData.phase1Completed = true;
+        playerData.invalidateMultiplierCache();
         
         // 🎆 NOVO: Lançar fogos de artifício ao completar fase via método administrativo
         if (serverForContext != null) {
@@ -508,13 +977,16 @@ public class ProgressionManager extends SavedData {
             }
         }
         
-        markDirtyAndSendUpdates(playerId);
+        markDirtyAndSendUpdates(playerId, true);
+        // 🔧 CORREÇÃO: Alteração administrativa fora do journal - gravar o shard agora
+        persistPlayerNow(playerId);
     }
 
     public void completePhase2ForPlayer(UUID playerId) {
         PlayerProgressionData playerData = getPlayerData(playerId);
         playerData.phase1Completed = true;
         playerData.phase2Completed = true;
+        playerData.invalidateMultiplierCache();
         
         // 🎆 NOVO: Lançar fogos de artifício ao completar fase via método administrativo
         if (serverForContext != null) {
@@ -524,7 +996,9 @@ public class ProgressionManager extends SavedData {
             }
         }
         
-        markDirtyAndSendUpdates(playerId);
+        markDirtyAndSendUpdates(playerId, true);
+        // 🔧 CORREÇÃO: Alteração administrativa fora do journal - gravar o shard agora
+        persistPlayerNow(playerId);
     }
 
     // 🎯 NOVO: Obter todos os mob kills de um jogador para transferência para party
@@ -532,32 +1006,10 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         Map<String, Integer> mobKills = new HashMap<>();
         
-        // Fase 1 mobs
-        mobKills.put("zombie", playerData.zombieKills);
-        mobKills.put("skeleton", playerData.skeletonKills);
-        mobKills.put("stray", playerData.strayKills);
-        mobKills.put("husk", playerData.huskKills);
-        mobKills.put("spider", playerData.spiderKills);
-        mobKills.put("creeper", playerData.creeperKills);
-        mobKills.put("drowned", playerData.drownedKills);
-        mobKills.put("enderman", playerData.endermanKills);
-        mobKills.put("witch", playerData.witchKills);
-        mobKills.put("pillager", playerData.pillagerKills);
-        mobKills.put("captain", playerData.captainKills);
-        mobKills.put("vindicator", playerData.vindicatorKills);
-        mobKills.put("bogged", playerData.boggedKills);
-        mobKills.put("breeze", playerData.breezeKills);
-        mobKills.put("ravager", playerData.ravagerKills);
-        mobKills.put("evoker", playerData.evokerKills);
-        
-        // Fase 2 mobs
-        mobKills.put("blaze", playerData.blazeKills);
-        mobKills.put("wither_skeleton", playerData.witherSkeletonKills);
-        mobKills.put("piglin_brute", playerData.piglinBruteKills);
-        mobKills.put("hoglin", playerData.hoglinKills);
-        mobKills.put("zoglin", playerData.zoglinKills);
-        mobKills.put("ghast", playerData.ghastKills);
-        mobKills.put("piglin", playerData.piglinKills);
+        // 🎯 PERFORMANCE: Percorrer os IDs vanilla do MobRegistry (fases 1 e 2)
+        for (int id = 0; id < MobRegistry.TRACKED_VANILLA_COUNT; id++) {
+            mobKills.put(MobRegistry.getName(id), playerData.getMobKillCount(id));
+        }
         
         return mobKills;
     }
@@ -567,35 +1019,16 @@ public class ProgressionManager extends SavedData {
         PlayerProgressionData playerData = getPlayerData(playerId);
         
         // Restaurar apenas se o valor for maior que o atual
-        playerData.zombieKills = Math.max(playerData.zombieKills, mobKillsToRestore.getOrDefault("zombie", 0));
-        playerData.skeletonKills = Math.max(playerData.skeletonKills, mobKillsToRestore.getOrDefault("skeleton", 0));
-        playerData.strayKills = Math.max(playerData.strayKills, mobKillsToRestore.getOrDefault("stray", 0));
-        playerData.huskKills = Math.max(playerData.huskKills, mobKillsToRestore.getOrDefault("husk", 0));
-        playerData.spiderKills = Math.max(playerData.spiderKills, mobKillsToRestore.getOrDefault("spider", 0));
-        playerData.creeperKills = Math.max(playerData.creeperKills, mobKillsToRestore.getOrDefault("creeper", 0));
-        playerData.drownedKills = Math.max(playerData.drownedKills, mobKillsToRestore.getOrDefault("drowned", 0));
-        playerData.endermanKills = Math.max(playerData.endermanKills, mobKillsToRestore.getOrDefault("enderman", 0));
-        playerData.witchKills = Math.max(playerData.witchKills, mobKillsToRestore.getOrDefault("witch", 0));
-        playerData.pillagerKills = Math.max(playerData.pillagerKills, mobKillsToRestore.getOrDefault("pillager", 0));
-        playerData.captainKills = Math.max(playerData.captainKills, mobKillsToRestore.getOrDefault("captain", 0));
-        playerData.vindicatorKills = Math.max(playerData.vindicatorKills, mobKillsToRestore.getOrDefault("vindicator", 0));
-        playerData.boggedKills = Math.max(playerData.boggedKills, mobKillsToRestore.getOrDefault("bogged", 0));
-        playerData.breezeKills = Math.max(playerData.breezeKills, mobKillsToRestore.getOrDefault("breeze", 0));
-        playerData.ravagerKills = Math.max(playerData.ravagerKills, mobKillsToRestore.getOrDefault("ravager", 0));
-        playerData.evokerKills = Math.max(playerData.evokerKills, mobKillsToRestore.getOrDefault("evoker", 0));
-        
-        // Fase 2 mobs
-        playerData.blazeKills = Math.max(playerData.blazeKills, mobKillsToRestore.getOrDefault("blaze", 0));
-        playerData.witherSkeletonKills = Math.max(playerData.witherSkeletonKills, mobKillsToRestore.getOrDefault("wither_skeleton", 0));
-        playerData.piglinBruteKills = Math.max(playerData.piglinBruteKills, mobKillsToRestore.getOrDefault("piglin_brute", 0));
-        playerData.hoglinKills = Math.max(playerData.hoglinKills, mobKillsToRestore.getOrDefault("hoglin", 0));
-        playerData.zoglinKills = Math.max(playerData.zoglinKills, mobKillsToRestore.getOrDefault("zoglin", 0));
-        playerData.ghastKills = Math.max(playerData.ghastKills, mobKillsToRestore.getOrDefault("ghast", 0));
-        playerData.piglinKills = Math.max(playerData.piglinKills, mobKillsToRestore.getOrDefault("piglin", 0));
+        for (int id = 0; id < MobRegistry.TRACKED_VANILLA_COUNT; id++) {
+            int restored = mobKillsToRestore.getOrDefault(MobRegistry.getName(id), 0);
+            if (restored > playerData.getMobKillCount(id)) {
+                playerData.setMobKillCount(id, restored);
+            }
+        }
         
         // Verificar e atualizar completude das fases após restauração
         checkAndUpdatePhaseCompletion(playerData);
-        markDirtyAndSendUpdates(playerId);
+        markDirtyAndSendUpdates(playerId, false);
     }
     
     /**
@@ -623,22 +1056,40 @@ public class ProgressionManager extends SavedData {
         );
     }
     
+    /**
+     * Destino de um backup em streaming: recebe um jogador por vez, já no codec binário
+     */
+    public interface BackupSink {
+        void player(UUID playerId, byte[] encoded) throws IOException;
+
+        void removed(UUID playerId) throws IOException;
+    }
+
     /**
      * Serializa os dados de progressão para um backup
      * @return CompoundTag contendo todos os dados serializados
      */
     public CompoundTag serializeForBackup() {
+        // 🔒 THREAD-SAFETY: copiar jogadores carregados na thread do servidor; shards são lidos aqui
+        BackupSnapshot snapshot = ServerThreadSnapshot.capture(serverForContext, this::snapshotLoadedPlayers);
+
         CompoundTag root = new CompoundTag();
-        
-        // Serializar dados de todos os jogadores
         CompoundTag playersTag = new CompoundTag();
-        for (Map.Entry<UUID, PlayerProgressionData> entry : playerProgressions.entrySet()) {
-            UUID playerId = entry.getKey();
-            PlayerProgressionData data = entry.getValue();
-            
-            CompoundTag playerTag = new CompoundTag();
-            data.writeToNBT(playerTag);
-            playersTag.put(playerId.toString(), playerTag);
+        try {
+            writeFullBackup(snapshot, new BackupSink() {
+                @Override
+                public void player(UUID playerId, byte[] encoded) {
+                    playersTag.putByteArray(playerId.toString(), encoded);
+                }
+
+                @Override
+                public void removed(UUID playerId) {
+                    // Backup completo: jogadores resetados simplesmente não aparecem
+                }
+            });
+        } catch (IOException e) {
+            // Falhas de leitura de shard já são tratadas por shard
+            DimTrMod.LOGGER.error("❌ Falha ao serializar progressão para backup: {}", e.getMessage());
         }
         
         root.put("players", playersTag);
@@ -646,7 +1097,171 @@ public class ProgressionManager extends SavedData {
         
         return root;
     }
+
+    /**
+     * Enviar todos os jogadores ao destino: shards um por vez, depois os carregados
+     * (sem montar o conjunto inteiro em memória)
+     */
+    private void writeFullBackup(BackupSnapshot snapshot, BackupSink sink) throws IOException {
+        // Jogadores offline não carregados: ler dos shards (os carregados são enviados abaixo)
+        if (shardStorage != null && serverForContext != null) {
+            for (int shard = 0; shard < Constants.PROGRESSION_SHARD_COUNT; shard++) {
+                Map<UUID, CompoundTag> shardTags;
+                try {
+                    shardTags = shardStorage.readShardTags(shard);
+                } catch (Exception e) {
+                    DimTrMod.LOGGER.error("❌ Falha ao ler shard {} para backup: {}", shard, e.getMessage());
+                    continue;
+                }
+                for (Map.Entry<UUID, CompoundTag> entry : shardTags.entrySet()) {
+                    UUID playerId = entry.getKey();
+                    if (snapshot.players().containsKey(playerId) || snapshot.removed().contains(playerId)) {
+                        continue;
+                    }
+                    sink.player(playerId, encodeShardTag(entry.getValue()));
+                }
+            }
+        }
+        
+        for (Map.Entry<UUID, byte[]> entry : snapshot.players().entrySet()) {
+            sink.player(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Shard já no codec binário: copiar os bytes sem decodificar
+     */
+    private byte[] encodeShardTag(CompoundTag shardTag) {
+        return shardTag.contains("data", Tag.TAG_BYTE_ARRAY)
+                ? shardTag.getByteArray("data")
+                : PlayerProgressionCodec.encode(PlayerProgressionData.load(shardTag, serverForContext.registryAccess()));
+    }
+
+    /**
+     * Snapshot dos jogadores carregados e lápides (executado na thread do servidor)
+     */
+    private BackupSnapshot snapshotLoadedPlayers() {
+        Map<UUID, byte[]> players = new HashMap<>();
+        for (Map.Entry<UUID, PlayerProgressionData> entry : playerProgressions.entrySet()) {
+            players.put(entry.getKey(), PlayerProgressionCodec.encode(entry.getValue()));
+        }
+        return new BackupSnapshot(players, Set.copyOf(removedPlayers));
+    }
+
+    private record BackupSnapshot(Map<UUID, byte[]> players, Set<UUID> removed) {
+    }
+
+    /**
+     * 🎯 PERFORMANCE: Checkpoint da cadeia de backups incrementais (thread do servidor)
+     *
+     * Drena o canal BACKUP e copia apenas os jogadores alterados desde o último
+     * checkpoint, mais os resetados. Copia o estado completo quando forçado ou
+     * após uma marcação global (ex: restauração). A gravação fica para
+     * {@link #writeBackupCheckpoint}, fora da thread do servidor.
+     */
+    public BackupCheckpoint captureBackupCheckpoint(boolean forceFull) {
+        DirtyTracker.Changes<UUID> changes = dirtyPlayers.drain(DirtyTracker.Channel.BACKUP);
+        if (forceFull || changes.all()) {
+            return new BackupCheckpoint(snapshotLoadedPlayers(), List.of(), List.of(), true);
+        }
+
+        Map<UUID, byte[]> players = new HashMap<>();
+        List<UUID> unloaded = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+        for (UUID playerId : changes.keys()) {
+            PlayerProgressionData playerData = playerProgressions.get(playerId);
+            if (playerData != null) {
+                players.put(playerId, PlayerProgressionCodec.encode(playerData));
+            } else if (removedPlayers.contains(playerId)) {
+                removed.add(playerId);
+            } else {
+                unloaded.add(playerId); // Alterado, já gravado e descarregado
+            }
+        }
+        return new BackupCheckpoint(new BackupSnapshot(players, Set.of()), unloaded, removed, false);
+    }
+
+    /**
+     * Enviar um checkpoint capturado ao destino (thread de backup: lê shards do disco)
+     */
+    public void writeBackupCheckpoint(BackupCheckpoint checkpoint, BackupSink sink) throws IOException {
+        if (checkpoint.full) {
+            writeFullBackup(checkpoint.loaded, sink);
+            return;
+        }
+
+        for (Map.Entry<UUID, byte[]> entry : checkpoint.loaded.players().entrySet()) {
+            sink.player(entry.getKey(), entry.getValue());
+        }
+
+        // Jogadores descarregados: ler do shard nesta thread
+        for (UUID playerId : checkpoint.unloaded) {
+            CompoundTag shardTag;
+            try {
+                shardTag = shardStorage.readShardTags(ProgressionShardStorage.shardOf(playerId)).get(playerId);
+            } catch (Exception e) {
+                // Sem este jogador o delta ficaria incompleto: falhar para que o próximo backup seja completo
+                throw new IllegalStateException("Falha ao ler jogador " + playerId + " para backup incremental", e);
+            }
+            if (shardTag != null) {
+                sink.player(playerId, encodeShardTag(shardTag));
+            }
+        }
+
+        for (UUID playerId : checkpoint.removed) {
+            sink.removed(playerId);
+        }
+    }
+
+    /**
+     * Checkpoint capturado por {@link #captureBackupCheckpoint}
+     */
+    public static final class BackupCheckpoint {
+        private final BackupSnapshot loaded;
+        private final List<UUID> unloaded;
+        private final List<UUID> removed;
+        private final boolean full;
+
+        private BackupCheckpoint(BackupSnapshot loaded, List<UUID> unloaded, List<UUID> removed, boolean full) {
+            this.loaded = loaded;
+            this.unloaded = unloaded;
+            this.removed = removed;
+            this.full = full;
+        }
+
+        /**
+         * true se o checkpoint é o estado completo (não incremental)
+         */
+        public boolean isFull() {
+            return full;
+        }
+    }
     
+    /**
+     * Restaurar um único jogador a partir de um backup (demais jogadores não são tocados)
+     * @param restored Progresso do jogador no backup
+     * @param dryRun true para apenas calcular as diferenças
+     * @return Diferenças entre o estado atual e o do backup
+     */
+    public List<String> restorePlayerFromBackup(PlayerProgressionData restored, boolean dryRun) {
+        UUID playerId = restored.getPlayerId();
+        List<String> changes = getPlayerData(playerId).describeDifferences(restored);
+        if (dryRun || changes.isEmpty()) {
+            return changes;
+        }
+
+        // Substitui a entrada em memória; o chamador grava o shard com persistPlayerNow
+        // antes de reportar sucesso (o journal não registra restaurações)
+        removedPlayers.remove(playerId);
+        restored.markAccessed(System.currentTimeMillis());
+        restored.invalidateMultiplierCache();
+        playerProgressions.put(playerId, restored);
+        checkAndUpdatePhaseCompletion(restored);
+
+        markDirtyAndSendUpdates(playerId, true);
+        return changes;
+    }
+
     /**
      * Restaura os dados de progressão a partir de um backup
      * @param backupTag Tag contendo os dados do backup
@@ -663,22 +1278,31 @@ public class ProgressionManager extends SavedData {
         for (String uuidString : playersTag.getAllKeys()) {
             try {
                 UUID playerId = UUID.fromString(uuidString);
-                CompoundTag playerTag = playersTag.getCompound(uuidString);
+                PlayerProgressionData data;
                 
-                PlayerProgressionData data = new PlayerProgressionData(playerId);
-                data.readFromNBT(playerTag);
+                if (playersTag.contains(uuidString, Tag.TAG_BYTE_ARRAY)) {
+                    data = PlayerProgressionCodec.decode(playersTag.getByteArray(uuidString));
+                } else {
+                    // Backup antigo: uma chave NBT por campo
+                    data = new PlayerProgressionData(playerId);
+                    data.readFromNBT(playersTag.getCompound(uuidString));
+                }
                 
                 restoredProgressions.put(playerId, data);
             } catch (IllegalArgumentException e) {
                 DimTrMod.LOGGER.warn("UUID inválido no backup: {}", uuidString);
+            } catch (IOException e) {
+                DimTrMod.LOGGER.warn("Dados de progressão corrompidos no backup para {}: {}", uuidString, e.getMessage());
             }
         }
         
         // Substituir dados atuais pelos restaurados
         this.playerProgressions.clear();
         this.playerProgressions.putAll(restoredProgressions);
+        this.removedPlayers.clear();
         
-        // Marcar como alterado para salvar
+        // Marcar como alterado para salvar (shards substituídos, não mesclados)
+        this.replaceOnNextFlush = true;
         this.setDirty();
         
         DimTrMod.LOGGER.info("Dados de progressão restaurados para {} jogadores", restoredProgressions.size());
@@ -0,0 +1,133 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.util.Constants;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 🎯 PERFORMANCE: Armazenamento particionado da progressão individual
+ *
+ * Em vez de um único blob com todos os jogadores já vistos, cada jogador
+ * pertence a um shard determinado pelo primeiro byte do UUID, gravado em
+ * {@code <mundo>/data/dimtr_progression/shard_XX.dat}. O {@link ProgressionManager}
+ * marca apenas os shards alterados, e o save reescreve somente esses arquivos.
+ *
+ * Cada shard é gravado em arquivo temporário e movido atomicamente, então uma
+ * queda durante o save nunca deixa um shard corrompido pela metade. A gravação
+ * roda na thread do {@link net.mirai.dimtr.util.PersistenceWriter}, nunca na do servidor.
+ *
+ * O próprio layout serve de índice: o UUID determina o arquivo, então carregar
+ * um jogador offline sob demanda lê apenas o shard dele.
+ */
+public final class ProgressionShardStorage {
+
+    /** Versão do formato gravado no arquivo principal do SavedData */
+    public static final int STORAGE_FORMAT = 2;
+
+    private final Path directory;
+
+    public ProgressionShardStorage(MinecraftServer server) {
+        this.directory = server.getWorldPath(LevelResource.ROOT)
+                .resolve("data")
+                .resolve(Constants.PROGRESSION_DATA_NAME);
+    }
+
+    /**
+     * Obter o shard de um jogador (primeiro byte do UUID, distribuição uniforme)
+     */
+    public static int shardOf(UUID playerId) {
+        return (int) (playerId.getMostSignificantBits() >>> 56);
+    }
+
+    /**
+     * Gravar um shard com as tags de jogadores informadas (remove o arquivo se vazio)
+     */
+    public void writeShardTags(int shard, Collection<CompoundTag> playerTags) throws IOException {
+        Path shardPath = shardPath(shard);
+
+        if (playerTags.isEmpty()) {
+            Files.deleteIfExists(shardPath);
+            return;
+        }
+
+        ListTag playerList = new ListTag();
+        playerList.addAll(playerTags);
+
+        CompoundTag root = new CompoundTag();
+        root.putInt("shard", shard);
+        root.put("players", playerList);
+
+        Files.createDirectories(directory);
+        Path tempPath = shardPath.resolveSibling(shardPath.getFileName() + ".tmp");
+        NbtIo.writeCompressed(root, tempPath);
+        // Garantir que o conteúdo chegou ao disco antes de substituir o shard anterior
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        try {
+            Files.move(tempPath, shardPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, shardPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Ler as tags dos jogadores de um shard, por UUID (vazio se o arquivo não existe)
+     */
+    public Map<UUID, CompoundTag> readShardTags(int shard) throws IOException {
+        Path shardPath = shardPath(shard);
+        Map<UUID, CompoundTag> playerTags = new LinkedHashMap<>();
+        if (!Files.exists(shardPath)) {
+            return playerTags;
+        }
+
+        CompoundTag root = NbtIo.readCompressed(shardPath, NbtAccounter.unlimitedHeap());
+        ListTag playerList = root.getList("players", Tag.TAG_COMPOUND);
+        for (Tag playerTag : playerList) {
+            if (playerTag instanceof CompoundTag playerCompound) {
+                try {
+                    playerTags.put(UUID.fromString(playerCompound.getString("playerId")), playerCompound);
+                } catch (IllegalArgumentException e) {
+                    DimTrMod.LOGGER.warn("⚠️ UUID inválido no shard de progressão {}: {}", shard,
+                            playerCompound.getString("playerId"));
+                }
+            }
+        }
+        return playerTags;
+    }
+
+    /**
+     * Ler um único jogador do seu shard (null se ainda não foi persistido)
+     */
+    public PlayerProgressionData readPlayer(UUID playerId, HolderLookup.Provider registries) throws IOException {
+        CompoundTag playerTag = readShardTags(shardOf(playerId)).get(playerId);
+        return playerTag != null ? PlayerProgressionData.load(playerTag, registries) : null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path shardPath(int shard) {
+        return directory.resolve(String.format("shard_%02x.dat", shard));
+    }
+}
@@ -60,7 +60,7 @@ public class MobMultiplierHandler {
     private static double calculateMultiplierForPosition(LivingEntity entity, ServerLevel level) {
         ProgressionManager manager = ProgressionManager.get(level);
 
-        return manager.calculateAverageMultiplierNearPosition(
+        return manager.getCachedMultiplierNearPosition(
                 entity.getX(),
                 entity.getY(),
                 entity.getZ(),
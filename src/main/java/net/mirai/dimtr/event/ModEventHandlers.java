@@ -7,24 +7,28 @@ import net.mirai.dimtr.data.PartyManager;
 import net.mirai.dimtr.data.PartyData;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.ProgressionCoordinator;
+import net.mirai.dimtr.system.BackupManager;
 import net.mirai.dimtr.system.CustomPhaseSystem;
 import net.mirai.dimtr.system.BossKillValidator;
 import net.mirai.dimtr.integration.ExternalModIntegration;
+import net.mirai.dimtr.network.BatchSyncProcessor;
+import net.mirai.dimtr.network.DeltaUpdateSystem;
+import net.mirai.dimtr.network.KeyDictionary;
+import net.mirai.dimtr.sync.SyncManager;
 import net.mirai.dimtr.util.Constants;
 import net.mirai.dimtr.util.BlockPosPool;
 import net.mirai.dimtr.util.I18nHelper;
+import net.mirai.dimtr.util.MobClassifier;
+import net.mirai.dimtr.util.MultiplierRegionCache;
+import net.mirai.dimtr.util.PersistenceWriter;
+import net.mirai.dimtr.util.PlayerSpatialIndex;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.monster.*;
-import net.minecraft.world.entity.monster.piglin.Piglin;
-import net.minecraft.world.entity.monster.piglin.PiglinBrute;
-import net.minecraft.world.entity.monster.hoglin.Hoglin;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.FlintAndSteelItem;
@@ -34,12 +38,17 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.ServerLevel;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import net.neoforged.neoforge.event.entity.living.LivingDeathEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerInteractEvent;
@@ -53,6 +62,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gerenciador central de eventos do mod - VERSÃO COMPLETA E CORRIGIDA
@@ -67,14 +77,6 @@ import java.util.concurrent.ConcurrentHashMap;
 @EventBusSubscriber(modid = DimTrMod.MODID, bus = EventBusSubscriber.Bus.GAME)
 public class ModEventHandlers {
     
-    // 🎯 PERFORMANCE: Cache estático de banners para evitar comparações múltiplas
-    private static final Set<Item> BANNER_ITEMS = Set.of(
-        Items.WHITE_BANNER, Items.BLACK_BANNER, Items.BLUE_BANNER, Items.BROWN_BANNER,
-        Items.CYAN_BANNER, Items.GRAY_BANNER, Items.GREEN_BANNER, Items.LIGHT_BLUE_BANNER,
-        Items.LIGHT_GRAY_BANNER, Items.LIME_BANNER, Items.MAGENTA_BANNER, Items.ORANGE_BANNER,
-        Items.PINK_BANNER, Items.PURPLE_BANNER, Items.RED_BANNER, Items.YELLOW_BANNER
-    );
-    
     // 🎯 PERFORMANCE: Cache para tipos de entidades especiais
     private static final Set<EntityType<?>> SPECIAL_OBJECTIVE_TYPES = Set.of(
         EntityType.ELDER_GUARDIAN,
@@ -110,6 +112,44 @@ public class ModEventHandlers {
         DimTrMod.LOGGER.info(Constants.LOG_COMMANDS_PARTY);
     }
 
+    // ============================================================================
+    // 💾 CICLO DE VIDA DO SERVIDOR
+    // ============================================================================
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        // 🎯 PERFORMANCE: Enviar eventos do journal ao disco em lote, não a cada kill
+        MinecraftServer server = event.getServer();
+        if (server.getTickCount() % Constants.JOURNAL_FLUSH_INTERVAL_TICKS == 0) {
+            ProgressionManager.get(server.overworld()).flushJournal();
+        }
+
+        // 🎯 PERFORMANCE: Uma atualização mesclada por destinatário no fim do tick
+        SyncManager.flush(server);
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        BackupManager.initialize(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        BackupManager.shutdown();
+        SyncManager.shutdown();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        // O save final já enfileirou os shards; aguardar antes que a JVM/mundo seja descartado
+        if (!PersistenceWriter.flushAndWait(Constants.PERSISTENCE_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            DimTrMod.LOGGER.error("❌ Nem todas as gravações de progressão terminaram antes da parada do servidor");
+        }
+        // Índices estáticos: não reter jogadores do mundo anterior
+        PlayerSpatialIndex.clear();
+        MultiplierRegionCache.clear();
+    }
+
     // ============================================================================
     // 🎯 SISTEMA DE MORTE DE ENTIDADES (VERSÃO UNIFICADA - CORRIGIDO)
     // ============================================================================
@@ -174,104 +214,8 @@ public class ModEventHandlers {
      * CORREÇÃO: Removido método duplicado getMobTypeFromEntity()
      */
     private static String getMobType(LivingEntity entity) {
-        // CORREÇÃO 1: DROWNED DEVE VIR ANTES DE ZOMBIE
-        if (entity instanceof Drowned) {
-            return Constants.MOB_TYPE_DROWNED;
-        }
-
-        // Fase 1 - Mobs Comuns do Overworld
-        if (entity instanceof Zombie && !(entity instanceof ZombieVillager) && !(entity instanceof Husk)) {
-            return Constants.MOB_TYPE_ZOMBIE;
-        } else if (entity instanceof ZombieVillager) {
-            // ✅ REMOVIDO: Zombie villager não é mais contado como progresso
-            return null;
-        } else if (entity instanceof Skeleton && !(entity instanceof Stray) && !(entity instanceof WitherSkeleton)) {
-            return Constants.MOB_TYPE_SKELETON;
-        } else if (entity instanceof Stray) {
-            return Constants.MOB_TYPE_STRAY;
-        } else if (entity instanceof Husk) {
-            return Constants.MOB_TYPE_HUSK;
-        } else if (entity instanceof Spider) {
-            return Constants.MOB_TYPE_SPIDER;
-        } else if (entity instanceof Creeper) {
-            return Constants.MOB_TYPE_CREEPER;
-        } else if (entity instanceof EnderMan) {
-            return Constants.MOB_TYPE_ENDERMAN;
-        } else if (entity instanceof Witch) {
-            return Constants.MOB_TYPE_WITCH;
-        } else if (entity instanceof Pillager pillager) {
-            // 🎯 PERFORMANCE: Otimizado usando Set para verificação de banners
-            ItemStack mainHand = pillager.getMainHandItem();
-            ItemStack offHand = pillager.getOffhandItem();
-
-            boolean isCarryingBanner = BANNER_ITEMS.contains(mainHand.getItem()) || 
-                                     BANNER_ITEMS.contains(offHand.getItem());
-
-            boolean hasBadOmen = pillager.hasEffect(net.minecraft.world.effect.MobEffects.BAD_OMEN);
-
-            if (isCarryingBanner || hasBadOmen) {
-                return Constants.MOB_TYPE_CAPTAIN;
-            }
-            return Constants.MOB_TYPE_PILLAGER;
-        } else if (entity instanceof Vindicator) {
-            return Constants.MOB_TYPE_VINDICATOR;
-        } else if (entity instanceof Evoker) {
-            return Constants.MOB_TYPE_EVOKER;
-        } else if (entity instanceof Ravager) {
-            return Constants.MOB_TYPE_RAVAGER;
-        }
-
-        // Fase 2 - Mobs do Nether/End
-        else if (entity instanceof Blaze) {
-            return Constants.MOB_TYPE_BLAZE;
-        } else if (entity instanceof WitherSkeleton) {
-            // 🔧 CORREÇÃO: Log para debug do processamento de WitherSkeleton
-            String entityId = entity.getType().toString().toLowerCase();
-            DimTrMod.LOGGER.debug("🦴 Processando WitherSkeleton: {} -> {}", 
-                entity.getClass().getSimpleName(), entityId);
-            return Constants.MOB_TYPE_WITHER_SKELETON;
-        } else if (entity instanceof PiglinBrute) {
-            // 🔧 CORREÇÃO: Log para debug do processamento de PiglinBrute
-            String entityId = entity.getType().toString().toLowerCase();
-            DimTrMod.LOGGER.debug("🐷 Processando PiglinBrute: {} -> {}", 
-                entity.getClass().getSimpleName(), entityId);
-            return Constants.MOB_TYPE_PIGLIN_BRUTE;
-        } else if (entity instanceof Hoglin) {
-            return Constants.MOB_TYPE_HOGLIN;
-        } else if (entity instanceof Zoglin) {
-            return Constants.MOB_TYPE_ZOGLIN;
-        } else if (entity instanceof Ghast) {
-            return Constants.MOB_TYPE_GHAST;
-        }
-        // ✅ ENDERMITE REMOVIDO COMPLETAMENTE
-        else if (entity instanceof Piglin piglin) {
-            if (piglin.getTarget() != null) {
-                return Constants.MOB_TYPE_PIGLIN;
-            }
-            if (piglin.isAdult() && !piglin.isHolding(Items.GOLD_INGOT)) {
-                return Constants.MOB_TYPE_PIGLIN;
-            }
-        }
-
-        // ADICIONADO: Mobs mais novos
-        String entityName = entity.getType().toString().toLowerCase();
-        if (entityName.contains(Constants.MOB_TYPE_BOGGED)) {
-            return Constants.MOB_TYPE_BOGGED;
-        } else if (entityName.contains(Constants.MOB_TYPE_BREEZE)) {
-            return Constants.MOB_TYPE_BREEZE;
-        }
-        
-        // 🔧 CORREÇÃO: Verificar por nomes de entidade para WitherSkeleton e PiglinBrute
-        // como fallback adicional
-        if (entityName.contains("wither_skeleton")) {
-            DimTrMod.LOGGER.debug("🦴 Detectado WitherSkeleton pelo nome: {}", entityName);
-            return Constants.MOB_TYPE_WITHER_SKELETON;
-        } else if (entityName.contains("piglin_brute")) {
-            DimTrMod.LOGGER.debug("🐷 Detectado PiglinBrute pelo nome: {}", entityName);
-            return Constants.MOB_TYPE_PIGLIN_BRUTE;
-        }
-
-        return null;
+        // 🎯 PERFORMANCE: Lookup O(1) por EntityType; predicados só para capitão e piglin
+        return MobClassifier.getMobType(entity);
     }
 
     // ============================================================================
@@ -454,6 +398,16 @@ public class ModEventHandlers {
         }
     }
 
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            // Base de deltas e sequência valem só para esta conexão
+            DeltaUpdateSystem.clearPlayerData(player.getUUID());
+            BatchSyncProcessor.clearPlayerData(player.getUUID());
+            KeyDictionary.clearPlayer(player.getUUID());
+        }
+    }
+
     // ============================================================================
     // 🎯 SISTEMA DE BLOQUEIO INDIVIDUAL DE PORTAIS
     // ============================================================================
@@ -739,21 +693,10 @@ public class ModEventHandlers {
         String entityType = killedEntity.getType().toString();
         String entityId = entityType.toLowerCase();
         
-        // Check if any custom phases require this mob
-        var customPhases = net.mirai.dimtr.config.CustomRequirements.getAllCustomPhases();
-        if (customPhases.isEmpty()) {
-            return;
-        }
-        
-        for (var entry : customPhases.entrySet()) {
-            String phaseId = entry.getKey();
-            var phase = entry.getValue();
-            
-            // Check if this phase requires this mob type
-            if (phase.mobRequirements != null && phase.mobRequirements.containsKey(entityId)) {
-                // 🎯 MUDANÇA: Usar ProgressionCoordinator ao invés de lógica individual
-                ProgressionCoordinator.processCustomMobKill(playerId, phaseId, entityId, serverLevel);
-            }
+        // 🎯 PERFORMANCE: Índice invertido - só as fases que exigem este mob
+        for (var requirement : net.mirai.dimtr.config.CustomRequirements.getPhasesRequiringMob(entityId)) {
+            // 🎯 MUDANÇA: Usar ProgressionCoordinator ao invés de lógica individual
+            ProgressionCoordinator.processCustomMobKill(playerId, requirement.phaseId(), entityId, serverLevel);
         }
     }
 
@@ -795,18 +738,12 @@ public class ModEventHandlers {
             DimTrMod.LOGGER.info("✅ External boss {} processed successfully for player {}", 
                 displayName, playerId);
             
-            // Garantir que os dados foram sincronizados corretamente
+            // 🎯 PERFORMANCE: A sincronização já foi agendada com alta prioridade pelo
+            // ExternalBossCoordinator (jogador ou fan-out da party) e sai no flush do tick
             ServerPlayer player = serverLevel.getServer().getPlayerList().getPlayer(playerId);
             if (player != null) {
-                // Enviar dados de progressão para o cliente
-                ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-                progressionManager.sendToClient(player);
-                
-                // Se está em uma party, também enviar dados atualizados da party
                 PartyManager partyManager = PartyManager.get(serverLevel);
                 if (partyManager.isPlayerInParty(playerId)) {
-                    partyManager.sendPartyToClient(player);
-                    
                     // Notificar outros membros da party
                     PartyData party = partyManager.getPlayerParty(playerId);
                     if (party != null) {
@@ -34,7 +34,7 @@ public class XpMultiplierHandler {
 
         // 🎯 MUDANÇA PRINCIPAL: Usar sistema de proximidade
         ProgressionManager progressionManager = ProgressionManager.get(serverLevel);
-        double multiplier = progressionManager.calculateAverageMultiplierNearPosition(
+        double multiplier = progressionManager.getCachedMultiplierNearPosition(
                 entity.getX(),
                 entity.getY(),
                 entity.getZ(),
@@ -1,24 +1,24 @@
 package net.mirai.dimtr.network;
 
 import net.mirai.dimtr.DimTrMod;
-import net.minecraft.server.level.ServerPlayer;
-import net.neoforged.neoforge.network.PacketDistributor;
+import net.mirai.dimtr.sync.SyncManager;
 
-import java.util.*;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ⚡ Sistema de processamento em lotes para sincronização eficiente
  * 
- * ✅ Agrupa updates por prioridade e jogador
- * ✅ Processamento assíncrono inteligente
- * ✅ Rate limiting adaptativo
- * ✅ Thread-safety completo
- * ✅ Compressão automática de dados
+ * ✅ Fila MPSC sem locks por jogador: qualquer thread produz, o servidor consome
+ * ✅ Drenado pelo flush por tick do {@link SyncManager} (sem threads próprias)
+ * ✅ Filas limitadas, com política de descarte/mescla por {@link BatchType}
+ * ✅ Nenhum acesso a ServerPlayer fora da thread do servidor
+ * 
+ * Os itens não viram pacotes próprios: cada tipo marca o jogador como
+ * "sync pendente" no SyncManager, que envia uma atualização mesclada.
  * 
  * @author Dimension Trials Team
  */
@@ -28,49 +28,20 @@ public class BatchSyncProcessor {
     // CONFIGURAÇÃO E CONSTANTES
     // ============================================================================
     
-    private static final long HIGH_PRIORITY_DELAY_MS = 100;    // 100ms para alta prioridade
-    private static final long NORMAL_PRIORITY_DELAY_MS = 2000; // 2s para prioridade normal
-    
-    private static final int MAX_BATCH_SIZE = 50;              // Máximo de items por batch
-    private static final int MAX_PLAYERS_PER_CYCLE = 10;       // Máximo de jogadores por ciclo
-    
-    // ============================================================================
-    // THREAD-SAFETY E ESTADO
-    // ============================================================================
-    
-    private static final ReentrantReadWriteLock BATCH_LOCK = new ReentrantReadWriteLock();
-    private static final ReentrantReadWriteLock.ReadLock readLock = BATCH_LOCK.readLock();
-    private static final ReentrantReadWriteLock.WriteLock writeLock = BATCH_LOCK.writeLock();
-    
-    // Pool de threads para processamento assíncrono
-    private static final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(3, r -> {
-        Thread t = new Thread(r, "DimTr-BatchSync");
-        t.setDaemon(true);
-        return t;
-    });
+    private static final int MAX_BATCH_SIZE = 50;              // Máximo de items por jogador a cada flush
+    private static final int MAX_QUEUE_SIZE = 256;             // Máximo de items na fila de um jogador
+    private static final int HIGH_PRIORITY_THRESHOLD = 10;     // Prioridade total que usa o limite de alta prioridade
     
     // ============================================================================
     // ESTRUTURAS DE DADOS
     // ============================================================================
     
-    // Filas por prioridade
-    private static final Map<UUID, Queue<BatchItem>> highPriorityQueue = new ConcurrentHashMap<>();
-    private static final Map<UUID, Queue<BatchItem>> normalPriorityQueue = new ConcurrentHashMap<>();
-    private static final Map<UUID, Queue<BatchItem>> lowPriorityQueue = new ConcurrentHashMap<>();
-    
-    // Controle de agendamento
-    private static final Map<UUID, Long> lastProcessTime = new ConcurrentHashMap<>();
-    private static final Map<UUID, Long> nextScheduledTime = new ConcurrentHashMap<>();
+    // 🔒 THREAD-SAFETY: Produtores só fazem offer/CAS; apenas o flush (thread do servidor) consome
+    private static final Map<UUID, PlayerQueue> playerQueues = new ConcurrentHashMap<>();
     
-    // Estatísticas
+    // Estatísticas (escritas apenas pelo flush)
     private static final Map<UUID, BatchStats> playerStats = new ConcurrentHashMap<>();
     
-    static {
-        // Iniciar processamento automático a cada 500ms
-        executorService.scheduleAtFixedRate(BatchSyncProcessor::processAllBatches, 
-            1000, 500, TimeUnit.MILLISECONDS);
-    }
-    
     /**
      * 📦 Item de batch com prioridade e dados
      */
@@ -86,24 +57,66 @@ public class BatchSyncProcessor {
             this.timestamp = System.currentTimeMillis();
             this.priority = priority;
         }
+        
+        boolean isHighPriority() {
+            return type.basePriority + priority >= HIGH_PRIORITY_THRESHOLD;
+        }
+    }
+    
+    /**
+     * 🧩 O que fazer com um item quando já existe um igual na fila ou a fila está cheia
+     */
+    public enum OverflowPolicy {
+        // O SyncManager lê o estado atual no flush: um item pendente por tipo basta
+        MERGE,
+        // Itens independentes: descartar os novos quando a fila do jogador está cheia
+        DROP_NEWEST
     }
     
     /**
      * 📊 Tipos de item de batch
      */
     public enum BatchType {
-        PROGRESSION_DELTA(8),    // Updates de progressão
-        PARTY_UPDATE(6),         // Updates de party
-        CONFIG_SYNC(4),          // Sincronização de config
-        STATISTICS_UPDATE(2);    // Updates de estatísticas
+        PROGRESSION_DELTA(8, SyncManager.SYNC_PROGRESSION, OverflowPolicy.MERGE),  // Updates de progressão
+        PARTY_UPDATE(6, SyncManager.SYNC_PARTY, OverflowPolicy.MERGE),             // Updates de party
+        CONFIG_SYNC(4, SyncManager.SYNC_FULL, OverflowPolicy.MERGE),               // Sincronização de config (requisitos vão no snapshot)
+        STATISTICS_UPDATE(2, 0, OverflowPolicy.DROP_NEWEST);                       // Updates de estatísticas (sem consumidor no cliente)
         
         public final int basePriority;
+        // Sincronização marcada no SyncManager quando o item é drenado
+        public final int syncFlags;
+        public final OverflowPolicy overflowPolicy;
         
-        BatchType(int basePriority) {
+        BatchType(int basePriority, int syncFlags, OverflowPolicy overflowPolicy) {
             this.basePriority = basePriority;
+            this.syncFlags = syncFlags;
+            this.overflowPolicy = overflowPolicy;
+        }
+        
+        int bit() {
+            return 1 << ordinal();
         }
     }
     
+    /**
+     * 📬 Fila de um jogador
+     * 
+     * Invariante dos tipos MERGE: bit em {@code mergedTypes} ligado ⇒ existe um
+     * item daquele tipo na fila (ou sendo drenado neste flush). O consumidor só
+     * desliga o bit depois de retirar o item, então nenhuma mescla se perde.
+     */
+    private static final class PlayerQueue {
+        final ConcurrentLinkedQueue<BatchItem> items = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        // Tipos MERGE com item na fila (bits por ordinal)
+        final AtomicInteger mergedTypes = new AtomicInteger();
+        // Tipos MERGE que receberam uma mescla de alta prioridade
+        final AtomicInteger highPriorityTypes = new AtomicInteger();
+        // Contadores do produtor, zerados a cada flush
+        final AtomicInteger mergedCount = new AtomicInteger();
+        final AtomicInteger droppedCount = new AtomicInteger();
+    }
+    
     /**
      * 📈 Estatísticas de batch por jogador
      */
@@ -113,6 +126,8 @@ public class BatchSyncProcessor {
         public long averageBatchSize = 0;
         public long lastUpdateTime = 0;
         public double compressionRatio = 1.0;
+        public long totalItemsMerged = 0;
+        public long totalItemsDropped = 0;
         
         public void updateStats(int batchSize, double compression) {
             totalItemsProcessed += batchSize;
@@ -128,7 +143,7 @@ public class BatchSyncProcessor {
     // ============================================================================
     
     /**
-     * ➕ Adicionar item ao batch de um jogador
+     * ➕ Adicionar item ao batch de um jogador (seguro a partir de qualquer thread)
      */
     public static void addToBatch(UUID playerId, BatchType type, Object data, int priority) {
         // Validação robusta dos dados de entrada
@@ -136,97 +151,85 @@ public class BatchSyncProcessor {
             return;
         }
         
-        writeLock.lock();
-        try {
-            BatchItem item = new BatchItem(type, data, priority);
-            
-            // Validar o item de batch criado
-            if (!validateBatchItem(item)) {
-                return;
+        BatchItem item = new BatchItem(type, data, priority);
+        
+        // Validar o item de batch criado
+        if (!validateBatchItem(item)) {
+            return;
+        }
+        
+        PlayerQueue queue = playerQueues.computeIfAbsent(playerId, k -> new PlayerQueue());
+        
+        if (type.overflowPolicy == OverflowPolicy.MERGE) {
+            int bit = type.bit();
+            // Prioridade antes do bit de presença: o consumidor lê os dois nessa mesma ordem
+            if (item.isHighPriority()) {
+                queue.highPriorityTypes.getAndUpdate(bits -> bits | bit);
             }
-            
-            // Determinar fila baseada na prioridade total
-            int totalPriority = type.basePriority + priority;
-            
-            if (totalPriority >= 10) {
-                highPriorityQueue.computeIfAbsent(playerId, k -> new LinkedList<>()).offer(item);
-                scheduleHighPriorityProcessing(playerId);
-            } else if (totalPriority >= 5) {
-                normalPriorityQueue.computeIfAbsent(playerId, k -> new LinkedList<>()).offer(item);
-            } else {
-                lowPriorityQueue.computeIfAbsent(playerId, k -> new LinkedList<>()).offer(item);
+            if ((queue.mergedTypes.getAndUpdate(bits -> bits | bit) & bit) != 0) {
+                queue.mergedCount.incrementAndGet();
+                return;
             }
-            
-            DimTrMod.LOGGER.debug("Item adicionado ao batch: {} (prioridade: {})", type, totalPriority);
-            
-        } finally {
-            writeLock.unlock();
+            // Primeiro item do tipo: sempre entra (no máximo um por tipo, não conta no limite)
+        } else if (queue.size.incrementAndGet() > MAX_QUEUE_SIZE) {
+            queue.size.decrementAndGet();
+            queue.droppedCount.incrementAndGet();
+            return;
         }
+
+        queue.items.offer(item);
     }
     
     /**
-     * 🚀 Processar batch específico de um jogador (método principal)
+     * 🚀 Drenar as filas e marcar os jogadores como "sync pendente" no SyncManager
+     * 
+     * Chamado pelo {@link SyncManager} no fim de cada tick, na thread do servidor.
      */
-    public static void processBatch(UUID playerId) {
-        if (playerId == null) {
-            return;
-        }
-        
-        ServerPlayer player = findPlayerById(playerId);
-        if (player == null) {
-            clearPlayerQueues(playerId);
-            return;
-        }
-        
-        writeLock.lock();
-        try {
-            List<BatchItem> batch = collectBatchItems(playerId);
+    public static void flush() {
+        for (Map.Entry<UUID, PlayerQueue> entry : playerQueues.entrySet()) {
+            UUID playerId = entry.getKey();
+            PlayerQueue queue = entry.getValue();
             
-            if (batch.isEmpty()) {
-                return;
+            int drained = 0;
+            int syncFlags = 0;
+            boolean highPriority = false;
+            BatchItem item;
+            while (drained < MAX_BATCH_SIZE && (item = queue.items.poll()) != null) {
+                drained++;
+                syncFlags |= item.type.syncFlags;
+                highPriority |= item.isHighPriority();
+                
+                if (item.type.overflowPolicy == OverflowPolicy.MERGE) {
+                    // Liberar o tipo só depois de retirar o item (ver invariante da PlayerQueue)
+                    int bit = item.type.bit();
+                    queue.mergedTypes.getAndUpdate(bits -> bits & ~bit);
+                    highPriority |= (queue.highPriorityTypes.getAndUpdate(bits -> bits & ~bit) & bit) != 0;
+                } else {
+                    queue.size.decrementAndGet();
+                }
             }
             
-            // Otimizar e comprimir batch
-            List<BatchItem> optimizedBatch = optimizeBatch(batch);
-            double compressionRatio = (double) optimizedBatch.size() / batch.size();
-            
-            // Enviar batch
-            if (!optimizedBatch.isEmpty()) {
-                sendBatchToPlayer(player, optimizedBatch);
-                
-                // Atualizar estatísticas
-                BatchStats stats = playerStats.computeIfAbsent(playerId, k -> new BatchStats());
-                stats.updateStats(optimizedBatch.size(), compressionRatio);
-                
-                // Atualizar tempo de processamento
-                lastProcessTime.put(playerId, System.currentTimeMillis());
-                
-                DimTrMod.LOGGER.debug("Batch processado para {}: {} items (compressão: {:.2f})", 
-                    player.getName().getString(), optimizedBatch.size(), compressionRatio);
+            int merged = queue.mergedCount.getAndSet(0);
+            int dropped = queue.droppedCount.getAndSet(0);
+            if (drained == 0 && merged == 0 && dropped == 0) {
+                continue;
             }
             
-        } finally {
-            writeLock.unlock();
-        }
-    }
-    
-    /**
-     * ⏰ Agendar processamento de batch (para controle externo)
-     */
-    public static void scheduleBatch(UUID playerId, long delayMs) {
-        if (playerId == null) {
-            return;
-        }
-        
-        writeLock.lock();
-        try {
-            long scheduledTime = System.currentTimeMillis() + delayMs;
-            nextScheduledTime.put(playerId, scheduledTime);
+            if (syncFlags != 0) {
+                SyncManager.schedule(playerId, syncFlags, highPriority);
+            }
             
-            executorService.schedule(() -> processBatch(playerId), delayMs, TimeUnit.MILLISECONDS);
+            // Atualizar estatísticas
+            BatchStats stats = playerStats.computeIfAbsent(playerId, k -> new BatchStats());
+            int offered = drained + merged + dropped;
+            stats.updateStats(drained, (double) drained / offered);
+            stats.totalItemsMerged += merged;
+            stats.totalItemsDropped += dropped;
             
-        } finally {
-            writeLock.unlock();
+            if (dropped > 0) {
+                DimTrMod.LOGGER.debug("Fila de batch cheia para {}: {} items descartados", playerId, dropped);
+            }
+            DimTrMod.LOGGER.debug("Batch drenado para {}: {} items ({} mesclados)", playerId, drained, merged);
         }
     }
     
@@ -238,235 +241,23 @@ public class BatchSyncProcessor {
             return;
         }
         
-        writeLock.lock();
-        try {
-            clearPlayerQueues(playerId);
-            lastProcessTime.remove(playerId);
-            nextScheduledTime.remove(playerId);
-            playerStats.remove(playerId);
-            
-            DimTrMod.LOGGER.debug("Dados de batch limpos para jogador: {}", playerId);
-            
-        } finally {
-            writeLock.unlock();
-        }
+        playerQueues.remove(playerId);
+        playerStats.remove(playerId);
+        
+        DimTrMod.LOGGER.debug("Dados de batch limpos para jogador: {}", playerId);
     }
     
     /**
      * 📊 Obter estatísticas de um jogador
      */
     public static BatchStats getPlayerStats(UUID playerId) {
-        readLock.lock();
-        try {
-            return playerStats.get(playerId);
-        } finally {
-            readLock.unlock();
-        }
-    }
-    
-    /**
-     * 🔧 Shutdown limpo do sistema
-     */
-    public static void shutdown() {
-        try {
-            executorService.shutdown();
-            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        return playerStats.get(playerId);
     }
     
     // ============================================================================
     // MÉTODOS INTERNOS
     // ============================================================================
     
-    /**
-     * Processar todos os batches pendentes (chamado pelo timer)
-     */
-    private static void processAllBatches() {
-        try {
-            readLock.lock();
-            Set<UUID> playersToProcess = new HashSet<>();
-            long currentTime = System.currentTimeMillis();
-            
-            // Coletar jogadores que precisam de processamento
-            for (UUID playerId : getAllPlayerIds()) {
-                if (shouldProcessPlayer(playerId, currentTime)) {
-                    playersToProcess.add(playerId);
-                    if (playersToProcess.size() >= MAX_PLAYERS_PER_CYCLE) {
-                        break; // Limitar jogadores por ciclo
-                    }
-                }
-            }
-            
-            readLock.unlock();
-            
-            // Processar em paralelo (fora do lock)
-            playersToProcess.parallelStream().forEach(BatchSyncProcessor::processBatch);
-            
-        } catch (Exception e) {
-            DimTrMod.LOGGER.error("Erro no processamento automático de batches: {}", e.getMessage());
-        }
-    }
-    
-    private static void scheduleHighPriorityProcessing(UUID playerId) {
-        executorService.schedule(() -> processBatch(playerId), 
-            HIGH_PRIORITY_DELAY_MS, TimeUnit.MILLISECONDS);
-    }
-    
-    private static boolean shouldProcessPlayer(UUID playerId, long currentTime) {
-        // Verificar se há items pendentes
-        if (!hasQueuedItems(playerId)) {
-            return false;
-        }
-        
-        // Verificar rate limiting
-        Long lastProcess = lastProcessTime.get(playerId);
-        if (lastProcess != null && (currentTime - lastProcess) < NORMAL_PRIORITY_DELAY_MS) {
-            return false;
-        }
-        
-        // Verificar agendamento específico
-        Long scheduled = nextScheduledTime.get(playerId);
-        if (scheduled != null && currentTime < scheduled) {
-            return false;
-        }
-        
-        return true;
-    }
-    
-    private static Set<UUID> getAllPlayerIds() {
-        Set<UUID> allIds = new HashSet<>();
-        allIds.addAll(highPriorityQueue.keySet());
-        allIds.addAll(normalPriorityQueue.keySet());
-        allIds.addAll(lowPriorityQueue.keySet());
-        return allIds;
-    }
-    
-    private static boolean hasQueuedItems(UUID playerId) {
-        return (highPriorityQueue.containsKey(playerId) && !highPriorityQueue.get(playerId).isEmpty()) ||
-               (normalPriorityQueue.containsKey(playerId) && !normalPriorityQueue.get(playerId).isEmpty()) ||
-               (lowPriorityQueue.containsKey(playerId) && !lowPriorityQueue.get(playerId).isEmpty());
-    }
-    
-    private static List<BatchItem> collectBatchItems(UUID playerId) {
-        List<BatchItem> batch = new ArrayList<>();
-        
-        // Coletar de alta prioridade primeiro
-        Queue<BatchItem> highQueue = highPriorityQueue.get(playerId);
-        if (highQueue != null) {
-            batch.addAll(drainQueue(highQueue, MAX_BATCH_SIZE));
-        }
-        
-        // Depois prioridade normal
-        if (batch.size() < MAX_BATCH_SIZE) {
-            Queue<BatchItem> normalQueue = normalPriorityQueue.get(playerId);
-            if (normalQueue != null) {
-                batch.addAll(drainQueue(normalQueue, MAX_BATCH_SIZE - batch.size()));
-            }
-        }
-        
-        // Por último, baixa prioridade
-        if (batch.size() < MAX_BATCH_SIZE) {
-            Queue<BatchItem> lowQueue = lowPriorityQueue.get(playerId);
-            if (lowQueue != null) {
-                batch.addAll(drainQueue(lowQueue, MAX_BATCH_SIZE - batch.size()));
-            }
-        }
-        
-        return batch;
-    }
-    
-    private static List<BatchItem> drainQueue(Queue<BatchItem> queue, int maxItems) {
-        List<BatchItem> items = new ArrayList<>();
-        
-        for (int i = 0; i < maxItems && !queue.isEmpty(); i++) {
-            BatchItem item = queue.poll();
-            if (item != null) {
-                items.add(item);
-            }
-        }
-        
-        return items;
-    }
-    
-    private static List<BatchItem> optimizeBatch(List<BatchItem> batch) {
-        // Remover duplicatas por tipo e dados
-        Map<String, BatchItem> uniqueItems = new LinkedHashMap<>();
-        
-        for (BatchItem item : batch) {
-            String key = item.type + ":" + item.data.getClass().getSimpleName();
-            
-            // Manter o item mais recente
-            BatchItem existing = uniqueItems.get(key);
-            if (existing == null || item.timestamp > existing.timestamp) {
-                uniqueItems.put(key, item);
-            }
-        }
-        
-        // Ordenar por prioridade (maior primeiro)
-        return uniqueItems.values().stream()
-            .sorted((a, b) -> Integer.compare(b.priority, a.priority))
-            .toList();
-    }
-    
-    private static void sendBatchToPlayer(ServerPlayer player, List<BatchItem> batch) {
-        try {
-            // Criar packet de batch customizado
-            BatchSyncPacket packet = new BatchSyncPacket(batch);
-            PacketDistributor.sendToPlayer(player, packet);
-            
-        } catch (Exception e) {
-            DimTrMod.LOGGER.error("Erro ao enviar batch para {}: {}", 
-                player.getName().getString(), e.getMessage());
-        }
-    }
-    
-    private static void clearPlayerQueues(UUID playerId) {
-        highPriorityQueue.remove(playerId);
-        normalPriorityQueue.remove(playerId);
-        lowPriorityQueue.remove(playerId);
-    }
-    
-    private static ServerPlayer findPlayerById(UUID playerId) {
-        try {
-            // Usar ServerLifecycleHooks para obter o servidor
-            net.minecraft.server.MinecraftServer server = net.neoforged.neoforge.server.ServerLifecycleHooks.getCurrentServer();
-            if (server != null) {
-                return server.getPlayerList().getPlayer(playerId);
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
-    /**
-     * 📦 Packet para envio de batches (simplificado por enquanto)
-     */
-    public static class BatchSyncPacket implements net.minecraft.network.protocol.common.custom.CustomPacketPayload {
-        public static final Type<BatchSyncPacket> TYPE = 
-            new Type<>(net.minecraft.resources.ResourceLocation.fromNamespaceAndPath(DimTrMod.MODID, "batch_sync"));
-        
-        private final List<BatchItem> items;
-        
-        public BatchSyncPacket(List<BatchItem> items) {
-            this.items = items;
-        }
-        
-        @Override
-        public Type<? extends net.minecraft.network.protocol.common.custom.CustomPacketPayload> type() {
-            return TYPE;
-        }
-        
-        public List<BatchItem> getItems() {
-            return items;
-        }
-    }
-    
     /**
      * 🔒 Validação robusta para dados de entrada no processamento de batch
      * 
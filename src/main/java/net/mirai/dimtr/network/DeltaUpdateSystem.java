@@ -1,13 +1,17 @@
 package net.mirai.dimtr.network;
 
 import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.client.ClientProgressionData;
 import net.mirai.dimtr.data.PlayerProgressionData;
+import net.mirai.dimtr.sync.SyncManager;
+import net.mirai.dimtr.util.MobRegistry;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,9 +22,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * 
  * ✅ Reduz largura de banda enviando apenas mudanças
  * ✅ Compressão inteligente de dados
- * ✅ Batching automático de updates
+ * ✅ Batching no flush por tick do {@link SyncManager}
  * ✅ Thread-safety completo
- * ✅ Rate limiting por jogador
+ * ✅ Sequência por conexão: o cliente detecta lacunas e pede resync
+ * 
+ * Protocolo: um {@link UpdateProgressionToClientPayload} completo só é enviado
+ * no login ou em resync e zera a sequência; depois disso cada
+ * {@link ProgressionDeltaPacket} leva a próxima sequência e apenas os campos
+ * alterados desde o último envio.
  * 
  * @author Dimension Trials Team
  */
@@ -28,20 +37,53 @@ public class DeltaUpdateSystem {
     
     // Thread-safety
     private static final ReentrantReadWriteLock DELTA_LOCK = new ReentrantReadWriteLock();
-    private static final ReentrantReadWriteLock.ReadLock readLock = DELTA_LOCK.readLock();
     private static final ReentrantReadWriteLock.WriteLock writeLock = DELTA_LOCK.writeLock();
     
-    // Cache de estados anteriores para calcular deltas
-    private static final Map<UUID, PlayerProgressionData> lastKnownStates = new ConcurrentHashMap<>();
-    
-    // Rate limiting
-    private static final Map<UUID, Long> lastUpdateTimes = new ConcurrentHashMap<>();
-    private static final long MIN_UPDATE_INTERVAL_MS = 500; // Máximo 2 updates por segundo
+    // Estado sincronizado com cada cliente (base dos deltas)
+    private static final Map<UUID, ClientSyncState> syncStates = new ConcurrentHashMap<>();
     
-    // Batching
+    // Deltas avulsos (notificações) aguardando o flush do SyncManager
     private static final Map<UUID, List<ProgressionDelta>> pendingDeltas = new ConcurrentHashMap<>();
-    private static final Map<UUID, Long> batchScheduleTime = new ConcurrentHashMap<>();
-    private static final long BATCH_DELAY_MS = 1000; // Aguardar 1 segundo antes de enviar batch
+    
+    // Resync pedido pelo cliente
+    private static final Map<UUID, Long> lastResyncTimes = new ConcurrentHashMap<>();
+    private static final long MIN_RESYNC_INTERVAL_MS = 1000;
+    
+    // Objetivos especiais enviados como bits (ordem fixa; o tipo define a prioridade do delta)
+    private static final String[] OBJECTIVE_FIELDS = {
+        "elderGuardianKilled", "raidWon", "trialVaultAdvancementEarned", "voluntaireExileAdvancementEarned",
+        "phase1Completed", "witherKilled", "wardenKilled", "phase2Completed"
+    };
+    private static final DeltaType[] OBJECTIVE_TYPES = {
+        DeltaType.BOSS_KILL, DeltaType.ADVANCEMENT, DeltaType.ADVANCEMENT, DeltaType.ADVANCEMENT,
+        DeltaType.PHASE_COMPLETION, DeltaType.BOSS_KILL, DeltaType.BOSS_KILL, DeltaType.PHASE_COMPLETION
+    };
+    
+    // Separador entre fase e chave nos deltas de fases customizadas ("fase/chave")
+    public static final char CUSTOM_KEY_SEPARATOR = '/';
+    
+    /**
+     * O que o cliente conhece do progresso individual desde o último snapshot completo
+     */
+    private static class ClientSyncState {
+        // Instância de onde veio o snapshot (null: cliente exibe o progresso da party)
+        final PlayerProgressionData source;
+        int sequence;
+        int objectiveFlags;
+        final Map<String, Boolean> customPhases = new HashMap<>();
+        final Map<String, Map<String, Integer>> customMobKills = new HashMap<>();
+        final Map<String, Map<String, Boolean>> customObjectives = new HashMap<>();
+        
+        ClientSyncState(PlayerProgressionData source) {
+            this.source = source;
+            if (source != null) {
+                this.objectiveFlags = objectiveFlags(source);
+                this.customPhases.putAll(source.getCustomPhaseCompletionMap());
+                copyNested(source.getCustomMobKillsMap(), customMobKills);
+                copyNested(source.getCustomObjectiveCompletionMap(), customObjectives);
+            }
+        }
+    }
     
     /**
      * Classe que representa um delta de progressão
@@ -114,141 +156,220 @@ public class DeltaUpdateSystem {
         PHASE_COMPLETION,
         MULTIPLIER_CHANGE,
         PARTY_UPDATE,
-        OTHER
+        OTHER,
+        // Fases customizadas: fieldName = "fase/chave", valor null = entrada removida
+        CUSTOM_PHASE,
+        CUSTOM_MOB_KILL,
+        CUSTOM_OBJECTIVE
     }
     
+    // ============================================================================
+    // 🎯 SINCRONIZAÇÃO DO PROGRESSO INDIVIDUAL
+    // ============================================================================
+    
     /**
-     * Enviar delta para um jogador específico
+     * Registrar que um snapshot completo foi enviado ao cliente (login, resync ou progresso da party)
+     * 
+     * Zera a sequência do cliente. Com source null o cliente passou a exibir outro
+     * progresso, então a próxima mudança individual volta a exigir snapshot completo.
      */
-    public static void sendDelta(ServerPlayer player, ProgressionDelta delta) {
-        if (player == null || delta == null) {
-            return;
+    public static void onFullSnapshotSent(UUID playerId, PlayerProgressionData source) {
+        writeLock.lock();
+        try {
+            syncStates.put(playerId, new ClientSyncState(source));
+            // Deltas agendados se referem à base anterior
+            pendingDeltas.remove(playerId);
+            if (source != null) {
+                source.clearSyncDirty();
+            }
+        } finally {
+            writeLock.unlock();
         }
-        
+    }
+    
+    /**
+     * 🎯 PERFORMANCE: Enviar ao cliente apenas os campos alterados desde o último envio
+     * (junto com os deltas avulsos pendentes, num único pacote)
+     * 
+     * Chamado pelo flush por tick do {@link SyncManager}.
+     * 
+     * @return false se o cliente não tem base para deltas e precisa de um snapshot completo
+     */
+    public static boolean sendProgressionChanges(ServerPlayer player, PlayerProgressionData data) {
         writeLock.lock();
         try {
-            // Rate limiting
-            UUID playerId = player.getUUID();
-            long currentTime = System.currentTimeMillis();
-            Long lastUpdate = lastUpdateTimes.get(playerId);
-            
-            if (lastUpdate != null && (currentTime - lastUpdate) < MIN_UPDATE_INTERVAL_MS) {
-                // Agendar para batch se ainda não foi agendado
-                scheduleDeltaForBatch(playerId, delta);
-                return;
+            ClientSyncState state = syncStates.get(player.getUUID());
+            if (state == null || state.source != data) {
+                // Sem snapshot, ou a instância foi substituída (reset/restauração)
+                return false;
             }
             
-            // Verificar se é significativo
-            if (!delta.isSignificant()) {
-                DimTrMod.LOGGER.debug("Delta não significativo ignorado para {}: {} {} -> {}", 
-                    player.getName().getString(), delta.fieldName, delta.oldValue, delta.newValue);
-                return;
+            List<ProgressionDelta> deltas = collectDirtyDeltas(state, data);
+            data.clearSyncDirty();
+            List<ProgressionDelta> pending = pendingDeltas.remove(player.getUUID());
+            if (pending != null) {
+                deltas.addAll(optimizeDeltaBatch(pending));
             }
-            
-            // Enviar imediatamente se alta prioridade ou sem batch pendente
-            if (delta.getPriority() >= 8 || !hasPendingBatch(playerId)) {
-                sendDeltaPacket(player, Collections.singletonList(delta));
-                lastUpdateTimes.put(playerId, currentTime);
-                
-                DimTrMod.LOGGER.debug("Delta enviado imediatamente para {}: {} = {}", 
-                    player.getName().getString(), delta.fieldName, delta.newValue);
-            } else {
-                // Agendar para batch
-                scheduleDeltaForBatch(playerId, delta);
+            if (!deltas.isEmpty()) {
+                sendDeltaPacket(player, state, deltas);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Enviar os deltas avulsos pendentes de um jogador (flush sem mudança de progresso)
+     */
+    public static void flushPendingDeltas(ServerPlayer player) {
+        writeLock.lock();
+        try {
+            List<ProgressionDelta> pending = pendingDeltas.remove(player.getUUID());
+            if (pending != null && !pending.isEmpty()) {
+                sendDeltaPacket(player, syncStates.get(player.getUUID()), optimizeDeltaBatch(pending));
             }
-            
         } finally {
             writeLock.unlock();
         }
     }
     
     /**
-     * Calcular delta entre dois estados de progressão
+     * Verificar se um pedido de resync do cliente pode ser atendido agora (limite de 1 por segundo)
+     * 
+     * Pedidos fora do limite não são descartados: o chamador agenda um snapshot no SyncManager.
+     */
+    public static boolean allowResync(UUID playerId) {
+        long now = System.currentTimeMillis();
+        Long last = lastResyncTimes.get(playerId);
+        if (last != null && now - last < MIN_RESYNC_INTERVAL_MS) {
+            return false;
+        }
+        lastResyncTimes.put(playerId, now);
+        return true;
+    }
+    
+    /**
+     * Montar deltas dos campos sujos e atualizar a base conhecida do cliente
      */
-    public static List<ProgressionDelta> calculateDelta(UUID playerId, PlayerProgressionData oldData, PlayerProgressionData newData) {
+    private static List<ProgressionDelta> collectDirtyDeltas(ClientSyncState state, PlayerProgressionData data) {
+        UUID playerId = data.getPlayerId();
         List<ProgressionDelta> deltas = new ArrayList<>();
         
-        if (oldData == null) {
-            // Primeiro sync - enviar estado completo como deltas
-            deltas.addAll(createFullStateDelta(playerId, newData));
-            return deltas;
+        // Contadores: só os IDs marcados como sujos
+        BitSet dirtyMobs = data.getSyncDirtyMobKills();
+        for (int id = dirtyMobs.nextSetBit(0); id >= 0; id = dirtyMobs.nextSetBit(id + 1)) {
+            if (MobRegistry.isCountable(id)) {
+                deltas.add(new ProgressionDelta(playerId, DeltaType.MOB_KILL, getMobFieldName(id), null, data.getMobKillCount(id)));
+            }
         }
         
-        // Comparar mob kills
-        compareMobKills(playerId, oldData, newData, deltas);
-        
-        // Comparar objetivos especiais
-        compareSpecialObjectives(playerId, oldData, newData, deltas);
-        
-        // Comparar fases
-        comparePhases(playerId, oldData, newData, deltas);
+        // Objetivos: campos públicos, comparados como bits com o último envio
+        int flags = objectiveFlags(data);
+        int changed = flags ^ state.objectiveFlags;
+        for (int bit = 0; changed != 0 && bit < OBJECTIVE_FIELDS.length; bit++) {
+            if ((changed & (1 << bit)) != 0) {
+                deltas.add(new ProgressionDelta(playerId, OBJECTIVE_TYPES[bit], OBJECTIVE_FIELDS[bit], null, (flags & (1 << bit)) != 0));
+            }
+        }
+        state.objectiveFlags = flags;
         
-        // Comparar multiplicadores
-        compareMultipliers(playerId, oldData, newData, deltas);
+        // Fases customizadas: mapas pequenos, comparados com a cópia enviada
+        diffFlat(playerId, DeltaType.CUSTOM_PHASE, "", state.customPhases, data.getCustomPhaseCompletionMap(), deltas);
+        diffNested(playerId, DeltaType.CUSTOM_MOB_KILL, state.customMobKills, data.getCustomMobKillsMap(), deltas);
+        diffNested(playerId, DeltaType.CUSTOM_OBJECTIVE, state.customObjectives, data.getCustomObjectiveCompletionMap(), deltas);
         
         return deltas;
     }
     
-    /**
-     * Enviar batch de deltas acumulados
-     */
-    public static void processPendingBatches() {
-        writeLock.lock();
-        try {
-            long currentTime = System.currentTimeMillis();
-            
-            for (Map.Entry<UUID, Long> entry : batchScheduleTime.entrySet()) {
-                UUID playerId = entry.getKey();
-                Long scheduleTime = entry.getValue();
-                
-                if (scheduleTime != null && (currentTime - scheduleTime) >= BATCH_DELAY_MS) {
-                    List<ProgressionDelta> deltas = pendingDeltas.remove(playerId);
-                    batchScheduleTime.remove(playerId);
-                    
-                    if (deltas != null && !deltas.isEmpty()) {
-                        // Encontrar jogador
-                        ServerPlayer player = findPlayerById(playerId);
-                        if (player != null) {
-                            // Otimizar batch - remover deltas redundantes e ordenar por prioridade
-                            List<ProgressionDelta> optimizedDeltas = optimizeDeltaBatch(deltas);
-                            
-                            sendDeltaPacket(player, optimizedDeltas);
-                            lastUpdateTimes.put(playerId, currentTime);
-                            
-                            DimTrMod.LOGGER.debug("Batch de {} deltas enviado para {}", 
-                                optimizedDeltas.size(), player.getName().getString());
-                        }
-                    }
-                }
+    private static int objectiveFlags(PlayerProgressionData data) {
+        boolean[] values = {
+            data.elderGuardianKilled, data.raidWon, data.trialVaultAdvancementEarned, data.voluntaireExileAdvancementEarned,
+            data.phase1Completed, data.witherKilled, data.wardenKilled, data.phase2Completed
+        };
+        int flags = 0;
+        for (int bit = 0; bit < values.length; bit++) {
+            if (values[bit]) {
+                flags |= 1 << bit;
             }
-            
-        } finally {
-            writeLock.unlock();
         }
+        return flags;
     }
     
     /**
-     * Atualizar estado conhecido de um jogador
+     * Comparar um mapa com a cópia enviada, gerando deltas e atualizando a cópia
      */
-    public static void updateKnownState(UUID playerId, PlayerProgressionData data) {
-        writeLock.lock();
-        try {
-            lastKnownStates.put(playerId, data.copy());
-        } finally {
-            writeLock.unlock();
+    private static <V> void diffFlat(UUID playerId, DeltaType type, String prefix, Map<String, V> sent,
+                                     Map<String, V> current, List<ProgressionDelta> deltas) {
+        if (sent.equals(current)) {
+            return;
+        }
+        for (Map.Entry<String, V> entry : current.entrySet()) {
+            if (!Objects.equals(sent.get(entry.getKey()), entry.getValue())) {
+                deltas.add(new ProgressionDelta(playerId, type, prefix + entry.getKey(), null, entry.getValue()));
+            }
+        }
+        for (String key : sent.keySet()) {
+            if (!current.containsKey(key)) {
+                deltas.add(new ProgressionDelta(playerId, type, prefix + key, null, null));
+            }
+        }
+        sent.clear();
+        sent.putAll(current);
+    }
+    
+    private static <V> void diffNested(UUID playerId, DeltaType type, Map<String, Map<String, V>> sent,
+                                       Map<String, Map<String, V>> current, List<ProgressionDelta> deltas) {
+        if (sent.equals(current)) {
+            return;
+        }
+        Set<String> phases = new HashSet<>(sent.keySet());
+        phases.addAll(current.keySet());
+        for (String phaseId : phases) {
+            Map<String, V> sentPhase = sent.computeIfAbsent(phaseId, k -> new HashMap<>());
+            diffFlat(playerId, type, phaseId + CUSTOM_KEY_SEPARATOR, sentPhase, current.getOrDefault(phaseId, Map.of()), deltas);
+            if (sentPhase.isEmpty()) {
+                sent.remove(phaseId);
+            }
+        }
+    }
+    
+    private static <V> void copyNested(Map<String, Map<String, V>> source, Map<String, Map<String, V>> target) {
+        for (Map.Entry<String, Map<String, V>> entry : source.entrySet()) {
+            target.put(entry.getKey(), new HashMap<>(entry.getValue()));
         }
     }
     
     /**
-     * Obter estado conhecido de um jogador
+     * Agendar um delta avulso para um jogador
+     * 
+     * 🎯 PERFORMANCE: Não envia na hora: o delta entra no próximo flush do
+     * {@link SyncManager} junto com as demais mudanças do jogador. Prioridade
+     * alta (>= 8) usa o limite de latência de alta prioridade.
      */
-    public static PlayerProgressionData getKnownState(UUID playerId) {
-        readLock.lock();
+    public static void sendDelta(ServerPlayer player, ProgressionDelta delta) {
+        if (player == null || delta == null) {
+            return;
+        }
+        
+        // Verificar se é significativo
+        if (!delta.isSignificant()) {
+            DimTrMod.LOGGER.debug("Delta não significativo ignorado para {}: {} {} -> {}", 
+                player.getName().getString(), delta.fieldName, delta.oldValue, delta.newValue);
+            return;
+        }
+        
+        UUID playerId = player.getUUID();
+        writeLock.lock();
         try {
-            return lastKnownStates.get(playerId);
+            pendingDeltas.computeIfAbsent(playerId, k -> new ArrayList<>()).add(delta);
         } finally {
-            readLock.unlock();
+            writeLock.unlock();
         }
+        
+        SyncManager.schedule(playerId, SyncManager.SYNC_NOTIFICATIONS, delta.getPriority() >= 8);
+        DimTrMod.LOGGER.debug("Delta agendado para {}: {} = {}", 
+            player.getName().getString(), delta.fieldName, delta.newValue);
     }
     
     /**
@@ -257,10 +378,9 @@ public class DeltaUpdateSystem {
     public static void clearPlayerData(UUID playerId) {
         writeLock.lock();
         try {
-            lastKnownStates.remove(playerId);
-            lastUpdateTimes.remove(playerId);
+            syncStates.remove(playerId);
+            lastResyncTimes.remove(playerId);
             pendingDeltas.remove(playerId);
-            batchScheduleTime.remove(playerId);
         } finally {
             writeLock.unlock();
         }
@@ -270,20 +390,15 @@ public class DeltaUpdateSystem {
     // MÉTODOS INTERNOS
     // ============================================================================
     
-    private static void scheduleDeltaForBatch(UUID playerId, ProgressionDelta delta) {
-        pendingDeltas.computeIfAbsent(playerId, k -> new ArrayList<>()).add(delta);
-        batchScheduleTime.putIfAbsent(playerId, System.currentTimeMillis());
-        
-        DimTrMod.LOGGER.debug("Delta agendado para batch: {} = {}", delta.fieldName, delta.newValue);
-    }
-    
-    private static boolean hasPendingBatch(UUID playerId) {
-        return pendingDeltas.containsKey(playerId);
-    }
-    
-    private static void sendDeltaPacket(ServerPlayer player, List<ProgressionDelta> deltas) {
+    private static void sendDeltaPacket(ServerPlayer player, ClientSyncState state, List<ProgressionDelta> deltas) {
+        if (state == null) {
+            // Cliente ainda sem snapshot completo: o snapshot já trará o estado
+            return;
+        }
         try {
-            ProgressionDeltaPacket packet = new ProgressionDeltaPacket(deltas);
+            // Chaves das fases customizadas pelo dicionário da conexão (mesma ordem de envio dos snapshots)
+            KeyDictionary.Table keys = KeyDictionary.tableFor(player.getUUID(), ProgressionDeltaPacket.customKeys(deltas));
+            ProgressionDeltaPacket packet = new ProgressionDeltaPacket(++state.sequence, deltas, keys);
             PacketDistributor.sendToPlayer(player, packet);
         } catch (Exception e) {
             DimTrMod.LOGGER.error("Erro ao enviar delta packet para {}: {}", 
@@ -291,62 +406,12 @@ public class DeltaUpdateSystem {
         }
     }
     
-    private static List<ProgressionDelta> createFullStateDelta(UUID playerId, PlayerProgressionData data) {
-        List<ProgressionDelta> deltas = new ArrayList<>();
-        
-        // Criar deltas para todos os campos importantes
-        deltas.add(new ProgressionDelta(playerId, DeltaType.PHASE_COMPLETION, "phase1Completed", false, data.phase1Completed));
-        deltas.add(new ProgressionDelta(playerId, DeltaType.PHASE_COMPLETION, "phase2Completed", false, data.phase2Completed));
-        
-        // Mob kills principais
-        deltas.add(new ProgressionDelta(playerId, DeltaType.MOB_KILL, "zombieKills", 0, data.zombieKills));
-        deltas.add(new ProgressionDelta(playerId, DeltaType.MOB_KILL, "skeletonKills", 0, data.skeletonKills));
-        
-        // Objetivos especiais
-        deltas.add(new ProgressionDelta(playerId, DeltaType.BOSS_KILL, "elderGuardianKilled", false, data.elderGuardianKilled));
-        deltas.add(new ProgressionDelta(playerId, DeltaType.ADVANCEMENT, "raidWon", false, data.raidWon));
-        
-        return deltas.stream().filter(ProgressionDelta::isSignificant).toList();
-    }
-    
-    private static void compareMobKills(UUID playerId, PlayerProgressionData oldData, PlayerProgressionData newData, List<ProgressionDelta> deltas) {
-        compareIntField(playerId, DeltaType.MOB_KILL, "zombieKills", oldData.zombieKills, newData.zombieKills, deltas);
-        compareIntField(playerId, DeltaType.MOB_KILL, "skeletonKills", oldData.skeletonKills, newData.skeletonKills, deltas);
-        compareIntField(playerId, DeltaType.MOB_KILL, "ravagerKills", oldData.ravagerKills, newData.ravagerKills, deltas);
-        compareIntField(playerId, DeltaType.MOB_KILL, "evokerKills", oldData.evokerKills, newData.evokerKills, deltas);
-    }
-    
-    private static void compareSpecialObjectives(UUID playerId, PlayerProgressionData oldData, PlayerProgressionData newData, List<ProgressionDelta> deltas) {
-        compareBooleanField(playerId, DeltaType.BOSS_KILL, "elderGuardianKilled", oldData.elderGuardianKilled, newData.elderGuardianKilled, deltas);
-        compareBooleanField(playerId, DeltaType.ADVANCEMENT, "raidWon", oldData.raidWon, newData.raidWon, deltas);
-        compareBooleanField(playerId, DeltaType.BOSS_KILL, "witherKilled", oldData.witherKilled, newData.witherKilled, deltas);
-        compareBooleanField(playerId, DeltaType.BOSS_KILL, "wardenKilled", oldData.wardenKilled, newData.wardenKilled, deltas);
-    }
-    
-    private static void comparePhases(UUID playerId, PlayerProgressionData oldData, PlayerProgressionData newData, List<ProgressionDelta> deltas) {
-        compareBooleanField(playerId, DeltaType.PHASE_COMPLETION, "phase1Completed", oldData.phase1Completed, newData.phase1Completed, deltas);
-        compareBooleanField(playerId, DeltaType.PHASE_COMPLETION, "phase2Completed", oldData.phase2Completed, newData.phase2Completed, deltas);
-    }
-    
-    private static void compareMultipliers(UUID playerId, PlayerProgressionData oldData, PlayerProgressionData newData, List<ProgressionDelta> deltas) {
-        double oldMultiplier = oldData.getProgressionMultiplier();
-        double newMultiplier = newData.getProgressionMultiplier();
-        
-        if (Math.abs(newMultiplier - oldMultiplier) >= 0.1) {
-            deltas.add(new ProgressionDelta(playerId, DeltaType.MULTIPLIER_CHANGE, "progressionMultiplier", oldMultiplier, newMultiplier));
-        }
-    }
-    
-    private static void compareIntField(UUID playerId, DeltaType type, String fieldName, int oldValue, int newValue, List<ProgressionDelta> deltas) {
-        if (oldValue != newValue) {
-            deltas.add(new ProgressionDelta(playerId, type, fieldName, oldValue, newValue));
-        }
-    }
-    
-    private static void compareBooleanField(UUID playerId, DeltaType type, String fieldName, boolean oldValue, boolean newValue, List<ProgressionDelta> deltas) {
-        if (oldValue != newValue) {
-            deltas.add(new ProgressionDelta(playerId, type, fieldName, oldValue, newValue));
-        }
+    /**
+     * Nome do campo de um contador de mob (chave NBT para vanilla, nome do tipo para customizados)
+     */
+    private static String getMobFieldName(int mobId) {
+        String nbtKey = MobRegistry.getNbtKey(mobId);
+        return nbtKey != null ? nbtKey : MobRegistry.getName(mobId);
     }
     
     private static List<ProgressionDelta> optimizeDeltaBatch(List<ProgressionDelta> deltas) {
@@ -366,19 +431,6 @@ public class DeltaUpdateSystem {
             .toList();
     }
     
-    private static ServerPlayer findPlayerById(UUID playerId) {
-        try {
-            // Usar ServerLifecycleHooks para obter o servidor
-            net.minecraft.server.MinecraftServer server = net.neoforged.neoforge.server.ServerLifecycleHooks.getCurrentServer();
-            if (server != null) {
-                return server.getPlayerList().getPlayer(playerId);
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
     /**
      * Packet para envio de deltas
      */
@@ -392,41 +444,115 @@ public class DeltaUpdateSystem {
                 ProgressionDeltaPacket::read
             );
         
+        private final int sequence;
         private final List<ProgressionDelta> deltas;
+        private final KeyDictionary.Table keys;
         
-        public ProgressionDeltaPacket(List<ProgressionDelta> deltas) {
+        public ProgressionDeltaPacket(int sequence, List<ProgressionDelta> deltas) {
+            this(sequence, deltas, KeyDictionary.Table.INLINE);
+        }
+        
+        public ProgressionDeltaPacket(int sequence, List<ProgressionDelta> deltas, KeyDictionary.Table keys) {
+            this.sequence = sequence;
             this.deltas = deltas;
+            this.keys = keys;
         }
         
         public static void write(ProgressionDeltaPacket packet, FriendlyByteBuf buf) {
-            buf.writeInt(packet.deltas.size());
+            // 🎯 PERFORMANCE: Sem UUID/timestamp por delta: o jogador é o dono da conexão
+            buf.writeVarInt(packet.sequence);
+            KeyDictionary.Table table = KeyDictionary.writeTable(buf, packet.keys, customKeys(packet.deltas));
+            buf.writeVarInt(packet.deltas.size());
             for (ProgressionDelta delta : packet.deltas) {
-                buf.writeUUID(delta.playerId);
                 buf.writeEnum(delta.type);
-                buf.writeUtf(delta.fieldName);
+                if (isCustom(delta.type)) {
+                    writeCustomField(buf, table, delta.fieldName);
+                } else {
+                    buf.writeUtf(delta.fieldName);
+                }
                 
                 // Serializar valores de forma compacta
                 writeValue(buf, delta.newValue);
-                buf.writeLong(delta.timestamp);
             }
         }
         
         public static ProgressionDeltaPacket read(FriendlyByteBuf buf) {
-            int count = buf.readInt();
+            int sequence = buf.readVarInt();
+            String[] keys = KeyDictionary.readTable(buf);
+            int count = buf.readVarInt();
             List<ProgressionDelta> deltas = new ArrayList<>(count);
             
             for (int i = 0; i < count; i++) {
-                UUID playerId = buf.readUUID();
                 DeltaType type = buf.readEnum(DeltaType.class);
-                String fieldName = buf.readUtf();
+                String fieldName = isCustom(type) ? readCustomField(buf, keys) : buf.readUtf();
                 Object newValue = readValue(buf);
-                buf.readLong(); // timestamp (preservado para compatibilidade)
                 
-                ProgressionDelta delta = new ProgressionDelta(playerId, type, fieldName, null, newValue);
+                ProgressionDelta delta = new ProgressionDelta(null, type, fieldName, null, newValue);
                 deltas.add(delta);
             }
             
-            return new ProgressionDeltaPacket(deltas);
+            return new ProgressionDeltaPacket(sequence, deltas);
+        }
+        
+        /**
+         * Aplicar os deltas no cliente; lacuna na sequência pede um snapshot completo
+         */
+        public static void handle(ProgressionDeltaPacket packet, IPayloadContext context) {
+            context.enqueueWork(() -> {
+                try {
+                    if (ClientProgressionData.INSTANCE.applyDeltas(packet.sequence, packet.deltas)) {
+                        DimTrMod.LOGGER.debug("Lacuna na sequência de deltas ({}), pedindo resync", packet.sequence);
+                        PacketDistributor.sendToServer(new RequestProgressionResyncPayload());
+                    }
+                } catch (Exception e) {
+                    DimTrMod.LOGGER.error("❌ Falha ao aplicar deltas de progressão: {}", e.getMessage());
+                    PacketDistributor.sendToServer(new RequestProgressionResyncPayload());
+                }
+            });
+        }
+        
+        /**
+         * Chaves de dicionário dos deltas de fases customizadas ("fase" e "chave" de "fase/chave")
+         */
+        static Set<String> customKeys(List<ProgressionDelta> deltas) {
+            Set<String> keys = new LinkedHashSet<>();
+            for (ProgressionDelta delta : deltas) {
+                if (!isCustom(delta.type)) {
+                    continue;
+                }
+                int separator = delta.fieldName.indexOf(CUSTOM_KEY_SEPARATOR);
+                if (separator < 0) {
+                    keys.add(delta.fieldName);
+                } else {
+                    keys.add(delta.fieldName.substring(0, separator));
+                    keys.add(delta.fieldName.substring(separator + 1));
+                }
+            }
+            return keys;
+        }
+        
+        private static boolean isCustom(DeltaType type) {
+            return type == DeltaType.CUSTOM_PHASE || type == DeltaType.CUSTOM_MOB_KILL || type == DeltaType.CUSTOM_OBJECTIVE;
+        }
+        
+        /**
+         * 🎯 PERFORMANCE: "fase/chave" vira dois IDs do dicionário em vez de duas strings
+         * (bit mais baixo do primeiro ID = tem chave depois do separador)
+         */
+        private static void writeCustomField(FriendlyByteBuf buf, KeyDictionary.Table table, String fieldName) {
+            int separator = fieldName.indexOf(CUSTOM_KEY_SEPARATOR);
+            if (separator < 0) {
+                buf.writeVarInt(table.id(fieldName) << 1);
+            } else {
+                buf.writeVarInt(table.id(fieldName.substring(0, separator)) << 1 | 1);
+                buf.writeVarInt(table.id(fieldName.substring(separator + 1)));
+            }
+        }
+        
+        private static String readCustomField(FriendlyByteBuf buf, String[] keys) {
+            int head = buf.readVarInt();
+            String phaseId = KeyDictionary.key(keys, head >>> 1);
+            return (head & 1) == 0 ? phaseId : phaseId + CUSTOM_KEY_SEPARATOR + KeyDictionary.key(keys, buf.readVarInt());
         }
         
         private static void writeValue(FriendlyByteBuf buf, Object value) {
@@ -439,6 +565,8 @@ public class DeltaUpdateSystem {
             } else if (value instanceof Double d) {
                 buf.writeByte(2);
                 buf.writeDouble(d);
+            } else if (value == null) {
+                buf.writeByte(4);
             } else {
                 buf.writeByte(3);
                 buf.writeUtf(value.toString());
@@ -452,7 +580,7 @@ public class DeltaUpdateSystem {
                 case 1 -> buf.readVarInt();
                 case 2 -> buf.readDouble();
                 case 3 -> buf.readUtf();
-                default -> null;
+                default -> null; // 4: entrada removida
             };
         }
         
@@ -461,6 +589,10 @@ public class DeltaUpdateSystem {
             return TYPE;
         }
         
+        public int getSequence() {
+            return sequence;
+        }
+        
         public List<ProgressionDelta> getDeltas() {
             return deltas;
         }
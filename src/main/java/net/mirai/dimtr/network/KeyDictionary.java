@@ -0,0 +1,292 @@
+package net.mirai.dimtr.network;
+
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎯 PERFORMANCE: Dicionário de chaves por conexão
+ *
+ * IDs de custom phases, objetivos e mobs (strings "namespace:path" longas)
+ * recebem um ID inteiro na primeira vez que vão para um cliente. Payloads
+ * seguintes enviam só os IDs; cada payload carrega apenas as chaves novas.
+ *
+ * - Servidor: um dicionário por jogador, atribuído na thread do servidor
+ *   imediatamente antes do envio (mesma ordem em que os pacotes são codificados)
+ * - Cliente: lista única, reiniciada quando chega um payload com base 0
+ *   (primeiro envio de uma nova conexão)
+ *
+ * Payloads sem tabela de conexão ({@link Table#INLINE}) levam uma tabela
+ * própria e não tocam no dicionário.
+ */
+public final class KeyDictionary {
+
+    // Dicionários do servidor, por jogador conectado
+    private static final Map<UUID, Map<String, Integer>> SERVER_DICTIONARIES = new ConcurrentHashMap<>();
+
+    // Dicionário do cliente (escrito na thread de rede ao decodificar)
+    private static final List<String> CLIENT_KEYS = new ArrayList<>();
+
+    private KeyDictionary() {}
+
+    /**
+     * Chaves de um payload e seus IDs
+     *
+     * @param base Tamanho do dicionário antes deste payload (-1 = tabela própria do payload)
+     * @param added Chaves novas, com IDs a partir de {@code base}
+     * @param ids IDs das chaves usadas pelo payload
+     */
+    public record Table(int base, List<String> added, Map<String, Integer> ids) {
+        public static final Table INLINE = new Table(-1, List.of(), Map.of());
+
+        boolean isInline() {
+            return base < 0;
+        }
+
+        int id(String key) {
+            Integer id = ids.get(key);
+            if (id == null) {
+                throw new EncoderException("Chave sem ID no dicionário de rede: " + key);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Mapas de custom phases decodificados
+     */
+    public record CustomMaps(Map<String, Boolean> phaseCompletion,
+                             Map<String, Map<String, Integer>> mobKills,
+                             Map<String, Map<String, Boolean>> objectiveCompletion) {
+    }
+
+    // ============================================================================
+    // SERVIDOR
+    // ============================================================================
+
+    /**
+     * Atribuir IDs às chaves para a conexão do jogador
+     *
+     * Chamar na thread do servidor logo antes de enviar o payload: o cliente
+     * aprende as chaves novas na ordem em que os payloads são codificados.
+     */
+    public static Table tableFor(UUID playerId, Collection<String> keys) {
+        Map<String, Integer> dictionary = SERVER_DICTIONARIES.computeIfAbsent(playerId, k -> new HashMap<>());
+        synchronized (dictionary) {
+            int base = dictionary.size();
+            List<String> added = new ArrayList<>();
+            Map<String, Integer> ids = new HashMap<>();
+            for (String key : keys) {
+                Integer id = dictionary.get(key);
+                if (id == null) {
+                    id = dictionary.size();
+                    dictionary.put(key, id);
+                    added.add(key);
+                }
+                ids.put(key, id);
+            }
+            return new Table(base, added, ids);
+        }
+    }
+
+    /**
+     * Descartar o dicionário da conexão (logout)
+     */
+    public static void clearPlayer(UUID playerId) {
+        SERVER_DICTIONARIES.remove(playerId);
+    }
+
+    /**
+     * Chaves usadas pelos mapas de custom phases
+     */
+    public static Set<String> collectKeys(Map<String, Boolean> phaseCompletion,
+                                          Map<String, Map<String, Integer>> mobKills,
+                                          Map<String, Map<String, Boolean>> objectiveCompletion) {
+        Set<String> keys = new LinkedHashSet<>(phaseCompletion.keySet());
+        mobKills.forEach((phaseId, kills) -> {
+            keys.add(phaseId);
+            keys.addAll(kills.keySet());
+        });
+        objectiveCompletion.forEach((phaseId, objectives) -> {
+            keys.add(phaseId);
+            keys.addAll(objectives.keySet());
+        });
+        return keys;
+    }
+
+    // ============================================================================
+    // CODEC
+    // ============================================================================
+
+    /**
+     * Escrever só o cabeçalho da tabela (chaves novas), para payloads que usam
+     * {@link Table#id} diretamente
+     *
+     * @param keys Chaves do payload (usadas apenas para montar a tabela própria de um payload {@link Table#INLINE})
+     * @return Tabela a usar para os IDs do restante do payload
+     */
+    public static Table writeTable(FriendlyByteBuf buf, Table table, Collection<String> keys) {
+        if (table.isInline()) {
+            List<String> added = new ArrayList<>();
+            Map<String, Integer> ids = new HashMap<>();
+            for (String key : keys) {
+                if (ids.putIfAbsent(key, added.size()) == null) {
+                    added.add(key);
+                }
+            }
+            table = new Table(-1, added, ids);
+        }
+
+        // 0 = tabela própria do payload; n > 0 = dicionário da conexão com base n - 1
+        buf.writeVarInt(table.base() + 1);
+        buf.writeVarInt(table.added().size());
+        for (String key : table.added()) {
+            buf.writeUtf(key);
+        }
+        return table;
+    }
+
+    /**
+     * Ler o cabeçalho escrito por {@link #writeTable}
+     *
+     * @return Chaves indexadas por ID (resolver com {@link #key})
+     */
+    public static String[] readTable(FriendlyByteBuf buf) {
+        int header = buf.readVarInt();
+        int addedCount = buf.readVarInt();
+        List<String> added = new ArrayList<>(addedCount);
+        for (int i = 0; i < addedCount; i++) {
+            added.add(buf.readUtf());
+        }
+        return header == 0 ? added.toArray(String[]::new) : defineClientKeys(header - 1, added);
+    }
+
+    /**
+     * Escrever o cabeçalho da tabela (chaves novas) e os mapas de custom phases por ID
+     * (booleanos vão no bit mais baixo do ID)
+     *
+     * @param extraKeys Outras chaves do payload que serão escritas com {@link Table#id}
+     */
+    public static Table writeCustomMaps(FriendlyByteBuf buf, Table table, Collection<String> extraKeys,
+                                        Map<String, Boolean> phaseCompletion,
+                                        Map<String, Map<String, Integer>> mobKills,
+                                        Map<String, Map<String, Boolean>> objectiveCompletion) {
+        Collection<String> keys = extraKeys;
+        if (table.isInline()) {
+            Set<String> inlineKeys = new LinkedHashSet<>(extraKeys);
+            inlineKeys.addAll(collectKeys(phaseCompletion, mobKills, objectiveCompletion));
+            keys = inlineKeys;
+        }
+        table = writeTable(buf, table, keys);
+
+        buf.writeVarInt(phaseCompletion.size());
+        for (Map.Entry<String, Boolean> entry : phaseCompletion.entrySet()) {
+            buf.writeVarInt(table.id(entry.getKey()) << 1 | (entry.getValue() ? 1 : 0));
+        }
+
+        buf.writeVarInt(mobKills.size());
+        for (Map.Entry<String, Map<String, Integer>> entry : mobKills.entrySet()) {
+            buf.writeVarInt(table.id(entry.getKey()));
+            buf.writeVarInt(entry.getValue().size());
+            for (Map.Entry<String, Integer> kill : entry.getValue().entrySet()) {
+                buf.writeVarInt(table.id(kill.getKey()));
+                buf.writeVarInt(kill.getValue());
+            }
+        }
+
+        buf.writeVarInt(objectiveCompletion.size());
+        for (Map.Entry<String, Map<String, Boolean>> entry : objectiveCompletion.entrySet()) {
+            buf.writeVarInt(table.id(entry.getKey()));
+            buf.writeVarInt(entry.getValue().size());
+            for (Map.Entry<String, Boolean> objective : entry.getValue().entrySet()) {
+                buf.writeVarInt(table.id(objective.getKey()) << 1 | (objective.getValue() ? 1 : 0));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Ler o cabeçalho da tabela e os mapas escritos por {@link #writeCustomMaps}
+     *
+     * @return Resolvedor de IDs para as demais chaves do payload e os mapas
+     */
+    public static Decoded readCustomMaps(FriendlyByteBuf buf) {
+        String[] keys = readTable(buf);
+
+        int phaseCount = buf.readVarInt();
+        Map<String, Boolean> phaseCompletion = new HashMap<>();
+        for (int i = 0; i < phaseCount; i++) {
+            int entry = buf.readVarInt();
+            phaseCompletion.put(key(keys, entry >>> 1), (entry & 1) != 0);
+        }
+
+        int mobPhaseCount = buf.readVarInt();
+        Map<String, Map<String, Integer>> mobKills = new HashMap<>();
+        for (int i = 0; i < mobPhaseCount; i++) {
+            String phaseId = key(keys, buf.readVarInt());
+            int size = buf.readVarInt();
+            Map<String, Integer> kills = new HashMap<>();
+            for (int j = 0; j < size; j++) {
+                String mobKey = key(keys, buf.readVarInt());
+                kills.put(mobKey, buf.readVarInt());
+            }
+            mobKills.put(phaseId, kills);
+        }
+
+        int objectivePhaseCount = buf.readVarInt();
+        Map<String, Map<String, Boolean>> objectiveCompletion = new HashMap<>();
+        for (int i = 0; i < objectivePhaseCount; i++) {
+            String phaseId = key(keys, buf.readVarInt());
+            int size = buf.readVarInt();
+            Map<String, Boolean> objectives = new HashMap<>();
+            for (int j = 0; j < size; j++) {
+                int entry = buf.readVarInt();
+                objectives.put(key(keys, entry >>> 1), (entry & 1) != 0);
+            }
+            objectiveCompletion.put(phaseId, objectives);
+        }
+
+        return new Decoded(keys, new CustomMaps(phaseCompletion, mobKills, objectiveCompletion));
+    }
+
+    /**
+     * Resultado de {@link #readCustomMaps}
+     */
+    public record Decoded(String[] keys, CustomMaps maps) {
+        public String key(int id) {
+            return KeyDictionary.key(keys, id);
+        }
+    }
+
+    private static String[] defineClientKeys(int base, List<String> added) {
+        synchronized (CLIENT_KEYS) {
+            if (base == 0) {
+                // Primeiro payload de uma nova conexão
+                CLIENT_KEYS.clear();
+            }
+            if (base != CLIENT_KEYS.size()) {
+                throw new DecoderException("Dicionário de rede dessincronizado: base " + base
+                        + ", cliente tem " + CLIENT_KEYS.size() + " chaves");
+            }
+            CLIENT_KEYS.addAll(added);
+            return CLIENT_KEYS.toArray(String[]::new);
+        }
+    }
+
+    public static String key(String[] keys, int id) {
+        if (id < 0 || id >= keys.length) {
+            throw new DecoderException("ID de chave inválido no payload: " + id);
+        }
+        return keys[id];
+    }
+}
@@ -34,6 +34,20 @@ public class ModNetworking {
                 UpdateProgressionToClientPayload::handle
         );
 
+        // 🎯 PERFORMANCE: Deltas sequenciados após o snapshot completo (login/resync)
+        registrar.playToClient(
+                DeltaUpdateSystem.ProgressionDeltaPacket.TYPE,
+                DeltaUpdateSystem.ProgressionDeltaPacket.STREAM_CODEC,
+                DeltaUpdateSystem.ProgressionDeltaPacket::handle
+        );
+
+        // Cliente detectou lacuna na sequência de deltas
+        registrar.playToServer(
+                RequestProgressionResyncPayload.TYPE,
+                RequestProgressionResyncPayload.STREAM_CODEC,
+                RequestProgressionResyncPayload::handle
+        );
+
         // ============================================================================
         // 🎯 SISTEMA DE PARTIES COLABORATIVAS
         // ============================================================================
@@ -48,6 +62,7 @@ public class ModNetworking {
         // ============================================================================
         DimTrMod.LOGGER.info(Constants.LOG_NETWORK_PAYLOADS_REGISTERED);
         DimTrMod.LOGGER.info(Constants.LOG_NETWORK_PROGRESSION_PAYLOAD);
+        DimTrMod.LOGGER.info(Constants.LOG_NETWORK_DELTA_PAYLOAD);
         DimTrMod.LOGGER.info(Constants.LOG_NETWORK_PARTY_PAYLOAD);
         DimTrMod.LOGGER.info(Constants.LOG_NETWORK_OPERATIONAL);
     }
@@ -0,0 +1,57 @@
+package net.mirai.dimtr.network;
+
+import io.netty.buffer.ByteBuf;
+import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.data.PartyManager;
+import net.mirai.dimtr.data.ProgressionManager;
+import net.mirai.dimtr.sync.SyncManager;
+import net.mirai.dimtr.util.Constants;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Pedido do cliente por um snapshot completo de progressão
+ *
+ * Enviado quando o cliente detecta uma lacuna na sequência de
+ * {@link DeltaUpdateSystem.ProgressionDeltaPacket} (ou falha ao aplicá-los).
+ */
+public record RequestProgressionResyncPayload() implements CustomPacketPayload {
+
+    public static final Type<RequestProgressionResyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(Constants.MOD_ID, "request_progression_resync"));
+
+    public static final StreamCodec<ByteBuf, RequestProgressionResyncPayload> STREAM_CODEC =
+            StreamCodec.unit(new RequestProgressionResyncPayload());
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    public static void handle(RequestProgressionResyncPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            if (!(context.player() instanceof ServerPlayer player)) {
+                return;
+            }
+            if (!DeltaUpdateSystem.allowResync(player.getUUID())) {
+                // 🔧 CORREÇÃO: O cliente pede uma única vez por lacuna; não descartar o pedido.
+                // Pedidos repetidos se fundem em um snapshot completo no flush do SyncManager.
+                SyncManager.schedule(player.getUUID(), SyncManager.SYNC_FULL, false);
+                return;
+            }
+
+            // Mesmo critério do login: o cliente exibe o progresso da party quando está em uma
+            PartyManager partyManager = PartyManager.get(player.serverLevel());
+            if (partyManager.isPlayerInParty(player.getUUID())) {
+                partyManager.sendPartyProgressionToClient(player);
+            } else {
+                ProgressionManager.get(player.serverLevel()).sendToClient(player);
+            }
+
+            DimTrMod.LOGGER.debug("🔄 Resync de progressão enviado para {}", player.getName().getString());
+        });
+    }
+}
@@ -12,8 +12,10 @@ import net.neoforged.neoforge.network.handling.IPayloadContext;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public record UpdatePartyToClientPayload(
@@ -38,7 +40,10 @@ public record UpdatePartyToClientPayload(
         // 🎯 NOVO: Custom Phases data
         Map<String, Boolean> sharedCustomPhaseCompletion,
         Map<String, Map<String, Integer>> sharedCustomMobKills,
-        Map<String, Map<String, Boolean>> sharedCustomObjectiveCompletion
+        Map<String, Map<String, Boolean>> sharedCustomObjectiveCompletion,
+
+        // 🎯 PERFORMANCE: IDs das chaves (mobs e custom phases) para a conexão de destino
+        KeyDictionary.Table keys
 ) implements CustomPacketPayload {
 
     public static final Type<UpdatePartyToClientPayload> TYPE = new Type<>(
@@ -80,13 +85,6 @@ public record UpdatePartyToClientPayload(
             ByteBufCodecs.DOUBLE.encode(buf, payload.progressionMultiplier);
             ByteBufCodecs.VAR_INT.encode(buf, payload.memberCount);
 
-            // Shared mob kills
-            ByteBufCodecs.VAR_INT.encode(buf, payload.sharedMobKills.size());
-            for (Map.Entry<String, Integer> entry : payload.sharedMobKills.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-                ByteBufCodecs.VAR_INT.encode(buf, entry.getValue());
-            }
-
             // Objetivos especiais
             buf.writeBoolean(payload.sharedElderGuardianKilled);
             buf.writeBoolean(payload.sharedRaidWon);
@@ -97,31 +95,15 @@ public record UpdatePartyToClientPayload(
             buf.writeBoolean(payload.phase1SharedCompleted);
             buf.writeBoolean(payload.phase2SharedCompleted);
 
-            // 🎯 NOVO: Custom Phases data
-            ByteBufCodecs.VAR_INT.encode(buf, payload.sharedCustomPhaseCompletion.size());
-            for (Map.Entry<String, Boolean> entry : payload.sharedCustomPhaseCompletion.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-                buf.writeBoolean(entry.getValue());
-            }
+            // 🎯 NOVO: Custom Phases data (chaves novas para a conexão + IDs)
+            KeyDictionary.Table table = KeyDictionary.writeCustomMaps(buf, payload.keys, payload.sharedMobKills.keySet(),
+                    payload.sharedCustomPhaseCompletion, payload.sharedCustomMobKills, payload.sharedCustomObjectiveCompletion);
 
-            ByteBufCodecs.VAR_INT.encode(buf, payload.sharedCustomMobKills.size());
-            for (Map.Entry<String, Map<String, Integer>> entry : payload.sharedCustomMobKills.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-                ByteBufCodecs.VAR_INT.encode(buf, entry.getValue().size());
-                for (Map.Entry<String, Integer> subEntry : entry.getValue().entrySet()) {
-                    ByteBufCodecs.STRING_UTF8.encode(buf, subEntry.getKey());
-                    ByteBufCodecs.VAR_INT.encode(buf, subEntry.getValue());
-                }
-            }
-
-            ByteBufCodecs.VAR_INT.encode(buf, payload.sharedCustomObjectiveCompletion.size());
-            for (Map.Entry<String, Map<String, Boolean>> entry : payload.sharedCustomObjectiveCompletion.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-                ByteBufCodecs.VAR_INT.encode(buf, entry.getValue().size());
-                for (Map.Entry<String, Boolean> subEntry : entry.getValue().entrySet()) {
-                    ByteBufCodecs.STRING_UTF8.encode(buf, subEntry.getKey());
-                    buf.writeBoolean(subEntry.getValue());
-                }
+            // Shared mob kills (nomes pelo mesmo dicionário)
+            ByteBufCodecs.VAR_INT.encode(buf, payload.sharedMobKills.size());
+            for (Map.Entry<String, Integer> entry : payload.sharedMobKills.entrySet()) {
+                ByteBufCodecs.VAR_INT.encode(buf, table.id(entry.getKey()));
+                ByteBufCodecs.VAR_INT.encode(buf, entry.getValue());
             }
         }
 
@@ -143,15 +125,6 @@ public record UpdatePartyToClientPayload(
             double progressionMultiplier = ByteBufCodecs.DOUBLE.decode(buf);
             int memberCount = ByteBufCodecs.VAR_INT.decode(buf);
 
-            // Shared mob kills
-            int mobKillsSize = ByteBufCodecs.VAR_INT.decode(buf);
-            Map<String, Integer> sharedMobKills = new HashMap<>();
-            for (int i = 0; i < mobKillsSize; i++) {
-                String mobType = ByteBufCodecs.STRING_UTF8.decode(buf);
-                int kills = ByteBufCodecs.VAR_INT.decode(buf);
-                sharedMobKills.put(mobType, kills);
-            }
-
             // Objetivos especiais
             boolean sharedElderGuardianKilled = buf.readBoolean();
             boolean sharedRaidWon = buf.readBoolean();
@@ -163,40 +136,15 @@ public record UpdatePartyToClientPayload(
             boolean phase2SharedCompleted = buf.readBoolean();
 
             // 🎯 NOVO: Custom Phases data
-            int customPhaseSize = ByteBufCodecs.VAR_INT.decode(buf);
-            Map<String, Boolean> sharedCustomPhaseCompletion = new HashMap<>();
-            for (int i = 0; i < customPhaseSize; i++) {
-                String phaseId = ByteBufCodecs.STRING_UTF8.decode(buf);
-                boolean completed = buf.readBoolean();
-                sharedCustomPhaseCompletion.put(phaseId, completed);
-            }
-
-            int customMobKillsSize = ByteBufCodecs.VAR_INT.decode(buf);
-            Map<String, Map<String, Integer>> sharedCustomMobKills = new HashMap<>();
-            for (int i = 0; i < customMobKillsSize; i++) {
-                String mobType = ByteBufCodecs.STRING_UTF8.decode(buf);
-                int customKillCountSize = ByteBufCodecs.VAR_INT.decode(buf);
-                Map<String, Integer> killCounts = new HashMap<>();
-                for (int j = 0; j < customKillCountSize; j++) {
-                    String customId = ByteBufCodecs.STRING_UTF8.decode(buf);
-                    int count = ByteBufCodecs.VAR_INT.decode(buf);
-                    killCounts.put(customId, count);
-                }
-                sharedCustomMobKills.put(mobType, killCounts);
-            }
+            KeyDictionary.Decoded custom = KeyDictionary.readCustomMaps(buf);
 
-            int customObjectivesSize = ByteBufCodecs.VAR_INT.decode(buf);
-            Map<String, Map<String, Boolean>> sharedCustomObjectiveCompletion = new HashMap<>();
-            for (int i = 0; i < customObjectivesSize; i++) {
-                String objectiveId = ByteBufCodecs.STRING_UTF8.decode(buf);
-                int customObjectiveSize = ByteBufCodecs.VAR_INT.decode(buf);
-                Map<String, Boolean> customObjectives = new HashMap<>();
-                for (int j = 0; j < customObjectiveSize; j++) {
-                    String customId = ByteBufCodecs.STRING_UTF8.decode(buf);
-                    boolean completed = buf.readBoolean();
-                    customObjectives.put(customId, completed);
-                }
-                sharedCustomObjectiveCompletion.put(objectiveId, customObjectives);
+            // Shared mob kills
+            int mobKillsSize = ByteBufCodecs.VAR_INT.decode(buf);
+            Map<String, Integer> sharedMobKills = new HashMap<>();
+            for (int i = 0; i < mobKillsSize; i++) {
+                String mobType = custom.key(ByteBufCodecs.VAR_INT.decode(buf));
+                int kills = ByteBufCodecs.VAR_INT.decode(buf);
+                sharedMobKills.put(mobType, kills);
             }
 
             return new UpdatePartyToClientPayload(
@@ -204,11 +152,30 @@ public record UpdatePartyToClientPayload(
                     memberCount, sharedMobKills, sharedElderGuardianKilled, sharedRaidWon,
                     sharedTrialVaultAdvancementEarned, sharedVoluntaireExileAdvancementEarned,
                     sharedWitherKilled, sharedWardenKilled, phase1SharedCompleted, phase2SharedCompleted,
-                    sharedCustomPhaseCompletion, sharedCustomMobKills, sharedCustomObjectiveCompletion
+                    custom.maps().phaseCompletion(), custom.maps().mobKills(), custom.maps().objectiveCompletion(),
+                    KeyDictionary.Table.INLINE
             );
         }
     };
 
+    /**
+     * Cópia do payload com os IDs do dicionário da conexão do jogador
+     * (chamar na thread do servidor imediatamente antes do envio)
+     */
+    public UpdatePartyToClientPayload forConnection(UUID playerId) {
+        Set<String> keySet = new LinkedHashSet<>(sharedMobKills.keySet());
+        keySet.addAll(KeyDictionary.collectKeys(
+                sharedCustomPhaseCompletion, sharedCustomMobKills, sharedCustomObjectiveCompletion));
+        return new UpdatePartyToClientPayload(
+                partyId, partyName, isPublic, leaderId, members, progressionMultiplier,
+                memberCount, sharedMobKills, sharedElderGuardianKilled, sharedRaidWon,
+                sharedTrialVaultAdvancementEarned, sharedVoluntaireExileAdvancementEarned,
+                sharedWitherKilled, sharedWardenKilled, phase1SharedCompleted, phase2SharedCompleted,
+                sharedCustomPhaseCompletion, sharedCustomMobKills, sharedCustomObjectiveCompletion,
+                KeyDictionary.tableFor(playerId, keySet)
+        );
+    }
+
     public static void handle(UpdatePartyToClientPayload payload, IPayloadContext context) {
         context.enqueueWork(() -> {
             try {
@@ -1,25 +1,37 @@
 package net.mirai.dimtr.network;
 
-import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
 import net.mirai.dimtr.client.ClientProgressionData;
+import net.mirai.dimtr.config.DimTrConfig;
 import net.mirai.dimtr.util.Constants;
-import net.minecraft.network.codec.ByteBufCodecs;
+import net.mirai.dimtr.util.MobRegistry;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.common.ModConfigSpec;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 
-import java.util.Map;
 import java.util.HashMap;
-
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Snapshot completo de progressão enviado ao cliente
+ *
+ * 🎯 PERFORMANCE: Formato compacto e versionado ({@link #WIRE_VERSION}):
+ * - Objetivos e flags em um único bitset
+ * - Contadores e requisitos como varints, na ordem dos IDs do {@link MobRegistry},
+ *   precedidos de uma máscara de presença; valores padrão (0 kills, requisito
+ *   padrão da config) não são escritos
+ * - Chaves das custom phases pelo {@link KeyDictionary} da conexão: cada
+ *   string vai ao cliente uma única vez por sessão, depois só o ID
+ */
 public record UpdateProgressionToClientPayload(
-        // Objetivos originais (mantidos para compatibilidade)
+        // Objetivos originais
         boolean elderGuardianKilled,
         boolean raidWon,
-        boolean ravagerKilled, // Compatibilidade
-        boolean evokerKilled, // Compatibilidade
         boolean trialVaultAdvancementEarned,
         boolean voluntaireExileAdvancementEarned,
         boolean phase1Completed,
@@ -29,8 +41,6 @@ public record UpdateProgressionToClientPayload(
 
         // Contadores de mobs - Fase 1
         int zombieKills,
-        // ✅ REMOVIDO: zombieVillagerKills - manter só para compatibilidade no payload mas sempre 0
-        int zombieVillagerKills,
         int skeletonKills,
         int strayKills,
         int huskKills,
@@ -54,14 +64,10 @@ public record UpdateProgressionToClientPayload(
         int hoglinKills,
         int zoglinKills,
         int ghastKills,
-        // ✅ REMOVIDO: endermiteKills - manter só para compatibilidade no payload mas sempre 0
-        int endermiteKills,
         int piglinKills,
 
-        // NOVO: Configurações de requisitos sincronizadas
+        // Configurações de requisitos sincronizadas
         int reqZombieKills,
-        // ✅ REMOVIDO: reqZombieVillagerKills - sempre 0
-        int reqZombieVillagerKills,
         int reqSkeletonKills,
         int reqStrayKills,
         int reqHuskKills,
@@ -75,32 +81,80 @@ public record UpdateProgressionToClientPayload(
         int reqVindicatorKills,
         int reqBoggedKills,
         int reqBreezeKills,
-        int reqRavagerKills, // VALOR CORRETO: 1
-        int reqEvokerKills,  // VALOR CORRETO: 5
+        int reqRavagerKills,
+        int reqEvokerKills,
         int reqBlazeKills,
         int reqWitherSkeletonKills,
         int reqPiglinBruteKills,
-        int reqHoglinKills,  // VALOR CORRETO: 1
-        int reqZoglinKills,  // VALOR CORRETO: 1
+        int reqHoglinKills,
+        int reqZoglinKills,
         int reqGhastKills,
-        // ✅ REMOVIDO: reqEndermiteKills - sempre 0
-        int reqEndermiteKills,
         int reqPiglinKills,
-        // NOVO: Configuração específica para Voluntary Exile
+        // Configuração específica para Voluntary Exile
         boolean serverReqVoluntaryExile,
 
         // 🎯 NOVO: Dados de Custom Phases
         Map<String, Boolean> customPhaseCompletion,
         Map<String, Map<String, Integer>> customMobKills,
-        Map<String, Map<String, Boolean>> customObjectiveCompletion
+        Map<String, Map<String, Boolean>> customObjectiveCompletion,
+
+        // IDs das chaves de custom phases para a conexão de destino
+        KeyDictionary.Table keys
 ) implements CustomPacketPayload {
 
     public static final Type<UpdateProgressionToClientPayload> TYPE =
             new Type<>(ResourceLocation.fromNamespaceAndPath(Constants.MOD_ID, "update_progression_to_client"));
 
-    public static final StreamCodec<ByteBuf, UpdateProgressionToClientPayload> STREAM_CODEC =
+    public static final StreamCodec<FriendlyByteBuf, UpdateProgressionToClientPayload> STREAM_CODEC =
             StreamCodec.of(UpdateProgressionToClientPayload::encode, UpdateProgressionToClientPayload::decode);
 
+    // Versão do formato de rede: incrementar a cada mudança de layout
+    private static final int WIRE_VERSION = 3;
+
+    // Bits do bitset de flags
+    private static final int FLAG_ELDER_GUARDIAN = 1;
+    private static final int FLAG_RAID = 1 << 1;
+    private static final int FLAG_TRIAL_VAULT = 1 << 2;
+    private static final int FLAG_VOLUNTARY_EXILE = 1 << 3;
+    private static final int FLAG_PHASE1 = 1 << 4;
+    private static final int FLAG_WITHER = 1 << 5;
+    private static final int FLAG_WARDEN = 1 << 6;
+    private static final int FLAG_PHASE2 = 1 << 7;
+    private static final int FLAG_SERVER_REQ_VOLUNTARY_EXILE = 1 << 8;
+
+    // Requisitos na ordem dos IDs do MobRegistry (0 até TRACKED_VANILLA_COUNT - 1)
+    private static final List<ModConfigSpec.IntValue> REQUIREMENT_CONFIGS = List.of(
+            DimTrConfig.SERVER.reqZombieKills,
+            DimTrConfig.SERVER.reqSkeletonKills,
+            DimTrConfig.SERVER.reqStrayKills,
+            DimTrConfig.SERVER.reqHuskKills,
+            DimTrConfig.SERVER.reqSpiderKills,
+            DimTrConfig.SERVER.reqCreeperKills,
+            DimTrConfig.SERVER.reqDrownedKills,
+            DimTrConfig.SERVER.reqEndermanKills,
+            DimTrConfig.SERVER.reqWitchKills,
+            DimTrConfig.SERVER.reqPillagerKills,
+            DimTrConfig.SERVER.reqCaptainKills,
+            DimTrConfig.SERVER.reqVindicatorKills,
+            DimTrConfig.SERVER.reqBoggedKills,
+            DimTrConfig.SERVER.reqBreezeKills,
+            DimTrConfig.SERVER.reqRavagerKills,
+            DimTrConfig.SERVER.reqEvokerKills,
+            DimTrConfig.SERVER.reqBlazeKills,
+            DimTrConfig.SERVER.reqWitherSkeletonKills,
+            DimTrConfig.SERVER.reqPiglinBruteKills,
+            DimTrConfig.SERVER.reqHoglinKills,
+            DimTrConfig.SERVER.reqZoglinKills,
+            DimTrConfig.SERVER.reqGhastKills,
+            DimTrConfig.SERVER.reqPiglinKills
+    );
+
+    // Valores omitidos do payload: 0 kills e o requisito padrão da config
+    private static final int[] DEFAULT_KILLS = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+    private static final int[] DEFAULT_REQUIREMENTS = REQUIREMENT_CONFIGS.stream()
+            .mapToInt(ModConfigSpec.IntValue::getDefault)
+            .toArray();
+
     @Override
     public Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -109,282 +163,221 @@ public record UpdateProgressionToClientPayload(
     // 🎯 NOVO: Método estático para criar payload a partir de PlayerProgressionData
     public static UpdateProgressionToClientPayload createFromPlayerData(
             net.mirai.dimtr.data.PlayerProgressionData playerData) {
-        return new UpdateProgressionToClientPayload(
-                playerData.elderGuardianKilled, playerData.raidWon, false, false,
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        for (int id = 0; id < kills.length; id++) {
+            kills[id] = playerData.getMobKillCount(id);
+        }
+        return fromArrays(
+                playerData.elderGuardianKilled, playerData.raidWon,
                 playerData.trialVaultAdvancementEarned, playerData.voluntaireExileAdvancementEarned,
                 playerData.phase1Completed, playerData.witherKilled, playerData.wardenKilled, playerData.phase2Completed,
-                playerData.zombieKills, 0, playerData.skeletonKills, playerData.strayKills, playerData.huskKills,
-                playerData.spiderKills, playerData.creeperKills, playerData.drownedKills, playerData.endermanKills,
-                playerData.witchKills, playerData.pillagerKills, playerData.captainKills, playerData.vindicatorKills,
-                playerData.boggedKills, playerData.breezeKills, playerData.ravagerKills, playerData.evokerKills,
-                playerData.blazeKills, playerData.witherSkeletonKills, playerData.piglinBruteKills,
-                playerData.hoglinKills, playerData.zoglinKills, playerData.ghastKills, 0, playerData.piglinKills,
-                // Configurações do servidor
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqZombieKills.get(), 0,
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqSkeletonKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqStrayKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqHuskKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqSpiderKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqCreeperKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqDrownedKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqEndermanKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqWitchKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqPillagerKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqCaptainKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqVindicatorKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqBoggedKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqBreezeKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqRavagerKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqEvokerKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqBlazeKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqWitherSkeletonKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqPiglinBruteKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqHoglinKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqZoglinKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqGhastKills.get(),
-                0, // endermiteKills sempre 0
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqPiglinKills.get(),
-                net.mirai.dimtr.config.DimTrConfig.SERVER.reqVoluntaryExile.get(),
-                // 🎯 NOVO: Custom phase data from player
-                playerData.getCustomPhaseCompletionMap(),
-                playerData.getCustomMobKillsMap(),
-                playerData.getCustomObjectiveCompletionMap()
+                kills,
+                currentRequirements(),
+                DimTrConfig.SERVER.reqVoluntaryExile.get(),
+                // 🎯 NOVO: Custom phase data from player (cópias: os IDs do dicionário
+                // são atribuídos para estas chaves e o payload é codificado em outra thread)
+                new HashMap<>(playerData.getCustomPhaseCompletionMap()),
+                copyNested(playerData.getCustomMobKillsMap()),
+                copyNested(playerData.getCustomObjectiveCompletionMap())
         );
     }
 
-    private static void encode(ByteBuf buf, UpdateProgressionToClientPayload payload) {
-        // Objetivos (booleans)
-        buf.writeBoolean(payload.elderGuardianKilled);
-        buf.writeBoolean(payload.raidWon);
-        buf.writeBoolean(payload.ravagerKilled);
-        buf.writeBoolean(payload.evokerKilled);
-        buf.writeBoolean(payload.trialVaultAdvancementEarned);
-        buf.writeBoolean(payload.voluntaireExileAdvancementEarned);
-        buf.writeBoolean(payload.phase1Completed);
-        buf.writeBoolean(payload.witherKilled);
-        buf.writeBoolean(payload.wardenKilled);
-        buf.writeBoolean(payload.phase2Completed);
-
-        // Contadores Fase 1
-        buf.writeInt(payload.zombieKills);
-        buf.writeInt(payload.zombieVillagerKills); // ✅ SEMPRE 0
-        buf.writeInt(payload.skeletonKills);
-        buf.writeInt(payload.strayKills);
-        buf.writeInt(payload.huskKills);
-        buf.writeInt(payload.spiderKills);
-        buf.writeInt(payload.creeperKills);
-        buf.writeInt(payload.drownedKills);
-        buf.writeInt(payload.endermanKills);
-        buf.writeInt(payload.witchKills);
-        buf.writeInt(payload.pillagerKills);
-        buf.writeInt(payload.captainKills);
-        buf.writeInt(payload.vindicatorKills);
-        buf.writeInt(payload.boggedKills);
-        buf.writeInt(payload.breezeKills);
-        buf.writeInt(payload.ravagerKills);
-        buf.writeInt(payload.evokerKills);
-
-        // Contadores Fase 2
-        buf.writeInt(payload.blazeKills);
-        buf.writeInt(payload.witherSkeletonKills);
-        buf.writeInt(payload.piglinBruteKills);
-        buf.writeInt(payload.hoglinKills);
-        buf.writeInt(payload.zoglinKills);
-        buf.writeInt(payload.ghastKills);
-        buf.writeInt(payload.endermiteKills); // ✅ SEMPRE 0
-        buf.writeInt(payload.piglinKills);
-
-        // NOVO: Configurações de requisitos
-        buf.writeInt(payload.reqZombieKills);
-        buf.writeInt(payload.reqZombieVillagerKills); // ✅ SEMPRE 0
-        buf.writeInt(payload.reqSkeletonKills);
-        buf.writeInt(payload.reqStrayKills);
-        buf.writeInt(payload.reqHuskKills);
-        buf.writeInt(payload.reqSpiderKills);
-        buf.writeInt(payload.reqCreeperKills);
-        buf.writeInt(payload.reqDrownedKills);
-        buf.writeInt(payload.reqEndermanKills);
-        buf.writeInt(payload.reqWitchKills);
-        buf.writeInt(payload.reqPillagerKills);
-        buf.writeInt(payload.reqCaptainKills);
-        buf.writeInt(payload.reqVindicatorKills);
-        buf.writeInt(payload.reqBoggedKills);
-        buf.writeInt(payload.reqBreezeKills);
-        buf.writeInt(payload.reqRavagerKills);
-        buf.writeInt(payload.reqEvokerKills);
-        buf.writeInt(payload.reqBlazeKills);
-        buf.writeInt(payload.reqWitherSkeletonKills);
-        buf.writeInt(payload.reqPiglinBruteKills);
-        buf.writeInt(payload.reqHoglinKills);
-        buf.writeInt(payload.reqZoglinKills);
-        buf.writeInt(payload.reqGhastKills);
-        buf.writeInt(payload.reqEndermiteKills); // ✅ SEMPRE 0
-        buf.writeInt(payload.reqPiglinKills);
-
-        // NOVO: Configuração Voluntary Exile
-        buf.writeBoolean(payload.serverReqVoluntaryExile);
-
-        // NOVO: Dados de Custom Phases
-        buf.writeInt(payload.customPhaseCompletion.size());
-        for (Map.Entry<String, Boolean> entry : payload.customPhaseCompletion.entrySet()) {
-            ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-            buf.writeBoolean(entry.getValue());
-        }
+    private static <V> Map<String, Map<String, V>> copyNested(Map<String, Map<String, V>> source) {
+        Map<String, Map<String, V>> copy = new HashMap<>();
+        source.forEach((key, inner) -> copy.put(key, new HashMap<>(inner)));
+        return copy;
+    }
 
-        // NOVO: Dados de Custom Mob Kills
-        buf.writeInt(payload.customMobKills.size());
-        for (Map.Entry<String, Map<String, Integer>> entry : payload.customMobKills.entrySet()) {
-            ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-            Map<String, Integer> mobKills = entry.getValue();
-            buf.writeInt(mobKills.size());
-            for (Map.Entry<String, Integer> mobEntry : mobKills.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, mobEntry.getKey());
-                buf.writeInt(mobEntry.getValue());
-            }
-        }
+    /**
+     * Cópia do payload com os IDs do dicionário da conexão do jogador
+     * (chamar na thread do servidor imediatamente antes do envio)
+     */
+    public UpdateProgressionToClientPayload forConnection(UUID playerId) {
+        KeyDictionary.Table table = KeyDictionary.tableFor(playerId,
+                KeyDictionary.collectKeys(customPhaseCompletion, customMobKills, customObjectiveCompletion));
+        return withKeys(table);
+    }
 
-        // NOVO: Dados de Custom Objective Completion
-        buf.writeInt(payload.customObjectiveCompletion.size());
-        for (Map.Entry<String, Map<String, Boolean>> entry : payload.customObjectiveCompletion.entrySet()) {
-            ByteBufCodecs.STRING_UTF8.encode(buf, entry.getKey());
-            Map<String, Boolean> objectiveCompletion = entry.getValue();
-            buf.writeInt(objectiveCompletion.size());
-            for (Map.Entry<String, Boolean> objEntry : objectiveCompletion.entrySet()) {
-                ByteBufCodecs.STRING_UTF8.encode(buf, objEntry.getKey());
-                buf.writeBoolean(objEntry.getValue());
-            }
+    private UpdateProgressionToClientPayload withKeys(KeyDictionary.Table table) {
+        return fromArrays(
+                elderGuardianKilled, raidWon, trialVaultAdvancementEarned, voluntaireExileAdvancementEarned,
+                phase1Completed, witherKilled, wardenKilled, phase2Completed,
+                killCounts(), requirements(), serverReqVoluntaryExile,
+                customPhaseCompletion, customMobKills, customObjectiveCompletion, table);
+    }
+
+    /**
+     * Requisitos atuais da config do servidor, na ordem dos IDs do MobRegistry
+     */
+    public static int[] currentRequirements() {
+        int[] requirements = new int[REQUIREMENT_CONFIGS.size()];
+        for (int id = 0; id < requirements.length; id++) {
+            requirements[id] = REQUIREMENT_CONFIGS.get(id).get();
         }
+        return requirements;
+    }
+
+    /**
+     * Requisitos padrão da config (omitidos do payload), na ordem dos IDs do MobRegistry
+     */
+    static int[] defaultRequirements() {
+        return DEFAULT_REQUIREMENTS.clone();
+    }
+
+    /**
+     * Criar payload a partir de arrays indexados pelos IDs do MobRegistry
+     */
+    public static UpdateProgressionToClientPayload fromArrays(
+            boolean elderGuardianKilled, boolean raidWon,
+            boolean trialVaultAdvancementEarned, boolean voluntaireExileAdvancementEarned,
+            boolean phase1Completed, boolean witherKilled, boolean wardenKilled, boolean phase2Completed,
+            int[] kills, int[] requirements, boolean serverReqVoluntaryExile,
+            Map<String, Boolean> customPhaseCompletion,
+            Map<String, Map<String, Integer>> customMobKills,
+            Map<String, Map<String, Boolean>> customObjectiveCompletion) {
+        return fromArrays(
+                elderGuardianKilled, raidWon, trialVaultAdvancementEarned, voluntaireExileAdvancementEarned,
+                phase1Completed, witherKilled, wardenKilled, phase2Completed,
+                kills, requirements, serverReqVoluntaryExile,
+                customPhaseCompletion, customMobKills, customObjectiveCompletion, KeyDictionary.Table.INLINE);
+    }
+
+    private static UpdateProgressionToClientPayload fromArrays(
+            boolean elderGuardianKilled, boolean raidWon,
+            boolean trialVaultAdvancementEarned, boolean voluntaireExileAdvancementEarned,
+            boolean phase1Completed, boolean witherKilled, boolean wardenKilled, boolean phase2Completed,
+            int[] kills, int[] requirements, boolean serverReqVoluntaryExile,
+            Map<String, Boolean> customPhaseCompletion,
+            Map<String, Map<String, Integer>> customMobKills,
+            Map<String, Map<String, Boolean>> customObjectiveCompletion,
+            KeyDictionary.Table keys) {
+        return new UpdateProgressionToClientPayload(
+                elderGuardianKilled, raidWon, trialVaultAdvancementEarned, voluntaireExileAdvancementEarned,
+                phase1Completed, witherKilled, wardenKilled, phase2Completed,
+                kills[MobRegistry.ZOMBIE], kills[MobRegistry.SKELETON], kills[MobRegistry.STRAY], kills[MobRegistry.HUSK], kills[MobRegistry.SPIDER], kills[MobRegistry.CREEPER], kills[MobRegistry.DROWNED], kills[MobRegistry.ENDERMAN],
+                kills[MobRegistry.WITCH], kills[MobRegistry.PILLAGER], kills[MobRegistry.CAPTAIN], kills[MobRegistry.VINDICATOR], kills[MobRegistry.BOGGED], kills[MobRegistry.BREEZE], kills[MobRegistry.RAVAGER], kills[MobRegistry.EVOKER],
+                kills[MobRegistry.BLAZE], kills[MobRegistry.WITHER_SKELETON], kills[MobRegistry.PIGLIN_BRUTE], kills[MobRegistry.HOGLIN], kills[MobRegistry.ZOGLIN], kills[MobRegistry.GHAST], kills[MobRegistry.PIGLIN],
+                requirements[MobRegistry.ZOMBIE], requirements[MobRegistry.SKELETON], requirements[MobRegistry.STRAY], requirements[MobRegistry.HUSK], requirements[MobRegistry.SPIDER], requirements[MobRegistry.CREEPER],
+                requirements[MobRegistry.DROWNED], requirements[MobRegistry.ENDERMAN], requirements[MobRegistry.WITCH], requirements[MobRegistry.PILLAGER], requirements[MobRegistry.CAPTAIN], requirements[MobRegistry.VINDICATOR],
+                requirements[MobRegistry.BOGGED], requirements[MobRegistry.BREEZE], requirements[MobRegistry.RAVAGER], requirements[MobRegistry.EVOKER], requirements[MobRegistry.BLAZE], requirements[MobRegistry.WITHER_SKELETON],
+                requirements[MobRegistry.PIGLIN_BRUTE], requirements[MobRegistry.HOGLIN], requirements[MobRegistry.ZOGLIN], requirements[MobRegistry.GHAST], requirements[MobRegistry.PIGLIN],
+                serverReqVoluntaryExile,
+                customPhaseCompletion, customMobKills, customObjectiveCompletion, keys
+        );
+    }
+
+    /**
+     * Contadores de kills indexados pelos IDs do MobRegistry
+     */
+    public int[] killCounts() {
+        return new int[] {
+                zombieKills, skeletonKills, strayKills, huskKills, spiderKills, creeperKills, drownedKills, endermanKills,
+                witchKills, pillagerKills, captainKills, vindicatorKills, boggedKills, breezeKills, ravagerKills, evokerKills,
+                blazeKills, witherSkeletonKills, piglinBruteKills, hoglinKills, zoglinKills, ghastKills, piglinKills
+        };
+    }
+
+    /**
+     * Requisitos indexados pelos IDs do MobRegistry
+     */
+    public int[] requirements() {
+        return new int[] {
+                reqZombieKills, reqSkeletonKills, reqStrayKills, reqHuskKills, reqSpiderKills, reqCreeperKills,
+                reqDrownedKills, reqEndermanKills, reqWitchKills, reqPillagerKills, reqCaptainKills, reqVindicatorKills,
+                reqBoggedKills, reqBreezeKills, reqRavagerKills, reqEvokerKills, reqBlazeKills, reqWitherSkeletonKills,
+                reqPiglinBruteKills, reqHoglinKills, reqZoglinKills, reqGhastKills, reqPiglinKills
+        };
+    }
+
+    // ============================================================================
+    // CODEC
+    // ============================================================================
+
+    private static void encode(FriendlyByteBuf buf, UpdateProgressionToClientPayload payload) {
+        buf.writeVarInt(WIRE_VERSION);
+
+        int flags = 0;
+        if (payload.elderGuardianKilled) flags |= FLAG_ELDER_GUARDIAN;
+        if (payload.raidWon) flags |= FLAG_RAID;
+        if (payload.trialVaultAdvancementEarned) flags |= FLAG_TRIAL_VAULT;
+        if (payload.voluntaireExileAdvancementEarned) flags |= FLAG_VOLUNTARY_EXILE;
+        if (payload.phase1Completed) flags |= FLAG_PHASE1;
+        if (payload.witherKilled) flags |= FLAG_WITHER;
+        if (payload.wardenKilled) flags |= FLAG_WARDEN;
+        if (payload.phase2Completed) flags |= FLAG_PHASE2;
+        if (payload.serverReqVoluntaryExile) flags |= FLAG_SERVER_REQ_VOLUNTARY_EXILE;
+        buf.writeVarInt(flags);
+
+        // Kills: padrão 0 (a maioria no início do jogo)
+        writeSparse(buf, payload.killCounts(), DEFAULT_KILLS);
+        // Requisitos: padrão da config (servidores raramente alteram todos)
+        writeSparse(buf, payload.requirements(), DEFAULT_REQUIREMENTS);
+
+        // Chaves das custom phases: só as novas para esta conexão, o resto por ID
+        KeyDictionary.writeCustomMaps(buf, payload.keys, List.of(),
+                payload.customPhaseCompletion, payload.customMobKills, payload.customObjectiveCompletion);
     }
 
-    private static UpdateProgressionToClientPayload decode(ByteBuf buf) {
-        // Objetivos
-        boolean elderGuardianKilled = buf.readBoolean();
-        boolean raidWon = buf.readBoolean();
-        boolean ravagerKilled = buf.readBoolean();
-        boolean evokerKilled = buf.readBoolean();
-        boolean trialVaultAdvancementEarned = buf.readBoolean();
-        boolean voluntaireExileAdvancementEarned = buf.readBoolean();
-        boolean phase1Completed = buf.readBoolean();
-        boolean witherKilled = buf.readBoolean();
-        boolean wardenKilled = buf.readBoolean();
-        boolean phase2Completed = buf.readBoolean();
-
-        // Contadores Fase 1
-        int zombieKills = buf.readInt();
-        int zombieVillagerKills = buf.readInt(); // ✅ SEMPRE 0
-        int skeletonKills = buf.readInt();
-        int strayKills = buf.readInt();
-        int huskKills = buf.readInt();
-        int spiderKills = buf.readInt();
-        int creeperKills = buf.readInt();
-        int drownedKills = buf.readInt();
-        int endermanKills = buf.readInt();
-        int witchKills = buf.readInt();
-        int pillagerKills = buf.readInt();
-        int captainKills = buf.readInt();
-        int vindicatorKills = buf.readInt();
-        int boggedKills = buf.readInt();
-        int breezeKills = buf.readInt();
-        int ravagerKills = buf.readInt();
-        int evokerKills = buf.readInt();
-
-        // Contadores Fase 2
-        int blazeKills = buf.readInt();
-        int witherSkeletonKills = buf.readInt();
-        int piglinBruteKills = buf.readInt();
-        int hoglinKills = buf.readInt();
-        int zoglinKills = buf.readInt();
-        int ghastKills = buf.readInt();
-        int endermiteKills = buf.readInt(); // ✅ SEMPRE 0
-        int piglinKills = buf.readInt();
-
-        // NOVO: Configurações de requisitos
-        int reqZombieKills = buf.readInt();
-        int reqZombieVillagerKills = buf.readInt(); // ✅ SEMPRE 0
-        int reqSkeletonKills = buf.readInt();
-        int reqStrayKills = buf.readInt();
-        int reqHuskKills = buf.readInt();
-        int reqSpiderKills = buf.readInt();
-        int reqCreeperKills = buf.readInt();
-        int reqDrownedKills = buf.readInt();
-        int reqEndermanKills = buf.readInt();
-        int reqWitchKills = buf.readInt();
-        int reqPillagerKills = buf.readInt();
-        int reqCaptainKills = buf.readInt();
-        int reqVindicatorKills = buf.readInt();
-        int reqBoggedKills = buf.readInt();
-        int reqBreezeKills = buf.readInt();
-        int reqRavagerKills = buf.readInt();
-        int reqEvokerKills = buf.readInt();
-        int reqBlazeKills = buf.readInt();
-        int reqWitherSkeletonKills = buf.readInt();
-        int reqPiglinBruteKills = buf.readInt();
-        int reqHoglinKills = buf.readInt();
-        int reqZoglinKills = buf.readInt();
-        int reqGhastKills = buf.readInt();
-        int reqEndermiteKills = buf.readInt(); // ✅ SEMPRE 0
-        int reqPiglinKills = buf.readInt();
-
-        // NOVO: Configuração Voluntary Exile
-        boolean serverReqVoluntaryExile = buf.readBoolean();
-
-        // NOVO: Dados de Custom Phases
-        int customPhaseCompletionSize = buf.readInt();
-        Map<String, Boolean> customPhaseCompletion = new HashMap<>();
-        for (int i = 0; i < customPhaseCompletionSize; i++) {
-            String key = ByteBufCodecs.STRING_UTF8.decode(buf);
-            boolean value = buf.readBoolean();
-            customPhaseCompletion.put(key, value);
+    private static UpdateProgressionToClientPayload decode(FriendlyByteBuf buf) {
+        int version = buf.readVarInt();
+        if (version != WIRE_VERSION) {
+            throw new DecoderException("Versão de progressão incompatível: " + version + " (esperada " + WIRE_VERSION + ")");
         }
 
-        // NOVO: Dados de Custom Mob Kills
-        int customMobKillsSize = buf.readInt();
-        Map<String, Map<String, Integer>> customMobKills = new HashMap<>();
-        for (int i = 0; i < customMobKillsSize; i++) {
-            String key = ByteBufCodecs.STRING_UTF8.decode(buf);
-            int mobKillsSize = buf.readInt();
-            Map<String, Integer> mobKills = new HashMap<>();
-            for (int j = 0; j < mobKillsSize; j++) {
-                String mobKey = ByteBufCodecs.STRING_UTF8.decode(buf);
-                int mobValue = buf.readInt();
-                mobKills.put(mobKey, mobValue);
+        int flags = buf.readVarInt();
+        int[] kills = readSparse(buf, DEFAULT_KILLS);
+        int[] requirements = readSparse(buf, DEFAULT_REQUIREMENTS);
+
+        KeyDictionary.CustomMaps custom = KeyDictionary.readCustomMaps(buf).maps();
+
+        return fromArrays(
+                (flags & FLAG_ELDER_GUARDIAN) != 0,
+                (flags & FLAG_RAID) != 0,
+                (flags & FLAG_TRIAL_VAULT) != 0,
+                (flags & FLAG_VOLUNTARY_EXILE) != 0,
+                (flags & FLAG_PHASE1) != 0,
+                (flags & FLAG_WITHER) != 0,
+                (flags & FLAG_WARDEN) != 0,
+                (flags & FLAG_PHASE2) != 0,
+                kills,
+                requirements,
+                (flags & FLAG_SERVER_REQ_VOLUNTARY_EXILE) != 0,
+                custom.phaseCompletion(),
+                custom.mobKills(),
+                custom.objectiveCompletion()
+        );
+    }
+
+    /**
+     * Escrever máscara de presença + varints dos valores diferentes do padrão
+     */
+    private static void writeSparse(FriendlyByteBuf buf, int[] values, int[] defaults) {
+        int mask = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != defaults[i]) {
+                mask |= 1 << i;
             }
-            customMobKills.put(key, mobKills);
         }
-
-        // NOVO: Dados de Custom Objective Completion
-        int customObjectiveCompletionSize = buf.readInt();
-        Map<String, Map<String, Boolean>> customObjectiveCompletion = new HashMap<>();
-        for (int i = 0; i < customObjectiveCompletionSize; i++) {
-            String key = ByteBufCodecs.STRING_UTF8.decode(buf);
-            int objectiveCompletionSize = buf.readInt();
-            Map<String, Boolean> objectiveCompletion = new HashMap<>();
-            for (int j = 0; j < objectiveCompletionSize; j++) {
-                String objKey = ByteBufCodecs.STRING_UTF8.decode(buf);
-                boolean objValue = buf.readBoolean();
-                objectiveCompletion.put(objKey, objValue);
+        buf.writeVarInt(mask);
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                buf.writeVarInt(values[i]);
             }
-            customObjectiveCompletion.put(key, objectiveCompletion);
         }
+    }
 
-        return new UpdateProgressionToClientPayload(
-                elderGuardianKilled, raidWon, ravagerKilled, evokerKilled, trialVaultAdvancementEarned,
-                voluntaireExileAdvancementEarned, phase1Completed, witherKilled, wardenKilled, phase2Completed,
-                zombieKills, zombieVillagerKills, skeletonKills, strayKills, huskKills, spiderKills,
-                creeperKills, drownedKills, endermanKills, witchKills, pillagerKills, captainKills,
-                vindicatorKills, boggedKills, breezeKills, ravagerKills, evokerKills,
-                blazeKills, witherSkeletonKills, piglinBruteKills, hoglinKills, zoglinKills,
-                ghastKills, endermiteKills, piglinKills,
-                reqZombieKills, reqZombieVillagerKills, reqSkeletonKills, reqStrayKills, reqHuskKills,
-                reqSpiderKills, reqCreeperKills, reqDrownedKills, reqEndermanKills, reqWitchKills,
-                reqPillagerKills, reqCaptainKills, reqVindicatorKills, reqBoggedKills, reqBreezeKills,
-                reqRavagerKills, reqEvokerKills, reqBlazeKills, reqWitherSkeletonKills, reqPiglinBruteKills,
-                reqHoglinKills, reqZoglinKills, reqGhastKills, reqEndermiteKills, reqPiglinKills,
-                serverReqVoluntaryExile,
-                customPhaseCompletion,
-                customMobKills,
-                customObjectiveCompletion
-        );
+    /**
+     * Ler valores escritos por {@link #writeSparse}; ausentes ficam com o padrão
+     */
+    private static int[] readSparse(FriendlyByteBuf buf, int[] defaults) {
+        int mask = buf.readVarInt();
+        int[] values = defaults.clone();
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                values[i] = buf.readVarInt();
+            }
+        }
+        return values;
     }
 
     public static void handle(UpdateProgressionToClientPayload payload, IPayloadContext context) {
@@ -0,0 +1,391 @@
+package net.mirai.dimtr.system;
+
+import net.mirai.dimtr.data.ProgressionManager;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🎯 PERFORMANCE: Contêiner de arquivo dos backups
+ *
+ * <pre>
+ *   cabeçalho fixo (sem compressão): magic | versão | flags | jogadores | parties | tamanho do corpo | crc32 do corpo
+ *   cabeçalho variável (sem compressão): tamanho | timestamp | razão | parentId | jogador relacionado | versão do mod
+ *   corpo (um único gzip): registros [tipo][dados] terminados por END
+ * </pre>
+ * Listar backups lê apenas os cabeçalhos (algumas dezenas de bytes por arquivo).
+ * O corpo é gravado registro a registro enquanto os managers entregam os dados,
+ * e lido da mesma forma, sem montar um {@link CompoundTag} com todos os jogadores.
+ *
+ * Contadores, tamanho e checksum só são conhecidos no fim: o cabeçalho fixo é
+ * reservado no início e preenchido antes do fsync e do move atômico.
+ */
+public final class BackupArchive {
+
+    public static final String EXTENSION = ".dtbak";
+
+    private static final int MAGIC = 0x4454424B; // "DTBK"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FIXED_HEADER_SIZE = 36;
+    private static final int MAX_VARIABLE_HEADER_SIZE = 64 * 1024;
+    private static final int MAX_PLAYER_RECORD_SIZE = 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FLAG_INCREMENTAL = 1;
+
+    // Tipos de registro do corpo
+    private static final byte END = 0;
+    private static final byte PLAYER = 1;
+    private static final byte REMOVED_PLAYER = 2;
+    private static final byte PARTY = 3;
+    private static final byte REMOVED_PARTY = 4;
+    private static final byte PARTY_MEMBER = 5;
+
+    /**
+     * Metadados de um backup (parentId vazio e playerId null quando não se aplicam)
+     */
+    public record Header(long timestamp, String reason, boolean incremental, String parentId, UUID playerId,
+                         String modVersion, int playerCount, int partyCount, long bodySize, long checksum) {
+    }
+
+    /**
+     * Consumidor dos registros do corpo, na ordem em que foram gravados
+     */
+    public interface Visitor {
+        void player(UUID playerId, byte[] encoded) throws IOException;
+
+        void removedPlayer(UUID playerId) throws IOException;
+
+        void party(UUID partyId, CompoundTag partyTag) throws IOException;
+
+        void removedParty(UUID partyId) throws IOException;
+
+        void partyMember(UUID playerId, UUID partyId) throws IOException;
+    }
+
+    private BackupArchive() {}
+
+    // ============================================================================
+    // GRAVAÇÃO
+    // ============================================================================
+
+    /**
+     * Iniciar um backup em arquivo temporário (o destino só é substituído em {@link Writer#finish})
+     */
+    public static Writer create(Path path, long timestamp, String reason, String parentId, UUID playerId,
+                                String modVersion) throws IOException {
+        return new Writer(path, timestamp, reason, parentId, playerId, modVersion);
+    }
+
+    /**
+     * Também é um {@link Visitor}: ler um backup passando o writer copia os registros em streaming
+     */
+    public static final class Writer implements ProgressionManager.BackupSink, Visitor, Closeable {
+        private final Path path;
+        private final Path tempPath;
+        private final FileChannel channel;
+        private final long bodyStart;
+        private final CRC32 crc = new CRC32();
+        private final GZIPOutputStream gzip;
+        private final DataOutputStream out;
+        private final long timestamp;
+        private final String reason;
+        private final String parentId;
+        private final UUID playerId;
+        private final String modVersion;
+        private final Set<UUID> playerIds = new LinkedHashSet<>();
+        private int playerCount;
+        private int partyCount;
+        private boolean finished;
+
+        private Writer(Path path, long timestamp, String reason, String parentId, UUID playerId,
+                       String modVersion) throws IOException {
+            this.path = path;
+            this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            this.timestamp = timestamp;
+            this.reason = reason;
+            this.parentId = parentId != null ? parentId : "";
+            this.playerId = playerId;
+            this.modVersion = modVersion;
+
+            this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                // Cabeçalho fixo reservado; preenchido em finish()
+                writeFully(channel, fixedHeader(0, 0, 0, 0L, 0L), 0);
+                ByteBuffer variable = variableHeader(timestamp, reason, this.parentId, playerId, modVersion);
+                this.bodyStart = FIXED_HEADER_SIZE + variable.remaining();
+                writeFully(channel, variable, FIXED_HEADER_SIZE);
+                channel.position(bodyStart);
+
+                this.gzip = new GZIPOutputStream(new CheckedOutputStream(Channels.newOutputStream(channel), crc), BUFFER_SIZE);
+                this.out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+            } catch (IOException e) {
+                channel.close();
+                Files.deleteIfExists(tempPath);
+                throw e;
+            }
+        }
+
+        @Override
+        public void player(UUID playerId, byte[] encoded) throws IOException {
+            out.writeByte(PLAYER);
+            writeUuid(out, playerId);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+            playerIds.add(playerId);
+            playerCount++;
+        }
+
+        @Override
+        public void removed(UUID playerId) throws IOException {
+            out.writeByte(REMOVED_PLAYER);
+            writeUuid(out, playerId);
+        }
+
+        @Override
+        public void removedPlayer(UUID playerId) throws IOException {
+            removed(playerId);
+        }
+
+        @Override
+        public void party(UUID partyId, CompoundTag partyTag) throws IOException {
+            out.writeByte(PARTY);
+            writeUuid(out, partyId);
+            NbtIo.write(partyTag, out);
+            partyCount++;
+        }
+
+        @Override
+        public void removedParty(UUID partyId) throws IOException {
+            out.writeByte(REMOVED_PARTY);
+            writeUuid(out, partyId);
+        }
+
+        @Override
+        public void partyMember(UUID playerId, UUID partyId) throws IOException {
+            out.writeByte(PARTY_MEMBER);
+            writeUuid(out, playerId);
+            writeUuid(out, partyId);
+        }
+
+        /**
+         * Jogadores com registro neste backup (para o catálogo)
+         */
+        public Set<UUID> getPlayerIds() {
+            return playerIds;
+        }
+
+        /**
+         * Fechar o corpo, preencher o cabeçalho e publicar o arquivo atomicamente
+         */
+        public Header finish(boolean incremental) throws IOException {
+            out.writeByte(END);
+            out.flush();
+            gzip.finish();
+
+            long bodySize = channel.position() - bodyStart;
+            int flags = incremental ? FLAG_INCREMENTAL : 0;
+            writeFully(channel, fixedHeader(flags, playerCount, partyCount, bodySize, crc.getValue()), 0);
+            channel.force(true);
+            channel.close();
+            finished = true;
+
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return new Header(timestamp, reason, incremental, incremental ? parentId : "", playerId, modVersion,
+                    playerCount, partyCount, bodySize, crc.getValue());
+        }
+
+        /**
+         * Sem finish(): descartar o arquivo temporário
+         */
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            channel.close();
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    // ============================================================================
+    // LEITURA
+    // ============================================================================
+
+    /**
+     * Ler apenas os cabeçalhos (não toca no corpo comprimido)
+     */
+    public static Header readHeader(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return readHeader(new DataInputStream(in));
+        }
+    }
+
+    /**
+     * Percorrer os registros do corpo, validando o checksum ao final
+     */
+    public static Header read(Path path, Visitor visitor) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            Header header = readHeader(new DataInputStream(raw));
+
+            CRC32 crc = new CRC32();
+            CheckedInputStream checked = new CheckedInputStream(raw, crc);
+            GZIPInputStream gzip = new GZIPInputStream(checked, BUFFER_SIZE);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(gzip, BUFFER_SIZE));
+
+            readRecords(in, visitor);
+
+            // Consumir o trailer do gzip e o restante do corpo para completar o checksum
+            byte[] skip = new byte[4096];
+            while (in.read(skip) != -1) {
+                // descartar
+            }
+            while (checked.read(skip) != -1) {
+                // descartar
+            }
+            if (crc.getValue() != header.checksum()) {
+                throw new IOException("Checksum do backup não confere: " + path.getFileName());
+            }
+            return header;
+        }
+    }
+
+    private static void readRecords(DataInputStream in, Visitor visitor) throws IOException {
+        while (true) {
+            byte type = in.readByte();
+            switch (type) {
+                case END -> {
+                    return;
+                }
+                case PLAYER -> {
+                    UUID playerId = readUuid(in);
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_PLAYER_RECORD_SIZE) {
+                        throw new IOException("Registro de jogador com tamanho inválido: " + length);
+                    }
+                    byte[] encoded = new byte[length];
+                    in.readFully(encoded);
+                    visitor.player(playerId, encoded);
+                }
+                case REMOVED_PLAYER -> visitor.removedPlayer(readUuid(in));
+                case PARTY -> {
+                    UUID partyId = readUuid(in);
+                    visitor.party(partyId, NbtIo.read(in, NbtAccounter.unlimitedHeap()));
+                }
+                case REMOVED_PARTY -> visitor.removedParty(readUuid(in));
+                case PARTY_MEMBER -> visitor.partyMember(readUuid(in), readUuid(in));
+                default -> throw new IOException("Tipo de registro desconhecido no backup: " + type);
+            }
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Arquivo não é um backup do Dimension Trials");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Versão de backup desconhecida: " + version);
+        }
+        int flags = in.readInt();
+        int playerCount = in.readInt();
+        int partyCount = in.readInt();
+        long bodySize = in.readLong();
+        long checksum = in.readLong();
+
+        int variableSize = in.readInt();
+        if (variableSize < 0 || variableSize > MAX_VARIABLE_HEADER_SIZE) {
+            throw new IOException("Cabeçalho de backup com tamanho inválido: " + variableSize);
+        }
+        // Ler o bloco inteiro: campos novos no fim são ignorados por versões antigas
+        byte[] variable = new byte[variableSize];
+        in.readFully(variable);
+        DataInputStream fields = new DataInputStream(new ByteArrayInputStream(variable));
+        long timestamp = fields.readLong();
+        String reason = fields.readUTF();
+        String parentId = fields.readUTF();
+        UUID playerId = fields.readBoolean() ? readUuid(fields) : null;
+        String modVersion = fields.readUTF();
+
+        boolean incremental = (flags & FLAG_INCREMENTAL) != 0;
+        return new Header(timestamp, reason, incremental, incremental ? parentId : "", playerId, modVersion,
+                playerCount, partyCount, bodySize, checksum);
+    }
+
+    // ============================================================================
+    // UTILITÁRIOS
+    // ============================================================================
+
+    private static ByteBuffer fixedHeader(int flags, int playerCount, int partyCount, long bodySize, long checksum) {
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_HEADER_SIZE);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+        buffer.putInt(flags).putInt(playerCount).putInt(partyCount).putLong(bodySize).putLong(checksum);
+        return buffer.flip();
+    }
+
+    private static ByteBuffer variableHeader(long timestamp, String reason, String parentId, UUID playerId,
+                                             String modVersion) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(timestamp);
+        out.writeUTF(reason);
+        out.writeUTF(parentId);
+        out.writeBoolean(playerId != null);
+        if (playerId != null) {
+            writeUuid(out, playerId);
+        }
+        out.writeUTF(modVersion);
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + bytes.size());
+        buffer.putInt(bytes.size()).put(bytes.toByteArray());
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
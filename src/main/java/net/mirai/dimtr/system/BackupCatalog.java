@@ -0,0 +1,346 @@
+package net.mirai.dimtr.system;
+
+import net.mirai.dimtr.DimTrMod;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎯 PERFORMANCE: Catálogo persistente dos backups
+ *
+ * Guarda em {@code catalog.dat}, ao lado dos backups, os metadados de cada
+ * arquivo (cabeçalho, tamanho e jogadores incluídos). Listagem, busca por
+ * prefixo, "último backup com o jogador X" e a escolha do que rotacionar
+ * passam a ser consultas em memória, sem reler o diretório.
+ *
+ * O diretório só é lido no startup, para reconciliar o catálogo com arquivos
+ * criados/removidos fora do mod (ou um catálogo perdido).
+ *
+ * 🔒 THREAD-SAFETY: Consultas não bloqueiam (mapa concorrente) e podem vir da
+ * thread do servidor durante um backup. Alterações e {@link #save} são
+ * serializadas pelo lock de escrita do {@link BackupManager}.
+ */
+public final class BackupCatalog {
+
+    private static final String CATALOG_FILE = "catalog.dat";
+    private static final int CATALOG_VERSION = 1;
+
+    /**
+     * Entrada do catálogo (playerIds: jogadores com registro no arquivo; em deltas, só os alterados)
+     */
+    public record Entry(String id, BackupArchive.Header header, long size, Set<UUID> playerIds) {
+    }
+
+    /**
+     * Política de rotação avô-pai-filho: recentes, um por dia e um por semana, com idade máxima
+     */
+    public record RetentionPolicy(int keepRecent, int keepDaily, int keepWeekly, long maxAgeMillis) {
+    }
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public BackupCatalog(Path directory) {
+        this.directory = directory;
+    }
+
+    // ============================================================================
+    // CARREGAMENTO
+    // ============================================================================
+
+    /**
+     * Carregar o catálogo e reconciliar com os arquivos presentes (apenas no startup)
+     */
+    public void load() {
+        entries.clear();
+        Path catalogPath = directory.resolve(CATALOG_FILE);
+        if (Files.exists(catalogPath)) {
+            try {
+                CompoundTag root = NbtIo.readCompressed(catalogPath, NbtAccounter.unlimitedHeap());
+                if (root.getInt("version") == CATALOG_VERSION) {
+                    for (Tag tag : root.getList("backups", Tag.TAG_COMPOUND)) {
+                        Entry entry = readEntry((CompoundTag) tag);
+                        entries.put(entry.id(), entry);
+                    }
+                }
+            } catch (Exception e) {
+                DimTrMod.LOGGER.warn("⚠️ Catálogo de backups ilegível, reconstruindo: {}", e.getMessage());
+                entries.clear();
+            }
+        }
+
+        if (reconcile()) {
+            save();
+        }
+        DimTrMod.LOGGER.info("Catálogo de backups carregado: {} backups", entries.size());
+    }
+
+    /**
+     * Adicionar arquivos ausentes do catálogo e remover entradas sem arquivo
+     * @return true se o catálogo mudou
+     */
+    private boolean reconcile() {
+        Set<String> present = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BackupArchive.EXTENSION)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                present.add(fileName.substring(0, fileName.length() - BackupArchive.EXTENSION.length()));
+            }
+        } catch (IOException e) {
+            DimTrMod.LOGGER.error("❌ Falha ao listar diretório de backups: {}", e.getMessage());
+            return false;
+        }
+
+        boolean changed = entries.keySet().retainAll(present);
+        for (String id : present) {
+            if (entries.containsKey(id)) {
+                continue;
+            }
+            try {
+                // Arquivo desconhecido: ler uma vez para obter os jogadores incluídos
+                Path file = backupPath(id);
+                Set<UUID> playerIds = new LinkedHashSet<>();
+                BackupArchive.Header header = BackupArchive.read(file, new PlayerCollector(playerIds));
+                entries.put(id, new Entry(id, header, Files.size(file), playerIds));
+                changed = true;
+            } catch (IOException e) {
+                DimTrMod.LOGGER.warn("Erro ao ler backup {} para o catálogo: {}", id, e.getMessage());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Gravar o catálogo (arquivo temporário + move atômico)
+     */
+    public void save() {
+        ListTag backups = new ListTag();
+        for (Entry entry : entries.values()) {
+            backups.add(writeEntry(entry));
+        }
+        CompoundTag root = new CompoundTag();
+        root.putInt("version", CATALOG_VERSION);
+        root.put("backups", backups);
+
+        Path catalogPath = directory.resolve(CATALOG_FILE);
+        Path tempPath = directory.resolve(CATALOG_FILE + ".tmp");
+        try {
+            NbtIo.writeCompressed(root, tempPath);
+            try {
+                Files.move(tempPath, catalogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, catalogPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // O startup reconcilia o catálogo com os arquivos
+            DimTrMod.LOGGER.error("❌ Falha ao gravar catálogo de backups: {}", e.getMessage());
+        }
+    }
+
+    // ============================================================================
+    // ALTERAÇÕES
+    // ============================================================================
+
+    public void put(Entry entry) {
+        entries.put(entry.id(), entry);
+        save();
+    }
+
+    public void remove(String id) {
+        if (entries.remove(id) != null) {
+            save();
+        }
+    }
+
+    // ============================================================================
+    // CONSULTAS
+    // ============================================================================
+
+    public Entry get(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Todas as entradas, mais recente primeiro
+     */
+    public List<Entry> list() {
+        List<Entry> list = new ArrayList<>(entries.values());
+        list.sort(Comparator.comparingLong((Entry entry) -> entry.header().timestamp()).reversed());
+        return list;
+    }
+
+    /**
+     * Backup mais recente cujo ID começa com o prefixo informado
+     */
+    public Optional<Entry> findByPrefix(String prefix) {
+        return list().stream().filter(entry -> entry.id().startsWith(prefix)).findFirst();
+    }
+
+    /**
+     * Backup mais recente que contém registro do jogador (completo, ou delta em que ele mudou)
+     */
+    public Optional<Entry> latestContaining(UUID playerId) {
+        return list().stream().filter(entry -> entry.playerIds().contains(playerId)).findFirst();
+    }
+
+    /**
+     * Deltas que apontam diretamente para o backup informado
+     */
+    public List<Entry> childrenOf(String id) {
+        List<Entry> children = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.header().incremental() && entry.header().parentId().equals(id)) {
+                children.add(entry);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Backups fora da política de retenção, mais antigo primeiro
+     */
+    public List<Entry> selectExpired(RetentionPolicy policy, long now) {
+        List<Entry> newestFirst = list();
+        Set<String> keep = new HashSet<>();
+        Set<LocalDate> days = new HashSet<>();
+        Set<String> weeks = new HashSet<>();
+
+        for (int i = 0; i < newestFirst.size(); i++) {
+            Entry entry = newestFirst.get(i);
+            LocalDate date = Instant.ofEpochMilli(entry.header().timestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+            String week = date.get(IsoFields.WEEK_BASED_YEAR) + "-" + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+
+            // O mais recente de cada dia/semana representa o período
+            boolean recent = i < policy.keepRecent();
+            boolean daily = days.size() < policy.keepDaily() && days.add(date);
+            boolean weekly = weeks.size() < policy.keepWeekly() && weeks.add(week);
+            boolean tooOld = now - entry.header().timestamp() > policy.maxAgeMillis();
+
+            // O backup mais recente nunca expira
+            if (i == 0 || ((recent || daily || weekly) && !tooOld)) {
+                keep.add(entry.id());
+            }
+        }
+
+        List<Entry> expired = new ArrayList<>();
+        for (Entry entry : newestFirst) {
+            if (!keep.contains(entry.id())) {
+                expired.add(entry);
+            }
+        }
+        Collections.reverse(expired);
+        return expired;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Path backupPath(String id) {
+        return directory.resolve(id + BackupArchive.EXTENSION);
+    }
+
+    // ============================================================================
+    // SERIALIZAÇÃO
+    // ============================================================================
+
+    private static CompoundTag writeEntry(Entry entry) {
+        BackupArchive.Header header = entry.header();
+        CompoundTag tag = new CompoundTag();
+        tag.putString("id", entry.id());
+        tag.putLong("timestamp", header.timestamp());
+        tag.putString("reason", header.reason());
+        tag.putBoolean("incremental", header.incremental());
+        tag.putString("parentId", header.parentId());
+        if (header.playerId() != null) {
+            tag.putUUID("playerId", header.playerId());
+        }
+        tag.putString("modVersion", header.modVersion());
+        tag.putInt("playerCount", header.playerCount());
+        tag.putInt("partyCount", header.partyCount());
+        tag.putLong("bodySize", header.bodySize());
+        tag.putLong("checksum", header.checksum());
+        tag.putLong("size", entry.size());
+
+        // UUIDs como pares de longs: compacto mesmo com milhares de jogadores
+        long[] players = new long[entry.playerIds().size() * 2];
+        int i = 0;
+        for (UUID playerId : entry.playerIds()) {
+            players[i++] = playerId.getMostSignificantBits();
+            players[i++] = playerId.getLeastSignificantBits();
+        }
+        tag.putLongArray("players", players);
+        return tag;
+    }
+
+    private static Entry readEntry(CompoundTag tag) {
+        BackupArchive.Header header = new BackupArchive.Header(
+                tag.getLong("timestamp"),
+                tag.getString("reason"),
+                tag.getBoolean("incremental"),
+                tag.getString("parentId"),
+                tag.hasUUID("playerId") ? tag.getUUID("playerId") : null,
+                tag.getString("modVersion"),
+                tag.getInt("playerCount"),
+                tag.getInt("partyCount"),
+                tag.getLong("bodySize"),
+                tag.getLong("checksum"));
+
+        long[] players = tag.getLongArray("players");
+        Set<UUID> playerIds = new LinkedHashSet<>();
+        for (int i = 0; i + 1 < players.length; i += 2) {
+            playerIds.add(new UUID(players[i], players[i + 1]));
+        }
+        return new Entry(tag.getString("id"), header, tag.getLong("size"), playerIds);
+    }
+
+    /**
+     * Coleta os jogadores de um backup durante a reconciliação
+     */
+    private record PlayerCollector(Set<UUID> playerIds) implements BackupArchive.Visitor {
+        @Override
+        public void player(UUID playerId, byte[] encoded) {
+            playerIds.add(playerId);
+        }
+
+        @Override
+        public void removedPlayer(UUID playerId) {
+        }
+
+        @Override
+        public void party(UUID partyId, CompoundTag partyTag) {
+        }
+
+        @Override
+        public void removedParty(UUID partyId) {
+        }
+
+        @Override
+        public void partyMember(UUID playerId, UUID partyId) {
+        }
+    }
+}
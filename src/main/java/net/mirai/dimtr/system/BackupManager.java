@@ -1,30 +1,34 @@
 package net.mirai.dimtr.system;
 
 import net.mirai.dimtr.DimTrMod;
+import net.mirai.dimtr.data.PlayerProgressionCodec;
 import net.mirai.dimtr.data.PlayerProgressionData;
 import net.mirai.dimtr.data.PartyData;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.PartyManager;
+import net.mirai.dimtr.util.ServerThreadSnapshot;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
-import net.minecraft.nbt.NbtIo;
-import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.Tag;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Sistema de Backup Automático para Dimension Trials
@@ -35,25 +39,53 @@ import java.util.zip.GZIPOutputStream;
  * ✅ Restauração de backups específicos
  * ✅ Compressão automática dos arquivos
  * ✅ Rotação de backups antigos
+ *
+ * 🎯 PERFORMANCE: Backups incrementais. Um backup completo (base) é seguido
+ * por deltas com apenas os jogadores/parties alterados desde o backup anterior
+ * (canal BACKUP do {@link net.mirai.dimtr.util.DirtyTracker}). Cada delta aponta
+ * para o anterior ("parentId"); restaurar um ponto reaplica a cadeia a partir
+ * da base. A rotação mescla a base mais antiga no delta seguinte em vez de
+ * quebrar a cadeia.
+ *
+ * Os arquivos usam o {@link BackupArchive}: cabeçalho sem compressão (listagem
+ * barata) e corpo gravado em streaming, um jogador por vez. O {@link BackupCatalog}
+ * mantém os metadados em memória para listagem, busca e rotação.
+ *
+ * 🔒 THREAD-SAFETY: O snapshot dos managers é tirado na thread do servidor antes
+ * de qualquer lock deste sistema (ela pode estar esperando por um deles). O lock
+ * de escrita cobre apenas a gravação dos arquivos; o catálogo tem sincronização
+ * própria e pode ser consultado da thread do servidor sem esperar um backup.
  */
 public class BackupManager {
     
     private static final String BACKUP_DIR = "config/dimtr/backups/";
-    private static final int MAX_BACKUPS = 30; // Número máximo de backups mantidos
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    // Rotação avô-pai-filho: últimos 12, um por dia (7 dias), um por semana (4 semanas), no máximo 35 dias
+    private static final BackupCatalog.RetentionPolicy RETENTION =
+            new BackupCatalog.RetentionPolicy(12, 7, 4, TimeUnit.DAYS.toMillis(35));
+    private static final int FULL_BACKUP_INTERVAL = 12; // Um backup completo a cada 12 (diário no ritmo automático)
+    private static final String MOD_VERSION = DimTrMod.MODID + "-" + "1.3.0"; // Versão do mod
+    // Milissegundos no ID: dois backups com a mesma razão no mesmo segundo não colidem
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
     
     private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
     private static final ReentrantReadWriteLock.ReadLock readLock = LOCK.readLock();
     private static final ReentrantReadWriteLock.WriteLock writeLock = LOCK.writeLock();
     
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread t = new Thread(r, "DimTr-BackupScheduler");
-        t.setDaemon(true);
-        return t;
-    });
+    private static ScheduledExecutorService scheduler;
     
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
     private static MinecraftServer server;
+    private static volatile BackupCatalog catalog;
+    
+    // 🔒 Cadeia incremental no momento do snapshot (CHAIN_LOCK: nunca mantido durante I/O ou esperas)
+    private static final Object CHAIN_LOCK = new Object();
+    private static String lastCapturedId = null;   // Pai do próximo delta
+    private static int backupsSinceFull = 0;
+    private static boolean forceFullNext = true;
+    private static long lastIdMillis = 0;          // Instante do último ID emitido
+    
+    // Último backup gravado com sucesso (writeLock)
+    private static String lastBackupId = null;
     
     /**
      * Inicializa o sistema de backup
@@ -62,9 +94,21 @@ public class BackupManager {
         if (initialized) return;
         
         BackupManager.server = server;
+        // Alterações anteriores ao startup não estão no canal BACKUP: começar com uma base
+        synchronized (CHAIN_LOCK) {
+            forceFullNext = true;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DimTr-BackupScheduler");
+            t.setDaemon(true);
+            return t;
+        });
         
         // Criar diretório de backups se não existir
         createBackupDirectory();
+        BackupCatalog loaded = new BackupCatalog(Paths.get(BACKUP_DIR));
+        loaded.load();
+        catalog = loaded;
         
         // Programar backups automáticos (a cada 2 horas)
         scheduler.scheduleAtFixedRate(() -> {
@@ -95,34 +139,84 @@ public class BackupManager {
             return null;
         }
         
+        String backupId = nextBackupId(reason);
+        
+        // 📸 SNAPSHOT: na thread do servidor, sem nenhum lock do BackupManager
+        PendingBackup pending;
+        try {
+            pending = ServerThreadSnapshot.capture(server, () -> captureBackup(backupId));
+        } catch (Exception e) {
+            // O snapshot pode ter drenado os canais (ex: timeout): o próximo backup será completo
+            synchronized (CHAIN_LOCK) {
+                forceFullNext = true;
+            }
+            DimTrMod.LOGGER.error("❌ Erro ao capturar dados para backup: {}", e.getMessage());
+            return null;
+        }
+        
         writeLock.lock();
         try {
-            String timestamp = LocalDateTime.now().format(DATE_FORMAT);
-            String backupId = timestamp + (reason != null ? "_" + reason : "");
-            String fileName = backupId + ".dat.gz";
-            Path backupPath = Paths.get(BACKUP_DIR, fileName);
+            if (backupId.equals(pending.parentId())) {
+                // Sobrescreveria o próprio pai e fecharia um ciclo na cadeia
+                throw new IOException("Backup " + backupId + " não pode ser o próprio pai");
+            }
+            if (pending.parentId() != null && !pending.parentId().equals(lastBackupId)) {
+                // O pai não chegou ao disco (falhou ou foi gravado fora de ordem): este delta não se sustenta
+                throw new IOException("Backup pai " + pending.parentId() + " não foi gravado");
+            }
             
-            // Obter dados a serem salvos
-            CompoundTag backupData = createBackupData(reason, playerId);
+            Path backupPath = backupPath(backupId);
+            boolean full = pending.parentId() == null;
+            try (BackupArchive.Writer writer = BackupArchive.create(backupPath, System.currentTimeMillis(),
+                    reason != null ? reason : "manual", pending.parentId(), playerId, MOD_VERSION)) {
+                // Gravar os dados em streaming (shards de jogadores descarregados são lidos aqui)
+                writeBackupData(writer, pending);
+                BackupArchive.Header header = writer.finish(!full);
+                catalog.put(new BackupCatalog.Entry(backupId, header, Files.size(backupPath), Set.copyOf(writer.getPlayerIds())));
+                DimTrMod.LOGGER.info("✅ Backup {} criado: {} ({}, {} jogadores, {} KB)", full ? "completo" : "incremental",
+                        backupId, reason, header.playerCount(), header.bodySize() / 1024);
+            }
             
-            // Salvar dados comprimidos
-            try (GZIPOutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(backupPath))) {
-                NbtIo.writeCompressed(backupData, outputStream);
-                DimTrMod.LOGGER.info("✅ Backup criado: {} ({})", backupId, reason);
-                
-                // Remover backups antigos
-                pruneOldBackups();
-                
-                return backupId;
-            } catch (IOException e) {
-                DimTrMod.LOGGER.error("❌ Erro ao criar backup: {}", e.getMessage());
-                return null;
+            lastBackupId = backupId;
+            
+            // Remover backups antigos
+            pruneOldBackups();
+            
+            return backupId;
+        } catch (Exception e) {
+            // Alterações já drenadas se perderiam no próximo delta: o próximo backup será completo
+            synchronized (CHAIN_LOCK) {
+                forceFullNext = true;
             }
+            DimTrMod.LOGGER.error("❌ Erro ao criar backup: {}", e.getMessage());
+            return null;
         } finally {
             writeLock.unlock();
         }
     }
     
+    /**
+     * Gerar um ID único: instante em milissegundos, estritamente crescente entre
+     * chamadas e sem colidir com arquivos existentes (ex: relógio ajustado para trás)
+     */
+    private static String nextBackupId(String reason) {
+        String suffix = reason != null ? "_" + reason : "";
+        synchronized (CHAIN_LOCK) {
+            long millis = Math.max(System.currentTimeMillis(), lastIdMillis + 1);
+            String backupId;
+            while (true) {
+                backupId = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault())
+                        .format(DATE_FORMAT) + suffix;
+                if (catalog.get(backupId) == null && !Files.exists(backupPath(backupId))) {
+                    break;
+                }
+                millis++;
+            }
+            lastIdMillis = millis;
+            return backupId;
+        }
+    }
+    
     /**
      * Restaurar a partir de um backup específico
      */
@@ -132,32 +226,24 @@ public class BackupManager {
             return false;
         }
         
+        // Criar backup do estado atual antes de restaurar (fora do lock: tira snapshot na thread do servidor)
+        createBackup("pre_restore_" + backupId);
+        
         writeLock.lock();
         try {
-            // Criar backup do estado atual antes de restaurar
-            createBackup("pre_restore_" + backupId);
-            
-            String fileName = backupId + ".dat.gz";
-            Path backupPath = Paths.get(BACKUP_DIR, fileName);
-            
-            if (!Files.exists(backupPath)) {
-                // Tentar encontrar arquivo apenas com o ID, sem extensão
-                File directory = new File(BACKUP_DIR);
-                File[] matchingFiles = directory.listFiles((dir, name) -> name.startsWith(backupId));
-                
-                if (matchingFiles == null || matchingFiles.length == 0) {
-                    DimTrMod.LOGGER.error("❌ Backup não encontrado: {}", backupId);
-                    return false;
-                }
-                
-                backupPath = matchingFiles[0].toPath();
+            BackupCatalog.Entry entry = resolveBackup(backupId);
+            if (entry == null) {
+                DimTrMod.LOGGER.error("❌ Backup não encontrado: {}", backupId);
+                return false;
             }
+            String resolvedId = entry.id();
             
             try {
-                CompoundTag backupData = NbtIo.readCompressed(backupPath, NbtAccounter.create(0));
+                // Reconstruir o estado do ponto escolhido (base + deltas da cadeia)
+                BackupState state = materializeBackup(resolvedId);
                 
                 // Aplicar o backup carregado
-                applyBackupData(backupData);
+                applyBackupData(state.toTag());
                 
                 DimTrMod.LOGGER.info("✅ Backup restaurado: {}", backupId);
                 return true;
@@ -171,47 +257,51 @@ public class BackupManager {
     }
     
     /**
-     * Listar todos os backups disponíveis
+     * Restaurar (ou simular) apenas os jogadores informados, a partir de um backup
+     *
+     * A leitura percorre a cadeia em streaming na thread de backup, guardando só os
+     * registros pedidos; a aplicação ocorre na thread do servidor pelo caminho normal
+     * de marcação e sincronização. O future completa na thread do servidor.
+     */
+    public static CompletableFuture<SelectiveRestoreResult> restorePlayers(String backupId, Collection<UUID> playerIds,
+                                                                           boolean dryRun) {
+        return restoreSelection(backupId, new LinkedHashSet<>(playerIds), null, dryRun);
+    }
+    
+    /**
+     * Restaurar (ou simular) apenas o progresso compartilhado de uma party, a partir de um backup
+     */
+    public static CompletableFuture<SelectiveRestoreResult> restoreParty(String backupId, UUID partyId, boolean dryRun) {
+        return restoreSelection(backupId, Set.of(), partyId, dryRun);
+    }
+    
+    /**
+     * Listar todos os backups disponíveis (catálogo em memória, sem esperar backups em andamento)
      */
     public static List<BackupInfo> listBackups() {
-        readLock.lock();
-        try {
-            List<BackupInfo> backups = new ArrayList<>();
-            File directory = new File(BACKUP_DIR);
-            
-            if (!directory.exists()) {
-                return backups;
-            }
-            
-            File[] files = directory.listFiles((dir, name) -> name.endsWith(".dat.gz"));
-            if (files == null) {
-                return backups;
-            }
-            
-            for (File file : files) {
-                try {
-                    String fileName = file.getName();
-                    String backupId = fileName.substring(0, fileName.lastIndexOf(".dat.gz"));
-                    
-                    CompoundTag metadata = NbtIo.readCompressed(file.toPath(), NbtAccounter.create(0));
-                    CompoundTag header = metadata.getCompound("header");
-                    
-                    String reason = header.getString("reason");
-                    long timestamp = header.getLong("timestamp");
-                    
-                    backups.add(new BackupInfo(backupId, reason, timestamp, file.length()));
-                } catch (Exception e) {
-                    DimTrMod.LOGGER.warn("Erro ao ler metadata do backup {}: {}", file.getName(), e.getMessage());
-                }
-            }
-            
-            // Ordenar por data (mais recente primeiro)
-            backups.sort((a, b) -> Long.compare(b.timestamp, a.timestamp));
-            
+        List<BackupInfo> backups = new ArrayList<>();
+        BackupCatalog current = catalog;
+        if (current == null) {
             return backups;
-        } finally {
-            readLock.unlock();
         }
+        
+        // Ordenado por data (mais recente primeiro)
+        for (BackupCatalog.Entry entry : current.list()) {
+            backups.add(new BackupInfo(entry.id(), entry.header(), entry.size()));
+        }
+        return backups;
+    }
+    
+    /**
+     * Backup mais recente que contém o jogador (completo, ou incremental em que ele mudou)
+     */
+    public static Optional<BackupInfo> findLatestBackupContaining(UUID playerId) {
+        BackupCatalog current = catalog;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return current.latestContaining(playerId)
+                .map(entry -> new BackupInfo(entry.id(), entry.header(), entry.size()));
     }
     
     /**
@@ -252,39 +342,361 @@ public class BackupManager {
     }
     
     /**
-     * Criar dados do backup
+     * Dados de um backup capturados na thread do servidor
+     *
+     * @param parentId Backup anterior da cadeia (null = backup completo)
      */
-    private static CompoundTag createBackupData(String reason, UUID playerId) {
-        CompoundTag root = new CompoundTag();
-        
-        // Header com metadata
-        CompoundTag header = new CompoundTag();
-        header.putString("reason", reason != null ? reason : "manual");
-        header.putLong("timestamp", System.currentTimeMillis());
-        header.putString("version", DimTrMod.MODID + "-" + "1.3.0"); // Versão do mod
-        if (playerId != null) {
-            header.putUUID("playerId", playerId);
-        }
-        root.put("header", header);
-        
-        // Dados de progressão individual
-        if (server != null) {
-            ServerLevel level = server.overworld();
-            ProgressionManager progressionManager = ProgressionManager.get(level);
-            PartyManager partyManager = PartyManager.get(level);
-            
-            if (progressionManager != null) {
-                CompoundTag progressionData = progressionManager.serializeForBackup();
-                root.put("progression", progressionData);
+    private record PendingBackup(String parentId, CompoundTag partyData,
+                                 ProgressionManager.BackupCheckpoint progression) {
+    }
+    
+    /**
+     * 📸 Drenar o canal BACKUP dos managers e decidir o lugar do backup na cadeia
+     * (thread do servidor: as capturas são serializadas por ela)
+     */
+    private static PendingBackup captureBackup(String backupId) {
+        boolean requestFull;
+        synchronized (CHAIN_LOCK) {
+            requestFull = forceFullNext || lastCapturedId == null || backupsSinceFull >= FULL_BACKUP_INTERVAL;
+        }
+        
+        ServerLevel level = server.overworld();
+        ProgressionManager progressionManager = ProgressionManager.get(level);
+        PartyManager partyManager = PartyManager.get(level);
+        
+        // Ambos os canais são drenados mesmo em backup completo (novo checkpoint da cadeia).
+        // Parties primeiro (pequenas): se vierem completas, a progressão também precisa vir.
+        CompoundTag partyData = partyManager.captureBackupCheckpoint(requestFull);
+        boolean partyIncremental = partyData.getBoolean("incremental");
+        
+        ProgressionManager.BackupCheckpoint progression =
+                progressionManager.captureBackupCheckpoint(requestFull || !partyIncremental);
+        if (partyIncremental && progression.isFull()) {
+            // A progressão teve marcação global: o delta das parties não basta sozinho
+            partyData = partyManager.captureBackupCheckpoint(true);
+        }
+        
+        boolean full = progression.isFull();
+        synchronized (CHAIN_LOCK) {
+            String parentId = full ? null : lastCapturedId;
+            lastCapturedId = backupId;
+            backupsSinceFull = full ? 0 : backupsSinceFull + 1;
+            if (full) {
+                forceFullNext = false;
             }
-            
-            if (partyManager != null) {
-                CompoundTag partyData = partyManager.serializeForBackup();
-                root.put("party", partyData);
+            return new PendingBackup(parentId, partyData, progression);
+        }
+    }
+    
+    /**
+     * Gravar os dados capturados (thread de backup, sob o lock de escrita)
+     */
+    private static void writeBackupData(BackupArchive.Writer writer, PendingBackup pending) throws IOException {
+        // Progressão vai direto para o arquivo, um jogador por vez
+        ProgressionManager.get(server.overworld()).writeBackupCheckpoint(pending.progression(), writer);
+        writePartyData(writer, pending.partyData());
+    }
+    
+    /**
+     * Parties e removidas antes do mapeamento: a leitura de um delta limpa os
+     * membros antigos de cada party alterada antes de receber os novos
+     */
+    private static void writePartyData(BackupArchive.Writer writer, CompoundTag partyData) throws IOException {
+        CompoundTag partiesTag = partyData.getCompound("parties");
+        for (String partyId : partiesTag.getAllKeys()) {
+            writer.party(UUID.fromString(partyId), partiesTag.getCompound(partyId));
+        }
+        for (Tag removedId : partyData.getList("removedParties", Tag.TAG_STRING)) {
+            writer.removedParty(UUID.fromString(removedId.getAsString()));
+        }
+        CompoundTag playerMappingTag = partyData.getCompound("playerToParty");
+        for (String playerId : playerMappingTag.getAllKeys()) {
+            writer.partyMember(UUID.fromString(playerId), playerMappingTag.getUUID(playerId));
+        }
+    }
+    
+    // ============================================================================
+    // 🎯 CADEIA INCREMENTAL
+    // ============================================================================
+    
+    /**
+     * Reconstruir o estado completo de um ponto da cadeia (base + deltas em ordem)
+     */
+    private static BackupState materializeBackup(String backupId) throws IOException {
+        // Aplicar base e deltas em streaming sobre o mesmo estado
+        BackupState state = new BackupState();
+        for (String id : chainOf(backupId)) {
+            state.header = BackupArchive.read(backupPath(id), state);
+        }
+        return state;
+    }
+    
+    /**
+     * IDs da cadeia de um backup, da base até ele (pelo catálogo, sem ler os arquivos)
+     */
+    private static Deque<String> chainOf(String backupId) throws IOException {
+        Deque<String> chain = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        String currentId = backupId;
+        while (true) {
+            BackupCatalog.Entry entry = catalog.get(currentId);
+            if (entry == null) {
+                throw new IOException("Cadeia de backups quebrada: " + currentId + " não encontrado");
             }
+            if (!visited.add(currentId)) {
+                // Delta apontando (direta ou indiretamente) para si mesmo: arquivo corrompido
+                throw new IOException("Ciclo na cadeia de backups em " + currentId);
+            }
+            chain.push(currentId);
+            if (!entry.header().incremental()) {
+                return chain;
+            }
+            currentId = entry.header().parentId();
+        }
+    }
+    
+    // ============================================================================
+    // 🎯 RESTAURAÇÃO SELETIVA
+    // ============================================================================
+    
+    private static CompletableFuture<SelectiveRestoreResult> restoreSelection(String backupId, Set<UUID> playerIds,
+                                                                              UUID partyId, boolean dryRun) {
+        if (!initialized) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Sistema de Backup não inicializado"));
         }
         
-        return root;
+        CompletableFuture<SelectiveRestoreResult> result = new CompletableFuture<>();
+        scheduler.execute(() -> {
+            try {
+                BackupCatalog.Entry entry = resolveBackup(backupId);
+                if (entry == null) {
+                    throw new IllegalArgumentException("Backup não encontrado: " + backupId);
+                }
+                String resolvedId = entry.id();
+                
+                if (!dryRun) {
+                    // Criar backup do estado atual antes de restaurar
+                    createBackup("pre_restore_selective");
+                }
+                
+                BackupSelection selection = new BackupSelection(resolvedId, playerIds, partyId);
+                readLock.lock();
+                try {
+                    for (String id : chainOf(resolvedId)) {
+                        BackupArchive.read(backupPath(id), selection);
+                    }
+                } finally {
+                    readLock.unlock();
+                }
+                
+                server.execute(() -> {
+                    try {
+                        applySelection(selection, dryRun).whenComplete((applied, error) -> {
+                            if (error != null) {
+                                result.completeExceptionally(error);
+                            } else {
+                                result.complete(applied);
+                            }
+                        });
+                    } catch (Exception e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Tentar o ID exato e depois apenas o prefixo do ID (catálogo em memória)
+     */
+    private static BackupCatalog.Entry resolveBackup(String backupId) {
+        BackupCatalog.Entry entry = catalog.get(backupId);
+        return entry != null ? entry : catalog.findByPrefix(backupId).orElse(null);
+    }
+    
+    /**
+     * Comparar e (se não for simulação) aplicar a seleção (thread do servidor)
+     * 
+     * 🔧 CORREÇÃO: Restaurações não passam pelo journal; o resultado só completa
+     * depois que os shards dos jogadores restaurados estiverem gravados.
+     */
+    private static CompletableFuture<SelectiveRestoreResult> applySelection(BackupSelection selection, boolean dryRun) throws IOException {
+        ServerLevel level = server.overworld();
+        Map<String, List<String>> changes = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<CompletableFuture<Void>> playerWrites = new ArrayList<>();
+        
+        ProgressionManager progressionManager = ProgressionManager.get(level);
+        for (UUID playerId : selection.playerIds) {
+            byte[] encoded = selection.players.get(playerId);
+            if (encoded == null) {
+                missing.add(playerId.toString());
+                continue;
+            }
+            PlayerProgressionData restored = PlayerProgressionCodec.decode(encoded);
+            List<String> playerChanges = progressionManager.restorePlayerFromBackup(restored, dryRun);
+            changes.put(describePlayer(playerId), playerChanges);
+            if (!dryRun && !playerChanges.isEmpty()) {
+                playerWrites.add(progressionManager.persistPlayerNow(playerId));
+            }
+        }
+        
+        if (selection.partyId != null) {
+            List<String> partyChanges = selection.partyTag != null
+                    ? PartyManager.get(level).restorePartyFromBackup(selection.partyId, selection.partyTag, dryRun)
+                    : null;
+            if (partyChanges == null) {
+                // Ausente no backup, ou a party não existe mais
+                missing.add("party " + selection.partyId);
+            } else {
+                changes.put("party " + selection.partyTag.getString("name"), partyChanges);
+            }
+        }
+        
+        DimTrMod.LOGGER.info("{} seletiva do backup {}: {} alvo(s), {} ausente(s)",
+                dryRun ? "🔍 Simulação de restauração" : "✅ Restauração", selection.backupId, changes.size(), missing.size());
+        SelectiveRestoreResult result = new SelectiveRestoreResult(selection.backupId, dryRun, changes, missing);
+        return CompletableFuture.allOf(playerWrites.toArray(new CompletableFuture[0])).thenApply(ignored -> result);
+    }
+    
+    private static String describePlayer(UUID playerId) {
+        ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+        return player != null ? player.getGameProfile().getName() : playerId.toString();
+    }
+    
+    /**
+     * Resultado de uma restauração seletiva: diferenças por alvo e alvos sem registro no backup
+     */
+    public record SelectiveRestoreResult(String backupId, boolean dryRun, Map<String, List<String>> changes,
+                                         List<String> missing) {
+    }
+    
+    /**
+     * Guarda apenas os registros dos jogadores/party pedidos durante a leitura da cadeia
+     */
+    private static final class BackupSelection implements BackupArchive.Visitor {
+        private final String backupId;
+        private final Set<UUID> playerIds;
+        private final UUID partyId;
+        private final Map<UUID, byte[]> players = new HashMap<>();
+        private CompoundTag partyTag;
+        
+        BackupSelection(String backupId, Set<UUID> playerIds, UUID partyId) {
+            this.backupId = backupId;
+            this.playerIds = playerIds;
+            this.partyId = partyId;
+        }
+        
+        @Override
+        public void player(UUID playerId, byte[] encoded) {
+            if (playerIds.contains(playerId)) {
+                players.put(playerId, encoded);
+            }
+        }
+        
+        @Override
+        public void removedPlayer(UUID playerId) {
+            players.remove(playerId);
+        }
+        
+        @Override
+        public void party(UUID partyId, CompoundTag partyTag) {
+            if (partyId.equals(this.partyId)) {
+                this.partyTag = partyTag;
+            }
+        }
+        
+        @Override
+        public void removedParty(UUID partyId) {
+            if (partyId.equals(this.partyId)) {
+                this.partyTag = null;
+            }
+        }
+        
+        @Override
+        public void partyMember(UUID playerId, UUID partyId) {
+            // Membros não são restaurados seletivamente
+        }
+    }
+    
+    /**
+     * Estado completo reconstruído de um ponto da cadeia
+     */
+    private static final class BackupState implements BackupArchive.Visitor {
+        private final Map<UUID, byte[]> players = new LinkedHashMap<>();
+        private final Map<UUID, CompoundTag> parties = new LinkedHashMap<>();
+        private final Map<UUID, UUID> playerToParty = new LinkedHashMap<>();
+        private BackupArchive.Header header;
+        
+        @Override
+        public void player(UUID playerId, byte[] encoded) {
+            players.put(playerId, encoded);
+        }
+        
+        @Override
+        public void removedPlayer(UUID playerId) {
+            players.remove(playerId);
+        }
+        
+        @Override
+        public void party(UUID partyId, CompoundTag partyTag) {
+            parties.put(partyId, partyTag);
+            playerToParty.values().removeIf(partyId::equals);
+        }
+        
+        @Override
+        public void removedParty(UUID partyId) {
+            parties.remove(partyId);
+            playerToParty.values().removeIf(partyId::equals);
+        }
+        
+        @Override
+        public void partyMember(UUID playerId, UUID partyId) {
+            playerToParty.put(playerId, partyId);
+        }
+        
+        /**
+         * Formato aceito pelos deserializeFromBackup dos managers
+         */
+        CompoundTag toTag() {
+            CompoundTag playersTag = new CompoundTag();
+            players.forEach((playerId, encoded) -> playersTag.putByteArray(playerId.toString(), encoded));
+            CompoundTag progression = new CompoundTag();
+            progression.put("players", playersTag);
+            progression.putLong("backupTimestamp", header.timestamp());
+            
+            CompoundTag partiesTag = new CompoundTag();
+            parties.forEach((partyId, partyTag) -> partiesTag.put(partyId.toString(), partyTag));
+            CompoundTag playerMappingTag = new CompoundTag();
+            playerToParty.forEach((playerId, partyId) -> playerMappingTag.putUUID(playerId.toString(), partyId));
+            CompoundTag party = new CompoundTag();
+            party.put("parties", partiesTag);
+            party.put("playerToParty", playerMappingTag);
+            party.putLong("backupTimestamp", header.timestamp());
+            
+            CompoundTag root = new CompoundTag();
+            root.put("progression", progression);
+            root.put("party", party);
+            return root;
+        }
+        
+        /**
+         * Regravar como backup completo (usado ao mesclar a base na rotação)
+         */
+        void writeTo(BackupArchive.Writer writer) throws IOException {
+            for (Map.Entry<UUID, byte[]> entry : players.entrySet()) {
+                writer.player(entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<UUID, CompoundTag> entry : parties.entrySet()) {
+                writer.party(entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<UUID, UUID> entry : playerToParty.entrySet()) {
+                writer.partyMember(entry.getKey(), entry.getValue());
+            }
+        }
     }
     
     /**
@@ -315,28 +727,68 @@ public class BackupManager {
     }
     
     /**
-     * Remover backups antigos quando exceder o limite
+     * Remover backups fora da política de retenção
+     *
+     * Um backup não pode simplesmente ser apagado enquanto houver deltas
+     * apontando para ele: ele é mesclado nos deltas filhos antes de sair.
      */
     private static void pruneOldBackups() {
-        File directory = new File(BACKUP_DIR);
-        File[] files = directory.listFiles((dir, name) -> name.endsWith(".dat.gz"));
-        
-        if (files == null || files.length <= MAX_BACKUPS) {
-            return;
+        for (BackupCatalog.Entry expired : catalog.selectExpired(RETENTION, System.currentTimeMillis())) {
+            // Reler: mesclagens anteriores neste laço podem ter alterado a entrada
+            BackupCatalog.Entry entry = catalog.get(expired.id());
+            if (entry == null) {
+                continue;
+            }
+            
+            try {
+                List<BackupCatalog.Entry> children = catalog.childrenOf(entry.id());
+                for (BackupCatalog.Entry child : children) {
+                    mergeIntoChild(entry, child);
+                }
+                
+                Files.deleteIfExists(backupPath(entry.id()));
+                catalog.remove(entry.id());
+                DimTrMod.LOGGER.debug("Backup antigo removido: {}{}", entry.id(),
+                        children.isEmpty() ? "" : " (mesclado em " + children.size() + " delta(s))");
+            } catch (IOException e) {
+                DimTrMod.LOGGER.warn("Não foi possível remover backup antigo {}: {}", entry.id(), e.getMessage());
+                return; // Manter a cadeia intacta
+            }
         }
+    }
+    
+    /**
+     * Reescrever um delta para que não dependa mais do backup pai
+     */
+    private static void mergeIntoChild(BackupCatalog.Entry parent, BackupCatalog.Entry child) throws IOException {
+        BackupArchive.Header childHeader = child.header();
+        Path childPath = backupPath(child.id());
+        boolean incremental = parent.header().incremental();
         
-        // Ordenar por data de modificação (mais antigo primeiro)
-        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
-        
-        // Remover os mais antigos até ficar dentro do limite
-        int toDelete = files.length - MAX_BACKUPS;
-        for (int i = 0; i < toDelete; i++) {
-            if (files[i].delete()) {
-                DimTrMod.LOGGER.debug("Backup antigo removido: {}", files[i].getName());
+        BackupArchive.Header header;
+        Set<UUID> playerIds;
+        try (BackupArchive.Writer writer = BackupArchive.create(childPath, childHeader.timestamp(), childHeader.reason(),
+                parent.header().parentId(), childHeader.playerId(), childHeader.modVersion())) {
+            if (incremental) {
+                // Delta sobre delta: concatenar os registros (reaplicados em ordem) sem materializar
+                BackupArchive.read(backupPath(parent.id()), writer);
+                BackupArchive.read(childPath, writer);
             } else {
-                DimTrMod.LOGGER.warn("Não foi possível remover backup antigo: {}", files[i].getName());
+                // O filho vira a nova base: estado reconstruído, sem registros duplicados
+                materializeBackup(child.id()).writeTo(writer);
             }
+            header = writer.finish(incremental);
+            playerIds = Set.copyOf(writer.getPlayerIds());
         }
+        catalog.put(new BackupCatalog.Entry(child.id(), header, Files.size(childPath), playerIds));
+    }
+    
+    // ============================================================================
+    // ARQUIVOS
+    // ============================================================================
+    
+    private static Path backupPath(String backupId) {
+        return Paths.get(BACKUP_DIR, backupId + BackupArchive.EXTENSION);
     }
     
     /**
@@ -362,18 +814,27 @@ public class BackupManager {
         public final String reason;
         public final long timestamp;
         public final long size;
+        public final boolean incremental;
+        public final String parentId;
+        public final int playerCount;
+        public final long checksum;
         
-        public BackupInfo(String id, String reason, long timestamp, long size) {
+        public BackupInfo(String id, BackupArchive.Header header, long size) {
             this.id = id;
-            this.reason = reason;
-            this.timestamp = timestamp;
+            this.reason = header.reason();
+            this.timestamp = header.timestamp();
             this.size = size;
+            this.incremental = header.incremental();
+            this.parentId = header.incremental() ? header.parentId() : null;
+            this.playerCount = header.playerCount();
+            this.checksum = header.checksum();
         }
         
         @Override
         public String toString() {
             Date date = new Date(timestamp);
-            return String.format("%s - %s (%.2f MB)", id, reason, size / (1024.0 * 1024.0));
+            return String.format("%s - %s%s (%d jogadores, %.2f MB)", id, reason, incremental ? " [incremental]" : "",
+                    playerCount, size / (1024.0 * 1024.0));
         }
     }
 }
@@ -3,6 +3,7 @@ package net.mirai.dimtr.system;
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.config.ConfigurationManager;
 import net.mirai.dimtr.network.DeltaUpdateSystem;
+import net.mirai.dimtr.util.StripedLock;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.damagesource.DamageSource;
@@ -10,7 +11,8 @@ import net.minecraft.advancements.AdvancementHolder;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 🎮 Sistema de Custom Phases Ativo - Gerenciamento Dinâmico de Fases
@@ -29,18 +31,22 @@ public class CustomPhaseSystem {
     // THREAD-SAFETY E ESTADO
     // ============================================================================
     
-    private static final ReentrantReadWriteLock PHASE_LOCK = new ReentrantReadWriteLock();
-    private static final ReentrantReadWriteLock.ReadLock readLock = PHASE_LOCK.readLock();
-    private static final ReentrantReadWriteLock.WriteLock writeLock = PHASE_LOCK.writeLock();
+    // 🎯 PERFORMANCE: Lock por jogador (particionado) em vez de um write lock global.
+    // Kills de jogadores diferentes são processados sem disputar o mesmo lock.
+    private static final StripedLock PLAYER_LOCKS = new StripedLock(64);
     
     // Cache de definições de fases (carregado da configuração)
-    private static final Map<String, PhaseDefinition> phaseDefinitions = new ConcurrentHashMap<>();
+    // Snapshot imutável trocado atomicamente na recarga; leituras não precisam de lock
+    private static volatile Map<String, PhaseDefinition> phaseDefinitions = Map.of();
     
-    // Cache de progressão por jogador
+    // 🎯 PERFORMANCE: Índice invertido tipo de mob -> fases que o exigem (mesmo snapshot)
+    private static volatile Map<String, List<PhaseDefinition>> phasesByMob = Map.of();
+    
+    // Cache de progressão por jogador (mapa interno protegido pelo lock do jogador)
     private static final Map<UUID, Map<String, PhaseProgress>> playerPhaseProgress = new ConcurrentHashMap<>();
     
     // Listeners para mudanças de fase
-    private static final List<PhaseChangeListener> listeners = new ArrayList<>();
+    private static final List<PhaseChangeListener> listeners = new CopyOnWriteArrayList<>();
     
     /**
      * 📋 Definição de uma fase customizada
@@ -126,61 +132,68 @@ public class CustomPhaseSystem {
      * 🚀 Inicializar sistema (chamado no startup do mod)
      */
     public static void initialize() {
-        writeLock.lock();
-        try {
-            loadPhaseDefinitions();
-            DimTrMod.LOGGER.info("CustomPhaseSystem inicializado com {} fases definidas", phaseDefinitions.size());
-        } finally {
-            writeLock.unlock();
-        }
+        loadPhaseDefinitions();
+        DimTrMod.LOGGER.info("CustomPhaseSystem inicializado com {} fases definidas", phaseDefinitions.size());
     }
     
     /**
      * 📥 Carregar definições de fases da configuração
      */
-    public static void loadPhaseDefinitions() {
-        writeLock.lock();
+    public static synchronized void loadPhaseDefinitions() {
+        Map<String, PhaseDefinition> definitions = new LinkedHashMap<>();
+        
+        // Carregar do ConfigurationManager
         try {
-            phaseDefinitions.clear();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> customPhases = (Map<String, Object>) ConfigurationManager.getConfig("custom_phases", Map.class, new HashMap<>());
             
-            // Carregar do ConfigurationManager
-            try {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> customPhases = (Map<String, Object>) ConfigurationManager.getConfig("custom_phases", Map.class, new HashMap<>());
+            for (Map.Entry<String, Object> entry : customPhases.entrySet()) {
+                String phaseId = entry.getKey();
                 
-                for (Map.Entry<String, Object> entry : customPhases.entrySet()) {
-                    String phaseId = entry.getKey();
-                    
-                    if (entry.getValue() instanceof Map<?, ?> phaseConfig) {
-                        PhaseDefinition definition = parsePhaseDefinition(phaseId, phaseConfig);
-                        if (definition != null && definition.enabled) {
-                            phaseDefinitions.put(phaseId, definition);
-                            DimTrMod.LOGGER.debug("Fase customizada carregada: {}", phaseId);
-                        }
+                if (entry.getValue() instanceof Map<?, ?> phaseConfig) {
+                    PhaseDefinition definition = parsePhaseDefinition(phaseId, phaseConfig);
+                    if (definition != null && definition.enabled) {
+                        definitions.put(phaseId, definition);
+                        DimTrMod.LOGGER.debug("Fase customizada carregada: {}", phaseId);
                     }
                 }
-            } catch (Exception e) {
-                DimTrMod.LOGGER.warn("Erro ao carregar fases customizadas da configuração: {}", e.getMessage());
             }
-            
-            // Carregar fases hardcoded como fallback
-            loadDefaultPhases();
-            
-        } finally {
-            writeLock.unlock();
+        } catch (Exception e) {
+            DimTrMod.LOGGER.warn("Erro ao carregar fases customizadas da configuração: {}", e.getMessage());
         }
+        
+        // Carregar fases hardcoded como fallback
+        loadDefaultPhases(definitions);
+        
+        // Publicar novo snapshot
+        phasesByMob = buildMobIndex(definitions);
+        phaseDefinitions = Collections.unmodifiableMap(definitions);
+    }
+    
+    /**
+     * Montar índice tipo de mob -> fases habilitadas que exigem o mob
+     */
+    private static Map<String, List<PhaseDefinition>> buildMobIndex(Map<String, PhaseDefinition> definitions) {
+        Map<String, List<PhaseDefinition>> index = new HashMap<>();
+        for (PhaseDefinition phase : definitions.values()) {
+            if (!phase.enabled) continue;
+            for (String mobType : phase.requiredMobKills.keySet()) {
+                index.computeIfAbsent(mobType, k -> new ArrayList<>()).add(phase);
+            }
+        }
+        
+        Map<String, List<PhaseDefinition>> frozen = new HashMap<>();
+        for (Map.Entry<String, List<PhaseDefinition>> entry : index.entrySet()) {
+            frozen.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        return Map.copyOf(frozen);
     }
     
     /**
      * ➕ Adicionar listener para mudanças de fase
      */
     public static void addPhaseChangeListener(PhaseChangeListener listener) {
-        writeLock.lock();
-        try {
-            listeners.add(listener);
-        } finally {
-            writeLock.unlock();
-        }
+        listeners.add(listener);
     }
     
     // ============================================================================
@@ -196,18 +209,20 @@ public class CustomPhaseSystem {
         UUID playerId = player.getUUID();
         String mobType = getMobType(killedEntity);
         
-        writeLock.lock();
+        // 🎯 PERFORMANCE: Só as fases que exigem este mob; a maioria dos kills não toca nenhuma
+        List<PhaseDefinition> phases = phasesByMob.getOrDefault(mobType, List.of());
+        if (phases.isEmpty()) {
+            return;
+        }
+        
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.computeIfAbsent(playerId, k -> new HashMap<>());
             
             boolean anyPhaseUpdated = false;
             
-            // Verificar todas as fases ativas
-            for (PhaseDefinition phase : phaseDefinitions.values()) {
-                if (!phase.enabled || !phase.requiredMobKills.containsKey(mobType)) {
-                    continue;
-                }
-                
+            // Verificar apenas as fases ativas que exigem este mob
+            for (PhaseDefinition phase : phases) {
                 PhaseProgress progress = playerProgress.computeIfAbsent(phase.phaseId, k -> new PhaseProgress(phase.phaseId));
                 
                 if (!progress.completed) {
@@ -235,7 +250,7 @@ public class CustomPhaseSystem {
             }
             
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -248,7 +263,7 @@ public class CustomPhaseSystem {
         UUID playerId = player.getUUID();
         String advancementId = advancement.id().getPath();
         
-        writeLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.computeIfAbsent(playerId, k -> new HashMap<>());
             
@@ -284,7 +299,7 @@ public class CustomPhaseSystem {
             }
             
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -296,7 +311,7 @@ public class CustomPhaseSystem {
         
         UUID playerId = player.getUUID();
         
-        writeLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.computeIfAbsent(playerId, k -> new HashMap<>());
             
@@ -332,7 +347,7 @@ public class CustomPhaseSystem {
             }
             
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -491,7 +506,7 @@ public class CustomPhaseSystem {
      * 📋 Obter progresso de todas as fases de um jogador
      */
     public static Map<String, PhaseProgress> getPlayerPhaseProgress(UUID playerId) {
-        readLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.get(playerId);
             if (playerProgress == null) {
@@ -505,7 +520,7 @@ public class CustomPhaseSystem {
             }
             return result;
         } finally {
-            readLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -513,7 +528,7 @@ public class CustomPhaseSystem {
      * 📋 Obter progresso de uma fase específica
      */
     public static PhaseProgress getPhaseProgress(UUID playerId, String phaseId) {
-        readLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.get(playerId);
             if (playerProgress == null) {
@@ -523,7 +538,7 @@ public class CustomPhaseSystem {
             PhaseProgress progress = playerProgress.get(phaseId);
             return progress != null ? progress.copy() : null;
         } finally {
-            readLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -531,19 +546,14 @@ public class CustomPhaseSystem {
      * 📜 Obter todas as definições de fases
      */
     public static Map<String, PhaseDefinition> getPhaseDefinitions() {
-        readLock.lock();
-        try {
-            return new HashMap<>(phaseDefinitions);
-        } finally {
-            readLock.unlock();
-        }
+        return new HashMap<>(phaseDefinitions);
     }
     
     /**
      * ✅ Verificar se uma fase está completa
      */
     public static boolean isPhaseCompleted(UUID playerId, String phaseId) {
-        readLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             Map<String, PhaseProgress> playerProgress = playerPhaseProgress.get(playerId);
             if (playerProgress == null) {
@@ -553,19 +563,26 @@ public class CustomPhaseSystem {
             PhaseProgress progress = playerProgress.get(phaseId);
             return progress != null && progress.completed;
         } finally {
-            readLock.unlock();
+            lock.unlock();
         }
     }
     
+    /**
+     * 📊 Obter locks por jogador (estatísticas de contenção para debug)
+     */
+    public static StripedLock getPlayerLocks() {
+        return PLAYER_LOCKS;
+    }
+    
     /**
      * 🧹 Limpar dados de um jogador
      */
     public static void clearPlayerData(UUID playerId) {
-        writeLock.lock();
+        ReentrantLock lock = PLAYER_LOCKS.lock(playerId);
         try {
             playerPhaseProgress.remove(playerId);
         } finally {
-            writeLock.unlock();
+            lock.unlock();
         }
     }
     
@@ -633,7 +650,7 @@ public class CustomPhaseSystem {
         }
     }
     
-    private static void loadDefaultPhases() {
+    private static void loadDefaultPhases(Map<String, PhaseDefinition> definitions) {
         // Fase 1 exemplo
         Map<String, Integer> phase1MobKills = Map.of(
             "zombie", 50,
@@ -656,7 +673,7 @@ public class CustomPhaseSystem {
             1
         );
         
-        phaseDefinitions.put("phase1_extended", phase1);
+        definitions.put("phase1_extended", phase1);
         
         // Fase Boss exemplo
         Map<String, Integer> bossPhaseKills = Map.of(
@@ -680,7 +697,7 @@ public class CustomPhaseSystem {
             10
         );
         
-        phaseDefinitions.put("boss_master", bossPhase);
+        definitions.put("boss_master", bossPhase);
     }
     
     private static String getMobType(LivingEntity entity) {
@@ -705,32 +722,22 @@ public class CustomPhaseSystem {
     }
     
     private static void notifyPhaseCompleted(UUID playerId, String phaseId, PhaseProgress progress) {
-        readLock.lock();
-        try {
-            for (PhaseChangeListener listener : listeners) {
-                try {
-                    listener.onPhaseCompleted(playerId, phaseId, progress.copy());
-                } catch (Exception e) {
-                    DimTrMod.LOGGER.error("Erro em listener de fase completada: {}", e.getMessage());
-                }
+        for (PhaseChangeListener listener : listeners) {
+            try {
+                listener.onPhaseCompleted(playerId, phaseId, progress.copy());
+            } catch (Exception e) {
+                DimTrMod.LOGGER.error("Erro em listener de fase completada: {}", e.getMessage());
             }
-        } finally {
-            readLock.unlock();
         }
     }
     
     private static void notifyPhaseProgressUpdated(UUID playerId, String phaseId, PhaseProgress progress) {
-        readLock.lock();
-        try {
-            for (PhaseChangeListener listener : listeners) {
-                try {
-                    listener.onPhaseProgressUpdated(playerId, phaseId, progress.copy());
-                } catch (Exception e) {
-                    DimTrMod.LOGGER.error("Erro em listener de progresso de fase: {}", e.getMessage());
-                }
+        for (PhaseChangeListener listener : listeners) {
+            try {
+                listener.onPhaseProgressUpdated(playerId, phaseId, progress.copy());
+            } catch (Exception e) {
+                DimTrMod.LOGGER.error("Erro em listener de progresso de fase: {}", e.getMessage());
             }
-        } finally {
-            readLock.unlock();
         }
     }
 }
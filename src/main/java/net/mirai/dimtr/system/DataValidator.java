@@ -5,12 +5,14 @@ import net.mirai.dimtr.data.PlayerProgressionData;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.PartyData;
 import net.mirai.dimtr.data.PartyManager;
+import net.mirai.dimtr.util.DirtyTracker;
+import net.mirai.dimtr.util.MobRegistry;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,6 +26,10 @@ import java.util.UUID;
  * ✅ Verificação de consistência entre diferentes sistemas
  * ✅ Detecção de dados corrompidos ou inconsistentes
  * ✅ Log detalhado de problemas encontrados
+ * 
+ * 🎯 PERFORMANCE: Cada execução valida apenas jogadores e parties alterados desde a
+ * execução anterior (canal VALIDATION do DirtyTracker). Entradas com problemas são
+ * reagendadas para continuarem sendo reportadas até serem corrigidas.
  */
 public class DataValidator {
     
@@ -127,18 +133,27 @@ public class DataValidator {
             return issues;
         }
         
-        // Validar cada jogador
-        Map<UUID, PlayerProgressionData> players = new HashMap<>();
-        
-        // Inserir lógica para obter todos os dados de jogadores
-        // (Método necessário no ProgressionManager - getAllPlayerData)
+        // 🎯 PERFORMANCE: Validar apenas jogadores alterados desde a última validação
+        DirtyTracker.Changes<UUID> changes = progressionManager.drainChangedPlayers(DirtyTracker.Channel.VALIDATION);
+        Collection<PlayerProgressionData> players;
+        if (changes.all()) {
+            players = progressionManager.getAllPlayerData();
+        } else {
+            players = new ArrayList<>(changes.keys().size());
+            for (UUID playerId : changes.keys()) {
+                PlayerProgressionData data = progressionManager.getExistingPlayerData(playerId);
+                if (data != null) {
+                    players.add(data);
+                }
+            }
+        }
         
-        for (Map.Entry<UUID, PlayerProgressionData> entry : players.entrySet()) {
-            UUID playerId = entry.getKey();
-            PlayerProgressionData data = entry.getValue();
+        for (PlayerProgressionData data : players) {
+            UUID playerId = data.getPlayerId();
+            int issuesBefore = issues.size();
             
             // Verificar valores negativos (impossíveis)
-            if (data.zombieKills < 0 || data.skeletonKills < 0 || data.creeperKills < 0) {
+            if (data.getMobKillCount(MobRegistry.ZOMBIE) < 0 || data.getMobKillCount(MobRegistry.SKELETON) < 0 || data.getMobKillCount(MobRegistry.CREEPER) < 0) {
                 issues.add(new ValidationIssue("WARNING", "Jogador " + playerId + 
                     " tem kills negativos, possível corrupção de dados"));
             }
@@ -150,10 +165,14 @@ public class DataValidator {
             }
             
             // Verificar valores extremamente altos (possível corrupção)
-            if (data.zombieKills > 10000 || data.skeletonKills > 10000) {
+            if (data.getMobKillCount(MobRegistry.ZOMBIE) > 10000 || data.getMobKillCount(MobRegistry.SKELETON) > 10000) {
                 issues.add(new ValidationIssue("WARNING", "Jogador " + playerId + 
                     " tem kills extremamente altos, possível corrupção de dados"));
             }
+            
+            if (issues.size() > issuesBefore) {
+                progressionManager.requeueChangedPlayer(DirtyTracker.Channel.VALIDATION, playerId);
+            }
         }
         
         return issues;
@@ -171,15 +190,26 @@ public class DataValidator {
             return issues;
         }
         
-        // Obter todas as parties
-        // (Método necessário no PartyManager - getAllParties)
-        Map<UUID, PartyData> parties = new HashMap<>();
-        Map<UUID, UUID> playerToParty = new HashMap<>();
+        // 🎯 PERFORMANCE: Validar apenas parties alteradas desde a última validação
+        // (parties removidas não existem mais e são ignoradas)
+        DirtyTracker.Changes<UUID> changes = partyManager.drainChangedParties(DirtyTracker.Channel.VALIDATION);
+        Collection<PartyData> parties;
+        if (changes.all()) {
+            parties = partyManager.getAllParties();
+        } else {
+            parties = new ArrayList<>(changes.keys().size());
+            for (UUID partyId : changes.keys()) {
+                PartyData party = partyManager.getParty(partyId);
+                if (party != null) {
+                    parties.add(party);
+                }
+            }
+        }
         
         // Verificar consistência interna das parties
-        for (Map.Entry<UUID, PartyData> entry : parties.entrySet()) {
-            UUID partyId = entry.getKey();
-            PartyData party = entry.getValue();
+        for (PartyData party : parties) {
+            UUID partyId = party.getPartyId();
+            int issuesBefore = issues.size();
             
             // Party deve ter pelo menos um membro
             if (party.getMemberCount() == 0) {
@@ -206,25 +236,19 @@ public class DataValidator {
                 issues.add(new ValidationIssue("ERROR", "Party " + partyId + 
                     " tem fase 2 completa sem fase 1, dados inconsistentes"));
             }
-        }
-        
-        // Verificar consistência do mapeamento jogador -> party
-        for (Map.Entry<UUID, UUID> entry : playerToParty.entrySet()) {
-            UUID playerId = entry.getKey();
-            UUID partyId = entry.getValue();
             
-            // Party deve existir
-            if (!parties.containsKey(partyId)) {
-                issues.add(new ValidationIssue("ERROR", "Jogador " + playerId + 
-                    " está mapeado para party " + partyId + " que não existe"));
-            } else {
-                // Jogador deve estar na party
-                PartyData party = parties.get(partyId);
-                if (!party.getMembers().contains(playerId)) {
+            // Verificar consistência do mapeamento jogador -> party dos membros
+            for (UUID playerId : party.getMembers()) {
+                UUID mappedPartyId = partyManager.getPartyIdForPlayer(playerId);
+                if (!partyId.equals(mappedPartyId)) {
                     issues.add(new ValidationIssue("ERROR", "Jogador " + playerId + 
-                        " está mapeado para party " + partyId + " mas não é membro dela"));
+                        " é membro da party " + partyId + " mas está mapeado para " + mappedPartyId));
                 }
             }
+            
+            if (issues.size() > issuesBefore) {
+                partyManager.requeueChangedParty(DirtyTracker.Channel.VALIDATION, partyId);
+            }
         }
         
         return issues;
@@ -7,6 +7,7 @@ import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.PartyManager;
 import net.mirai.dimtr.network.DeltaUpdateSystem;
 import net.mirai.dimtr.network.BatchSyncProcessor;
+import net.mirai.dimtr.util.MobRegistry;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -455,6 +456,20 @@ public class ProgressTransferService {
     
     private static void applyMergeStrategy(PlayerProgressionData target, PlayerProgressionData source, 
                                          String fieldName, MergeStrategy strategy) {
+        // 🎯 PERFORMANCE: Contadores de mobs são um int[] indexado pelo MobRegistry
+        int mobId = MobRegistry.getIdByNbtKey(fieldName);
+        if (mobId >= 0) {
+            int mergedKills = switch (strategy) {
+                case TAKE_HIGHEST -> Math.max(target.getMobKillCount(mobId), source.getMobKillCount(mobId));
+                case TAKE_LOWEST -> Math.min(target.getMobKillCount(mobId), source.getMobKillCount(mobId));
+                case SUM_VALUES -> target.getMobKillCount(mobId) + source.getMobKillCount(mobId);
+                case LOGICAL_OR, KEEP_INDIVIDUAL -> target.getMobKillCount(mobId);
+                case KEEP_PARTY -> source.getMobKillCount(mobId);
+            };
+            target.setMobKillCount(mobId, mergedKills);
+            return;
+        }
+        
         try {
             // Usar reflection para acessar campos dinamicamente
             var targetField = PlayerProgressionData.class.getField(fieldName);
@@ -593,7 +608,7 @@ public class ProgressTransferService {
         if (data == null) return false;
         
         // Validações básicas
-        if (data.zombieKills < 0 || data.skeletonKills < 0) return false;
+        if (data.getMobKillCount(MobRegistry.ZOMBIE) < 0 || data.getMobKillCount(MobRegistry.SKELETON) < 0) return false;
         
         // Validar lógica de fases
         if (data.phase2Completed && !data.phase1Completed) {
@@ -705,32 +720,10 @@ public class ProgressTransferService {
     private static Map<String, Integer> extractMobKillsFromProgression(PlayerProgressionData data) {
         Map<String, Integer> mobKills = new HashMap<>();
         
-        // Mob kills básicos
-        mobKills.put("zombie", data.zombieKills);
-        mobKills.put("skeleton", data.skeletonKills);
-        mobKills.put("stray", data.strayKills);
-        mobKills.put("husk", data.huskKills);
-        mobKills.put("spider", data.spiderKills);
-        mobKills.put("creeper", data.creeperKills);
-        mobKills.put("drowned", data.drownedKills);
-        mobKills.put("enderman", data.endermanKills);
-        mobKills.put("witch", data.witchKills);
-        mobKills.put("pillager", data.pillagerKills);
-        mobKills.put("captain", data.captainKills);
-        mobKills.put("vindicator", data.vindicatorKills);
-        mobKills.put("bogged", data.boggedKills);
-        mobKills.put("breeze", data.breezeKills);
-        mobKills.put("ravager", data.ravagerKills);
-        mobKills.put("evoker", data.evokerKills);
-        
-        // Fase 2 mobs
-        mobKills.put("blaze", data.blazeKills);
-        mobKills.put("wither_skeleton", data.witherSkeletonKills);
-        mobKills.put("piglin_brute", data.piglinBruteKills);
-        mobKills.put("hoglin", data.hoglinKills);
-        mobKills.put("zoglin", data.zoglinKills);
-        mobKills.put("ghast", data.ghastKills);
-        mobKills.put("piglin", data.piglinKills);
+        // 🎯 PERFORMANCE: Percorrer os IDs do MobRegistry em vez de campos nomeados
+        for (int id = 0; id < MobRegistry.TRACKED_VANILLA_COUNT; id++) {
+            mobKills.put(MobRegistry.getName(id), data.getMobKillCount(id));
+        }
         
         return mobKills;
     }
@@ -847,30 +840,9 @@ public class ProgressTransferService {
             String mobType = entry.getKey();
             int kills = entry.getValue();
             
-            switch (mobType) {
-                case "zombie" -> data.zombieKills = kills;
-                case "skeleton" -> data.skeletonKills = kills;
-                case "stray" -> data.strayKills = kills;
-                case "husk" -> data.huskKills = kills;
-                case "spider" -> data.spiderKills = kills;
-                case "creeper" -> data.creeperKills = kills;
-                case "drowned" -> data.drownedKills = kills;
-                case "enderman" -> data.endermanKills = kills;
-                case "witch" -> data.witchKills = kills;
-                case "pillager" -> data.pillagerKills = kills;
-                case "captain" -> data.captainKills = kills;
-                case "vindicator" -> data.vindicatorKills = kills;
-                case "bogged" -> data.boggedKills = kills;
-                case "breeze" -> data.breezeKills = kills;
-                case "ravager" -> data.ravagerKills = kills;
-                case "evoker" -> data.evokerKills = kills;
-                case "blaze" -> data.blazeKills = kills;
-                case "wither_skeleton" -> data.witherSkeletonKills = kills;
-                case "piglin_brute" -> data.piglinBruteKills = kills;
-                case "hoglin" -> data.hoglinKills = kills;
-                case "zoglin" -> data.zoglinKills = kills;
-                case "ghast" -> data.ghastKills = kills;
-                case "piglin" -> data.piglinKills = kills;
+            int mobId = MobRegistry.getId(mobType);
+            if (MobRegistry.isCountable(mobId)) {
+                data.setMobKillCount(mobId, kills);
             }
         }
         
@@ -924,29 +896,7 @@ public class ProgressTransferService {
      */
     private static void copyProgressionData(PlayerProgressionData source, PlayerProgressionData target) {
         // Copiar mob kills
-        target.zombieKills = source.zombieKills;
-        target.skeletonKills = source.skeletonKills;
-        target.strayKills = source.strayKills;
-        target.huskKills = source.huskKills;
-        target.spiderKills = source.spiderKills;
-        target.creeperKills = source.creeperKills;
-        target.drownedKills = source.drownedKills;
-        target.endermanKills = source.endermanKills;
-        target.witchKills = source.witchKills;
-        target.pillagerKills = source.pillagerKills;
-        target.captainKills = source.captainKills;
-        target.vindicatorKills = source.vindicatorKills;
-        target.boggedKills = source.boggedKills;
-        target.breezeKills = source.breezeKills;
-        target.ravagerKills = source.ravagerKills;
-        target.evokerKills = source.evokerKills;
-        target.blazeKills = source.blazeKills;
-        target.witherSkeletonKills = source.witherSkeletonKills;
-        target.piglinBruteKills = source.piglinBruteKills;
-        target.hoglinKills = source.hoglinKills;
-        target.zoglinKills = source.zoglinKills;
-        target.ghastKills = source.ghastKills;
-        target.piglinKills = source.piglinKills;
+        target.copyMobKillsFrom(source);
         
         // Copiar objetivos
         target.elderGuardianKilled = source.elderGuardianKilled;
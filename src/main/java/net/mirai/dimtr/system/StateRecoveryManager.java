@@ -3,6 +3,7 @@ package net.mirai.dimtr.system;
 import net.mirai.dimtr.DimTrMod;
 import net.mirai.dimtr.data.ProgressionManager;
 import net.mirai.dimtr.data.PartyManager;
+import net.mirai.dimtr.util.ServerThreadSnapshot;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtAccounter;
@@ -227,9 +228,9 @@ public class StateRecoveryManager {
     private static void checkAndUpdateStableState() {
         if (!initialized || server == null) return;
 
-        // Executar validação
+        // Executar validação (na thread do servidor: lê dados mutados por ela)
         DataValidator validator = new DataValidator(server);
-        List<DataValidator.ValidationIssue> issues = validator.validateAll();
+        List<DataValidator.ValidationIssue> issues = ServerThreadSnapshot.capture(server, validator::validateAll);
 
         // Verificar se o estado atual é válido
         boolean isValid = issues.stream()
@@ -22,6 +22,10 @@ public class ConfigCache {
     private static volatile int maxPartySize;
     private static volatile double partyProgressionMultiplier;
     private static volatile double partyProximityRadius;
+    private static volatile int multiplierCacheTicks;
+    private static volatile int offlineEvictionMinutes;
+    private static volatile int syncCoalesceTicks;
+    private static volatile int syncHighPriorityMaxTicks;
     
     // Flag para indicar se o cache foi inicializado
     private static volatile boolean initialized = false;
@@ -40,6 +44,10 @@ public class ConfigCache {
         maxPartySize = DimTrConfig.SERVER.maxPartySize.get();
         partyProgressionMultiplier = DimTrConfig.SERVER.partyProgressionMultiplier.get();
         partyProximityRadius = DimTrConfig.SERVER.partyProximityRadius.get();
+        multiplierCacheTicks = DimTrConfig.SERVER.multiplierCacheTicks.get();
+        offlineEvictionMinutes = DimTrConfig.SERVER.offlineEvictionMinutes.get();
+        syncCoalesceTicks = DimTrConfig.SERVER.syncCoalesceTicks.get();
+        syncHighPriorityMaxTicks = DimTrConfig.SERVER.syncHighPriorityMaxTicks.get();
         
         initialized = true;
     }
@@ -99,6 +107,26 @@ public class ConfigCache {
         return partyProximityRadius;
     }
     
+    public static int getMultiplierCacheTicks() {
+        ensureInitialized();
+        return multiplierCacheTicks;
+    }
+    
+    public static int getOfflineEvictionMinutes() {
+        ensureInitialized();
+        return offlineEvictionMinutes;
+    }
+    
+    public static int getSyncCoalesceTicks() {
+        ensureInitialized();
+        return syncCoalesceTicks;
+    }
+    
+    public static int getSyncHighPriorityMaxTicks() {
+        ensureInitialized();
+        return syncHighPriorityMaxTicks;
+    }
+    
     /**
      * 🔄 OTIMIZADO: Verifica se o sistema de fases customizadas está habilitado
      * Centralizado no ConfigCache para melhorar manutenção
@@ -8,6 +8,17 @@ public class Constants {
     // CORREÇÃO: Nome da chave de dados
     public static final String PROGRESSION_DATA_NAME = "dimtr_progression";
 
+    // 🎯 PERFORMANCE: Número de shards da progressão individual (primeiro byte do UUID)
+    public static final int PROGRESSION_SHARD_COUNT = 256;
+
+    // 🎯 PERFORMANCE: Capacidade da fila de gravação assíncrona (comporta um flush completo dos shards)
+    public static final int PERSISTENCE_QUEUE_CAPACITY = 512;
+    public static final int PERSISTENCE_FLUSH_TIMEOUT_SECONDS = 30;
+
+    // 🎯 PERFORMANCE: Journal de progressão (arquivo no diretório dos shards, flush a cada segundo)
+    public static final String PROGRESSION_JOURNAL_FILE = "journal.dat";
+    public static final int JOURNAL_FLUSH_INTERVAL_TICKS = 20;
+
     // Chaves de tradução principais
     public static final String HUD_TITLE = "hud.dimtr.title";
 
@@ -646,6 +657,7 @@ public class Constants {
     // Networking logs
     public static final String LOG_NETWORK_PAYLOADS_REGISTERED = "✅ Network payloads registered successfully:";
     public static final String LOG_NETWORK_PROGRESSION_PAYLOAD = "   • UpdateProgressionToClientPayload (Individual progression sync)";
+    public static final String LOG_NETWORK_DELTA_PAYLOAD = "   • ProgressionDeltaPacket + RequestProgressionResyncPayload (Sequenced delta sync)";
     public static final String LOG_NETWORK_PARTY_PAYLOAD = "   • UpdatePartyToClientPayload (Party system sync)";
     public static final String LOG_NETWORK_OPERATIONAL = "🎯 All networking systems are operational!";
     
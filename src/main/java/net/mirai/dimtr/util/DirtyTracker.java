@@ -0,0 +1,118 @@
+package net.mirai.dimtr.util;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🎯 PERFORMANCE: Rastreamento de entradas alteradas desde o último checkpoint
+ *
+ * Cada consumidor (persistência, backup, sync, validação) tem seu próprio canal:
+ * marcar uma chave a adiciona em todos os canais, e cada consumidor drena apenas
+ * o seu. Assim cada um processa O(alterados) desde a última vez que rodou, sem
+ * interferir no checkpoint dos outros.
+ *
+ * Só os canais informados no construtor são rastreados: um canal sem consumidor
+ * nunca acumula chaves. Drenar um canal não rastreado retorna "tudo alterado".
+ *
+ * {@link #markAll()} sinaliza uma mudança sem chave conhecida (ex: restauração de
+ * backup); o consumidor recebe {@link Changes#all()} = true e deve processar tudo.
+ */
+public final class DirtyTracker<K> {
+
+    public enum Channel {
+        PERSISTENCE,
+        BACKUP,
+        SYNC,
+        VALIDATION
+    }
+
+    /**
+     * Resultado de um dreno: chaves alteradas e se tudo deve ser considerado alterado
+     */
+    public record Changes<K>(Set<K> keys, boolean all) {
+        public boolean isEmpty() {
+            return !all && keys.isEmpty();
+        }
+    }
+
+    private final Map<Channel, Set<K>> dirtyKeys = new EnumMap<>(Channel.class);
+    private final Map<Channel, AtomicBoolean> allDirty = new EnumMap<>(Channel.class);
+
+    public DirtyTracker(Channel... channels) {
+        for (Channel channel : channels) {
+            dirtyKeys.put(channel, ConcurrentHashMap.newKeySet());
+            allDirty.put(channel, new AtomicBoolean(false));
+        }
+    }
+
+    /**
+     * Marcar uma chave como alterada em todos os canais
+     */
+    public void mark(K key) {
+        for (Set<K> keys : dirtyKeys.values()) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Marcar uma chave como alterada apenas em um canal (ex: reagendar após falha)
+     */
+    public void mark(Channel channel, K key) {
+        Set<K> keys = dirtyKeys.get(channel);
+        if (keys != null) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Marcar tudo como alterado em todos os canais
+     */
+    public void markAll() {
+        for (AtomicBoolean flag : allDirty.values()) {
+            flag.set(true);
+        }
+    }
+
+    /**
+     * Drenar as alterações de um canal (checkpoint do consumidor)
+     */
+    public Changes<K> drain(Channel channel) {
+        if (!dirtyKeys.containsKey(channel)) {
+            return new Changes<>(Set.of(), true);
+        }
+
+        boolean all = allDirty.get(channel).getAndSet(false);
+        Set<K> keys = dirtyKeys.get(channel);
+
+        // Remover uma a uma: marcações concorrentes ficam para o próximo dreno
+        Set<K> drained = new HashSet<>();
+        for (K key : keys) {
+            if (keys.remove(key)) {
+                drained.add(key);
+            }
+        }
+        return new Changes<>(drained, all);
+    }
+
+    /**
+     * Verificar se uma chave está pendente em um canal
+     */
+    public boolean isDirty(Channel channel, K key) {
+        if (!dirtyKeys.containsKey(channel)) {
+            return true;
+        }
+        return allDirty.get(channel).get() || dirtyKeys.get(channel).contains(key);
+    }
+
+    /**
+     * Número de chaves pendentes em um canal (sem contar markAll)
+     */
+    public int pendingCount(Channel channel) {
+        Set<K> keys = dirtyKeys.get(channel);
+        return keys != null ? keys.size() : 0;
+    }
+}
@@ -0,0 +1,251 @@
+package net.mirai.dimtr.util;
+
+import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.boss.wither.WitherBoss;
+import net.minecraft.world.entity.monster.*;
+import net.minecraft.world.entity.monster.breeze.Breeze;
+import net.minecraft.world.entity.monster.hoglin.Hoglin;
+import net.minecraft.world.entity.monster.piglin.Piglin;
+import net.minecraft.world.entity.monster.piglin.PiglinBrute;
+import net.minecraft.world.entity.monster.warden.Warden;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 🎯 PERFORMANCE: Classificação de mobs por EntityType em tabela pré-computada
+ *
+ * Substitui as cadeias de instanceof (e as comparações por nome de entidade)
+ * executadas a cada spawn, drop de XP e kill. A classificação é um lookup O(1)
+ * sem alocação; só os casos que dependem do estado da entidade (capitão pillager,
+ * piglin com ouro/alvo) usam um pequeno predicado.
+ *
+ * Tipos fora da tabela (ex: mobs de outros mods que estendem classes vanilla) são
+ * classificados uma única vez pela regra antiga baseada em instanceof e memorizados.
+ */
+public class MobClassifier {
+
+    // 🎯 PERFORMANCE: Cache estático de banners para detecção de capitães
+    private static final Set<Item> BANNER_ITEMS = Set.of(
+        Items.WHITE_BANNER, Items.BLACK_BANNER, Items.BLUE_BANNER, Items.BROWN_BANNER,
+        Items.CYAN_BANNER, Items.GRAY_BANNER, Items.GREEN_BANNER, Items.LIGHT_BLUE_BANNER,
+        Items.LIGHT_GRAY_BANNER, Items.LIME_BANNER, Items.MAGENTA_BANNER, Items.ORANGE_BANNER,
+        Items.PINK_BANNER, Items.PURPLE_BANNER, Items.RED_BANNER, Items.YELLOW_BANNER
+    );
+
+    /**
+     * Classificação de um tipo de entidade
+     */
+    public static final class MobClassification {
+        private final String mobType;
+        private final Function<LivingEntity, String> stateResolver;
+        public final boolean hostile;
+        public final boolean basicHostile;
+
+        private MobClassification(String mobType, Function<LivingEntity, String> stateResolver,
+                                  boolean hostile, boolean basicHostile) {
+            this.mobType = mobType;
+            this.stateResolver = stateResolver;
+            this.hostile = hostile;
+            this.basicHostile = basicHostile;
+        }
+
+        /**
+         * Obter o tipo de progressão do mob (null se não conta para progresso)
+         */
+        public String resolveMobType(LivingEntity entity) {
+            return stateResolver != null ? stateResolver.apply(entity) : mobType;
+        }
+    }
+
+    // Tabela copy-on-write: leituras sem lock, escrita apenas ao aprender um tipo novo
+    private static volatile Map<EntityType<?>, MobClassification> table = buildVanillaTable();
+
+    private static Map<EntityType<?>, MobClassification> buildVanillaTable() {
+        Map<EntityType<?>, MobClassification> map = new IdentityHashMap<>();
+
+        // Fase 1 - Mobs comuns do Overworld (hostis e básicos para XP)
+        // ZombifiedPiglin estende Zombie e historicamente conta como zombie
+        basic(map, EntityType.ZOMBIE, Constants.MOB_TYPE_ZOMBIE);
+        basic(map, EntityType.ZOMBIFIED_PIGLIN, Constants.MOB_TYPE_ZOMBIE);
+        basic(map, EntityType.ZOMBIE_VILLAGER, null); // Não conta como progresso
+        basic(map, EntityType.HUSK, Constants.MOB_TYPE_HUSK);
+        basic(map, EntityType.DROWNED, Constants.MOB_TYPE_DROWNED);
+        basic(map, EntityType.SKELETON, Constants.MOB_TYPE_SKELETON);
+        basic(map, EntityType.STRAY, Constants.MOB_TYPE_STRAY);
+        basic(map, EntityType.SPIDER, Constants.MOB_TYPE_SPIDER);
+        basic(map, EntityType.CAVE_SPIDER, Constants.MOB_TYPE_SPIDER); // CaveSpider estende Spider
+        basic(map, EntityType.CREEPER, Constants.MOB_TYPE_CREEPER);
+        basic(map, EntityType.ENDERMAN, Constants.MOB_TYPE_ENDERMAN);
+        basic(map, EntityType.WITCH, Constants.MOB_TYPE_WITCH);
+        map.put(EntityType.PILLAGER, new MobClassification(null, MobClassifier::resolvePillager, true, true));
+        basic(map, EntityType.VINDICATOR, Constants.MOB_TYPE_VINDICATOR);
+        basic(map, EntityType.EVOKER, Constants.MOB_TYPE_EVOKER);
+        basic(map, EntityType.RAVAGER, Constants.MOB_TYPE_RAVAGER);
+        basic(map, EntityType.BOGGED, Constants.MOB_TYPE_BOGGED);
+        basic(map, EntityType.BREEZE, Constants.MOB_TYPE_BREEZE);
+
+        // Fase 2 - Mobs do Nether
+        hostile(map, EntityType.BLAZE, Constants.MOB_TYPE_BLAZE);
+        hostile(map, EntityType.WITHER_SKELETON, Constants.MOB_TYPE_WITHER_SKELETON);
+        hostile(map, EntityType.PIGLIN_BRUTE, Constants.MOB_TYPE_PIGLIN_BRUTE);
+        map.put(EntityType.PIGLIN, new MobClassification(null, MobClassifier::resolvePiglin, true, false));
+        hostile(map, EntityType.HOGLIN, Constants.MOB_TYPE_HOGLIN);
+        hostile(map, EntityType.ZOGLIN, Constants.MOB_TYPE_ZOGLIN);
+        hostile(map, EntityType.GHAST, Constants.MOB_TYPE_GHAST);
+
+        // Bosses e guardiões: recebem multiplicador, progresso vem de objetivos especiais
+        hostile(map, EntityType.ELDER_GUARDIAN, null);
+        hostile(map, EntityType.GUARDIAN, null);
+        hostile(map, EntityType.WITHER, null);
+        hostile(map, EntityType.WARDEN, null);
+
+        return map;
+    }
+
+    private static void basic(Map<EntityType<?>, MobClassification> map, EntityType<?> type, String mobType) {
+        map.put(type, new MobClassification(mobType, null, true, true));
+    }
+
+    private static void hostile(Map<EntityType<?>, MobClassification> map, EntityType<?> type, String mobType) {
+        map.put(type, new MobClassification(mobType, null, true, false));
+    }
+
+    /**
+     * Obter classificação da entidade (O(1) para tipos conhecidos)
+     */
+    public static MobClassification classify(LivingEntity entity) {
+        EntityType<?> type = entity.getType();
+        MobClassification classification = table.get(type);
+        if (classification == null) {
+            classification = learn(type, entity);
+        }
+        return classification;
+    }
+
+    /**
+     * Obter tipo de progressão do mob morto (null se não conta)
+     */
+    public static String getMobType(LivingEntity entity) {
+        return classify(entity).resolveMobType(entity);
+    }
+
+    public static boolean isHostileMob(LivingEntity entity) {
+        return classify(entity).hostile;
+    }
+
+    public static boolean isBasicHostileMob(LivingEntity entity) {
+        return classify(entity).basicHostile;
+    }
+
+    // ============================================================================
+    // PREDICADOS DEPENDENTES DE ESTADO
+    // ============================================================================
+
+    private static String resolvePillager(LivingEntity entity) {
+        boolean isCarryingBanner = BANNER_ITEMS.contains(entity.getMainHandItem().getItem()) ||
+                                   BANNER_ITEMS.contains(entity.getOffhandItem().getItem());
+        boolean hasBadOmen = entity.hasEffect(MobEffects.BAD_OMEN);
+
+        if (isCarryingBanner || hasBadOmen) {
+            return Constants.MOB_TYPE_CAPTAIN;
+        }
+        return Constants.MOB_TYPE_PILLAGER;
+    }
+
+    private static String resolvePiglin(LivingEntity entity) {
+        if (entity instanceof Piglin piglin) {
+            if (piglin.getTarget() != null) {
+                return Constants.MOB_TYPE_PIGLIN;
+            }
+            if (piglin.isAdult() && !piglin.isHolding(Items.GOLD_INGOT)) {
+                return Constants.MOB_TYPE_PIGLIN;
+            }
+        }
+        return null;
+    }
+
+    // ============================================================================
+    // TIPOS DESCONHECIDOS (MODS)
+    // ============================================================================
+
+    /**
+     * Classificar um tipo fora da tabela pela regra antiga e memorizar o resultado
+     */
+    private static synchronized MobClassification learn(EntityType<?> type, LivingEntity entity) {
+        MobClassification existing = table.get(type);
+        if (existing != null) {
+            return existing;
+        }
+
+        MobClassification classification = classifyByInstance(type, entity);
+        Map<EntityType<?>, MobClassification> updated = new IdentityHashMap<>(table);
+        updated.put(type, classification);
+        table = updated;
+        return classification;
+    }
+
+    private static MobClassification classifyByInstance(EntityType<?> type, LivingEntity entity) {
+        boolean basicHostile = entity instanceof Zombie || entity instanceof Skeleton ||
+                entity instanceof Stray || entity instanceof Husk || entity instanceof Spider ||
+                entity instanceof Creeper || entity instanceof Drowned || entity instanceof EnderMan ||
+                entity instanceof Witch || entity instanceof Pillager || entity instanceof Vindicator ||
+                entity instanceof Evoker || entity instanceof Ravager || entity instanceof Bogged ||
+                entity instanceof Breeze;
+
+        boolean hostile = basicHostile || entity instanceof Guardian || entity instanceof Blaze ||
+                entity instanceof WitherSkeleton || entity instanceof PiglinBrute || entity instanceof Piglin ||
+                entity instanceof Hoglin || entity instanceof Zoglin || entity instanceof Ghast ||
+                entity instanceof WitherBoss || entity instanceof Warden;
+
+        if (entity instanceof Pillager) {
+            return new MobClassification(null, MobClassifier::resolvePillager, hostile, basicHostile);
+        }
+        if (entity instanceof Piglin) {
+            return new MobClassification(null, MobClassifier::resolvePiglin, hostile, basicHostile);
+        }
+
+        return new MobClassification(legacyMobType(type, entity), null, hostile, basicHostile);
+    }
+
+    /**
+     * Regra original de detecção de mobs (instanceof + fallback por nome)
+     */
+    private static String legacyMobType(EntityType<?> type, LivingEntity entity) {
+        // DROWNED DEVE VIR ANTES DE ZOMBIE
+        if (entity instanceof Drowned) return Constants.MOB_TYPE_DROWNED;
+        if (entity instanceof ZombieVillager) return null;
+        if (entity instanceof Husk) return Constants.MOB_TYPE_HUSK;
+        if (entity instanceof Zombie) return Constants.MOB_TYPE_ZOMBIE;
+        if (entity instanceof Stray) return Constants.MOB_TYPE_STRAY;
+        if (entity instanceof WitherSkeleton) return Constants.MOB_TYPE_WITHER_SKELETON;
+        if (entity instanceof Skeleton) return Constants.MOB_TYPE_SKELETON;
+        if (entity instanceof Spider) return Constants.MOB_TYPE_SPIDER;
+        if (entity instanceof Creeper) return Constants.MOB_TYPE_CREEPER;
+        if (entity instanceof EnderMan) return Constants.MOB_TYPE_ENDERMAN;
+        if (entity instanceof Witch) return Constants.MOB_TYPE_WITCH;
+        if (entity instanceof Vindicator) return Constants.MOB_TYPE_VINDICATOR;
+        if (entity instanceof Evoker) return Constants.MOB_TYPE_EVOKER;
+        if (entity instanceof Ravager) return Constants.MOB_TYPE_RAVAGER;
+        if (entity instanceof Blaze) return Constants.MOB_TYPE_BLAZE;
+        if (entity instanceof PiglinBrute) return Constants.MOB_TYPE_PIGLIN_BRUTE;
+        if (entity instanceof Hoglin) return Constants.MOB_TYPE_HOGLIN;
+        if (entity instanceof Zoglin) return Constants.MOB_TYPE_ZOGLIN;
+        if (entity instanceof Ghast) return Constants.MOB_TYPE_GHAST;
+
+        // Fallback por nome da entidade (feito uma vez por tipo)
+        String entityName = type.toString().toLowerCase();
+        if (entityName.contains(Constants.MOB_TYPE_BOGGED)) return Constants.MOB_TYPE_BOGGED;
+        if (entityName.contains(Constants.MOB_TYPE_BREEZE)) return Constants.MOB_TYPE_BREEZE;
+        if (entityName.contains(Constants.MOB_TYPE_WITHER_SKELETON)) return Constants.MOB_TYPE_WITHER_SKELETON;
+        if (entityName.contains(Constants.MOB_TYPE_PIGLIN_BRUTE)) return Constants.MOB_TYPE_PIGLIN_BRUTE;
+
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+package net.mirai.dimtr.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🎯 PERFORMANCE: Registro de tipos de mob com IDs inteiros densos
+ *
+ * Cada tipo de mob vanilla recebe um índice fixo, usado para indexar os
+ * contadores de kills em int[]. Incremento, verificação de requisitos, cópia
+ * e comparação de deltas viram operações de array, e adicionar um mob vanilla
+ * só exige uma nova entrada aqui.
+ *
+ * O registro é fixo (ordem estável). Mobs de fases customizadas não entram
+ * aqui: são contados por fase nos mapas de custom phases.
+ */
+public final class MobRegistry {
+
+    // ============================================================================
+    // IDS VANILLA - FASE 1
+    // ============================================================================
+    public static final int ZOMBIE = 0;
+    public static final int SKELETON = 1;
+    public static final int STRAY = 2;
+    public static final int HUSK = 3;
+    public static final int SPIDER = 4;
+    public static final int CREEPER = 5;
+    public static final int DROWNED = 6;
+    public static final int ENDERMAN = 7;
+    public static final int WITCH = 8;
+    public static final int PILLAGER = 9;
+    public static final int CAPTAIN = 10;
+    public static final int VINDICATOR = 11;
+    public static final int BOGGED = 12;
+    public static final int BREEZE = 13;
+    public static final int RAVAGER = 14;
+    public static final int EVOKER = 15;
+
+    // ============================================================================
+    // IDS VANILLA - FASE 2
+    // ============================================================================
+    public static final int BLAZE = 16;
+    public static final int WITHER_SKELETON = 17;
+    public static final int PIGLIN_BRUTE = 18;
+    public static final int HOGLIN = 19;
+    public static final int ZOGLIN = 20;
+    public static final int GHAST = 21;
+    public static final int PIGLIN = 22;
+
+    // ============================================================================
+    // IDS LEGADOS (apenas persistidos, nunca contados para progresso)
+    // ============================================================================
+    public static final int CAVE_SPIDER = 23;
+    public static final int SILVERFISH = 24;
+    public static final int MAGMA_CUBE = 25;
+    public static final int ZOMBIFIED_PIGLIN = 26;
+    public static final int SHULKER = 27;
+    public static final int ENDER_DRAGON = 28;
+
+    /** Número de mobs vanilla contados para as fases 1 e 2 */
+    public static final int TRACKED_VANILLA_COUNT = 23;
+    /** Número total de IDs vanilla (inclui legados) */
+    public static final int VANILLA_COUNT = 29;
+
+    // Nome do tipo e chave NBT, na ordem dos IDs
+    private static final String[][] VANILLA_ENTRIES = {
+        {Constants.MOB_TYPE_ZOMBIE, "zombieKills"},
+        {Constants.MOB_TYPE_SKELETON, "skeletonKills"},
+        {Constants.MOB_TYPE_STRAY, "strayKills"},
+        {Constants.MOB_TYPE_HUSK, "huskKills"},
+        {Constants.MOB_TYPE_SPIDER, "spiderKills"},
+        {Constants.MOB_TYPE_CREEPER, "creeperKills"},
+        {Constants.MOB_TYPE_DROWNED, "drownedKills"},
+        {Constants.MOB_TYPE_ENDERMAN, "endermanKills"},
+        {Constants.MOB_TYPE_WITCH, "witchKills"},
+        {Constants.MOB_TYPE_PILLAGER, "pillagerKills"},
+        {Constants.MOB_TYPE_CAPTAIN, "captainKills"},
+        {Constants.MOB_TYPE_VINDICATOR, "vindicatorKills"},
+        {Constants.MOB_TYPE_BOGGED, "boggedKills"},
+        {Constants.MOB_TYPE_BREEZE, "breezeKills"},
+        {Constants.MOB_TYPE_RAVAGER, "ravagerKills"},
+        {Constants.MOB_TYPE_EVOKER, "evokerKills"},
+        {Constants.MOB_TYPE_BLAZE, "blazeKills"},
+        {Constants.MOB_TYPE_WITHER_SKELETON, "witherSkeletonKills"},
+        {Constants.MOB_TYPE_PIGLIN_BRUTE, "piglinBruteKills"},
+        {Constants.MOB_TYPE_HOGLIN, "hoglinKills"},
+        {Constants.MOB_TYPE_ZOGLIN, "zoglinKills"},
+        {Constants.MOB_TYPE_GHAST, "ghastKills"},
+        {Constants.MOB_TYPE_PIGLIN, "piglinKills"},
+        {"cave_spider", "caveSpiderKills"},
+        {"silverfish", "silverfishKills"},
+        {"magma_cube", "magmaCubeKills"},
+        {"zombified_piglin", "zombifiedPiglinKills"},
+        {"shulker", "shulkerKills"},
+        {"ender_dragon", "enderDragonKills"}
+    };
+
+    private static final Map<String, Integer> IDS_BY_NBT_KEY = new HashMap<>();
+
+    // Imutáveis após a inicialização: leituras sem lock
+    private static final String[] NAMES = new String[VANILLA_COUNT];
+    private static final Map<String, Integer> IDS_BY_NAME = new HashMap<>();
+
+    static {
+        for (int id = 0; id < VANILLA_COUNT; id++) {
+            NAMES[id] = VANILLA_ENTRIES[id][0];
+            IDS_BY_NAME.put(VANILLA_ENTRIES[id][0], id);
+            IDS_BY_NBT_KEY.put(VANILLA_ENTRIES[id][1], id);
+        }
+    }
+
+    private MobRegistry() {}
+
+    /**
+     * Obter ID de um tipo de mob (-1 se não registrado)
+     */
+    public static int getId(String mobType) {
+        if (mobType == null) return -1;
+        Integer id = IDS_BY_NAME.get(mobType);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Obter ID a partir da chave NBT legada (ex: "zombieKills"), -1 se desconhecida
+     */
+    public static int getIdByNbtKey(String nbtKey) {
+        Integer id = IDS_BY_NBT_KEY.get(nbtKey);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Obter nome do tipo de mob de um ID
+     */
+    public static String getName(int id) {
+        return isVanilla(id) ? NAMES[id] : null;
+    }
+
+    /**
+     * Obter chave NBT de um ID (null se fora do registro)
+     */
+    public static String getNbtKey(int id) {
+        return isVanilla(id) ? VANILLA_ENTRIES[id][1] : null;
+    }
+
+    /**
+     * Total de IDs registrados
+     */
+    public static int size() {
+        return VANILLA_COUNT;
+    }
+
+    public static boolean isVanilla(int id) {
+        return id >= 0 && id < VANILLA_COUNT;
+    }
+
+    /**
+     * Verificar se kills deste ID contam como progresso (exclui legados)
+     */
+    public static boolean isCountable(int id) {
+        return id >= 0 && id < TRACKED_VANILLA_COUNT;
+    }
+}
@@ -0,0 +1,154 @@
+package net.mirai.dimtr.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.mirai.dimtr.data.PlayerProgressionData;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎯 PERFORMANCE: Cache de curta duração do multiplicador de spawn por seção de chunk
+ *
+ * Spawns se concentram nas mesmas seções (spawners, farms, raids). Uma rajada de
+ * spawns na mesma seção reutiliza o multiplicador calculado para o primeiro mob.
+ *
+ * Uma entrada deixa de valer quando:
+ * - passa o número de ticks configurado (multiplierCacheTicks)
+ * - um jogador entra ou sai de um chunk dentro do raio de proximidade
+ * - a progressão de qualquer jogador muda de forma que afete multiplicadores
+ *
+ * Entradas agrupadas por coluna de chunk (X/Z) e depois pela seção Y: a
+ * invalidação por chunk remove as colunas do raio diretamente, sem percorrer
+ * o cache da dimensão. Acesso apenas na thread do servidor.
+ */
+public class MultiplierRegionCache {
+
+    // Acima deste número de colunas, entradas expiradas são removidas na próxima inserção
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private static final Map<ResourceKey<Level>, Long2ObjectOpenHashMap<Int2ObjectOpenHashMap<CachedMultiplier>>> CACHE =
+            new ConcurrentHashMap<>();
+
+    private record CachedMultiplier(double multiplier, long gameTime, int version) {}
+
+    /**
+     * Obter multiplicador em cache para a seção da posição
+     * @return multiplicador, ou NaN se não houver entrada válida
+     */
+    public static double get(ServerLevel level, double x, double y, double z) {
+        int ttl = ConfigCache.getMultiplierCacheTicks();
+        if (ttl <= 0) {
+            return Double.NaN;
+        }
+
+        Long2ObjectOpenHashMap<Int2ObjectOpenHashMap<CachedMultiplier>> columns = CACHE.get(level.dimension());
+        if (columns == null) {
+            return Double.NaN;
+        }
+
+        Int2ObjectOpenHashMap<CachedMultiplier> column = columns.get(columnKey(x, z));
+        if (column == null) {
+            return Double.NaN;
+        }
+
+        CachedMultiplier cached = column.get(sectionY(y));
+        if (cached == null
+                || cached.version != PlayerProgressionData.getMultiplierVersion()
+                || level.getGameTime() - cached.gameTime >= ttl) {
+            return Double.NaN;
+        }
+
+        return cached.multiplier;
+    }
+
+    /**
+     * Guardar multiplicador calculado para a seção da posição
+     */
+    public static void put(ServerLevel level, double x, double y, double z, double multiplier) {
+        int ttl = ConfigCache.getMultiplierCacheTicks();
+        if (ttl <= 0) {
+            return;
+        }
+
+        long now = level.getGameTime();
+        Long2ObjectOpenHashMap<Int2ObjectOpenHashMap<CachedMultiplier>> columns =
+                CACHE.computeIfAbsent(level.dimension(), k -> new Long2ObjectOpenHashMap<>());
+
+        if (columns.size() >= PURGE_THRESHOLD) {
+            columns.values().removeIf(column -> {
+                column.values().removeIf(entry -> now - entry.gameTime >= ttl);
+                return column.isEmpty();
+            });
+        }
+
+        long key = columnKey(x, z);
+        Int2ObjectOpenHashMap<CachedMultiplier> column = columns.get(key);
+        if (column == null) {
+            column = new Int2ObjectOpenHashMap<>(4);
+            columns.put(key, column);
+        }
+        column.put(sectionY(y), new CachedMultiplier(multiplier, now, PlayerProgressionData.getMultiplierVersion()));
+    }
+
+    /**
+     * Invalidar seções cujo raio de proximidade alcança o chunk informado
+     * (jogador entrou ou saiu do chunk)
+     */
+    public static void invalidateAroundChunk(ResourceKey<Level> dimension, int chunkX, int chunkZ, double radius) {
+        Long2ObjectOpenHashMap<Int2ObjectOpenHashMap<CachedMultiplier>> columns = CACHE.get(dimension);
+        if (columns == null || columns.isEmpty()) {
+            return;
+        }
+
+        // 🎯 PERFORMANCE: (2r+1)² remoções diretas, independente do tamanho do cache
+        int chunkRadius = SectionPos.blockToSectionCoord((int) Math.ceil(radius)) + 1;
+        for (int cx = chunkX - chunkRadius; cx <= chunkX + chunkRadius; cx++) {
+            for (int cz = chunkZ - chunkRadius; cz <= chunkZ + chunkRadius; cz++) {
+                columns.remove(ChunkPos.asLong(cx, cz));
+            }
+        }
+    }
+
+    /**
+     * Limpar todas as entradas de uma dimensão
+     */
+    public static void clear(ResourceKey<Level> dimension) {
+        CACHE.remove(dimension);
+    }
+
+    /**
+     * Limpar todo o cache (parada do servidor)
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * Obter número de entradas para debugging
+     */
+    public static int getEntryCount() {
+        int total = 0;
+        for (Long2ObjectOpenHashMap<Int2ObjectOpenHashMap<CachedMultiplier>> columns : CACHE.values()) {
+            for (Int2ObjectOpenHashMap<CachedMultiplier> column : columns.values()) {
+                total += column.size();
+            }
+        }
+        return total;
+    }
+
+    private static long columnKey(double x, double z) {
+        return ChunkPos.asLong(
+                SectionPos.blockToSectionCoord((int) Math.floor(x)),
+                SectionPos.blockToSectionCoord((int) Math.floor(z)));
+    }
+
+    private static int sectionY(double y) {
+        return SectionPos.blockToSectionCoord((int) Math.floor(y));
+    }
+}
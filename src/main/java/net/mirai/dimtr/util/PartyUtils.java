@@ -152,8 +152,8 @@ public class PartyUtils {
         
         // Marcar como modificado se houve mudanças
         if (changed) {
-            partyManager.setDirty();
-            progressionManager.setDirty();
+            partyManager.markPartyDirty(party.getPartyId());
+            progressionManager.markPlayerDirty(playerId);
         }
     }
 }
@@ -0,0 +1,146 @@
+package net.mirai.dimtr.util;
+
+import net.mirai.dimtr.DimTrMod;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🎯 PERFORMANCE: Gravador de persistência fora da thread do servidor
+ *
+ * A thread do servidor apenas tira um snapshot dos dados alterados (tags NBT
+ * já copiadas) e enfileira a gravação; codificação, compressão, fsync e o move
+ * atômico acontecem em uma única thread de I/O dedicada.
+ *
+ * A thread é única de propósito: tarefas executam na ordem de envio, então
+ * duas gravações do mesmo arquivo nunca se invertem (a mais recente sempre vence).
+ *
+ * A fila é limitada. Se o disco não acompanhar, quem envia espera por espaço
+ * na fila (back-pressure) em vez de acumular snapshots sem limite em memória;
+ * cada espera é contabilizada nas métricas.
+ */
+public final class PersistenceWriter {
+
+    /**
+     * Tarefa de gravação (pode lançar exceções de I/O)
+     */
+    @FunctionalInterface
+    public interface WriteTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * Métricas acumuladas do gravador
+     */
+    public record Stats(long submitted, long completed, long failed, int queueDepth, int maxQueueDepth,
+                        long backPressureEvents, long backPressureMillis) {
+    }
+
+    private static final BlockingQueue<Runnable> QUEUE =
+            new ArrayBlockingQueue<>(Constants.PERSISTENCE_QUEUE_CAPACITY);
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, QUEUE,
+            r -> {
+                Thread t = new Thread(r, "DimTr-PersistenceWriter");
+                t.setDaemon(true);
+                return t;
+            },
+            PersistenceWriter::waitForSpace);
+
+    private static final LongAdder submitted = new LongAdder();
+    private static final LongAdder completed = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder backPressureEvents = new LongAdder();
+    private static final LongAdder backPressureNanos = new LongAdder();
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private PersistenceWriter() {}
+
+    /**
+     * Enfileirar uma gravação; o future completa (ou falha) quando ela terminar
+     */
+    public static CompletableFuture<Void> submit(String description, WriteTask task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submitted.increment();
+
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    task.run();
+                    completed.increment();
+                    future.complete(null);
+                } catch (Throwable e) {
+                    failed.increment();
+                    DimTrMod.LOGGER.error("❌ Falha na gravação assíncrona ({}): {}", description, e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        maxQueueDepth.accumulateAndGet(QUEUE.size(), Math::max);
+        return future;
+    }
+
+    /**
+     * Aguardar todas as gravações enfileiradas até agora (ex: parada do servidor)
+     * @return true se a fila foi esvaziada dentro do tempo limite
+     */
+    public static boolean flushAndWait(long timeout, TimeUnit unit) {
+        try {
+            submit("flush", () -> {}).get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            DimTrMod.LOGGER.error("❌ Gravações pendentes não terminaram em {} {} ({} na fila)",
+                    timeout, unit, QUEUE.size());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static Stats getStats() {
+        return new Stats(submitted.sum(), completed.sum(), failed.sum(), QUEUE.size(), maxQueueDepth.get(),
+                backPressureEvents.sum(), TimeUnit.NANOSECONDS.toMillis(backPressureNanos.sum()));
+    }
+
+    public static void resetStats() {
+        backPressureEvents.reset();
+        backPressureNanos.reset();
+        maxQueueDepth.set(QUEUE.size());
+    }
+
+    /**
+     * Fila cheia: bloquear quem enviou até abrir espaço (preserva a ordem das gravações)
+     */
+    private static void waitForSpace(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Gravador de persistência finalizado");
+        }
+
+        backPressureEvents.increment();
+        long start = System.nanoTime();
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrompido aguardando espaço na fila de gravação", e);
+        } finally {
+            backPressureNanos.add(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package net.mirai.dimtr.util;
+
+import net.mirai.dimtr.DimTrMod;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎯 PERFORMANCE: Índice espacial de jogadores por ServerLevel
+ *
+ * Agrupa os jogadores de cada dimensão em células de 64x64 blocos
+ * ({@link SpatialGrid}), reconstruídas uma vez por tick. Consultas de
+ * proximidade (spawn de mobs, drop de XP) só examinam as células dentro do
+ * raio, em vez de varrer level.players().
+ * A reconstrução também detecta jogadores que trocaram de chunk e invalida
+ * o {@link MultiplierRegionCache} ao redor deles.
+ *
+ * Células e últimos chunks usam mapas fastutil com chave/valor long
+ * primitivo: nem a reconstrução nem as consultas criam {@code Long}.
+ * O índice é limpo quando o servidor para.
+ */
+@EventBusSubscriber(modid = DimTrMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public class PlayerSpatialIndex {
+
+    // Margem (blocos) para cobrir jogadores que se moveram desde a última reconstrução
+    private static final double MOVEMENT_MARGIN = 16.0;
+
+    // Até aqui a varredura linear é tão rápida quanto o índice (PlayerSpatialIndexBenchmark)
+    private static final int LINEAR_SCAN_MAX_PLAYERS = 16;
+
+    // Chave fora do mundo: "sem chunk anterior" nos mapas de último chunk
+    private static final long NO_CHUNK = Long.MIN_VALUE;
+
+    private static final Map<ResourceKey<Level>, SpatialGrid<ServerPlayer>> INDEX = new ConcurrentHashMap<>();
+
+    // Último chunk conhecido de cada jogador, para detectar entrada/saída de regiões
+    private static final Map<ResourceKey<Level>, Object2LongOpenHashMap<UUID>> LAST_CHUNKS = new ConcurrentHashMap<>();
+
+    /**
+     * Reconstruir o índice da dimensão ao final de cada tick
+     */
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            rebuild(serverLevel);
+        }
+    }
+
+    /**
+     * Reconstruir as células de uma dimensão a partir da lista atual de jogadores
+     */
+    public static void rebuild(ServerLevel level) {
+        ResourceKey<Level> dimension = level.dimension();
+        List<ServerPlayer> players = level.players();
+        Object2LongOpenHashMap<UUID> previousChunks = LAST_CHUNKS.get(dimension);
+
+        if (players.isEmpty()) {
+            INDEX.remove(dimension);
+            LAST_CHUNKS.remove(dimension);
+            if (previousChunks != null && !previousChunks.isEmpty()) {
+                MultiplierRegionCache.clear(dimension);
+            }
+            return;
+        }
+
+        SpatialGrid<ServerPlayer> grid = new SpatialGrid<>();
+        Object2LongOpenHashMap<UUID> currentChunks = new Object2LongOpenHashMap<>(players.size());
+        currentChunks.defaultReturnValue(NO_CHUNK);
+        for (ServerPlayer player : players) {
+            long key = ChunkPos.asLong(SectionPos.blockToSectionCoord(player.getBlockX()),
+                    SectionPos.blockToSectionCoord(player.getBlockZ()));
+            grid.add(player.getX(), player.getZ(), player);
+            currentChunks.put(player.getUUID(), key);
+
+            // Jogador entrou em um novo chunk (ou na dimensão): regiões próximas mudaram
+            long previousKey = previousChunks != null ? previousChunks.getLong(player.getUUID()) : NO_CHUNK;
+            if (previousKey != key) {
+                if (previousKey != NO_CHUNK) {
+                    invalidateRegionsAround(dimension, previousKey);
+                }
+                invalidateRegionsAround(dimension, key);
+            }
+        }
+
+        // Jogadores que saíram da dimensão
+        if (previousChunks != null) {
+            for (Object2LongMap.Entry<UUID> entry : Object2LongMaps.fastIterable(previousChunks)) {
+                if (!currentChunks.containsKey(entry.getKey())) {
+                    invalidateRegionsAround(dimension, entry.getLongValue());
+                }
+            }
+        }
+
+        INDEX.put(dimension, grid);
+        LAST_CHUNKS.put(dimension, currentChunks);
+    }
+
+    private static void invalidateRegionsAround(ResourceKey<Level> dimension, long chunkKey) {
+        MultiplierRegionCache.invalidateAroundChunk(dimension,
+                ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey), Constants.DEFAULT_PROXIMITY_RADIUS);
+    }
+
+    /**
+     * Obter jogadores dentro do raio da posição
+     *
+     * A distância é sempre verificada com a posição atual do jogador, então o
+     * resultado é o mesmo da varredura linear para quem não teleportou neste tick.
+     */
+    public static List<ServerPlayer> getPlayersInRadius(ServerLevel level, double x, double y, double z, double radius) {
+        SpatialGrid<ServerPlayer> grid = INDEX.get(level.dimension());
+        if (grid == null || level.players().size() <= LINEAR_SCAN_MAX_PLAYERS) {
+            // Índice ainda não construído (primeiro tick da dimensão) ou poucos jogadores
+            return scanLinear(level, x, y, z, radius);
+        }
+
+        double radiusSqr = radius * radius;
+        return grid.query(x, z, radius + MOVEMENT_MARGIN, player ->
+                !player.isRemoved() && player.level() == level && player.distanceToSqr(x, y, z) <= radiusSqr);
+    }
+
+    /**
+     * Varredura linear original, usada como fallback e para comparação no debug
+     */
+    public static List<ServerPlayer> scanLinear(ServerLevel level, double x, double y, double z, double radius) {
+        List<ServerPlayer> result = new ArrayList<>();
+        double radiusSqr = radius * radius;
+
+        for (ServerPlayer player : level.players()) {
+            if (player.distanceToSqr(x, y, z) <= radiusSqr) {
+                result.add(player);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Obter número de células ocupadas para debugging
+     */
+    public static int getBucketCount(ServerLevel level) {
+        SpatialGrid<ServerPlayer> grid = INDEX.get(level.dimension());
+        return grid != null ? grid.size() : 0;
+    }
+
+    /**
+     * Limpar o índice ao parar o servidor: não reter ServerPlayers entre mundos
+     */
+    public static void clear() {
+        INDEX.clear();
+        LAST_CHUNKS.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package net.mirai.dimtr.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Utilitário para descrever diferenças de progresso em texto legível
+ * (ex: "zombie: 12 → 40"), usado pela simulação de restauração de backups.
+ */
+public final class ProgressDiff {
+
+    private ProgressDiff() {}
+
+    /**
+     * Registrar a mudança de um valor simples, se houver
+     */
+    public static void value(List<String> changes, String label, Object from, Object to) {
+        if (!Objects.equals(from, to)) {
+            changes.add(label + ": " + from + " → " + to);
+        }
+    }
+
+    /**
+     * Registrar mudanças entre dois mapas (mapas aninhados viram "externo.interno")
+     */
+    public static void map(List<String> changes, String label, Map<String, ?> from, Map<String, ?> to) {
+        TreeSet<String> keys = new TreeSet<>(from.keySet());
+        keys.addAll(to.keySet());
+
+        for (String key : keys) {
+            Object fromValue = from.get(key);
+            Object toValue = to.get(key);
+            String keyLabel = label.isEmpty() ? key : label + "." + key;
+
+            if (fromValue instanceof Map<?, ?> || toValue instanceof Map<?, ?>) {
+                map(changes, keyLabel, asMap(fromValue), asMap(toValue));
+            } else {
+                // Chave ausente de um dos lados aparece como "-"
+                value(changes, keyLabel, fromValue != null ? fromValue : "-", toValue != null ? toValue : "-");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> asMap(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, ?>) map : Map.of();
+    }
+}
@@ -0,0 +1,42 @@
+package net.mirai.dimtr.util;
+
+import net.minecraft.server.MinecraftServer;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 🔒 THREAD-SAFETY: Captura de snapshots na thread do servidor
+ *
+ * Os dados de progressão e parties são mutados pela thread do servidor sem
+ * sincronização. Threads de backup/recovery nunca devem iterá-los diretamente:
+ * a cópia (barata, apenas tags NBT) é feita na thread do servidor entre ticks,
+ * e a thread de fundo cuida do resto (leitura de shards, compressão, disco).
+ */
+public final class ServerThreadSnapshot {
+
+    private ServerThreadSnapshot() {}
+
+    /**
+     * Executar a captura na thread do servidor e aguardar o resultado
+     * (executa direto se já estiver na thread do servidor ou sem servidor)
+     */
+    public static <T> T capture(MinecraftServer server, Supplier<T> snapshot) {
+        if (server == null || server.isSameThread()) {
+            return snapshot.get();
+        }
+
+        try {
+            return server.submit(snapshot).get(Constants.PERSISTENCE_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando snapshot na thread do servidor", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao capturar snapshot na thread do servidor", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Thread do servidor não respondeu ao snapshot", e);
+        }
+    }
+}
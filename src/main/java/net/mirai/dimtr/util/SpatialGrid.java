@@ -0,0 +1,77 @@
+package net.mirai.dimtr.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Objetos agrupados em células de {@link #CELL_SIZE}x{@link #CELL_SIZE} blocos (eixos X/Z)
+ *
+ * 🎯 PERFORMANCE:
+ * - Chave long primitiva (fastutil): consultas não criam {@code Long}
+ * - Células do tamanho do raio de proximidade: uma consulta de 48 blocos
+ *   examina 2x2 a 3x3 células, em vez dos 9x9 chunks de buckets por chunk
+ *
+ * Não é thread-safe: construído e consultado na thread do servidor, depois
+ * publicado inteiro (nunca alterado após {@link #add} terminar).
+ */
+final class SpatialGrid<T> {
+
+    static final int CELL_SHIFT = 6;
+    static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Long2ObjectOpenHashMap<List<T>> cells = new Long2ObjectOpenHashMap<>();
+
+    void add(double x, double z, T value) {
+        long key = cellKey(cellCoord(x), cellCoord(z));
+        List<T> cell = cells.get(key);
+        if (cell == null) {
+            cell = new ArrayList<>(2);
+            cells.put(key, cell);
+        }
+        cell.add(value);
+    }
+
+    /**
+     * Objetos das células que tocam o quadrado de lado 2 * {@code reach} centrado
+     * em (x, z) e que passam no filtro (o filtro faz a verificação exata de distância)
+     */
+    List<T> query(double x, double z, double reach, Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        int minX = cellCoord(x - reach);
+        int maxX = cellCoord(x + reach);
+        int minZ = cellCoord(z - reach);
+        int maxZ = cellCoord(z + reach);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                List<T> cell = cells.get(cellKey(cx, cz));
+                if (cell == null) continue;
+
+                for (T value : cell) {
+                    if (filter.test(value)) {
+                        result.add(value);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Número de células ocupadas
+     */
+    int size() {
+        return cells.size();
+    }
+
+    private static int cellCoord(double blockCoord) {
+        return (int) Math.floor(blockCoord) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,78 @@
+package net.mirai.dimtr.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🎯 PERFORMANCE: Conjunto de locks particionados por UUID
+ *
+ * Em vez de um único lock global, cada jogador/party é mapeado para uma
+ * das N partições. Operações de entidades diferentes raramente disputam
+ * o mesmo lock, então a contenção cresce com o número de parties/jogadores
+ * ativos ao mesmo tempo, não com o total de eventos.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    // Estatísticas para debugging
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    /**
+     * @param stripeCount Número de partições (arredondado para potência de 2)
+     */
+    public StripedLock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Obter o lock da partição de uma entidade
+     */
+    public ReentrantLock getLock(UUID key) {
+        long bits = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        int hash = (int) (bits ^ (bits >>> 32));
+        hash ^= (hash >>> 16);
+        return stripes[hash & mask];
+    }
+
+    /**
+     * Adquirir o lock da entidade, registrando se houve contenção
+     */
+    public ReentrantLock lock(UUID key) {
+        ReentrantLock lock = getLock(key);
+        acquisitions.increment();
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
+        return lock;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getContendedAcquisitions() {
+        return contended.sum();
+    }
+
+    /**
+     * Zerar estatísticas
+     */
+    public void resetStats() {
+        acquisitions.reset();
+        contended.reset();
+    }
+}
@@ -0,0 +1,86 @@
+package net.mirai.dimtr;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Medição simples e repetível para os testes marcados com a tag "benchmark"
+ * (executados por {@code ./gradlew benchmark}, fora do {@code test})
+ *
+ * Cada rodada executa o corpo uma vez; rodadas de aquecimento (ao menos 1 s)
+ * deixam o JIT compilar o caminho medido e o resultado é a mediana das
+ * rodadas medidas.
+ * O valor retornado pelo corpo é acumulado para que o JIT não elimine o trabalho.
+ */
+public final class BenchmarkSupport {
+
+    public static final String TAG = "benchmark";
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final int MEASURED_ROUNDS = 15;
+
+    private static volatile long sink;
+
+    private BenchmarkSupport() {}
+
+    @FunctionalInterface
+    public interface Round {
+        long run() throws Exception;
+    }
+
+    /**
+     * Medir {@code round} (que executa {@code opsPerRound} operações) e imprimir ns/op
+     *
+     * @return mediana em nanossegundos por operação
+     */
+    public static double nanosPerOp(String label, int opsPerRound, Round round) throws Exception {
+        warmUp(round);
+
+        double[] samples = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.run();
+            samples[i] = (System.nanoTime() - start) / (double) opsPerRound;
+        }
+        Arrays.sort(samples);
+        double median = samples[MEASURED_ROUNDS / 2];
+
+        System.out.printf("[benchmark] %-55s %12.1f ns/op  (min %.1f, max %.1f)%n",
+                label, median, samples[0], samples[MEASURED_ROUNDS - 1]);
+        return median;
+    }
+
+    /**
+     * Bytes alocados por operação na thread atual (uma rodada, após aquecimento)
+     */
+    public static double allocatedBytesPerOp(String label, int opsPerRound, Round round) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        warmUp(round);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        sink += round.run();
+        double perOp = (threads.getCurrentThreadAllocatedBytes() - before) / (double) opsPerRound;
+
+        report(label, String.format("%.1f B/op alocados", perOp));
+        return perOp;
+    }
+
+    /**
+     * Rodadas de aquecimento: no mínimo {@link #WARMUP_ROUNDS} e {@link #WARMUP_NANOS}
+     * (em máquinas com poucos núcleos o JIT compila em paralelo com as rodadas)
+     */
+    private static void warmUp(Round round) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < WARMUP_ROUNDS || System.nanoTime() - start < WARMUP_NANOS; i++) {
+            sink += round.run();
+        }
+    }
+
+    /**
+     * Imprimir uma linha de resultado que não é tempo (tamanhos, razões)
+     */
+    public static void report(String label, String value) {
+        System.out.printf("[benchmark] %-55s %s%n", label, value);
+    }
+}
@@ -0,0 +1,66 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.BenchmarkSupport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput do {@link PlayerProgressionCodec} contra o caminho NBT anterior
+ * (tag com uma chave por campo + {@code NbtIo}), nos dois sentidos
+ */
+@Tag(BenchmarkSupport.TAG)
+class PlayerProgressionCodecBenchmark {
+
+    private static final int OPS_PER_ROUND = 20_000;
+
+    @Test
+    void typicalPlayer() throws Exception {
+        compare("típico", ProgressionSamples.typical());
+    }
+
+    @Test
+    void customHeavyPlayer() throws Exception {
+        compare("custom-heavy", ProgressionSamples.customHeavy());
+    }
+
+    private static void compare(String scenario, PlayerProgressionData data) throws Exception {
+        byte[] codecBytes = PlayerProgressionCodec.encode(data);
+        byte[] nbtBytes = ProgressionSamples.writeNbt(ProgressionSamples.legacyTag(data));
+
+        BenchmarkSupport.report(scenario + ": tamanho codec / NBT",
+                codecBytes.length + " B / " + nbtBytes.length + " B");
+
+        double codecWrite = BenchmarkSupport.nanosPerOp(scenario + ": escrita codec", OPS_PER_ROUND, () -> {
+            long total = 0;
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                total += PlayerProgressionCodec.encode(data).length;
+            }
+            return total;
+        });
+        double nbtWrite = BenchmarkSupport.nanosPerOp(scenario + ": escrita NBT", OPS_PER_ROUND, () -> {
+            long total = 0;
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                total += ProgressionSamples.writeNbt(ProgressionSamples.legacyTag(data)).length;
+            }
+            return total;
+        });
+
+        double codecRead = BenchmarkSupport.nanosPerOp(scenario + ": leitura codec", OPS_PER_ROUND, () -> {
+            long total = 0;
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                total += PlayerProgressionCodec.decode(codecBytes).getMobKillCount(0);
+            }
+            return total;
+        });
+        double nbtRead = BenchmarkSupport.nanosPerOp(scenario + ": leitura NBT", OPS_PER_ROUND, () -> {
+            long total = 0;
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                total += PlayerProgressionData.load(ProgressionSamples.readNbt(nbtBytes), null).getMobKillCount(0);
+            }
+            return total;
+        });
+
+        BenchmarkSupport.report(scenario + ": NBT / codec (escrita, leitura)",
+                String.format("%.2fx, %.2fx", nbtWrite / codecWrite, nbtRead / codecRead));
+    }
+}
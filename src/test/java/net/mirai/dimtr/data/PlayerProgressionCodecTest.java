@@ -0,0 +1,224 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.util.MobRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ida e volta e validação de entrada do {@link PlayerProgressionCodec}
+ */
+class PlayerProgressionCodecTest {
+
+    @Test
+    void roundTripPreservesRandomProgress() throws IOException {
+        Random random = new Random(0x5EEDL);
+        for (int run = 0; run < 200; run++) {
+            PlayerProgressionData original = randomData(random);
+
+            PlayerProgressionData decoded = PlayerProgressionCodec.decode(PlayerProgressionCodec.encode(original));
+
+            assertEquals(original.getPlayerId(), decoded.getPlayerId());
+            assertTrue(original.describeDifferences(decoded).isEmpty(),
+                    () -> "Diferenças após ida e volta: " + original.describeDifferences(decoded));
+            assertEquals(original.getCustomPhaseCompletionMap(), decoded.getCustomPhaseCompletionMap());
+            assertEquals(original.getCustomObjectiveCompletionMap(), decoded.getCustomObjectiveCompletionMap());
+            assertEquals(original.getCustomMobKillsMap(), decoded.getCustomMobKillsMap());
+        }
+    }
+
+    @Test
+    void roundTripPreservesNegativeAndExtremeCounters() throws IOException {
+        PlayerProgressionData original = new PlayerProgressionData(UUID.randomUUID());
+        original.setMobKillCount(MobRegistry.ZOMBIE, -1);
+        original.setMobKillCount(MobRegistry.BLAZE, Integer.MAX_VALUE);
+        original.setMobKillCount(MobRegistry.ENDER_DRAGON, Integer.MIN_VALUE);
+        original.getCustomMobKillsMap().put("custom:phase", new HashMap<>(Map.of("custom:mob", -42)));
+
+        PlayerProgressionData decoded = PlayerProgressionCodec.decode(PlayerProgressionCodec.encode(original));
+
+        assertEquals(-1, decoded.getMobKillCount(MobRegistry.ZOMBIE));
+        assertEquals(Integer.MAX_VALUE, decoded.getMobKillCount(MobRegistry.BLAZE));
+        assertEquals(Integer.MIN_VALUE, decoded.getMobKillCount(MobRegistry.ENDER_DRAGON));
+        assertEquals(-42, decoded.getCustomMobKills("custom:phase", "custom:mob"));
+    }
+
+    @Test
+    void repeatedStringsAreWrittenOnce() {
+        PlayerProgressionData data = new PlayerProgressionData(UUID.randomUUID());
+        String phaseId = "examplemod:a_rather_long_custom_phase_identifier";
+        data.getCustomPhaseCompletionMap().put(phaseId, true);
+        data.getCustomObjectiveCompletionMap().put(phaseId, new HashMap<>(Map.of("examplemod:objective", true)));
+        data.getCustomMobKillsMap().put(phaseId, new HashMap<>(Map.of("examplemod:mob", 3)));
+
+        String encoded = new String(PlayerProgressionCodec.encode(data), StandardCharsets.ISO_8859_1);
+
+        assertEquals(encoded.indexOf(phaseId), encoded.lastIndexOf(phaseId));
+    }
+
+    @Test
+    void encodingIsSmallerThanLegacyNbt() throws IOException {
+        for (PlayerProgressionData data : List.of(new PlayerProgressionData(new UUID(1L, 2L)),
+                ProgressionSamples.typical(), ProgressionSamples.customHeavy())) {
+            byte[] codec = PlayerProgressionCodec.encode(data);
+            byte[] nbt = ProgressionSamples.writeNbt(ProgressionSamples.legacyTag(data));
+
+            System.out.printf("[codec de progressão] codec=%4d B (gzip %4d B)  NBT=%5d B (gzip %4d B)%n",
+                    codec.length, ProgressionSamples.gzipSize(codec), nbt.length, ProgressionSamples.gzipSize(nbt));
+            assertTrue(codec.length < nbt.length);
+            assertTrue(ProgressionSamples.gzipSize(codec) < ProgressionSamples.gzipSize(nbt));
+        }
+    }
+
+    @Test
+    void legacyNbtLoadsTheSameProgress() throws IOException {
+        PlayerProgressionData original = ProgressionSamples.customHeavy();
+
+        PlayerProgressionData fromNbt = PlayerProgressionData.load(
+                ProgressionSamples.readNbt(ProgressionSamples.writeNbt(ProgressionSamples.legacyTag(original))), null);
+
+        assertTrue(original.describeDifferences(fromNbt).isEmpty(),
+                () -> "Diferenças no formato NBT anterior: " + original.describeDifferences(fromNbt));
+    }
+
+    @Test
+    void rejectsUnknownVersions() {
+        byte[] valid = PlayerProgressionCodec.encode(new PlayerProgressionData(UUID.randomUUID()));
+
+        byte[] tooOld = valid.clone();
+        tooOld[0] = 0;
+        assertThrows(IOException.class, () -> PlayerProgressionCodec.decode(tooOld));
+
+        byte[] tooNew = valid.clone();
+        tooNew[0] = (byte) (PlayerProgressionCodec.FORMAT_VERSION + 1);
+        assertThrows(IOException.class, () -> PlayerProgressionCodec.decode(tooNew));
+    }
+
+    @Test
+    void rejectsInvalidDictionaryIndex() {
+        ByteArrayOutputStream out = prefix();
+        writeVarInt(out, 0);         // dicionário vazio
+        writeVarInt(out, 1);         // uma fase customizada
+        writeVarInt(out, 3 << 1);    // índice 3 com dicionário vazio
+
+        assertThrows(IOException.class, () -> PlayerProgressionCodec.decode(out.toByteArray()));
+    }
+
+    @Test
+    void rejectsOversizedAndNegativeCounts() {
+        ByteArrayOutputStream oversized = prefix();
+        writeVarInt(oversized, 65537);
+        assertThrows(IOException.class, () -> PlayerProgressionCodec.decode(oversized.toByteArray()));
+
+        ByteArrayOutputStream negative = prefix();
+        writeVarInt(negative, 0xFFFFFFFF);
+        assertThrows(IOException.class, () -> PlayerProgressionCodec.decode(negative.toByteArray()));
+    }
+
+    @Test
+    void rejectsTruncatedStream() {
+        PlayerProgressionData data = new PlayerProgressionData(UUID.randomUUID());
+        data.getCustomPhaseCompletionMap().put("custom:phase", true);
+        byte[] encoded = PlayerProgressionCodec.encode(data);
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(EOFException.class, () -> PlayerProgressionCodec.decode(truncated));
+        }
+    }
+
+    @Test
+    void customMobNamesAreNotRegistered() throws IOException {
+        int registrySize = MobRegistry.size();
+        String customMob = "examplemod:unregistered_mob";
+        PlayerProgressionData original = new PlayerProgressionData(UUID.randomUUID());
+        original.getCustomMobKillsMap().put("examplemod:phase", new HashMap<>(Map.of(customMob, 17)));
+
+        PlayerProgressionData decoded = PlayerProgressionCodec.decode(PlayerProgressionCodec.encode(original));
+
+        assertEquals(-1, MobRegistry.getId(customMob));
+        assertEquals(registrySize, MobRegistry.size());
+        assertEquals(17, decoded.getCustomMobKills("examplemod:phase", customMob));
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static PlayerProgressionData randomData(Random random) {
+        PlayerProgressionData data = new PlayerProgressionData(new UUID(random.nextLong(), random.nextLong()));
+        data.elderGuardianKilled = random.nextBoolean();
+        data.raidWon = random.nextBoolean();
+        data.trialVaultAdvancementEarned = random.nextBoolean();
+        data.voluntaireExileAdvancementEarned = random.nextBoolean();
+        data.phase1Completed = random.nextBoolean();
+        data.witherKilled = random.nextBoolean();
+        data.wardenKilled = random.nextBoolean();
+        data.phase2Completed = random.nextBoolean();
+        data.netherVisited = random.nextBoolean();
+        data.endVisited = random.nextBoolean();
+
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            if (random.nextInt(3) != 0) {
+                data.setMobKillCount(id, random.nextInt(10) == 0 ? -random.nextInt(1000) : random.nextInt(100_000));
+            }
+        }
+
+        int phases = random.nextInt(4);
+        for (int p = 0; p < phases; p++) {
+            String phaseId = "mod" + random.nextInt(3) + ":phase_" + p;
+            data.getCustomPhaseCompletionMap().put(phaseId, random.nextBoolean());
+
+            Map<String, Boolean> objectives = new HashMap<>();
+            for (int o = random.nextInt(4); o > 0; o--) {
+                objectives.put(phaseId + "/objective_" + o, random.nextBoolean());
+            }
+            data.getCustomObjectiveCompletionMap().put(phaseId, objectives);
+
+            Map<String, Integer> kills = new HashMap<>();
+            for (int m = random.nextInt(4); m > 0; m--) {
+                // Mobs repetidos entre fases exercitam o dicionário compartilhado
+                kills.put("minecraft:mob_" + random.nextInt(5), random.nextInt() % 1000);
+            }
+            data.getCustomMobKillsMap().put(phaseId, kills);
+        }
+        return data;
+    }
+
+    /**
+     * Versão, UUID, flags e contadores vanilla zerados (até antes do dicionário)
+     */
+    private static ByteArrayOutputStream prefix() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(PlayerProgressionCodec.FORMAT_VERSION);
+        out.writeBytes(ByteBuffer.allocate(16).putLong(1L).putLong(2L).array());
+        writeVarInt(out, 0);
+        writeVarInt(out, MobRegistry.VANILLA_COUNT);
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            writeVarInt(out, 0);
+        }
+        return out;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
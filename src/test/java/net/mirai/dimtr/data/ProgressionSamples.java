@@ -0,0 +1,124 @@
+package net.mirai.dimtr.data;
+
+import net.mirai.dimtr.util.MobRegistry;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jogadores de exemplo e o formato NBT anterior ao {@link PlayerProgressionCodec}
+ * (uma chave por campo), para comparar tamanho e throughput dos dois caminhos
+ */
+final class ProgressionSamples {
+
+    private ProgressionSamples() {}
+
+    /**
+     * Meio da Fase 1: objetivos iniciais, kills em todos os mobs da Fase 1
+     */
+    static PlayerProgressionData typical() {
+        PlayerProgressionData data = new PlayerProgressionData(new UUID(0x1234L, 0x5678L));
+        data.elderGuardianKilled = true;
+        data.raidWon = true;
+        data.voluntaireExileAdvancementEarned = true;
+        for (int id = MobRegistry.ZOMBIE; id <= MobRegistry.EVOKER; id++) {
+            data.setMobKillCount(id, 5 + (id * 37) % 120);
+        }
+        return data;
+    }
+
+    /**
+     * Modpack com 4 custom phases, 6 mobs e 3 objetivos por fase
+     */
+    static PlayerProgressionData customHeavy() {
+        PlayerProgressionData data = typical();
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            data.setMobKillCount(id, 40 + id * 11);
+        }
+        for (int p = 0; p < 4; p++) {
+            String phaseId = "examplemod:custom_phase_" + p;
+            data.getCustomPhaseCompletionMap().put(phaseId, p < 2);
+            Map<String, Integer> kills = new HashMap<>();
+            for (int m = 0; m < 6; m++) {
+                kills.put("examplemod:custom_mob_" + m, 3 + p * 10 + m);
+            }
+            data.getCustomMobKillsMap().put(phaseId, kills);
+            Map<String, Boolean> objectives = new HashMap<>();
+            for (int o = 0; o < 3; o++) {
+                objectives.put("examplemod:objective_" + p + "_" + o, o == 0);
+            }
+            data.getCustomObjectiveCompletionMap().put(phaseId, objectives);
+        }
+        return data;
+    }
+
+    /**
+     * Tag no formato anterior ao codec (lido por {@code PlayerProgressionData.load} via loadLegacy)
+     */
+    static CompoundTag legacyTag(PlayerProgressionData data) {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("playerId", data.getPlayerId().toString());
+        tag.putBoolean("elderGuardianKilled", data.elderGuardianKilled);
+        tag.putBoolean("raidWon", data.raidWon);
+        tag.putBoolean("trialVaultAdvancementEarned", data.trialVaultAdvancementEarned);
+        tag.putBoolean("voluntaireExileAdvancementEarned", data.voluntaireExileAdvancementEarned);
+        tag.putBoolean("phase1Completed", data.phase1Completed);
+        tag.putBoolean("witherKilled", data.witherKilled);
+        tag.putBoolean("wardenKilled", data.wardenKilled);
+        tag.putBoolean("phase2Completed", data.phase2Completed);
+        for (int id = 0; id < MobRegistry.VANILLA_COUNT; id++) {
+            tag.putInt(MobRegistry.getNbtKey(id), data.getMobKillCount(id));
+        }
+
+        CompoundTag phases = new CompoundTag();
+        data.getCustomPhaseCompletionMap().forEach(phases::putBoolean);
+        tag.put("customPhases", phases);
+
+        CompoundTag objectives = new CompoundTag();
+        data.getCustomObjectiveCompletionMap().forEach((phaseId, phaseObjectives) -> {
+            CompoundTag phaseTag = new CompoundTag();
+            phaseObjectives.forEach(phaseTag::putBoolean);
+            objectives.put(phaseId, phaseTag);
+        });
+        tag.put("customObjectives", objectives);
+
+        CompoundTag mobKills = new CompoundTag();
+        data.getCustomMobKillsMap().forEach((phaseId, phaseKills) -> {
+            CompoundTag phaseTag = new CompoundTag();
+            phaseKills.forEach(phaseTag::putInt);
+            mobKills.put(phaseId, phaseTag);
+        });
+        tag.put("customMobKills", mobKills);
+        return tag;
+    }
+
+    static byte[] writeNbt(CompoundTag tag) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        NbtIo.write(tag, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    static CompoundTag readNbt(byte[] bytes) throws IOException {
+        return NbtIo.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Tamanho após GZIP (arquivos de SavedData são gravados comprimidos)
+     */
+    static int gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.size();
+    }
+}
@@ -0,0 +1,138 @@
+package net.mirai.dimtr.network;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Dicionário de chaves por conexão ({@link KeyDictionary}) e o payload de party
+ *
+ * Cada teste usa um UUID novo: o primeiro payload da "conexão" tem base 0 e
+ * reinicia o dicionário do cliente.
+ */
+class KeyDictionaryTest {
+
+    private final UUID playerId = UUID.randomUUID();
+
+    @AfterEach
+    void clearDictionary() {
+        KeyDictionary.clearPlayer(playerId);
+    }
+
+    @Test
+    void laterPayloadsOnlyCarryNewKeys() {
+        UpdatePartyToClientPayload first = party(Map.of("minecraft:zombie", 3), Map.of("mod:phase", true))
+                .forConnection(playerId);
+        assertSameContent(first, roundTrip(first));
+
+        UpdatePartyToClientPayload second = party(Map.of("minecraft:zombie", 4, "minecraft:husk", 1), Map.of("mod:phase", true))
+                .forConnection(playerId);
+
+        assertEquals(2, second.keys().base());
+        assertEquals(List.of("minecraft:husk"), second.keys().added());
+        assertSameContent(second, roundTrip(second));
+    }
+
+    @Test
+    void replayingStaleBaseIsRejected() {
+        UpdatePartyToClientPayload first = party(Map.of("minecraft:zombie", 3), Map.of()).forConnection(playerId);
+        roundTrip(first);
+        UpdatePartyToClientPayload second = party(Map.of("minecraft:husk", 1), Map.of()).forConnection(playerId);
+        byte[] secondBytes = bytes(second);
+        decode(secondBytes);
+
+        assertThrows(DecoderException.class, () -> decode(secondBytes));
+    }
+
+    @Test
+    void inlinePayloadsDoNotTouchClientDictionary() {
+        UpdatePartyToClientPayload first = party(Map.of("minecraft:zombie", 3), Map.of()).forConnection(playerId);
+        roundTrip(first);
+
+        UpdatePartyToClientPayload inline = party(Map.of("minecraft:blaze", 7), Map.of("mod:other", false));
+        assertEquals(inline, roundTrip(inline));
+
+        UpdatePartyToClientPayload second = party(Map.of("minecraft:zombie", 5, "minecraft:husk", 1), Map.of())
+                .forConnection(playerId);
+        assertEquals(1, second.keys().base());
+        assertSameContent(second, roundTrip(second));
+    }
+
+    @Test
+    void invalidKeyIdIsRejected() {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(0);          // tabela própria do payload
+        buf.writeVarInt(0);          // sem chaves
+        buf.writeVarInt(1);          // uma fase
+        buf.writeVarInt(5 << 1);     // ID 5 inexistente
+
+        assertThrows(DecoderException.class, () -> KeyDictionary.readCustomMaps(buf));
+    }
+
+    @Test
+    void inlinePartyPayloadRoundTrips() {
+        UpdatePartyToClientPayload payload = new UpdatePartyToClientPayload(
+                UUID.randomUUID(), "Party", true, UUID.randomUUID(), List.of(UUID.randomUUID(), UUID.randomUUID()),
+                1.5, 2, Map.of("minecraft:zombie", 10, "minecraft:blaze", -1),
+                true, false, true, false, true, false, true, false,
+                Map.of("mod:phase", true),
+                Map.of("mod:phase", Map.of("minecraft:zombie", 2, "mod:boss", 1)),
+                Map.of("mod:phase", Map.of("mod:objective", false)),
+                KeyDictionary.Table.INLINE);
+
+        assertEquals(payload, roundTrip(payload));
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static UpdatePartyToClientPayload party(Map<String, Integer> sharedMobKills, Map<String, Boolean> phases) {
+        return new UpdatePartyToClientPayload(
+                new UUID(0, 1), "Party", false, new UUID(0, 2), List.of(new UUID(0, 2)),
+                1.0, 1, sharedMobKills,
+                false, false, false, false, false, false, false, false,
+                phases, Map.of(), Map.of(),
+                KeyDictionary.Table.INLINE);
+    }
+
+    private static byte[] bytes(UpdatePartyToClientPayload payload) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        UpdatePartyToClientPayload.STREAM_CODEC.encode(buf, payload);
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    private static UpdatePartyToClientPayload decode(byte[] bytes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        UpdatePartyToClientPayload decoded = UpdatePartyToClientPayload.STREAM_CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        return decoded;
+    }
+
+    private static UpdatePartyToClientPayload roundTrip(UpdatePartyToClientPayload payload) {
+        return decode(bytes(payload));
+    }
+
+    /**
+     * Payloads decodificados sempre têm tabela INLINE: comparar só o conteúdo
+     */
+    private static void assertSameContent(UpdatePartyToClientPayload expected, UpdatePartyToClientPayload actual) {
+        assertEquals(expected.partyId(), actual.partyId());
+        assertEquals(expected.members(), actual.members());
+        assertEquals(expected.sharedMobKills(), actual.sharedMobKills());
+        assertEquals(expected.sharedCustomPhaseCompletion(), actual.sharedCustomPhaseCompletion());
+        assertEquals(expected.sharedCustomMobKills(), actual.sharedCustomMobKills());
+        assertEquals(expected.sharedCustomObjectiveCompletion(), actual.sharedCustomObjectiveCompletion());
+    }
+}
@@ -0,0 +1,120 @@
+package net.mirai.dimtr.network;
+
+import io.netty.buffer.Unpooled;
+import net.mirai.dimtr.network.DeltaUpdateSystem.DeltaType;
+import net.mirai.dimtr.network.DeltaUpdateSystem.ProgressionDelta;
+import net.mirai.dimtr.network.DeltaUpdateSystem.ProgressionDeltaPacket;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pacote de deltas: chaves de fases customizadas pelo {@link KeyDictionary} da conexão
+ */
+class ProgressionDeltaPacketTest {
+
+    private static final String PHASE = "mymod:custom_phase_one";
+    private static final String MOB = "othermod:ancient_guardian";
+
+    private final UUID playerId = UUID.randomUUID();
+
+    @AfterEach
+    void clearDictionary() {
+        KeyDictionary.clearPlayer(playerId);
+    }
+
+    @Test
+    void customFieldsRoundTripThroughConnectionDictionary() {
+        List<ProgressionDelta> deltas = List.of(
+                delta(DeltaType.MOB_KILL, "zombieKills", 12),
+                delta(DeltaType.CUSTOM_PHASE, PHASE, true),
+                delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/" + MOB, 3),
+                delta(DeltaType.CUSTOM_OBJECTIVE, PHASE + "/mymod:objective/with_slash", null));
+
+        assertSameDeltas(deltas, decode(bytes(forConnection(1, deltas))).getDeltas());
+    }
+
+    @Test
+    void laterKillsOnlySendKeyIds() {
+        decode(bytes(forConnection(1, List.of(delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/" + MOB, 1)))));
+
+        List<ProgressionDelta> kill = List.of(delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/" + MOB, 2));
+        byte[] bytes = bytes(forConnection(2, kill));
+
+        // sequência + base + 0 chaves novas + 1 delta + tipo + 2 IDs + valor
+        assertEquals(9, bytes.length);
+        assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains(MOB));
+        assertSameDeltas(kill, decode(bytes).getDeltas());
+    }
+
+    @Test
+    void inlinePacketCarriesItsOwnKeys() {
+        List<ProgressionDelta> deltas = List.of(
+                delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/" + MOB, 7),
+                delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/minecraft:zombie", 1),
+                delta(DeltaType.BOSS_KILL, "witherKilled", true));
+
+        ProgressionDeltaPacket decoded = decode(bytes(new ProgressionDeltaPacket(5, deltas)));
+
+        assertEquals(5, decoded.getSequence());
+        assertSameDeltas(deltas, decoded.getDeltas());
+    }
+
+    @Test
+    void customKeysSplitPhaseAndKey() {
+        assertEquals(List.of(PHASE, MOB, "mymod:other"), List.copyOf(ProgressionDeltaPacket.customKeys(List.of(
+                delta(DeltaType.CUSTOM_MOB_KILL, PHASE + "/" + MOB, 1),
+                delta(DeltaType.MOB_KILL, "zombieKills", 1),
+                delta(DeltaType.CUSTOM_PHASE, PHASE, true),
+                delta(DeltaType.CUSTOM_PHASE, "mymod:other", false)))));
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static ProgressionDelta delta(DeltaType type, String fieldName, Object value) {
+        return new ProgressionDelta(null, type, fieldName, null, value);
+    }
+
+    /**
+     * Mesmo caminho do DeltaUpdateSystem.sendDeltaPacket
+     */
+    private ProgressionDeltaPacket forConnection(int sequence, List<ProgressionDelta> deltas) {
+        return new ProgressionDeltaPacket(sequence, deltas,
+                KeyDictionary.tableFor(playerId, ProgressionDeltaPacket.customKeys(deltas)));
+    }
+
+    private static byte[] bytes(ProgressionDeltaPacket packet) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        ProgressionDeltaPacket.STREAM_CODEC.encode(buf, packet);
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+
+    private static ProgressionDeltaPacket decode(byte[] bytes) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        ProgressionDeltaPacket decoded = ProgressionDeltaPacket.STREAM_CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        return decoded;
+    }
+
+    private static void assertSameDeltas(List<ProgressionDelta> expected, List<ProgressionDelta> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).type, actual.get(i).type);
+            assertEquals(expected.get(i).fieldName, actual.get(i).fieldName);
+            assertEquals(expected.get(i).newValue, actual.get(i).newValue);
+        }
+        assertTrue(actual.stream().allMatch(delta -> delta.playerId == null));
+    }
+}
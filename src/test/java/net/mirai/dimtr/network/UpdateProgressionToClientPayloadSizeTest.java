@@ -0,0 +1,164 @@
+package net.mirai.dimtr.network;
+
+import io.netty.buffer.Unpooled;
+import net.mirai.dimtr.util.MobRegistry;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tamanho em bytes do formato de rede atual (WIRE_VERSION 3) contra o layout
+ * anterior do {@link UpdateProgressionToClientPayload} (booleans soltos, int
+ * fixo por contador/requisito e strings UTF-8 completas em cada envio)
+ *
+ * O layout anterior é reproduzido em {@link #legacySize}; os números são
+ * impressos para acompanhar a evolução do formato.
+ */
+class UpdateProgressionToClientPayloadSizeTest {
+
+    @Test
+    void newPlayerIsSmallerThanLegacyLayout() {
+        compare("esparso (jogador novo)", payload(new int[MobRegistry.TRACKED_VANILLA_COUNT], Map.of(), Map.of(), Map.of()));
+    }
+
+    @Test
+    void typicalPlayerIsSmallerThanLegacyLayout() {
+        // Meio da Fase 1: kills em todos os mobs da Fase 1, Fase 2 ainda zerada
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        for (int id = MobRegistry.ZOMBIE; id <= MobRegistry.EVOKER; id++) {
+            kills[id] = 5 + (id * 37) % 120;
+        }
+        compare("típico (meio da Fase 1)", payload(kills, Map.of(), Map.of(), Map.of()));
+    }
+
+    @Test
+    void customHeavyPlayerIsSmallerThanLegacyLayout() {
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        for (int id = 0; id < kills.length; id++) {
+            kills[id] = 40 + id * 11;
+        }
+
+        // Modpack com 4 custom phases, 6 mobs e 3 objetivos por fase
+        Map<String, Boolean> phases = new HashMap<>();
+        Map<String, Map<String, Integer>> mobKills = new HashMap<>();
+        Map<String, Map<String, Boolean>> objectives = new HashMap<>();
+        for (int p = 0; p < 4; p++) {
+            String phaseId = "examplemod:custom_phase_" + p;
+            phases.put(phaseId, p < 2);
+            Map<String, Integer> phaseKills = new HashMap<>();
+            for (int m = 0; m < 6; m++) {
+                phaseKills.put("examplemod:custom_mob_" + m, 3 + p * 10 + m);
+            }
+            mobKills.put(phaseId, phaseKills);
+            Map<String, Boolean> phaseObjectives = new HashMap<>();
+            for (int o = 0; o < 3; o++) {
+                phaseObjectives.put("examplemod:objective_" + p + "_" + o, o == 0);
+            }
+            objectives.put(phaseId, phaseObjectives);
+        }
+
+        UpdateProgressionToClientPayload payload = payload(kills, phases, mobKills, objectives);
+        compare("custom-heavy (inline)", payload);
+
+        // Na conexão, o primeiro envio leva as strings e os seguintes só os IDs
+        UUID playerId = UUID.randomUUID();
+        try {
+            int legacy = legacySize(payload);
+            int first = size(payload.forConnection(playerId));
+            int next = size(payload.forConnection(playerId));
+            report("custom-heavy (conexão, 1º envio)", legacy, first);
+            report("custom-heavy (conexão, envios seguintes)", legacy, next);
+            assertTrue(first < legacy);
+            assertTrue(next < first);
+        } finally {
+            KeyDictionary.clearPlayer(playerId);
+        }
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static UpdateProgressionToClientPayload payload(int[] kills,
+                                                            Map<String, Boolean> phases,
+                                                            Map<String, Map<String, Integer>> mobKills,
+                                                            Map<String, Map<String, Boolean>> objectives) {
+        return UpdateProgressionToClientPayload.fromArrays(
+                true, true, false, true, false, false, false, false,
+                kills, UpdateProgressionToClientPayload.defaultRequirements(), true,
+                phases, mobKills, objectives);
+    }
+
+    private static void compare(String scenario, UpdateProgressionToClientPayload payload) {
+        int legacy = legacySize(payload);
+        int current = size(payload);
+        report(scenario, legacy, current);
+        assertTrue(current < legacy, () -> scenario + ": " + current + " bytes >= " + legacy + " bytes do layout anterior");
+    }
+
+    private static void report(String scenario, int legacy, int current) {
+        System.out.printf("[payload de progressão] %-42s anterior=%5d B  v3=%5d B  (%.1f%%)%n",
+                scenario, legacy, current, 100.0 * current / legacy);
+    }
+
+    private static int size(UpdateProgressionToClientPayload payload) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        UpdateProgressionToClientPayload.STREAM_CODEC.encode(buf, payload);
+        return buf.readableBytes();
+    }
+
+    /**
+     * Layout anterior ao WIRE_VERSION: 10 booleans (incluindo ravager/evoker
+     * sempre false), 25 ints de kills e 25 de requisitos (zombie villager e
+     * endermite sempre 0), boolean do Voluntary Exile e mapas customizados
+     * com tamanho em int e chaves UTF-8 completas
+     */
+    private static int legacySize(UpdateProgressionToClientPayload payload) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        for (int i = 0; i < 10; i++) {
+            buf.writeBoolean(false);
+        }
+        writeLegacyCounters(buf, payload.killCounts());
+        writeLegacyCounters(buf, payload.requirements());
+        buf.writeBoolean(payload.serverReqVoluntaryExile());
+
+        buf.writeInt(payload.customPhaseCompletion().size());
+        payload.customPhaseCompletion().forEach((phaseId, completed) -> {
+            buf.writeUtf(phaseId);
+            buf.writeBoolean(completed);
+        });
+        buf.writeInt(payload.customMobKills().size());
+        payload.customMobKills().forEach((phaseId, phaseKills) -> {
+            buf.writeUtf(phaseId);
+            buf.writeInt(phaseKills.size());
+            phaseKills.forEach((mobId, count) -> {
+                buf.writeUtf(mobId);
+                buf.writeInt(count);
+            });
+        });
+        buf.writeInt(payload.customObjectiveCompletion().size());
+        payload.customObjectiveCompletion().forEach((phaseId, phaseObjectives) -> {
+            buf.writeUtf(phaseId);
+            buf.writeInt(phaseObjectives.size());
+            phaseObjectives.forEach((objectiveId, completed) -> {
+                buf.writeUtf(objectiveId);
+                buf.writeBoolean(completed);
+            });
+        });
+        return buf.readableBytes();
+    }
+
+    private static void writeLegacyCounters(FriendlyByteBuf buf, int[] values) {
+        for (int id = 0; id < values.length; id++) {
+            buf.writeInt(values[id]);
+            if (id == MobRegistry.ZOMBIE || id == MobRegistry.GHAST) {
+                buf.writeInt(0); // zombie villager / endermite
+            }
+        }
+    }
+}
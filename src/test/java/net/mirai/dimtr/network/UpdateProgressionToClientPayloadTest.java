@@ -0,0 +1,160 @@
+package net.mirai.dimtr.network;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.mirai.dimtr.util.MobRegistry;
+import net.minecraft.network.FriendlyByteBuf;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Formato de rede (bitset + varints esparsos + dicionário de chaves) do
+ * {@link UpdateProgressionToClientPayload}
+ *
+ * Requisitos são passados explicitamente: {@code currentRequirements()} lê a
+ * config do servidor, que não está carregada nos testes.
+ */
+class UpdateProgressionToClientPayloadTest {
+
+    @Test
+    void roundTripPreservesRandomPayloads() {
+        Random random = new Random(0x5EEDL);
+        for (int run = 0; run < 200; run++) {
+            UpdateProgressionToClientPayload payload = randomPayload(random);
+
+            assertEquals(payload, roundTrip(payload));
+        }
+    }
+
+    @Test
+    void roundTripPreservesNegativeCounters() {
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        kills[MobRegistry.ZOMBIE] = -1;
+        kills[MobRegistry.PIGLIN] = Integer.MIN_VALUE;
+        int[] requirements = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        requirements[MobRegistry.BLAZE] = Integer.MAX_VALUE;
+
+        UpdateProgressionToClientPayload decoded = roundTrip(payload(kills, requirements, Map.of(), Map.of(), Map.of()));
+
+        assertArrayEquals(kills, decoded.killCounts());
+        assertArrayEquals(requirements, decoded.requirements());
+    }
+
+    @Test
+    void onlyNonDefaultKillsAreWritten() {
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        kills[5] = 12;
+
+        FriendlyByteBuf buf = encode(payload(kills, new int[MobRegistry.TRACKED_VANILLA_COUNT], Map.of(), Map.of(), Map.of()));
+
+        buf.readVarInt(); // versão
+        buf.readVarInt(); // flags
+        assertEquals(1 << 5, buf.readVarInt());
+        assertEquals(12, buf.readVarInt());
+    }
+
+    @Test
+    void rejectsOtherWireVersions() {
+        FriendlyByteBuf buf = encode(randomPayload(new Random(1)));
+        int version = buf.readVarInt();
+
+        FriendlyByteBuf patched = new FriendlyByteBuf(Unpooled.buffer());
+        patched.writeVarInt(version + 1);
+        patched.writeBytes(buf);
+
+        assertThrows(DecoderException.class, () -> UpdateProgressionToClientPayload.STREAM_CODEC.decode(patched));
+    }
+
+    @Test
+    void connectionPayloadsSendEachKeyOnce() {
+        UUID playerId = UUID.randomUUID();
+        try {
+            UpdateProgressionToClientPayload first = payload(new int[MobRegistry.TRACKED_VANILLA_COUNT],
+                    new int[MobRegistry.TRACKED_VANILLA_COUNT],
+                    Map.of("examplemod:phase_a", true), Map.of(), Map.of()).forConnection(playerId);
+            assertEquals(0, first.keys().base());
+            assertSameContent(first, roundTrip(first));
+
+            UpdateProgressionToClientPayload second = payload(new int[MobRegistry.TRACKED_VANILLA_COUNT],
+                    new int[MobRegistry.TRACKED_VANILLA_COUNT],
+                    Map.of("examplemod:phase_a", true, "examplemod:phase_b", false), Map.of(), Map.of())
+                    .forConnection(playerId);
+
+            assertEquals(1, second.keys().base());
+            assertEquals(List.of("examplemod:phase_b"), second.keys().added());
+            assertSameContent(second, roundTrip(second));
+        } finally {
+            KeyDictionary.clearPlayer(playerId);
+        }
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    private static UpdateProgressionToClientPayload randomPayload(Random random) {
+        int[] kills = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        int[] requirements = new int[MobRegistry.TRACKED_VANILLA_COUNT];
+        for (int id = 0; id < kills.length; id++) {
+            kills[id] = random.nextInt(3) == 0 ? 0 : random.nextInt(100_000);
+            requirements[id] = random.nextInt(500);
+        }
+
+        Map<String, Boolean> phases = new HashMap<>();
+        Map<String, Map<String, Integer>> mobKills = new HashMap<>();
+        Map<String, Map<String, Boolean>> objectives = new HashMap<>();
+        for (int p = random.nextInt(4); p > 0; p--) {
+            String phaseId = "mod:phase_" + p;
+            phases.put(phaseId, random.nextBoolean());
+            mobKills.put(phaseId, new HashMap<>(Map.of("minecraft:mob_" + random.nextInt(3), random.nextInt(1000))));
+            objectives.put(phaseId, new HashMap<>(Map.of(phaseId + "/objective", random.nextBoolean())));
+        }
+
+        return UpdateProgressionToClientPayload.fromArrays(
+                random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(),
+                random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(),
+                kills, requirements, random.nextBoolean(), phases, mobKills, objectives);
+    }
+
+    private static UpdateProgressionToClientPayload payload(int[] kills, int[] requirements,
+                                                            Map<String, Boolean> phases,
+                                                            Map<String, Map<String, Integer>> mobKills,
+                                                            Map<String, Map<String, Boolean>> objectives) {
+        return UpdateProgressionToClientPayload.fromArrays(
+                false, false, false, false, false, false, false, false,
+                kills, requirements, false, phases, mobKills, objectives);
+    }
+
+    private static FriendlyByteBuf encode(UpdateProgressionToClientPayload payload) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        UpdateProgressionToClientPayload.STREAM_CODEC.encode(buf, payload);
+        return buf;
+    }
+
+    private static UpdateProgressionToClientPayload roundTrip(UpdateProgressionToClientPayload payload) {
+        FriendlyByteBuf buf = encode(payload);
+        UpdateProgressionToClientPayload decoded = UpdateProgressionToClientPayload.STREAM_CODEC.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        return decoded;
+    }
+
+    /**
+     * Payloads decodificados sempre têm tabela INLINE: comparar só o conteúdo
+     */
+    private static void assertSameContent(UpdateProgressionToClientPayload expected, UpdateProgressionToClientPayload actual) {
+        assertArrayEquals(expected.killCounts(), actual.killCounts());
+        assertArrayEquals(expected.requirements(), actual.requirements());
+        assertEquals(expected.customPhaseCompletion(), actual.customPhaseCompletion());
+        assertEquals(expected.customMobKills(), actual.customMobKills());
+        assertEquals(expected.customObjectiveCompletion(), actual.customObjectiveCompletion());
+    }
+}
@@ -0,0 +1,138 @@
+package net.mirai.dimtr.util;
+
+import net.mirai.dimtr.BenchmarkSupport;
+import net.mirai.dimtr.util.SpatialGridTest.Point;
+import net.minecraft.world.level.ChunkPos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Consultas de proximidade (raio padrão de 48 blocos) do índice espacial contra
+ * a varredura linear de level.players() e contra a versão anterior do índice
+ * (buckets por chunk em {@code HashMap<Long, List>}: 81 chunks e 81 Long por consulta)
+ */
+@Tag(BenchmarkSupport.TAG)
+class PlayerSpatialIndexBenchmark {
+
+    private static final int QUERIES = 10_000;
+
+    @Test
+    void tinyServer() throws Exception {
+        compare(5);
+    }
+
+    @Test
+    void smallServer() throws Exception {
+        compare(20);
+    }
+
+    @Test
+    void mediumServer() throws Exception {
+        compare(50);
+    }
+
+    @Test
+    void busyServer() throws Exception {
+        compare(100);
+    }
+
+    @Test
+    void largeServer() throws Exception {
+        compare(500);
+    }
+
+    private static void compare(int players) throws Exception {
+        Random random = new Random(0x5EEDL + players);
+        // Jogadores espalhados em 2048x2048 blocos ao redor do spawn
+        List<Point> points = SpatialGridTest.randomPoints(random, players, 1024);
+        SpatialGrid<Point> grid = SpatialGridTest.index(points);
+        Map<Long, List<Point>> boxed = boxedIndex(points);
+
+        // Metade das consultas perto de jogadores (spawns/drops reais), metade aleatória
+        double[][] queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            Point near = points.get(random.nextInt(points.size()));
+            queries[i] = i % 2 == 0
+                    ? new double[] {near.x() + random.nextGaussian() * 16, near.y(), near.z() + random.nextGaussian() * 16}
+                    : new double[] {random.nextDouble() * 2048 - 1024, 64, random.nextDouble() * 2048 - 1024};
+        }
+
+        String label = players + " jogadores";
+        BenchmarkSupport.Round linear = () -> {
+            long found = 0;
+            for (double[] q : queries) {
+                found += SpatialGridTest.linear(points, q[0], q[1], q[2], SpatialGridTest.RADIUS).size();
+            }
+            return found;
+        };
+        BenchmarkSupport.Round boxedIndex = () -> {
+            long found = 0;
+            for (double[] q : queries) {
+                found += boxedQuery(boxed, q[0], q[1], q[2], SpatialGridTest.RADIUS).size();
+            }
+            return found;
+        };
+        BenchmarkSupport.Round gridIndex = () -> {
+            long found = 0;
+            for (double[] q : queries) {
+                found += gridQuery(grid, q[0], q[1], q[2], SpatialGridTest.RADIUS).size();
+            }
+            return found;
+        };
+
+        double linearNanos = BenchmarkSupport.nanosPerOp(label + ": varredura linear", QUERIES, linear);
+        double boxedNanos = BenchmarkSupport.nanosPerOp(label + ": buckets por chunk (Long)", QUERIES, boxedIndex);
+        double gridNanos = BenchmarkSupport.nanosPerOp(label + ": SpatialGrid", QUERIES, gridIndex);
+        BenchmarkSupport.allocatedBytesPerOp(label + ": buckets por chunk (Long)", QUERIES, boxedIndex);
+        BenchmarkSupport.allocatedBytesPerOp(label + ": SpatialGrid", QUERIES, gridIndex);
+        BenchmarkSupport.report(label + ": linear / SpatialGrid",
+                String.format("%.2fx (buckets por chunk: %.2fx)", linearNanos / gridNanos, linearNanos / boxedNanos));
+    }
+
+    /**
+     * Mesma consulta do {@link PlayerSpatialIndex#getPlayersInRadius} (margem de 16 blocos)
+     */
+    private static List<Point> gridQuery(SpatialGrid<Point> grid, double x, double y, double z, double radius) {
+        double radiusSqr = radius * radius;
+        return grid.query(x, z, radius + 16.0, point -> point.distanceToSqr(x, y, z) <= radiusSqr);
+    }
+
+    // ============================================================================
+    // ÍNDICE ANTERIOR (buckets por chunk com chaves Long, margem de 1 chunk)
+    // ============================================================================
+
+    private static Map<Long, List<Point>> boxedIndex(List<Point> points) {
+        Map<Long, List<Point>> buckets = new HashMap<>();
+        for (Point point : points) {
+            long key = ChunkPos.asLong((int) Math.floor(point.x()) >> 4, (int) Math.floor(point.z()) >> 4);
+            buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(point);
+        }
+        return buckets;
+    }
+
+    private static List<Point> boxedQuery(Map<Long, List<Point>> buckets, double x, double y, double z, double radius) {
+        List<Point> result = new ArrayList<>();
+        double radiusSqr = radius * radius;
+        int chunkRadius = ((int) Math.ceil(radius) >> 4) + 1;
+        int centerX = (int) Math.floor(x) >> 4;
+        int centerZ = (int) Math.floor(z) >> 4;
+        for (int cx = centerX - chunkRadius; cx <= centerX + chunkRadius; cx++) {
+            for (int cz = centerZ - chunkRadius; cz <= centerZ + chunkRadius; cz++) {
+                List<Point> bucket = buckets.get(ChunkPos.asLong(cx, cz));
+                if (bucket == null) continue;
+                for (Point point : bucket) {
+                    if (point.distanceToSqr(x, y, z) <= radiusSqr) {
+                        result.add(point);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
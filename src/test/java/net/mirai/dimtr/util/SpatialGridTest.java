@@ -0,0 +1,92 @@
+package net.mirai.dimtr.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Consultas do {@link SpatialGrid} (base do {@link PlayerSpatialIndex}) contra a varredura linear
+ */
+class SpatialGridTest {
+
+    static final double RADIUS = Constants.DEFAULT_PROXIMITY_RADIUS;
+
+    record Point(double x, double y, double z) {
+        double distanceToSqr(double px, double py, double pz) {
+            double dx = x - px, dy = y - py, dz = z - pz;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    @Test
+    void queryMatchesLinearScan() {
+        Random random = new Random(0x5EEDL);
+        List<Point> points = randomPoints(random, 300, 1024);
+        SpatialGrid<Point> grid = index(points);
+
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble() * 2048 - 1024;
+            double y = random.nextDouble() * 128;
+            double z = random.nextDouble() * 2048 - 1024;
+
+            assertEquals(new HashSet<>(linear(points, x, y, z, RADIUS)), new HashSet<>(query(grid, x, y, z, RADIUS)));
+        }
+    }
+
+    @Test
+    void negativeCoordinatesAndCellBordersAreCovered() {
+        List<Point> points = List.of(
+                new Point(-0.5, 64, -0.5),     // célula (-1, -1)
+                new Point(0.0, 64, 0.0),       // célula (0, 0)
+                new Point(-16.0, 64, 15.99),   // célula (-1, 0)
+                new Point(47.9, 64, 0.0),      // a 47.9 blocos, célula (0, 0)
+                new Point(0.0, 64, -47.9));    // a 47.9 blocos, célula (0, -1)
+        SpatialGrid<Point> grid = index(points);
+
+        assertEquals(4, grid.size());
+        assertEquals(new HashSet<>(points), new HashSet<>(query(grid, 0, 64, 0, RADIUS)));
+        assertEquals(List.of(), query(grid, 0, 64, 200, RADIUS));
+    }
+
+    // ============================================================================
+    // AUXILIARES
+    // ============================================================================
+
+    static List<Point> randomPoints(Random random, int count, int halfSize) {
+        List<Point> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            points.add(new Point(random.nextDouble() * 2 * halfSize - halfSize, random.nextDouble() * 128,
+                    random.nextDouble() * 2 * halfSize - halfSize));
+        }
+        return points;
+    }
+
+    static SpatialGrid<Point> index(List<Point> points) {
+        SpatialGrid<Point> grid = new SpatialGrid<>();
+        for (Point point : points) {
+            grid.add(point.x(), point.z(), point);
+        }
+        return grid;
+    }
+
+    static List<Point> query(SpatialGrid<Point> grid, double x, double y, double z, double radius) {
+        double radiusSqr = radius * radius;
+        return grid.query(x, z, radius, point -> point.distanceToSqr(x, y, z) <= radiusSqr);
+    }
+
+    static List<Point> linear(List<Point> points, double x, double y, double z, double radius) {
+        double radiusSqr = radius * radius;
+        List<Point> result = new ArrayList<>();
+        for (Point point : points) {
+            if (point.distanceToSqr(x, y, z) <= radiusSqr) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+}